@@ -0,0 +1,13 @@
+package com.lessa.todolist.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class TodoListReactiveApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(TodoListReactiveApplication.class, args);
+	}
+
+}
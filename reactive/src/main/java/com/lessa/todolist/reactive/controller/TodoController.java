@@ -0,0 +1,63 @@
+package com.lessa.todolist.reactive.controller;
+
+import com.lessa.todolist.reactive.dto.ChangeDescriptionDto;
+import com.lessa.todolist.reactive.dto.CreateItemDto;
+import com.lessa.todolist.reactive.dto.TodoItemDto;
+import com.lessa.todolist.reactive.service.TodoService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * The item API of the servlet service on WebFlux. The lists are streamed as they are read: with
+ * {@code application/x-ndjson} every item is written as its own line, and the database is only asked for more rows as
+ * the client consumes them.
+ */
+@RestController
+@RequiredArgsConstructor
+public class TodoController {
+
+    private final TodoService service;
+
+    @PostMapping("/todos")
+    public Mono<TodoItemDto> addItem(@RequestBody @Valid CreateItemDto createItemDto) {
+        return service.add(createItemDto.toDomain()).map(TodoItemDto::fromDomain);
+    }
+
+    @PutMapping("/todos/{id}")
+    public Mono<TodoItemDto> updateDescription(@PathVariable UUID id,
+                                               @RequestBody @Valid ChangeDescriptionDto changeDescriptionDto) {
+        return service.updateDescription(id, changeDescriptionDto.getDescription()).map(TodoItemDto::fromDomain);
+    }
+
+    @PutMapping("/todos/{id}/done")
+    public Mono<TodoItemDto> markItemAsDone(@PathVariable UUID id) {
+        return service.markAsDone(id).map(TodoItemDto::fromDomain);
+    }
+
+    @PutMapping("/todos/{id}/not-done")
+    public Mono<TodoItemDto> markItemAsNotDone(@PathVariable UUID id) {
+        return service.markAsNotDone(id).map(TodoItemDto::fromDomain);
+    }
+
+    @GetMapping(value = "/todos", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<TodoItemDto> getAll() {
+        return service.getAll().map(TodoItemDto::fromDomain);
+    }
+
+    @GetMapping(value = "/todos/not-done", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<TodoItemDto> getNotDone() {
+        return service.getNotDone().map(TodoItemDto::fromDomain);
+    }
+
+    @GetMapping("/todos/{id}")
+    public Mono<TodoItemDto> get(@PathVariable UUID id) {
+        return service.get(id).map(TodoItemDto::fromDomain);
+    }
+
+}
@@ -0,0 +1,7 @@
+package com.lessa.todolist.reactive.domain;
+
+public enum Status {
+    NOT_DONE,
+    DONE,
+    PAST_DUE
+}
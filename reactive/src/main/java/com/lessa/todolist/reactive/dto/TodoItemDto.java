@@ -0,0 +1,28 @@
+package com.lessa.todolist.reactive.dto;
+
+import com.lessa.todolist.reactive.domain.Status;
+import com.lessa.todolist.reactive.domain.TodoItem;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class TodoItemDto {
+
+    private UUID id;
+    private String description;
+    private Status status;
+    private LocalDateTime creationDate;
+    private LocalDateTime dueDate;
+    private LocalDateTime doneDate;
+
+    public static TodoItemDto fromDomain(TodoItem domain) {
+        return new TodoItemDto(domain.getId(), domain.getDescription(), domain.getStatus(), domain.getCreationDate(),
+                domain.getDueDate(), domain.getDoneDate());
+    }
+}
@@ -0,0 +1,44 @@
+package com.lessa.todolist.reactive.persistence.entity;
+
+import org.reactivestreams.Publisher;
+import org.springframework.data.r2dbc.mapping.event.BeforeConvertCallback;
+import org.springframework.data.relational.core.sql.SqlIdentifier;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gives new items a version 7 UUID (RFC 9562), like the servlet service does: a 48-bit Unix timestamp in milliseconds,
+ * a 12-bit counter and 62 random bits, so inserts append to the right edge of the primary key index. The counter keeps
+ * the ids strictly increasing within the same millisecond.
+ */
+@Component
+public class TimeOrderedUuidCallback implements BeforeConvertCallback<TodoItemEntity> {
+
+    private static final int COUNTER_BITS = 12;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+    private static final long VERSION = 7L << COUNTER_BITS;
+    private static final long VARIANT = 0x8000_0000_0000_0000L;
+
+    private final AtomicLong lastTimestampAndCounter = new AtomicLong();
+
+    @Override
+    public Publisher<TodoItemEntity> onBeforeConvert(TodoItemEntity entity, SqlIdentifier table) {
+        if (entity.getId() == null) {
+            entity.setId(next());
+        }
+        return Mono.just(entity);
+    }
+
+    UUID next() {
+        var timestamp = System.currentTimeMillis() << COUNTER_BITS;
+        var timestampAndCounter = lastTimestampAndCounter.updateAndGet(last -> Math.max(last + 1, timestamp));
+
+        var mostSigBits = (timestampAndCounter >>> COUNTER_BITS) << 16 | VERSION | timestampAndCounter & COUNTER_MASK;
+        var leastSigBits = ThreadLocalRandom.current().nextLong() >>> 2 | VARIANT;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
@@ -0,0 +1,49 @@
+package com.lessa.todolist.reactive.persistence.entity;
+
+import com.lessa.todolist.reactive.domain.Status;
+import com.lessa.todolist.reactive.domain.TodoItem;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Maps the same {@code todo_item} table as the servlet service. The id is assigned by
+ * {@link TimeOrderedUuidCallback} right before the insert.
+ */
+@Table("todo_item")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoItemEntity {
+
+    @Id
+    private UUID id;
+
+    private String description;
+
+    private Status status;
+
+    private LocalDateTime creationDate;
+    private LocalDateTime dueDate;
+    private LocalDateTime doneDate;
+
+    @Version
+    private Long version;
+
+    public static TodoItemEntity toEntity(TodoItem domain) {
+        return new TodoItemEntity(domain.getId(), domain.getDescription(), domain.getStatus(), domain.getCreationDate(),
+                domain.getDueDate(), domain.getDoneDate(), domain.getVersion());
+    }
+
+    public TodoItem toDomain() {
+        return new TodoItem(id, description, status, creationDate, dueDate, doneDate, version);
+    }
+}
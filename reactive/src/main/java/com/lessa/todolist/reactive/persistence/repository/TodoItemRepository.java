@@ -0,0 +1,48 @@
+package com.lessa.todolist.reactive.persistence.repository;
+
+import com.lessa.todolist.reactive.domain.Status;
+import com.lessa.todolist.reactive.persistence.entity.TodoItemEntity;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface TodoItemRepository extends ReactiveCrudRepository<TodoItemEntity, UUID> {
+
+    /**
+     * Streams every item in creation order. Rows are fetched as the subscriber requests them.
+     */
+    Flux<TodoItemEntity> findAllByOrderByCreationDateAscIdAsc();
+
+    /**
+     * Streams the items with the given status, earliest due date first. Rows are fetched as the subscriber requests
+     * them.
+     */
+    Flux<TodoItemEntity> findAllByStatusOrderByDueDateAscIdAsc(Status status);
+
+    /**
+     * Moves a not done item that is not due yet to done and returns the updated row, in a single statement. Completes
+     * empty when no row matches the id and the guard.
+     */
+    @Query("select * from final table (update todo_item set status = 'DONE', done_date = :currentDateTime, " +
+            "version = version + 1 where id = :id and status = 'NOT_DONE' and due_date > :currentDateTime)")
+    Mono<TodoItemEntity> markAsDone(@Param("id") UUID id, @Param("currentDateTime") LocalDateTime currentDateTime);
+
+    /**
+     * Moves a done item that is not due yet back to not done and returns the updated row, in a single statement.
+     * Completes empty when no row matches the id and the guard.
+     */
+    @Query("select * from final table (update todo_item set status = 'NOT_DONE', done_date = null, " +
+            "version = version + 1 where id = :id and status = 'DONE' and due_date > :currentDateTime)")
+    Mono<TodoItemEntity> markAsNotDone(@Param("id") UUID id, @Param("currentDateTime") LocalDateTime currentDateTime);
+
+    @Modifying
+    @Query("update todo_item set status = 'PAST_DUE', version = version + 1 where id = :id and status = 'NOT_DONE'")
+    Mono<Integer> markAsPastDue(@Param("id") UUID id);
+
+}
@@ -0,0 +1,8 @@
+package com.lessa.todolist.reactive.service;
+
+import java.time.LocalDateTime;
+
+public interface TimeService {
+
+    LocalDateTime getLocalDateTime();
+}
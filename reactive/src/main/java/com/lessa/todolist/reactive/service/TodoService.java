@@ -0,0 +1,31 @@
+package com.lessa.todolist.reactive.service;
+
+import com.lessa.todolist.reactive.domain.TodoItem;
+import com.lessa.todolist.reactive.service.exception.ConflictException;
+import com.lessa.todolist.reactive.service.exception.NotFoundException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Non-blocking counterpart of the servlet service's item operations. Failures are signalled as errors of the returned
+ * publishers: {@link ConflictException} when a rule is broken and {@link NotFoundException} for unknown ids.
+ */
+public interface TodoService {
+
+    Mono<TodoItem> add(TodoItem item);
+
+    Mono<TodoItem> updateDescription(UUID itemId, String description);
+
+    Mono<TodoItem> markAsDone(UUID itemId);
+
+    Mono<TodoItem> markAsNotDone(UUID itemId);
+
+    Mono<TodoItem> get(UUID itemId);
+
+    Flux<TodoItem> getAll();
+
+    Flux<TodoItem> getNotDone();
+
+}
@@ -0,0 +1,7 @@
+package com.lessa.todolist.reactive.service.exception;
+
+public class ConflictException extends Exception {
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.lessa.todolist.reactive.service.exception;
+
+public class NotFoundException extends Exception {
+    public NotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package com.lessa.todolist.reactive.service.impl;
+
+import com.lessa.todolist.reactive.service.TimeService;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+@Service
+public class TimeServiceImpl implements TimeService {
+
+    @Override
+    public LocalDateTime getLocalDateTime() {
+        return LocalDateTime.now();
+    }
+}
@@ -0,0 +1,132 @@
+package com.lessa.todolist.reactive.service.impl;
+
+import com.lessa.todolist.reactive.domain.Status;
+import com.lessa.todolist.reactive.domain.TodoItem;
+import com.lessa.todolist.reactive.persistence.entity.TodoItemEntity;
+import com.lessa.todolist.reactive.persistence.repository.TodoItemRepository;
+import com.lessa.todolist.reactive.service.TimeService;
+import com.lessa.todolist.reactive.service.TodoService;
+import com.lessa.todolist.reactive.service.exception.ConflictException;
+import com.lessa.todolist.reactive.service.exception.NotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+import reactor.util.retry.RetryBackoffSpec;
+
+import java.time.Duration;
+import java.util.UUID;
+
+@Slf4j
+@Service
+public class TodoServiceImpl implements TodoService {
+
+    private final TodoItemRepository repository;
+    private final TimeService timeService;
+    private final RetryBackoffSpec concurrentChangeRetry;
+
+    public TodoServiceImpl(TodoItemRepository repository,
+                           TimeService timeService,
+                           @Value("${retry.concurrent-change.max-attempts:3}") int maxAttempts,
+                           @Value("${retry.concurrent-change.delay:10ms}") Duration delay,
+                           @Value("${retry.concurrent-change.max-delay:100ms}") Duration maxDelay) {
+        this.repository = repository;
+        this.timeService = timeService;
+        this.concurrentChangeRetry = Retry.backoff(maxAttempts - 1, delay)
+                .maxBackoff(maxDelay)
+                .filter(OptimisticLockingFailureException.class::isInstance)
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    @Override
+    public Mono<TodoItem> add(TodoItem item) {
+        var currentDate = timeService.getLocalDateTime();
+        if (!item.getDueDate().isAfter(currentDate)) {
+            return Mono.error(new ConflictException("Cannot add item. Due date is earlier or equal the current date."));
+        }
+
+        item.setStatus(Status.NOT_DONE);
+        item.setCreationDate(currentDate);
+
+        return repository.save(TodoItemEntity.toEntity(item)).map(TodoItemEntity::toDomain);
+    }
+
+    @Override
+    public Mono<TodoItem> updateDescription(UUID itemId, String description) {
+        return Mono.defer(() -> findItemById(itemId)
+                        .flatMap(item -> throwConflictExceptionWhenPastDueItem(item,
+                                "Cannot update the description. The item status is past due."))
+                        .flatMap(item -> {
+                            item.setDescription(description);
+                            return repository.save(TodoItemEntity.toEntity(item));
+                        }))
+                .retryWhen(concurrentChangeRetry)
+                .map(TodoItemEntity::toDomain);
+    }
+
+    @Override
+    public Mono<TodoItem> markAsDone(UUID itemId) {
+        return repository.markAsDone(itemId, timeService.getLocalDateTime())
+                .map(TodoItemEntity::toDomain)
+                .switchIfEmpty(Mono.defer(() -> findItemById(itemId)
+                        .flatMap(item -> item.getStatus() == Status.DONE
+                                ? Mono.error(new ConflictException("The item status is already done."))
+                                : throwConflictExceptionWhenPastDueItem(item,
+                                "Cannot mark the item as done. The item due date has passed."))
+                        .then(Mono.error(() -> new OptimisticLockingFailureException(
+                                "The item " + itemId + " was changed concurrently.")))))
+                .retryWhen(concurrentChangeRetry);
+    }
+
+    @Override
+    public Mono<TodoItem> markAsNotDone(UUID itemId) {
+        return repository.markAsNotDone(itemId, timeService.getLocalDateTime())
+                .map(TodoItemEntity::toDomain)
+                .switchIfEmpty(Mono.defer(() -> findItemById(itemId)
+                        .flatMap(item -> item.getStatus() == Status.NOT_DONE
+                                ? Mono.error(new ConflictException("The item status is already not done."))
+                                : throwConflictExceptionWhenPastDueItem(item,
+                                "Cannot mark the item as not done. The item due date has passed."))
+                        .then(Mono.error(() -> new OptimisticLockingFailureException(
+                                "The item " + itemId + " was changed concurrently.")))))
+                .retryWhen(concurrentChangeRetry);
+    }
+
+    @Override
+    public Mono<TodoItem> get(UUID itemId) {
+        return findItemById(itemId);
+    }
+
+    @Override
+    public Flux<TodoItem> getAll() {
+        return repository.findAllByOrderByCreationDateAscIdAsc().map(TodoItemEntity::toDomain);
+    }
+
+    @Override
+    public Flux<TodoItem> getNotDone() {
+        return repository.findAllByStatusOrderByDueDateAscIdAsc(Status.NOT_DONE).map(TodoItemEntity::toDomain);
+    }
+
+    private Mono<TodoItem> findItemById(UUID itemId) {
+        return repository.findById(itemId)
+                .map(TodoItemEntity::toDomain)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("Item not found with given id: " + itemId)));
+    }
+
+    /**
+     * Passes the item on when it is not due yet. Otherwise moves a not done item to past due and fails with the given
+     * message.
+     */
+    private Mono<TodoItem> throwConflictExceptionWhenPastDueItem(TodoItem item, String conflictMessage) {
+        if (item.getStatus() != Status.PAST_DUE && item.getDueDate().isAfter(timeService.getLocalDateTime())) {
+            return Mono.just(item);
+        }
+
+        var pastDue = item.getStatus() == Status.NOT_DONE ? repository.markAsPastDue(item.getId()).then() : Mono.<Void>empty();
+        return pastDue.then(Mono.error(new ConflictException(conflictMessage)));
+    }
+
+}
@@ -0,0 +1,12 @@
+create table if not exists todo_item (
+    id uuid primary key,
+    description varchar(255),
+    status varchar(255),
+    creation_date timestamp(6),
+    due_date timestamp(6),
+    done_date timestamp(6),
+    version bigint
+);
+
+create index if not exists idx_todo_item_status_due_date_id on todo_item (status, due_date, id);
+create index if not exists idx_todo_item_creation_date_id on todo_item (creation_date, id);
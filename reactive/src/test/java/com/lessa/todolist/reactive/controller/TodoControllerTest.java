@@ -0,0 +1,178 @@
+package com.lessa.todolist.reactive.controller;
+
+import com.lessa.todolist.reactive.domain.Status;
+import com.lessa.todolist.reactive.dto.CreateItemDto;
+import com.lessa.todolist.reactive.dto.TodoItemDto;
+import com.lessa.todolist.reactive.persistence.entity.TodoItemEntity;
+import com.lessa.todolist.reactive.persistence.repository.TodoItemRepository;
+import com.lessa.todolist.reactive.service.TimeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class TodoControllerTest {
+
+    private final static LocalDateTime CURRENT_DATE = LocalDateTime.of(2024, 3, 17, 0, 0);
+    private final static LocalDateTime AFTER_DATE = LocalDateTime.of(2024, 3, 18, 0, 0);
+
+    @MockBean
+    private TimeService timeService;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private TodoItemRepository repository;
+
+    @BeforeEach
+    void cleanUp() {
+        repository.deleteAll().block();
+        Mockito.when(timeService.getLocalDateTime()).thenReturn(CURRENT_DATE);
+    }
+
+    @Test
+    void shouldAddNewItem() {
+        //given
+        var dto = new CreateItemDto();
+        dto.setDescription("description");
+        dto.setDueDate(AFTER_DATE);
+
+        //when
+        var responseBody = webTestClient.post().uri("/todos").bodyValue(dto).exchange()
+                .expectStatus().isOk()
+                .expectBody(TodoItemDto.class).returnResult().getResponseBody();
+
+        //then
+        assertNotNull(responseBody);
+        assertEquals(7, responseBody.getId().version());
+        assertEquals("description", responseBody.getDescription());
+        assertEquals(Status.NOT_DONE, responseBody.getStatus());
+        assertEquals(CURRENT_DATE, responseBody.getCreationDate());
+        assertEquals(AFTER_DATE, responseBody.getDueDate());
+        assertNull(responseBody.getDoneDate());
+
+        assertEquals(Boolean.TRUE, repository.existsById(responseBody.getId()).block());
+    }
+
+    @Test
+    void shouldAddNewItemFailWhenCreationItemDtoDoNotHaveDueDateAndDescription() {
+        //given
+        var expectedResponseBody = Map.of("dueDate", "the due date must not be null",
+                "description", "the description must not be empty");
+
+        //when //then
+        webTestClient.post().uri("/todos").bodyValue(new CreateItemDto()).exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(Map.class).isEqualTo(expectedResponseBody);
+    }
+
+    @Test
+    void shouldFailAddNewItemWhenDueDateHasPassed() {
+        //given
+        var dto = new CreateItemDto();
+        dto.setDescription("description");
+        dto.setDueDate(CURRENT_DATE);
+
+        //when //then
+        webTestClient.post().uri("/todos").bodyValue(dto).exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody(String.class).isEqualTo("Cannot add item. Due date is earlier or equal the current date.");
+    }
+
+    @Test
+    void shouldMarkItemAsDoneAndBackAsNotDone() {
+        //given
+        var itemId = createItem(Status.NOT_DONE, AFTER_DATE);
+
+        //when
+        var done = webTestClient.put().uri("/todos/{id}/done", itemId).exchange()
+                .expectStatus().isOk()
+                .expectBody(TodoItemDto.class).returnResult().getResponseBody();
+        var notDone = webTestClient.put().uri("/todos/{id}/not-done", itemId).exchange()
+                .expectStatus().isOk()
+                .expectBody(TodoItemDto.class).returnResult().getResponseBody();
+
+        //then
+        assertEquals(Status.DONE, Objects.requireNonNull(done).getStatus());
+        assertEquals(CURRENT_DATE, done.getDoneDate());
+        assertEquals(Status.NOT_DONE, Objects.requireNonNull(notDone).getStatus());
+        assertNull(notDone.getDoneDate());
+        assertEquals(2, Objects.requireNonNull(repository.findById(itemId).block()).getVersion());
+    }
+
+    @Test
+    void shouldFailMarkItemAsDoneWhenDueDateHasPassedAndMarkItAsPastDue() {
+        //given
+        var itemId = createItem(Status.NOT_DONE, CURRENT_DATE);
+
+        //when //then
+        webTestClient.put().uri("/todos/{id}/done", itemId).exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody(String.class).isEqualTo("Cannot mark the item as done. The item due date has passed.");
+        assertEquals(Status.PAST_DUE, Objects.requireNonNull(repository.findById(itemId).block()).getStatus());
+    }
+
+    @Test
+    void shouldUpdateDescription() {
+        //given
+        var itemId = createItem(Status.NOT_DONE, AFTER_DATE);
+
+        //when
+        var responseBody = webTestClient.put().uri("/todos/{id}", itemId)
+                .bodyValue(Map.of("description", "new description")).exchange()
+                .expectStatus().isOk()
+                .expectBody(TodoItemDto.class).returnResult().getResponseBody();
+
+        //then
+        assertEquals("new description", Objects.requireNonNull(responseBody).getDescription());
+    }
+
+    @Test
+    void shouldFailGetItemWhenItDoesNotExist() {
+        //given
+        var itemId = UUID.randomUUID();
+
+        //when //then
+        webTestClient.get().uri("/todos/{id}", itemId).exchange()
+                .expectStatus().isNotFound()
+                .expectBody(String.class).isEqualTo("Item not found with given id: " + itemId);
+    }
+
+    @Test
+    void shouldStreamNotDoneItemsByDueDate() {
+        //given
+        var laterItemId = createItem(Status.NOT_DONE, AFTER_DATE.plusDays(1));
+        var earlierItemId = createItem(Status.NOT_DONE, AFTER_DATE);
+        createItem(Status.DONE, AFTER_DATE);
+
+        //when
+        var items = webTestClient.get().uri("/todos/not-done").accept(MediaType.APPLICATION_NDJSON).exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(TodoItemDto.class).getResponseBody()
+                .map(TodoItemDto::getId)
+                .collectList().block();
+
+        //then
+        assertEquals(List.of(earlierItemId, laterItemId), items);
+    }
+
+    private UUID createItem(Status status, LocalDateTime dueDate) {
+        var entity = new TodoItemEntity(null, "description", status, CURRENT_DATE, dueDate, null, null);
+        return Objects.requireNonNull(repository.save(entity).block()).getId();
+    }
+}
@@ -0,0 +1,68 @@
+package com.lessa.todolist.reactive.persistence.repository;
+
+import com.lessa.todolist.reactive.domain.Status;
+import com.lessa.todolist.reactive.persistence.entity.TimeOrderedUuidCallback;
+import com.lessa.todolist.reactive.persistence.entity.TodoItemEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.context.annotation.Import;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@DataR2dbcTest
+@Import(TimeOrderedUuidCallback.class)
+class TodoItemRepositoryTest {
+
+    private final static LocalDateTime CURRENT_DATE = LocalDateTime.of(2024, 3, 18, 0, 0);
+
+    @Autowired
+    private TodoItemRepository repository;
+
+    @BeforeEach
+    void cleanUp() {
+        repository.deleteAll().block();
+    }
+
+    @Test
+    void findAllStreamsItemsInCreationOrderAsTheyAreRequested() {
+        //given
+        var itemIds = Flux.range(0, 5)
+                .concatMap(index -> repository.save(createTodoItemEntity(Status.NOT_DONE, CURRENT_DATE.plusMinutes(index))))
+                .map(TodoItemEntity::getId)
+                .collectList().block();
+
+        //when //then
+        StepVerifier.create(repository.findAllByOrderByCreationDateAscIdAsc().map(TodoItemEntity::getId), 2)
+                .expectNext(itemIds.get(0), itemIds.get(1))
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenRequest(3)
+                .expectNext(itemIds.get(2), itemIds.get(3), itemIds.get(4))
+                .verifyComplete();
+    }
+
+    @Test
+    void markAsDoneOnlyUpdatesNotDoneItemsThatAreNotDueYet() {
+        //given
+        var itemId = repository.save(createTodoItemEntity(Status.NOT_DONE, CURRENT_DATE)).map(TodoItemEntity::getId).block();
+        var pastDueItemId = repository.save(createTodoItemEntity(Status.NOT_DONE, CURRENT_DATE.minusDays(2)))
+                .map(TodoItemEntity::getId).block();
+
+        //when //then
+        StepVerifier.create(repository.markAsDone(itemId, CURRENT_DATE))
+                .expectNextMatches(entity -> entity.getStatus() == Status.DONE && entity.getVersion() == 1)
+                .verifyComplete();
+        StepVerifier.create(repository.markAsDone(itemId, CURRENT_DATE)).verifyComplete();
+        StepVerifier.create(repository.markAsDone(pastDueItemId, CURRENT_DATE)).verifyComplete();
+        StepVerifier.create(repository.markAsDone(UUID.randomUUID(), CURRENT_DATE)).verifyComplete();
+    }
+
+    private TodoItemEntity createTodoItemEntity(Status status, LocalDateTime creationDate) {
+        return new TodoItemEntity(null, "description", status, creationDate, creationDate.plusDays(1), null, null);
+    }
+}
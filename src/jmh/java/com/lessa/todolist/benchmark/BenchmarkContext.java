@@ -0,0 +1,67 @@
+package com.lessa.todolist.benchmark;
+
+import com.lessa.todolist.TodoListApplication;
+import com.lessa.todolist.domain.Status;
+import com.lessa.todolist.persistence.entity.TodoItemEntity;
+import com.lessa.todolist.persistence.repository.TodoItemRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.UUID;
+
+/**
+ * Boots the application, without the web layer or with the server on a random port, against a private embedded H2
+ * database and seeds it with a given number of rows, so benchmarks measure the real service and repository stack.
+ */
+final class BenchmarkContext {
+
+    private static final int SEED_CHUNK_SIZE = 1_000;
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String... properties) {
+        return start(WebApplicationType.NONE, properties);
+    }
+
+    static ConfigurableApplicationContext startServer(String... properties) {
+        return start(WebApplicationType.SERVLET, properties);
+    }
+
+    private static ConfigurableApplicationContext start(WebApplicationType webApplicationType, String... properties) {
+        var defaults = new String[]{
+                "spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "scheduler.enabled=false",
+                "server.port=0",
+                "spring.main.banner-mode=off",
+                "logging.level.root=WARN"
+        };
+
+        return new SpringApplicationBuilder(TodoListApplication.class)
+                .web(webApplicationType)
+                .properties(defaults)
+                .properties(properties)
+                .run();
+    }
+
+    static void seed(TodoItemRepository repository, int rows) {
+        var creationDate = LocalDateTime.now().minusDays(1);
+        var chunk = new ArrayList<TodoItemEntity>(SEED_CHUNK_SIZE);
+
+        for (int i = 0; i < rows; i++) {
+            var status = Status.values()[i % Status.values().length];
+            var dueDate = status == Status.PAST_DUE ? creationDate : creationDate.plusDays(30 + i % 365);
+            var doneDate = status == Status.DONE ? creationDate : null;
+            chunk.add(new TodoItemEntity(null, "seeded item " + i, status, creationDate.plusSeconds(i), dueDate, doneDate, null));
+
+            if (chunk.size() == SEED_CHUNK_SIZE) {
+                repository.saveAll(chunk);
+                chunk.clear();
+            }
+        }
+        repository.saveAll(chunk);
+    }
+}
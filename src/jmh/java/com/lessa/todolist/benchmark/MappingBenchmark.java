@@ -0,0 +1,70 @@
+package com.lessa.todolist.benchmark;
+
+import com.lessa.todolist.domain.Status;
+import com.lessa.todolist.domain.TodoItem;
+import com.lessa.todolist.dto.TodoItemDto;
+import com.lessa.todolist.persistence.entity.TodoItemEntity;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the object copies every item goes through between the database and the response body:
+ * entity to domain, domain to entity and domain to DTO.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MappingBenchmark {
+
+    @Param({"1", "12", "1000"})
+    private int rows;
+
+    private List<TodoItemEntity> entities;
+    private List<TodoItem> domains;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var now = LocalDateTime.now();
+        entities = new ArrayList<>(rows);
+        domains = new ArrayList<>(rows);
+
+        for (int i = 0; i < rows; i++) {
+            var entity = new TodoItemEntity(UUID.randomUUID(), "item " + i, Status.NOT_DONE, now, now.plusDays(1), null, 0L);
+            entities.add(entity);
+            domains.add(entity.toDomain());
+        }
+    }
+
+    @Benchmark
+    public List<TodoItem> entityToDomain() {
+        var result = new ArrayList<TodoItem>(rows);
+        for (var entity : entities) {
+            result.add(entity.toDomain());
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<TodoItemEntity> domainToEntity() {
+        var result = new ArrayList<TodoItemEntity>(rows);
+        for (var domain : domains) {
+            result.add(TodoItemEntity.toEntity(domain));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<TodoItemDto> entityToDto() {
+        var result = new ArrayList<TodoItemDto>(rows);
+        for (var entity : entities) {
+            result.add(TodoItemDto.fromDomain(entity.toDomain()));
+        }
+        return result;
+    }
+
+}
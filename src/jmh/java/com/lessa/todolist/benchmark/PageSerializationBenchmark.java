@@ -0,0 +1,49 @@
+package com.lessa.todolist.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lessa.todolist.domain.Status;
+import com.lessa.todolist.dto.TodoItemDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the Jackson serialization of a {@link Page} of {@link TodoItemDto}, as written by the list endpoints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PageSerializationBenchmark {
+
+    @Param({"12", "100", "1000"})
+    private int rows;
+
+    private ObjectMapper objectMapper;
+    private Page<TodoItemDto> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        var now = LocalDateTime.now();
+        var content = new ArrayList<TodoItemDto>(rows);
+        for (int i = 0; i < rows; i++) {
+            content.add(new TodoItemDto(UUID.randomUUID(), "item " + i, Status.NOT_DONE, now, now.plusDays(1), null));
+        }
+        page = new PageImpl<>(content, PageRequest.of(0, rows), rows * 10L);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+}
@@ -0,0 +1,124 @@
+package com.lessa.todolist.benchmark;
+
+import com.lessa.todolist.persistence.entity.TimeOrderedUuidGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Inserts {@code rows} items with random (version 4) or time-ordered (version 7) primary keys into an empty file
+ * backed H2 table with the same indexes as {@code todo_item}, and reports the size of the table and of the database
+ * file afterwards. Run it with {@code -PjmhRows=10000000} to reproduce the 10M rows comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PrimaryKeyInsertBenchmark {
+
+    private static final int INSERT_BATCH_SIZE = 1_000;
+
+    @Param({"1000000"})
+    private int rows;
+
+    @Param({"RANDOM", "TIME_ORDERED"})
+    private KeyType keyType;
+
+    private Path directory;
+    private Connection connection;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException, SQLException {
+        directory = Files.createTempDirectory("pk-bench");
+        connection = DriverManager.getConnection("jdbc:h2:file:" + directory.resolve("todo"), "sa", "");
+        try (var statement = connection.createStatement()) {
+            statement.execute("create table todo_item (id uuid primary key, description varchar(255), "
+                    + "status varchar(255), creation_date timestamp(6), due_date timestamp(6), done_date timestamp(6))");
+            statement.execute("create index idx_todo_item_status_due_date_id on todo_item (status, due_date, id)");
+            statement.execute("create index idx_todo_item_creation_date_id on todo_item (creation_date, id)");
+        }
+        connection.setAutoCommit(false);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException, SQLException {
+        connection.close();
+        try (var files = Files.walk(directory)) {
+            for (var file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public void insert(StorageSize size) throws SQLException {
+        var ids = keyType.ids();
+        var creationDate = LocalDateTime.now();
+
+        try (var insert = connection.prepareStatement("insert into todo_item "
+                + "(id, description, status, creation_date, due_date) values (?, ?, 'NOT_DONE', ?, ?)")) {
+            for (int i = 1; i <= rows; i++) {
+                insert.setObject(1, ids.get());
+                insert.setString(2, "benchmark item " + i);
+                insert.setTimestamp(3, Timestamp.valueOf(creationDate.plusNanos(i * 1000L)));
+                insert.setTimestamp(4, Timestamp.valueOf(creationDate.plusDays(1 + i % 365)));
+                insert.addBatch();
+
+                if (i % INSERT_BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+
+        try (var statement = connection.createStatement()) {
+            statement.execute("checkpoint sync");
+            try (var result = statement.executeQuery("select disk_space_used('TODO_ITEM')")) {
+                result.next();
+                size.tableBytes = result.getLong(1);
+            }
+        }
+        size.fileBytes = directory.resolve("todo.mv.db").toFile().length();
+    }
+
+    public enum KeyType {
+        RANDOM {
+            @Override
+            Supplier<UUID> ids() {
+                return UUID::randomUUID;
+            }
+        },
+        TIME_ORDERED {
+            @Override
+            Supplier<UUID> ids() {
+                return new TimeOrderedUuidGenerator()::next;
+            }
+        };
+
+        abstract Supplier<UUID> ids();
+    }
+
+    /**
+     * Storage used after the inserts, reported next to the timings. JMH adds the values of every iteration up, so
+     * divide them by the iteration count.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class StorageSize {
+
+        public long tableBytes;
+        public long fileBytes;
+    }
+}
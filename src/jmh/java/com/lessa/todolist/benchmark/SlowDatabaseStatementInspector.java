@@ -0,0 +1,24 @@
+package com.lessa.todolist.benchmark;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Adds a fixed latency to every statement to stand in for a remote database. Hibernate calls it while preparing the
+ * statement, inside the transaction, so the delay is spent holding a pooled connection as a slow query would.
+ */
+public class SlowDatabaseStatementInspector implements StatementInspector {
+
+    static volatile long latencyMillis;
+
+    @Override
+    public String inspect(String sql) {
+        if (latencyMillis > 0) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,90 @@
+package com.lessa.todolist.benchmark;
+
+import com.lessa.todolist.persistence.repository.TodoItemRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives the {@code TodoController} endpoints over HTTP from many concurrent clients, with Tomcat and the scheduler on
+ * platform threads or on virtual threads, against a database that answers each statement after {@code dbLatencyMillis}.
+ * The Hikari pool is kept at its configured size in both modes, so it is the resource the requests contend for. The
+ * sample time mode reports the percentiles, p99 included, next to the throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(256)
+public class ThreadModeLoadBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    @Param({"0", "5"})
+    private long dbLatencyMillis;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private String itemUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        SlowDatabaseStatementInspector.latencyMillis = 0;
+        context = BenchmarkContext.startServer(
+                "spring.threads.virtual.enabled=" + virtualThreads,
+                "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                        SlowDatabaseStatementInspector.class.getName(),
+                "past-due.timer.enabled=false");
+        BenchmarkContext.seed(context.getBean(TodoItemRepository.class), ROWS);
+
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        itemUrl = baseUrl + "/todos/" + context.getBean(TodoItemRepository.class).findAll().get(0).getId();
+        SlowDatabaseStatementInspector.latencyMillis = dbLatencyMillis;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SlowDatabaseStatementInspector.latencyMillis = 0;
+        client.close();
+        context.close();
+    }
+
+    @Benchmark
+    public int getAll() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/todos?page=0&size=12")).GET().build());
+    }
+
+    @Benchmark
+    public int get() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(itemUrl)).GET().build());
+    }
+
+    @Benchmark
+    public int add() throws IOException, InterruptedException {
+        var body = "{\"description\":\"benchmark item\",\"dueDate\":\"" + LocalDateTime.now().plusYears(1) + "\"}";
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/todos"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build());
+    }
+
+    private int send(HttpRequest request) throws IOException, InterruptedException {
+        var response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode() + " for " + request.uri());
+        }
+        return response.statusCode();
+    }
+}
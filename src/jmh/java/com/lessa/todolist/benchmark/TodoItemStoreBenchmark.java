@@ -0,0 +1,79 @@
+package com.lessa.todolist.benchmark;
+
+import com.lessa.todolist.domain.Status;
+import com.lessa.todolist.domain.TodoItem;
+import com.lessa.todolist.persistence.repository.TodoItemRepository;
+import com.lessa.todolist.persistence.store.TodoItemStore;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the storage engines behind the item service, the JPA one on embedded H2 and the off-heap in-memory one,
+ * on lookups, inserts and the not done list, with {@code rows} items stored.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TodoItemStoreBenchmark {
+
+    private static final Pageable NOT_DONE_PAGE = PageRequest.of(0, 12, Sort.by("dueDate"));
+
+    @Param({"1000", "100000"})
+    private int rows;
+
+    @Param({"default", "in-memory"})
+    private String profile;
+
+    private ConfigurableApplicationContext context;
+    private TodoItemStore store;
+    private UUID[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("spring.profiles.active=" + profile);
+        store = context.getBean(TodoItemStore.class);
+        if (profile.equals("in-memory")) {
+            var creationDate = LocalDateTime.now().minusDays(1);
+            for (int i = 0; i < rows; i++) {
+                var status = Status.values()[i % Status.values().length];
+                store.insert(new TodoItem(null, "seeded item " + i, status, creationDate.plusSeconds(i),
+                        creationDate.plusDays(30 + i % 365), null, null));
+            }
+        } else {
+            BenchmarkContext.seed(context.getBean(TodoItemRepository.class), rows);
+        }
+        ids = store.sliceAllItems(PageRequest.of(0, 1024)).map(TodoItem::getId).getContent().toArray(UUID[]::new);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1024)
+    public void findById(Blackhole blackhole) {
+        for (var id : ids) {
+            blackhole.consume(store.findById(id));
+        }
+    }
+
+    @Benchmark
+    public TodoItem insert() {
+        return store.insert(TodoItem.createNew("benchmark item", LocalDateTime.now().plusYears(1)));
+    }
+
+    @Benchmark
+    public Slice<TodoItem> sliceNotDone() {
+        return store.sliceAllItemsByStatus(Status.NOT_DONE, NOT_DONE_PAGE);
+    }
+}
@@ -0,0 +1,79 @@
+package com.lessa.todolist.benchmark;
+
+import com.lessa.todolist.domain.SearchHit;
+import com.lessa.todolist.domain.TodoItem;
+import com.lessa.todolist.service.TodoSearchIndex;
+import com.lessa.todolist.service.exception.BadRequestException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the query latency of the description search index with {@code rows} items indexed. The descriptions are
+ * drawn from a vocabulary with a skewed word frequency, so "common" matches a large share of the items, "rare" a
+ * handful, and "mixed" intersects a common word with a less common one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TodoSearchBenchmark {
+
+    private static final int VOCABULARY_SIZE = 20_000;
+    private static final int PAGE_SIZE = 12;
+
+    @Param({"1000000", "10000000"})
+    private int rows;
+
+    @Param({"common", "rare", "mixed"})
+    private String query;
+
+    private ConfigurableApplicationContext context;
+    private TodoSearchIndex searchIndex;
+    private String text;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("search.index.rebuild-on-startup=false", "past-due.timer.enabled=false");
+        searchIndex = context.getBean(TodoSearchIndex.class);
+
+        var random = new Random(42);
+        var description = new StringBuilder();
+        for (int i = 0; i < rows; i++) {
+            description.setLength(0);
+            var words = 3 + random.nextInt(6);
+            for (int word = 0; word < words; word++) {
+                description.append(word(random)).append(' ');
+            }
+            searchIndex.index(new TodoItem(UUID.randomUUID(), description.toString(), null, null, null, null, 0L));
+        }
+
+        text = switch (query) {
+            case "common" -> "w0";
+            case "rare" -> "w" + (VOCABULARY_SIZE - 1);
+            default -> "w0 w100";
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<SearchHit> search() throws BadRequestException {
+        return searchIndex.search(text, ScrollPosition.keyset(), PAGE_SIZE + 1);
+    }
+
+    /**
+     * Picks word ranks with a density falling with the cube of the rank, like the long tail of natural language.
+     */
+    private static String word(Random random) {
+        var uniform = random.nextDouble();
+        return "w" + (int) (uniform * uniform * uniform * VOCABULARY_SIZE);
+    }
+}
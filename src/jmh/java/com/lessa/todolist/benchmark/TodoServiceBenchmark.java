@@ -0,0 +1,97 @@
+package com.lessa.todolist.benchmark;
+
+import com.lessa.todolist.domain.Status;
+import com.lessa.todolist.domain.TodoItem;
+import com.lessa.todolist.persistence.repository.TodoItemRepository;
+import com.lessa.todolist.service.TodoService;
+import com.lessa.todolist.service.exception.ConflictException;
+import com.lessa.todolist.service.exception.NotFoundException;
+import com.lessa.todolist.service.exception.PreconditionFailedException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the service entry points end to end (service, JPA and embedded H2) on a table seeded with
+ * {@code rows} items.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TodoServiceBenchmark {
+
+    @Param({"1000", "100000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private TodoService service;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        service = context.getBean(TodoService.class);
+        BenchmarkContext.seed(context.getBean(TodoItemRepository.class), rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TodoItem add() throws ConflictException {
+        return service.add(TodoItem.createNew("benchmark item", LocalDateTime.now().plusYears(1)));
+    }
+
+    @Benchmark
+    public TodoItem markAsDone(NotDoneItem item) throws NotFoundException, ConflictException, PreconditionFailedException {
+        return service.markAsDone(item.id, null);
+    }
+
+    @Benchmark
+    public Page<TodoItem> getAll(PageState page) {
+        return service.getAll(page.pageable);
+    }
+
+    /**
+     * Requests either the first page or a deep one, to expose offset paging costs.
+     */
+    @State(Scope.Benchmark)
+    public static class PageState {
+
+        @Param({"0", "100"})
+        private int pageNumber;
+
+        private Pageable pageable;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            pageable = PageRequest.of(pageNumber, 12, Sort.by("creationDate"));
+        }
+    }
+
+    /**
+     * Hands {@link #markAsDone} an item that is back in the not done status before every invocation.
+     */
+    @State(Scope.Thread)
+    public static class NotDoneItem {
+
+        private UUID id;
+
+        @Setup(Level.Invocation)
+        public void reset(TodoServiceBenchmark benchmark) throws NotFoundException, ConflictException, PreconditionFailedException {
+            if (id == null) {
+                id = benchmark.service.add(TodoItem.createNew("benchmark item", LocalDateTime.now().plusYears(1))).getId();
+            } else if (benchmark.service.get(id).getStatus() != Status.NOT_DONE) {
+                benchmark.service.markAsNotDone(id, null);
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.lessa.todolist.config;
+
+import com.lessa.todolist.domain.Status;
+import com.lessa.todolist.service.TodoStatusCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Number of items per stored status, read from the in-memory status counters so a scrape never runs a count query.
+     */
+    @Bean
+    public MeterBinder todoItemsByStatus(TodoStatusCounter statusCounter) {
+        return registry -> {
+            for (var status : Status.values()) {
+                Gauge.builder("todo.items", statusCounter, counter -> counter.getCounts().getCounts().get(status))
+                        .description("Items per stored status")
+                        .tag("status", status.name())
+                        .register(registry);
+            }
+        };
+    }
+}
@@ -0,0 +1,44 @@
+package com.lessa.todolist.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every {@code TodoService} call, tagged by method and outcome: {@code ok} or the simple name of the exception
+ * thrown. It runs outside the transaction, so the time includes the commit.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class TodoServiceMetricsAspect {
+
+    private static final String OK_OUTCOME = "ok";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(* com.lessa.todolist.service.TodoService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        var sample = Timer.start(meterRegistry);
+        var outcome = OK_OUTCOME;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable throwable) {
+            outcome = throwable.getClass().getSimpleName();
+            throw throwable;
+        } finally {
+            sample.stop(Timer.builder("todo.service")
+                    .description("Calls to the TODO service")
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -1,13 +1,20 @@
 package com.lessa.todolist.controller;
 
+import com.lessa.todolist.service.exception.BadRequestException;
 import com.lessa.todolist.service.exception.ConflictException;
 import com.lessa.todolist.service.exception.NotFoundException;
+import com.lessa.todolist.service.exception.PreconditionFailedException;
+import com.lessa.todolist.service.exception.TooManyRequestsException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.method.ParameterErrors;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -23,6 +30,13 @@ public class GlobalControllerExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(exception.getMessage());
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLockingFailureException(OptimisticLockingFailureException exception) {
+        log.info(exception.getMessage());
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("The item was changed concurrently. Try again.");
+    }
+
     @ExceptionHandler(NotFoundException.class)
     public ResponseEntity<String> handleNotFoundException(NotFoundException exception) {
         log.info(exception.getMessage());
@@ -30,6 +44,29 @@ public class GlobalControllerExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(exception.getMessage());
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<String> handlePreconditionFailedException(PreconditionFailedException exception) {
+        log.info(exception.getMessage());
+
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(exception.getMessage());
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<String> handleTooManyRequestsException(TooManyRequestsException exception) {
+        log.info(exception.getMessage());
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(exception.getMessage());
+    }
+
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<String> handleBadRequestException(BadRequestException exception) {
+        log.info(exception.getMessage());
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(exception.getMessage());
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, String>> handleMethodArgumentNotValidException(
             MethodArgumentNotValidException methodArgumentNotValidException) {
@@ -39,6 +76,31 @@ public class GlobalControllerExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(validationErrors);
     }
 
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<Map<String, String>> handleHandlerMethodValidationException(
+            HandlerMethodValidationException handlerMethodValidationException) {
+        var validationErrors = getValidationErrors(handlerMethodValidationException);
+        log.info("Validation failed: " + validationErrors, handlerMethodValidationException);
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(validationErrors);
+    }
+
+    private Map<String, String> getValidationErrors(HandlerMethodValidationException exception) {
+        Map<String, String> errors = new HashMap<>();
+        exception.getAllValidationResults().forEach(result -> {
+            if (result instanceof ParameterErrors parameterErrors) {
+                var prefix = parameterErrors.getContainerIndex() == null ? "" : "[" + parameterErrors.getContainerIndex() + "].";
+                parameterErrors.getFieldErrors().forEach(error ->
+                        errors.put(prefix + error.getField(), error.getDefaultMessage()));
+            } else {
+                result.getResolvableErrors().forEach(error ->
+                        errors.put(result.getMethodParameter().getParameterName(), error.getDefaultMessage()));
+            }
+        });
+
+        return errors;
+    }
+
     private Map<String, String> getValidationErrors(MethodArgumentNotValidException exception) {
         Map<String, String> errors = new HashMap<>();
         exception.getBindingResult().getFieldErrors().forEach(error -> {
@@ -0,0 +1,61 @@
+package com.lessa.todolist.controller;
+
+import com.lessa.todolist.dto.CacheStatisticsDto;
+import com.lessa.todolist.dto.PastDueSweepDto;
+import com.lessa.todolist.dto.SearchIndexRebuildDto;
+import com.lessa.todolist.service.PastDueSweepService;
+import com.lessa.todolist.service.TodoItemCache;
+import com.lessa.todolist.service.TodoSearchIndex;
+import com.lessa.todolist.service.exception.NotFoundException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Maintenance API", description = "API to inspect the background maintenance of TODO Items")
+public class MaintenanceController {
+
+    private final PastDueSweepService pastDueSweepService;
+    private final TodoItemCache itemCache;
+    private final TodoSearchIndex searchIndex;
+
+    @Operation(summary = "Get the statistics of the last past due sweep")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Last past due sweep returned",
+                    content = {@Content(mediaType = "application/json", schema = @Schema(implementation = PastDueSweepDto.class))}),
+            @ApiResponse(responseCode = "404", description = "No past due sweep has run yet.", content = @Content)})
+    @GetMapping("/maintenance/past-due-sweep")
+    public ResponseEntity<PastDueSweepDto> getLastPastDueSweep() throws NotFoundException {
+        var sweep = pastDueSweepService.getLastSweep()
+                .orElseThrow(() -> new NotFoundException("No past due sweep has run yet."));
+        return ResponseEntity.ok(PastDueSweepDto.fromDomain(sweep));
+    }
+
+    @Operation(summary = "Get the statistics of the TODO Item cache")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "TODO Item cache statistics returned",
+                    content = {@Content(mediaType = "application/json", schema = @Schema(implementation = CacheStatisticsDto.class))})})
+    @GetMapping("/maintenance/item-cache")
+    public ResponseEntity<CacheStatisticsDto> getItemCacheStatistics() {
+        return ResponseEntity.ok(CacheStatisticsDto.fromDomain(itemCache.getStatistics()));
+    }
+
+    @Operation(summary = "Rebuild the TODO Item search index from the database")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Search index rebuilt",
+                    content = {@Content(mediaType = "application/json", schema = @Schema(implementation = SearchIndexRebuildDto.class))})})
+    @PostMapping("/maintenance/search-index")
+    public ResponseEntity<SearchIndexRebuildDto> rebuildSearchIndex() {
+        return ResponseEntity.ok(SearchIndexRebuildDto.fromDomain(searchIndex.rebuild()));
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.lessa.todolist.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.lessa.todolist.domain.TodoItem;
+import com.lessa.todolist.dto.TodoItemDto;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Writes items as newline delimited JSON. The first item is flushed right away, so the client sees the response
+ * start, and then every {@code flushInterval} items, leaving the rest to the response buffer.
+ */
+class NdjsonItemWriter implements Consumer<TodoItem> {
+
+    private final OutputStream outputStream;
+    private final ObjectWriter writer;
+    private final int flushInterval;
+    private long writtenItems;
+
+    NdjsonItemWriter(OutputStream outputStream, ObjectMapper objectMapper, int flushInterval) {
+        this.outputStream = outputStream;
+        this.writer = objectMapper.writerFor(TodoItemDto.class);
+        this.flushInterval = flushInterval;
+    }
+
+    @Override
+    public void accept(TodoItem item) {
+        try {
+            outputStream.write(writer.writeValueAsBytes(TodoItemDto.fromDomain(item)));
+            outputStream.write('\n');
+            if (writtenItems++ % flushInterval == 0) {
+                outputStream.flush();
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
@@ -1,12 +1,31 @@
 package com.lessa.todolist.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lessa.todolist.domain.Status;
 import com.lessa.todolist.domain.TodoItem;
+import com.lessa.todolist.dto.BatchAddResultDto;
+import com.lessa.todolist.dto.BatchTransitionResultDto;
 import com.lessa.todolist.dto.ChangeDescriptionDto;
+import com.lessa.todolist.dto.ContinuationToken;
+import com.lessa.todolist.dto.CountMode;
 import com.lessa.todolist.dto.CreateItemDto;
+import com.lessa.todolist.dto.CursorPageDto;
+import com.lessa.todolist.dto.EntityTag;
+import com.lessa.todolist.dto.IngestStatusDto;
+import com.lessa.todolist.dto.ItemChangesDto;
+import com.lessa.todolist.dto.SliceDto;
+import com.lessa.todolist.dto.StatusCountsDto;
+import com.lessa.todolist.dto.TodoItemFilterDto;
 import com.lessa.todolist.dto.TodoItemDto;
+import com.lessa.todolist.service.TodoBatchService;
+import com.lessa.todolist.service.TodoExportService;
+import com.lessa.todolist.service.TodoIngestService;
 import com.lessa.todolist.service.TodoService;
+import com.lessa.todolist.service.exception.BadRequestException;
 import com.lessa.todolist.service.exception.ConflictException;
 import com.lessa.todolist.service.exception.NotFoundException;
+import com.lessa.todolist.service.exception.PreconditionFailedException;
+import com.lessa.todolist.service.exception.TooManyRequestsException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -18,10 +37,20 @@ import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.SortDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -29,7 +58,16 @@ import java.util.UUID;
 @Tag(name = "TODO API", description = "API to manage TODO Items")
 public class TodoController {
 
+    private static final int EXPORT_FLUSH_INTERVAL = 500;
+    private static final Sort SEARCH_SORT = Sort.by(Sort.Direction.DESC, "score");
+    private static final Sort CHANGES_SORT = Sort.by("changeSequence");
+
     private final TodoService service;
+    private final TodoBatchService batchService;
+    private final TodoIngestService ingestService;
+    private final TodoExportService exportService;
+    private final ObjectMapper objectMapper;
+    private final TodoEventBroadcaster eventBroadcaster;
 
     @Operation(summary = "Create a new TODO Item")
     @ApiResponses(value = {
@@ -42,17 +80,59 @@ public class TodoController {
         return ResponseEntity.ok(TodoItemDto.fromDomain(domain));
     }
 
+    @Operation(summary = "Accept a new TODO Item to be written in the background")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "TODO Item accepted with its id; it can be read once it is written, " +
+                    "and whether it was written is at /todos/ingest/{id}",
+                    content = {@Content(mediaType = "application/json", schema = @Schema(implementation = TodoItemDto.class))}),
+            @ApiResponse(responseCode = "409", description = "Cannot add item. Due date is earlier or equal the current date.", content = @Content),
+            @ApiResponse(responseCode = "429", description = "The ingest queue is full. Try again later.", content = @Content)})
+    @PostMapping(value = "/todos", params = "async=true")
+    public ResponseEntity<TodoItemDto> submitItem(@RequestBody @Valid CreateItemDto createItemDto)
+            throws ConflictException, TooManyRequestsException {
+        var domain = ingestService.submit(createItemDto.toDomain());
+        return ResponseEntity.accepted()
+                .location(URI.create("/todos/" + domain.getId()))
+                .body(TodoItemDto.fromDomain(domain));
+    }
+
+    @Operation(summary = "Get whether a TODO Item accepted in the background was written",
+            description = "Answers queued while the item waits to be written, written once it can be read, and failed " +
+                    "when it could not be written. Failures are kept for ingest.failed.retention.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ingest status returned",
+                    content = {@Content(mediaType = "application/json", schema = @Schema(implementation = IngestStatusDto.class))}),
+            @ApiResponse(responseCode = "404", description = "Item not found with given id.", content = @Content)})
+    @GetMapping("/todos/ingest/{id}")
+    public ResponseEntity<IngestStatusDto> getIngestStatus(@PathVariable UUID id) throws NotFoundException {
+        return ResponseEntity.ok(IngestStatusDto.fromDomain(id, ingestService.getStatus(id)));
+    }
+
+    @Operation(summary = "Create many TODO Items at once")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "TODO Items created, along with the items that could not be added and why",
+                    content = {@Content(mediaType = "application/json", schema = @Schema(implementation = BatchAddResultDto.class))}),
+            @ApiResponse(responseCode = "400", description = "Invalid item or batch larger than the maximum size.", content = @Content)})
+    @PostMapping("/todos/batch")
+    public ResponseEntity<BatchAddResultDto> addItems(@RequestBody List<@Valid CreateItemDto> createItemDtos) throws BadRequestException {
+        var result = batchService.addAll(createItemDtos.stream().map(CreateItemDto::toDomain).toList());
+        return ResponseEntity.ok(BatchAddResultDto.fromDomain(result));
+    }
+
     @Operation(summary = "Update a TODO Item description")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "TODO Item description updated",
                     content = {@Content(mediaType = "application/json", schema = @Schema(implementation = TodoItemDto.class))}),
             @ApiResponse(responseCode = "404", description = "Item not found with given id.", content = @Content),
-            @ApiResponse(responseCode = "409", description = "Cannot change item description. Due date is earlier or equal the current date.", content = @Content)})
+            @ApiResponse(responseCode = "409", description = "Cannot change item description. Due date is earlier or equal the current date.", content = @Content),
+            @ApiResponse(responseCode = "412", description = "The item changed since the ETag sent in If-Match.", content = @Content)})
     @PutMapping("/todos/{id}")
     public ResponseEntity<TodoItemDto> updateDescription(@PathVariable UUID id,
-                                                         @RequestBody @Valid ChangeDescriptionDto changeDescriptionDto) throws ConflictException, NotFoundException {
-        var domain = service.updateDescription(id, changeDescriptionDto.getDescription());
-        return ResponseEntity.ok(TodoItemDto.fromDomain(domain));
+                                                         @RequestBody @Valid ChangeDescriptionDto changeDescriptionDto,
+                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
+            throws ConflictException, NotFoundException, PreconditionFailedException, BadRequestException {
+        var domain = service.updateDescription(id, changeDescriptionDto.getDescription(), EntityTag.parseIfMatch(ifMatch));
+        return toItemResponse(domain);
     }
 
     @Operation(summary = "Update a TODO Item status to done")
@@ -61,11 +141,14 @@ public class TodoController {
                     content = {@Content(mediaType = "application/json", schema = @Schema(implementation = TodoItemDto.class))}),
             @ApiResponse(responseCode = "404", description = "Item not found with given id.", content = @Content),
             @ApiResponse(responseCode = "409", description = "Cannot change item status to done: Item status is already done. " +
-                    "/ Due date is earlier or equal the current date.", content = @Content)})
+                    "/ Due date is earlier or equal the current date.", content = @Content),
+            @ApiResponse(responseCode = "412", description = "The item changed since the ETag sent in If-Match.", content = @Content)})
     @PutMapping("/todos/{id}/done")
-    public ResponseEntity<TodoItemDto> markItemAsDone(@PathVariable UUID id) throws ConflictException, NotFoundException {
-        var domain = service.markAsDone(id);
-        return ResponseEntity.ok(TodoItemDto.fromDomain(domain));
+    public ResponseEntity<TodoItemDto> markItemAsDone(@PathVariable UUID id,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
+            throws ConflictException, NotFoundException, PreconditionFailedException, BadRequestException {
+        var domain = service.markAsDone(id, EntityTag.parseIfMatch(ifMatch));
+        return toItemResponse(domain);
     }
 
     @Operation(summary = "Update a TODO Item status to not done")
@@ -74,41 +157,195 @@ public class TodoController {
                     content = {@Content(mediaType = "application/json", schema = @Schema(implementation = TodoItemDto.class))}),
             @ApiResponse(responseCode = "404", description = "Item not found with given id.", content = @Content),
             @ApiResponse(responseCode = "409", description = "Cannot change item status to not done: Item status is already not done. " +
-                    "/ Due date is earlier or equal the current date.", content = @Content)})
+                    "/ Due date is earlier or equal the current date.", content = @Content),
+            @ApiResponse(responseCode = "412", description = "The item changed since the ETag sent in If-Match.", content = @Content)})
     @PutMapping("/todos/{id}/not-done")
-    public ResponseEntity<TodoItemDto> markItemAsNotDone(@PathVariable UUID id) throws ConflictException, NotFoundException {
-        var domain = service.markAsNotDone(id);
-        return ResponseEntity.ok(TodoItemDto.fromDomain(domain));
+    public ResponseEntity<TodoItemDto> markItemAsNotDone(@PathVariable UUID id,
+                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
+            throws ConflictException, NotFoundException, PreconditionFailedException, BadRequestException {
+        var domain = service.markAsNotDone(id, EntityTag.parseIfMatch(ifMatch));
+        return toItemResponse(domain);
+    }
+
+    @Operation(summary = "Update many TODO Items status to done at once")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Outcome of the status update of each TODO Item",
+                    content = {@Content(mediaType = "application/json")}),
+            @ApiResponse(responseCode = "400", description = "Batch larger than the maximum size.", content = @Content)})
+    @PutMapping("/todos/done")
+    public ResponseEntity<List<BatchTransitionResultDto>> markItemsAsDone(@RequestBody List<UUID> ids) throws BadRequestException {
+        var results = batchService.markAllAsDone(ids);
+        return ResponseEntity.ok(results.stream().map(BatchTransitionResultDto::fromDomain).toList());
     }
 
-    @Operation(summary = "Get TODO Item page")
+    @Operation(summary = "Update many TODO Items status to not done at once")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "TODO Item page returned.", content = {@Content(mediaType = "application/json")})})
+            @ApiResponse(responseCode = "200", description = "Outcome of the status update of each TODO Item",
+                    content = {@Content(mediaType = "application/json")}),
+            @ApiResponse(responseCode = "400", description = "Batch larger than the maximum size.", content = @Content)})
+    @PutMapping("/todos/not-done")
+    public ResponseEntity<List<BatchTransitionResultDto>> markItemsAsNotDone(@RequestBody List<UUID> ids) throws BadRequestException {
+        var results = batchService.markAllAsNotDone(ids);
+        return ResponseEntity.ok(results.stream().map(BatchTransitionResultDto::fromDomain).toList());
+    }
+
+    @Operation(summary = "Get TODO Item page",
+            description = "With count=EXACT (default) a page with the exact total is returned. With count=CACHED or " +
+                    "count=NONE a slice is returned instead, with a recently counted total or without any total. " +
+                    "The items can be filtered by one or more statuses and by due date and done date ranges, which " +
+                    "include their start and exclude their end; a filtered slice has no cached total. " +
+                    "The ETag changes after every change to the items.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "TODO Item page returned.", content = {@Content(mediaType = "application/json")}),
+            @ApiResponse(responseCode = "304", description = "No item changed since the ETag sent in If-None-Match.", content = @Content)})
     @GetMapping("/todos")
-    public ResponseEntity<Page<TodoItemDto>> getAll(@ParameterObject @PageableDefault(size = 12) Pageable pageable) {
-        var page = toPageDto(service.getAll(pageable));
-        return ResponseEntity.ok(page);
+    public ResponseEntity<?> getAll(@ParameterObject @PageableDefault(size = 12) Pageable pageable,
+                                    @ParameterObject TodoItemFilterDto filterDto,
+                                    @RequestParam(defaultValue = "EXACT") CountMode count,
+                                    WebRequest request) {
+        if (request.checkNotModified(EntityTag.weak(service.getChangeVersion()))) {
+            return null;
+        }
+
+        var filter = filterDto.toDomain();
+        if (count == CountMode.EXACT) {
+            return ResponseEntity.ok(toPageDto(service.getAll(filter, pageable)));
+        }
+
+        var totalElements = count == CountMode.CACHED && filter.isEmpty() ? service.getCachedCount(null) : null;
+        return ResponseEntity.ok(SliceDto.fromSlice(service.getAllSlice(filter, pageable).map(TodoItemDto::fromDomain), totalElements));
     }
 
-    @Operation(summary = "Get TODO Item page with not done status")
+    @Operation(summary = "Get TODO Item page with not done status",
+            description = "With count=EXACT (default) a page with the exact total is returned. With count=CACHED or " +
+                    "count=NONE a slice is returned instead, with a recently counted total or without any total. " +
+                    "The ETag changes after every change to the items.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "TODO Item page with not done status returned.", content = {@Content(mediaType = "application/json")})})
+            @ApiResponse(responseCode = "200", description = "TODO Item page with not done status returned.", content = {@Content(mediaType = "application/json")}),
+            @ApiResponse(responseCode = "304", description = "No item changed since the ETag sent in If-None-Match.", content = @Content)})
     @GetMapping("/todos/not-done")
-    public ResponseEntity<Page<TodoItemDto>> getAllNotDone(@ParameterObject @PageableDefault(size = 12) Pageable pageable) {
-        var page = toPageDto(service.getNotDone(pageable));
-        return ResponseEntity.ok(page);
+    public ResponseEntity<?> getAllNotDone(@ParameterObject @PageableDefault(size = 12) Pageable pageable,
+                                           @RequestParam(defaultValue = "EXACT") CountMode count,
+                                           WebRequest request) {
+        if (request.checkNotModified(EntityTag.weak(service.getChangeVersion()))) {
+            return null;
+        }
+
+        if (count == CountMode.EXACT) {
+            return ResponseEntity.ok(toPageDto(service.getNotDone(pageable)));
+        }
+
+        var totalElements = count == CountMode.CACHED ? service.getCachedCount(Status.NOT_DONE) : null;
+        return ResponseEntity.ok(SliceDto.fromSlice(service.getNotDoneSlice(pageable).map(TodoItemDto::fromDomain), totalElements));
+    }
+
+    @Operation(summary = "Get the number of TODO Items per status",
+            description = "Read from counters moved by every status transition and regularly reconciled with the " +
+                    "database, so it costs the same whatever the number of items.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "TODO Item counts returned.",
+                    content = {@Content(mediaType = "application/json", schema = @Schema(implementation = StatusCountsDto.class))})})
+    @GetMapping("/todos/stats")
+    public ResponseEntity<StatusCountsDto> getStats() {
+        return ResponseEntity.ok(StatusCountsDto.fromDomain(service.getStatusCounts()));
+    }
+
+    @Operation(summary = "Scroll through TODO Items with a continuation cursor")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "TODO Item window returned.", content = {@Content(mediaType = "application/json")}),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor, size or sort. The only supported sort property is creationDate.", content = @Content)})
+    @GetMapping("/todos/scroll")
+    public ResponseEntity<CursorPageDto<TodoItemDto>> scrollAll(@RequestParam(required = false) String cursor,
+                                                                @RequestParam(defaultValue = "12") int size,
+                                                                @SortDefault(sort = "creationDate") Sort sort) throws BadRequestException {
+        var window = service.scrollAll(ContinuationToken.decode(cursor, sort), size, sort);
+        return ResponseEntity.ok(CursorPageDto.fromWindow(window.map(TodoItemDto::fromDomain), sort));
+    }
+
+    @Operation(summary = "Scroll through TODO Items with not done status with a continuation cursor")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "TODO Item window with not done status returned.", content = {@Content(mediaType = "application/json")}),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor, size or sort. The only supported sort property is dueDate.", content = @Content)})
+    @GetMapping("/todos/not-done/scroll")
+    public ResponseEntity<CursorPageDto<TodoItemDto>> scrollNotDone(@RequestParam(required = false) String cursor,
+                                                                    @RequestParam(defaultValue = "12") int size,
+                                                                    @SortDefault(sort = "dueDate") Sort sort) throws BadRequestException {
+        var window = service.scrollNotDone(ContinuationToken.decode(cursor, sort), size, sort);
+        return ResponseEntity.ok(CursorPageDto.fromWindow(window.map(TodoItemDto::fromDomain), sort));
+    }
+
+    @Operation(summary = "Search TODO Items by the words of their description",
+            description = "Returns the items whose description contains every word of the query, best matches first, " +
+                    "with a continuation cursor for the next window.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "TODO Item window returned.", content = {@Content(mediaType = "application/json")}),
+            @ApiResponse(responseCode = "400", description = "Empty query, invalid cursor or size.", content = @Content)})
+    @GetMapping("/todos/search")
+    public ResponseEntity<CursorPageDto<TodoItemDto>> search(@RequestParam String q,
+                                                             @RequestParam(required = false) String cursor,
+                                                             @RequestParam(defaultValue = "12") int size) throws BadRequestException {
+        var window = service.search(q, ContinuationToken.decode(cursor, SEARCH_SORT), size);
+        return ResponseEntity.ok(CursorPageDto.fromWindow(window.map(TodoItemDto::fromDomain), SEARCH_SORT));
+    }
+
+    @Operation(summary = "Get the TODO Items changed since a cursor",
+            description = "Returns the items created or changed after the cursor of the previous call, in the order " +
+                    "they last changed, with the cursor to send next time. Without a cursor every item is returned. " +
+                    "When hasMore is true, more changes can be read right away with the new cursor.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Changed TODO Items returned.",
+                    content = {@Content(mediaType = "application/json", schema = @Schema(implementation = ItemChangesDto.class))}),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or size.", content = @Content)})
+    @GetMapping("/todos/changes")
+    public ResponseEntity<ItemChangesDto> getChanges(@RequestParam(required = false) String since,
+                                                     @RequestParam(defaultValue = "500") int size) throws BadRequestException {
+        var window = service.getChanges(ContinuationToken.decode(since, CHANGES_SORT), size);
+        return ResponseEntity.ok(ItemChangesDto.fromWindow(window.map(TodoItemDto::fromDomain), since, CHANGES_SORT));
+    }
+
+    @Operation(summary = "Export all TODO Items as newline delimited JSON")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "TODO Items streamed one JSON object per line.",
+                    content = {@Content(mediaType = "application/x-ndjson")})})
+    @GetMapping(value = "/todos/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(required = false) Status status) {
+        StreamingResponseBody body = outputStream -> {
+            try {
+                exportService.exportAll(status, new NdjsonItemWriter(outputStream, objectMapper, EXPORT_FLUSH_INTERVAL));
+            } catch (UncheckedIOException exception) {
+                throw exception.getCause();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
+    @Operation(summary = "Stream the changes to TODO Items as server-sent events",
+            description = "Sends a created, updated or status-changed event with the item for every committed change, " +
+                    "and a past-due event with the ids of every batch of items moved to past due. A client that " +
+                    "falls too far behind is disconnected and should read the list again when it reconnects.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "TODO Item events streamed.",
+                    content = {@Content(mediaType = "text/event-stream")}),
+            @ApiResponse(responseCode = "429", description = "Too many subscribers to the event stream.", content = @Content)})
+    @GetMapping(value = "/todos/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() throws TooManyRequestsException {
+        return eventBroadcaster.subscribe();
+    }
 
     @Operation(summary = "Get a TODO Item details")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "TODO Item returned",
                     content = {@Content(mediaType = "application/json", schema = @Schema(implementation = TodoItemDto.class))}),
+            @ApiResponse(responseCode = "304", description = "TODO Item not changed since the ETag sent in If-None-Match.", content = @Content),
             @ApiResponse(responseCode = "404", description = "Item not found with given id.", content = @Content)})
     @GetMapping("/todos/{id}")
     public ResponseEntity<TodoItemDto> get(@PathVariable UUID id) throws NotFoundException {
         var domain = service.get(id);
-        return ResponseEntity.ok(TodoItemDto.fromDomain(domain));
+        return toItemResponse(domain);
+    }
+
+    private ResponseEntity<TodoItemDto> toItemResponse(TodoItem domain) {
+        return ResponseEntity.ok().eTag(EntityTag.ofItem(domain)).body(TodoItemDto.fromDomain(domain));
     }
 
     private Page<TodoItemDto> toPageDto(Page<TodoItem> pageDomain) {
@@ -0,0 +1,182 @@
+package com.lessa.todolist.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.lessa.todolist.domain.TodoEvent;
+import com.lessa.todolist.dto.PastDueBatchDto;
+import com.lessa.todolist.dto.TodoItemDto;
+import com.lessa.todolist.service.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Fans the committed item events out to the stream subscribers. Each event is rendered once into a server-sent event
+ * frame that every subscriber shares, and is only enqueued on the publishing thread. Every subscriber has a bounded
+ * buffer drained by its own virtual thread, and a subscriber whose buffer is full is disconnected rather than slowing
+ * down the writers or the other subscribers; it can reconnect and read the list again to catch up.
+ */
+@Slf4j
+@Component
+class TodoEventBroadcaster {
+
+    private static final Set<DataWithMediaType> SUBSCRIBED_FRAME = Set.of(new DataWithMediaType(
+            ":subscribed\n\n".getBytes(StandardCharsets.UTF_8), MediaType.TEXT_EVENT_STREAM));
+
+    private final ObjectWriter writer;
+    private final Supplier<SseEmitter> emitterFactory;
+    private final int bufferSize;
+    private final Semaphore subscriberSlots;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Counter slowDisconnectsCounter;
+    private long sequence;
+
+    @Autowired
+    TodoEventBroadcaster(ObjectMapper objectMapper,
+                         @Value("${stream.buffer-size:256}") int bufferSize,
+                         @Value("${stream.max-subscribers:1000}") int maxSubscribers,
+                         MeterRegistry meterRegistry) {
+        this(objectMapper, SseEmitter::new, bufferSize, maxSubscribers, meterRegistry);
+    }
+
+    TodoEventBroadcaster(ObjectMapper objectMapper, Supplier<SseEmitter> emitterFactory, int bufferSize,
+                         int maxSubscribers, MeterRegistry meterRegistry) {
+        this.writer = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        this.emitterFactory = emitterFactory;
+        this.bufferSize = bufferSize;
+        this.subscriberSlots = new Semaphore(maxSubscribers);
+        Gauge.builder("todo.stream.subscribers", subscribers, Set::size)
+                .description("Clients subscribed to the item event stream")
+                .register(meterRegistry);
+        this.slowDisconnectsCounter = Counter.builder("todo.stream.slow.disconnects")
+                .description("Stream subscribers disconnected because their buffer was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts the subscriber with a comment frame, which sends the response headers before the first event. Each
+     * subscriber holds one of the {@code max-subscribers} slots, taken before it is created and given back when it is
+     * closed, so concurrent subscriptions never go over the limit.
+     */
+    SseEmitter subscribe() throws TooManyRequestsException {
+        if (!subscriberSlots.tryAcquire()) {
+            throw new TooManyRequestsException("The event stream has too many subscribers. Try again later.");
+        }
+
+        Subscriber subscriber;
+        try {
+            subscriber = new Subscriber(emitterFactory.get(), new ArrayBlockingQueue<>(bufferSize + 1));
+        } catch (RuntimeException exception) {
+            subscriberSlots.release();
+            throw exception;
+        }
+        subscriber.buffer.add(SUBSCRIBED_FRAME);
+        subscribers.add(subscriber);
+        subscriber.emitter.onCompletion(() -> close(subscriber));
+        subscriber.emitter.onTimeout(() -> close(subscriber));
+        subscriber.emitter.onError(exception -> close(subscriber));
+        subscriber.drainer = Thread.ofVirtual().name("todo-stream-subscriber").start(() -> drain(subscriber));
+        return subscriber.emitter;
+    }
+
+    int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @EventListener
+    public void onEvent(TodoEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        var name = event.getType().name().toLowerCase(Locale.ROOT).replace('_', '-');
+        var data = serialize(event);
+        synchronized (this) {
+            var frame = "id:" + ++sequence + "\nevent:" + name + "\ndata:" + data + "\n\n";
+            var frameData = Set.of(new DataWithMediaType(frame.getBytes(StandardCharsets.UTF_8),
+                    MediaType.TEXT_EVENT_STREAM));
+            for (var subscriber : subscribers) {
+                if (!subscriber.buffer.offer(frameData)) {
+                    slowDisconnectsCounter.increment();
+                    log.debug("Stream subscriber disconnected with {} events buffered.", bufferSize);
+                    close(subscriber);
+                }
+            }
+        }
+    }
+
+    private String serialize(TodoEvent event) {
+        try {
+            return writer.writeValueAsString(event.getType() == TodoEvent.Type.PAST_DUE ?
+                    PastDueBatchDto.fromDomain(event) : TodoItemDto.fromDomain(event.getItem()));
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Cannot serialize the " + event.getType() + " event.", exception);
+        }
+    }
+
+    /**
+     * Sends the buffered frames until the subscriber is closed, then completes its emitter. A subscriber closed while a
+     * send blocks on its connection is completed once that send returns.
+     */
+    private void drain(Subscriber subscriber) {
+        try {
+            while (!subscriber.closed) {
+                subscriber.emitter.send(subscriber.buffer.take());
+            }
+            subscriber.emitter.complete();
+        } catch (InterruptedException exception) {
+            subscriber.emitter.complete();
+        } catch (IOException | IllegalStateException exception) {
+            log.debug("Stream subscriber disconnected: {}", exception.getMessage());
+            close(subscriber);
+        }
+    }
+
+    /**
+     * Stops buffering for the subscriber, frees its buffer and gives its slot back. Never completes the emitter itself, since that waits
+     * for a send in progress on the subscriber connection.
+     */
+    private void close(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            subscriberSlots.release();
+            subscriber.closed = true;
+            subscriber.buffer.clear();
+            if (subscriber.drainer != null) {
+                subscriber.drainer.interrupt();
+            }
+        }
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> buffer;
+        private volatile Thread drainer;
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, BlockingQueue<Set<DataWithMediaType>> buffer) {
+            this.emitter = emitter;
+            this.buffer = buffer;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.lessa.todolist.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class BatchAddResult {
+
+    private List<TodoItem> createdItems;
+    private List<BatchItemConflict> conflicts;
+}
@@ -0,0 +1,12 @@
+package com.lessa.todolist.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class BatchItemConflict {
+
+    private int index;
+    private String message;
+}
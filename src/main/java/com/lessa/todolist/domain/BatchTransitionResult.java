@@ -0,0 +1,14 @@
+package com.lessa.todolist.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+@Getter
+@AllArgsConstructor
+public class BatchTransitionResult {
+
+    private UUID itemId;
+    private TransitionOutcome outcome;
+}
@@ -0,0 +1,14 @@
+package com.lessa.todolist.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CacheStatistics {
+
+    private long size;
+    private long hits;
+    private long misses;
+    private long evictions;
+}
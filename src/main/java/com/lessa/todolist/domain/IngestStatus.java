@@ -0,0 +1,7 @@
+package com.lessa.todolist.domain;
+
+public enum IngestStatus {
+    QUEUED,
+    WRITTEN,
+    FAILED
+}
@@ -0,0 +1,17 @@
+package com.lessa.todolist.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class PastDueSweep {
+
+    private LocalDateTime startDate;
+    private int chunks;
+    private int updatedItems;
+    private Duration duration;
+}
@@ -0,0 +1,15 @@
+package com.lessa.todolist.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+@Getter
+@AllArgsConstructor
+public class SearchHit {
+
+    private UUID id;
+    private double score;
+    private long generation;
+}
@@ -0,0 +1,15 @@
+package com.lessa.todolist.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+@AllArgsConstructor
+public class SearchIndexRebuild {
+
+    private int indexedItems;
+    private int terms;
+    private Duration duration;
+}
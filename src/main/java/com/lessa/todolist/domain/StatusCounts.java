@@ -0,0 +1,14 @@
+package com.lessa.todolist.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+public class StatusCounts {
+
+    private Map<Status, Long> counts;
+    private long total;
+}
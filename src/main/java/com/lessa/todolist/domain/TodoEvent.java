@@ -0,0 +1,46 @@
+package com.lessa.todolist.domain;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A committed change to the items. The item events carry the item as written; the past due events only carry the ids
+ * of the items a batch actually moved to past due and the date they were moved at.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class TodoEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        STATUS_CHANGED,
+        PAST_DUE
+    }
+
+    private Type type;
+    private TodoItem item;
+    private List<UUID> itemIds;
+    private LocalDateTime pastDueDate;
+
+    public static TodoEvent created(TodoItem item) {
+        return new TodoEvent(Type.CREATED, item, null, null);
+    }
+
+    public static TodoEvent updated(TodoItem item) {
+        return new TodoEvent(Type.UPDATED, item, null, null);
+    }
+
+    public static TodoEvent statusChanged(TodoItem item) {
+        return new TodoEvent(Type.STATUS_CHANGED, item, null, null);
+    }
+
+    public static TodoEvent pastDue(List<UUID> itemIds, LocalDateTime pastDueDate) {
+        return new TodoEvent(Type.PAST_DUE, null, List.copyOf(itemIds), pastDueDate);
+    }
+}
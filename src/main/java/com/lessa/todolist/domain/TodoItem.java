@@ -20,6 +20,7 @@ public class TodoItem {
     private LocalDateTime creationDate;
     private LocalDateTime dueDate;
     private LocalDateTime doneDate;
+    private Long version;
 
     public static TodoItem createNew(String description, LocalDateTime dueDate) {
         var todoItem = new TodoItem();
@@ -27,4 +28,22 @@ public class TodoItem {
         todoItem.setDueDate(dueDate);
         return todoItem;
     }
+
+    /**
+     * Returns the item as it stands at the given date: a not done item whose due date has passed is past due, whatever
+     * status is stored.
+     */
+    public TodoItem asOf(LocalDateTime currentDate) {
+        if (status != Status.NOT_DONE || dueDate == null || dueDate.isAfter(currentDate)) {
+            return this;
+        }
+
+        var pastDue = copy();
+        pastDue.setStatus(Status.PAST_DUE);
+        return pastDue;
+    }
+
+    public TodoItem copy() {
+        return new TodoItem(id, description, status, creationDate, dueDate, doneDate, version);
+    }
 }
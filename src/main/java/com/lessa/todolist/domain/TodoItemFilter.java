@@ -0,0 +1,48 @@
+package com.lessa.todolist.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Narrows a list of items to some statuses, a due date range and a done date range. Every part is optional, and the
+ * ranges include their start and exclude their end. When {@code statusAsOf} is set, the statuses are the ones the items
+ * have at that date, as given by {@link TodoItem#asOf(LocalDateTime)}, rather than the stored ones.
+ */
+@Getter
+@AllArgsConstructor
+public class TodoItemFilter {
+
+    public static final TodoItemFilter NONE = new TodoItemFilter(Set.of(), null, null, null, null, null);
+
+    private Set<Status> statuses;
+    private LocalDateTime dueFrom;
+    private LocalDateTime dueTo;
+    private LocalDateTime doneFrom;
+    private LocalDateTime doneTo;
+    private LocalDateTime statusAsOf;
+
+    public boolean isEmpty() {
+        return statuses.isEmpty() && dueFrom == null && dueTo == null && doneFrom == null && doneTo == null;
+    }
+
+    public TodoItemFilter withStatusAsOf(LocalDateTime currentDate) {
+        return new TodoItemFilter(statuses, dueFrom, dueTo, doneFrom, doneTo, currentDate);
+    }
+
+    public boolean matches(TodoItem item) {
+        var status = statusAsOf == null ? item.getStatus() : item.asOf(statusAsOf).getStatus();
+        return (statuses.isEmpty() || statuses.contains(status)) &&
+                inRange(item.getDueDate(), dueFrom, dueTo) &&
+                inRange(item.getDoneDate(), doneFrom, doneTo);
+    }
+
+    private static boolean inRange(LocalDateTime date, LocalDateTime from, LocalDateTime to) {
+        if (from == null && to == null) {
+            return true;
+        }
+        return date != null && (from == null || !date.isBefore(from)) && (to == null || date.isBefore(to));
+    }
+}
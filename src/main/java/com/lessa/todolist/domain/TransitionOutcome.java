@@ -0,0 +1,9 @@
+package com.lessa.todolist.domain;
+
+public enum TransitionOutcome {
+    UPDATED,
+    NOT_FOUND,
+    ALREADY_IN_STATUS,
+    PAST_DUE,
+    CHANGED_CONCURRENTLY
+}
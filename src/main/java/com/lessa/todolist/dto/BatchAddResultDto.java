@@ -0,0 +1,22 @@
+package com.lessa.todolist.dto;
+
+import com.lessa.todolist.domain.BatchAddResult;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class BatchAddResultDto {
+
+    private List<TodoItemDto> createdItems;
+    private List<BatchItemConflictDto> conflicts;
+
+    public static BatchAddResultDto fromDomain(BatchAddResult domain) {
+        return new BatchAddResultDto(domain.getCreatedItems().stream().map(TodoItemDto::fromDomain).toList(),
+                domain.getConflicts().stream().map(BatchItemConflictDto::fromDomain).toList());
+    }
+}
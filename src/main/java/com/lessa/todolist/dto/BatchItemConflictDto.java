@@ -0,0 +1,19 @@
+package com.lessa.todolist.dto;
+
+import com.lessa.todolist.domain.BatchItemConflict;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class BatchItemConflictDto {
+
+    private int index;
+    private String message;
+
+    public static BatchItemConflictDto fromDomain(BatchItemConflict domain) {
+        return new BatchItemConflictDto(domain.getIndex(), domain.getMessage());
+    }
+}
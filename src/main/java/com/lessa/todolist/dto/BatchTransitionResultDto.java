@@ -0,0 +1,22 @@
+package com.lessa.todolist.dto;
+
+import com.lessa.todolist.domain.BatchTransitionResult;
+import com.lessa.todolist.domain.TransitionOutcome;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class BatchTransitionResultDto {
+
+    private UUID itemId;
+    private TransitionOutcome outcome;
+
+    public static BatchTransitionResultDto fromDomain(BatchTransitionResult domain) {
+        return new BatchTransitionResultDto(domain.getItemId(), domain.getOutcome());
+    }
+}
@@ -0,0 +1,21 @@
+package com.lessa.todolist.dto;
+
+import com.lessa.todolist.domain.CacheStatistics;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class CacheStatisticsDto {
+
+    private long size;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public static CacheStatisticsDto fromDomain(CacheStatistics domain) {
+        return new CacheStatisticsDto(domain.getSize(), domain.getHits(), domain.getMisses(), domain.getEvictions());
+    }
+}
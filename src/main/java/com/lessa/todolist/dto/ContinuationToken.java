@@ -0,0 +1,78 @@
+package com.lessa.todolist.dto;
+
+import com.lessa.todolist.service.exception.BadRequestException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.UUID;
+
+/**
+ * Opaque cursor for keyset pagination. It carries the sort key and the id of the last item of a window, so the
+ * next window is read by seeking the index instead of skipping rows. The sort key is a date, the score of a search
+ * hit or a change sequence. A search cursor also carries the generation of the search index the score comes from.
+ */
+public final class ContinuationToken {
+
+    private static final String ID_PROPERTY = "id";
+    private static final String SCORE_PROPERTY = "score";
+    private static final String CHANGE_SEQUENCE_PROPERTY = "changeSequence";
+    private static final String GENERATION_PROPERTY = "generation";
+    private static final String SEPARATOR = "|";
+
+    private ContinuationToken() {
+    }
+
+    public static String encode(ScrollPosition position, Sort sort) {
+        var keys = ((KeysetScrollPosition) position).getKeys();
+        var sortProperty = sortProperty(sort);
+        var token = sortProperty + SEPARATOR + keys.get(sortProperty) + SEPARATOR + keys.get(ID_PROPERTY);
+        if (keys.containsKey(GENERATION_PROPERTY)) {
+            token += SEPARATOR + keys.get(GENERATION_PROPERTY);
+        }
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ScrollPosition decode(String token, Sort sort) throws BadRequestException {
+        if (token == null || token.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        try {
+            var parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", -1);
+            var sortProperty = sortProperty(sort);
+            var expectedParts = SCORE_PROPERTY.equals(sortProperty) ? 4 : 3;
+            if (parts.length != expectedParts || !parts[0].equals(sortProperty)) {
+                throw new BadRequestException("The cursor does not match the requested sort.");
+            }
+
+            var keys = new LinkedHashMap<String, Object>();
+            keys.put(sortProperty, parseKey(sortProperty, parts[1]));
+            keys.put(ID_PROPERTY, UUID.fromString(parts[2]));
+            if (expectedParts == 4) {
+                keys.put(GENERATION_PROPERTY, Long.valueOf(parts[3]));
+            }
+            return ScrollPosition.forward(keys);
+        } catch (IllegalArgumentException | DateTimeParseException exception) {
+            throw new BadRequestException("Invalid cursor: " + token);
+        }
+    }
+
+    private static Object parseKey(String sortProperty, String key) {
+        return switch (sortProperty) {
+            case SCORE_PROPERTY -> Double.valueOf(key);
+            case CHANGE_SEQUENCE_PROPERTY -> Long.valueOf(key);
+            default -> LocalDateTime.parse(key);
+        };
+    }
+
+    private static String sortProperty(Sort sort) {
+        return sort.stream().findFirst().map(Sort.Order::getProperty).orElse(ID_PROPERTY);
+    }
+}
@@ -0,0 +1,19 @@
+package com.lessa.todolist.dto;
+
+/**
+ * How the total number of items is given along with a list page.
+ */
+public enum CountMode {
+    /**
+     * A page with the exact total, counted on every request.
+     */
+    EXACT,
+    /**
+     * A slice with a recently counted total that may be slightly stale.
+     */
+    CACHED,
+    /**
+     * A slice without any total, only telling whether there is a next one.
+     */
+    NONE
+}
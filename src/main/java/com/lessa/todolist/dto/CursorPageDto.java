@@ -0,0 +1,25 @@
+package com.lessa.todolist.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class CursorPageDto<T> {
+
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+
+    public static <T> CursorPageDto<T> fromWindow(Window<T> window, Sort sort) {
+        var nextCursor = window.hasNext() ? ContinuationToken.encode(window.positionAt(window.size() - 1), sort) : null;
+        return new CursorPageDto<>(window.getContent(), window.size(), window.hasNext(), nextCursor);
+    }
+}
@@ -0,0 +1,56 @@
+package com.lessa.todolist.dto;
+
+import com.lessa.todolist.domain.Status;
+import com.lessa.todolist.domain.TodoItem;
+import com.lessa.todolist.service.exception.BadRequestException;
+
+/**
+ * Entity tags of the items, built from their version. The tags are weak, but an {@code If-Match} with the weak tag
+ * of an item is still accepted, since the version alone identifies the state of the item. The tag of a past due item
+ * also carries its status, since with read-time past due evaluation an item becomes past due without a new version.
+ */
+public final class EntityTag {
+
+    private static final String WEAK_PREFIX = "W/";
+    private static final String QUOTE = "\"";
+    private static final String ANY = "*";
+    private static final String PAST_DUE_SUFFIX = "-past-due";
+
+    private EntityTag() {
+    }
+
+    public static String weak(Object version) {
+        return WEAK_PREFIX + QUOTE + version + QUOTE;
+    }
+
+    public static String ofItem(TodoItem item) {
+        return weak(item.getStatus() == Status.PAST_DUE ? item.getVersion() + PAST_DUE_SUFFIX : item.getVersion());
+    }
+
+    /**
+     * Returns the version expected by an {@code If-Match} header, or null when any version is accepted.
+     */
+    public static Long parseIfMatch(String ifMatch) throws BadRequestException {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals(ANY)) {
+            return null;
+        }
+
+        var tag = ifMatch.trim();
+        if (tag.startsWith(WEAK_PREFIX)) {
+            tag = tag.substring(WEAK_PREFIX.length());
+        }
+
+        try {
+            if (tag.length() < 2 || !tag.startsWith(QUOTE) || !tag.endsWith(QUOTE)) {
+                throw new NumberFormatException();
+            }
+            var version = tag.substring(1, tag.length() - 1);
+            if (version.endsWith(PAST_DUE_SUFFIX)) {
+                version = version.substring(0, version.length() - PAST_DUE_SUFFIX.length());
+            }
+            return Long.parseLong(version);
+        } catch (NumberFormatException exception) {
+            throw new BadRequestException("Invalid If-Match: " + ifMatch + ". Send a single ETag of the item.");
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.lessa.todolist.dto;
+
+import com.lessa.todolist.domain.IngestStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class IngestStatusDto {
+
+    private UUID id;
+    private IngestStatus status;
+
+    public static IngestStatusDto fromDomain(UUID id, IngestStatus domain) {
+        return new IngestStatusDto(id, domain);
+    }
+}
@@ -0,0 +1,30 @@
+package com.lessa.todolist.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.util.List;
+
+/**
+ * Items changed after a cursor and the cursor to send next time. The cursor stays the same when nothing changed, and
+ * {@code hasMore} tells that more changes can be read right away.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemChangesDto {
+
+    private List<TodoItemDto> items;
+    private boolean hasMore;
+    private String cursor;
+
+    public static ItemChangesDto fromWindow(Window<TodoItemDto> window, String since, Sort sort) {
+        var cursor = window.isEmpty() ? since : ContinuationToken.encode(window.positionAt(window.size() - 1), sort);
+        return new ItemChangesDto(window.getContent(), window.hasNext(), cursor);
+    }
+}
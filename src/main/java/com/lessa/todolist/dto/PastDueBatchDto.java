@@ -0,0 +1,25 @@
+package com.lessa.todolist.dto;
+
+import com.lessa.todolist.domain.TodoEvent;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PastDueBatchDto {
+
+    private List<UUID> itemIds;
+    private LocalDateTime pastDueDate;
+
+    public static PastDueBatchDto fromDomain(TodoEvent domain) {
+        return new PastDueBatchDto(domain.getItemIds(), domain.getPastDueDate());
+    }
+}
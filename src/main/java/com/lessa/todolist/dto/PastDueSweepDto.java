@@ -0,0 +1,24 @@
+package com.lessa.todolist.dto;
+
+import com.lessa.todolist.domain.PastDueSweep;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class PastDueSweepDto {
+
+    private LocalDateTime startDate;
+    private int chunks;
+    private int updatedItems;
+    private long durationMillis;
+
+    public static PastDueSweepDto fromDomain(PastDueSweep domain) {
+        return new PastDueSweepDto(domain.getStartDate(), domain.getChunks(), domain.getUpdatedItems(),
+                domain.getDuration().toMillis());
+    }
+}
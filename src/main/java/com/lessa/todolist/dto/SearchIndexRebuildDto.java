@@ -0,0 +1,20 @@
+package com.lessa.todolist.dto;
+
+import com.lessa.todolist.domain.SearchIndexRebuild;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class SearchIndexRebuildDto {
+
+    private int indexedItems;
+    private int terms;
+    private long durationMillis;
+
+    public static SearchIndexRebuildDto fromDomain(SearchIndexRebuild domain) {
+        return new SearchIndexRebuildDto(domain.getIndexedItems(), domain.getTerms(), domain.getDuration().toMillis());
+    }
+}
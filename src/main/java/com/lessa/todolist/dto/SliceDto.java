@@ -0,0 +1,24 @@
+package com.lessa.todolist.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class SliceDto<T> {
+
+    private List<T> content;
+    private int number;
+    private int size;
+    private boolean hasNext;
+    private Long totalElements;
+
+    public static <T> SliceDto<T> fromSlice(Slice<T> slice, Long totalElements) {
+        return new SliceDto<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext(), totalElements);
+    }
+}
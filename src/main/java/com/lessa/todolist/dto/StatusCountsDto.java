@@ -0,0 +1,24 @@
+package com.lessa.todolist.dto;
+
+import com.lessa.todolist.domain.Status;
+import com.lessa.todolist.domain.StatusCounts;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatusCountsDto {
+
+    private Map<Status, Long> counts;
+    private long total;
+
+    public static StatusCountsDto fromDomain(StatusCounts domain) {
+        return new StatusCountsDto(domain.getCounts(), domain.getTotal());
+    }
+}
@@ -0,0 +1,35 @@
+package com.lessa.todolist.dto;
+
+import com.lessa.todolist.domain.Status;
+import com.lessa.todolist.domain.TodoItemFilter;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+
+@Getter
+@Setter
+public class TodoItemFilterDto {
+
+    private List<Status> status;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime dueFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime dueTo;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime doneFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime doneTo;
+
+    public TodoItemFilter toDomain() {
+        var statuses = status == null || status.isEmpty() ? EnumSet.noneOf(Status.class) : EnumSet.copyOf(status);
+        return new TodoItemFilter(statuses, dueFrom, dueTo, doneFrom, doneTo, null);
+    }
+}
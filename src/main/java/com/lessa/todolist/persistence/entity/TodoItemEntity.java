@@ -9,15 +9,20 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "todo_item")
+@Table(name = "todo_item", indexes = {
+        @Index(name = "idx_todo_item_status_due_date_id", columnList = "status, due_date, id"),
+        @Index(name = "idx_todo_item_creation_date_id", columnList = "creation_date, id"),
+        @Index(name = "idx_todo_item_due_date_id", columnList = "due_date, id"),
+        @Index(name = "idx_todo_item_done_date_status", columnList = "done_date, status"),
+        @Index(name = "idx_todo_item_change_sequence_id", columnList = "change_sequence, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
-@AllArgsConstructor
 public class TodoItemEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @TimeOrderedUuid
     @Column(columnDefinition = "uuid")
     private UUID id;
 
@@ -30,13 +35,33 @@ public class TodoItemEntity {
     private LocalDateTime dueDate;
     private LocalDateTime doneDate;
 
+    @Version
+    private Long version;
+
+    /**
+     * Set by every write to a value of the {@link com.lessa.todolist.persistence.store.ChangeSequence}, so the items
+     * changed after a point are an index range. Rows written without one count as changed at the start.
+     */
+    private long changeSequence;
+
+    public TodoItemEntity(UUID id, String description, Status status, LocalDateTime creationDate, LocalDateTime dueDate,
+                          LocalDateTime doneDate, Long version) {
+        this.id = id;
+        this.description = description;
+        this.status = status;
+        this.creationDate = creationDate;
+        this.dueDate = dueDate;
+        this.doneDate = doneDate;
+        this.version = version;
+    }
+
     public static TodoItemEntity toEntity(TodoItem domain) {
         return new TodoItemEntity(domain.getId(), domain.getDescription(), domain.getStatus(), domain.getCreationDate(),
-                domain.getDueDate(), domain.getDoneDate());
+                domain.getDueDate(), domain.getDoneDate(), domain.getVersion());
     }
 
     public TodoItem toDomain() {
         return new TodoItem(this.getId(), this.getDescription(), this.getStatus(), this.getCreationDate(),
-                this.getDueDate(), this.getDoneDate());
+                this.getDueDate(), this.getDoneDate(), this.getVersion());
     }
 }
@@ -0,0 +1,22 @@
+package com.lessa.todolist.persistence.repository;
+
+import com.lessa.todolist.domain.TodoItem;
+import com.lessa.todolist.persistence.entity.TodoItemEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Filtered lists of items built as Criteria queries, projected straight into the domain object like
+ * {@link TodoItemRepository#findAllItems(Pageable)}.
+ */
+public interface TodoItemFilterRepository {
+
+    Page<TodoItem> findAllItemsMatching(Specification<TodoItemEntity> specification, Pageable pageable);
+
+    /**
+     * Reads one extra row to tell whether a next slice exists instead of counting the matching items.
+     */
+    Slice<TodoItem> sliceAllItemsMatching(Specification<TodoItemEntity> specification, Pageable pageable);
+}
@@ -0,0 +1,70 @@
+package com.lessa.todolist.persistence.repository;
+
+import com.lessa.todolist.domain.TodoItem;
+import com.lessa.todolist.persistence.entity.TodoItemEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+
+class TodoItemFilterRepositoryImpl implements TodoItemFilterRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<TodoItem> findAllItemsMatching(Specification<TodoItemEntity> specification, Pageable pageable) {
+        var content = select(specification, pageable, 0);
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(specification));
+    }
+
+    @Override
+    public Slice<TodoItem> sliceAllItemsMatching(Specification<TodoItemEntity> specification, Pageable pageable) {
+        var content = select(specification, pageable, 1);
+        var hasNext = pageable.isPaged() && content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    private List<TodoItem> select(Specification<TodoItemEntity> specification, Pageable pageable, int extra) {
+        var builder = entityManager.getCriteriaBuilder();
+        var query = builder.createQuery(TodoItem.class);
+        var item = query.from(TodoItemEntity.class);
+        query.select(builder.construct(TodoItem.class, item.get("id"), item.get("description"), item.get("status"),
+                item.get("creationDate"), item.get("dueDate"), item.get("doneDate"), item.get("version")));
+
+        var predicate = specification.toPredicate(item, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), item, builder));
+        }
+
+        var typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize() + extra);
+        }
+        return typedQuery.getResultList();
+    }
+
+    private long count(Specification<TodoItemEntity> specification) {
+        var builder = entityManager.getCriteriaBuilder();
+        var query = builder.createQuery(Long.class);
+        var item = query.from(TodoItemEntity.class);
+        query.select(builder.count(item));
+
+        var predicate = specification.toPredicate(item, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -1,23 +1,200 @@
 package com.lessa.todolist.persistence.repository;
 
 import com.lessa.todolist.domain.Status;
+import com.lessa.todolist.domain.TodoItem;
 import com.lessa.todolist.persistence.entity.TodoItemEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface TodoItemRepository extends JpaRepository<TodoItemEntity, UUID> {
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+public interface TodoItemRepository extends JpaRepository<TodoItemEntity, UUID>, TodoItemFilterRepository {
+
+    String EXPORT_FETCH_SIZE = "500";
 
     Page<TodoItemEntity> findAllByStatus(Status status, Pageable pageable);
 
+    /**
+     * Pages through the items projected straight into the domain object, so no entity is created, kept in the
+     * persistence context or snapshotted for dirty checking.
+     */
+    @Query(value = "select new com.lessa.todolist.domain.TodoItem(item.id, item.description, item.status, " +
+            "item.creationDate, item.dueDate, item.doneDate, item.version) from TodoItemEntity item",
+            countQuery = "select count(item) from TodoItemEntity item")
+    Page<TodoItem> findAllItems(Pageable pageable);
+
+    @Query(value = "select new com.lessa.todolist.domain.TodoItem(item.id, item.description, item.status, " +
+            "item.creationDate, item.dueDate, item.doneDate, item.version) from TodoItemEntity item where item.status = :status",
+            countQuery = "select count(item) from TodoItemEntity item where item.status = :status")
+    Page<TodoItem> findAllItemsByStatus(@Param("status") Status status, Pageable pageable);
+
+    /**
+     * Same as {@link #findAllItemsByStatus(Status, Pageable)} for the items still due after the given date, a range of
+     * the status and due date index.
+     */
+    @Query(value = "select new com.lessa.todolist.domain.TodoItem(item.id, item.description, item.status, " +
+            "item.creationDate, item.dueDate, item.doneDate, item.version) from TodoItemEntity item " +
+            "where item.status = :status and item.dueDate > :dueAfter",
+            countQuery = "select count(item) from TodoItemEntity item where item.status = :status and item.dueDate > :dueAfter")
+    Page<TodoItem> findAllItemsByStatusAndDueDateAfter(@Param("status") Status status,
+                                                       @Param("dueAfter") LocalDateTime dueAfter, Pageable pageable);
+
+    /**
+     * Same projection as {@link #findAllItems(Pageable)}, reading one extra row to tell whether a next slice exists
+     * instead of counting the items.
+     */
+    @Query("select new com.lessa.todolist.domain.TodoItem(item.id, item.description, item.status, " +
+            "item.creationDate, item.dueDate, item.doneDate, item.version) from TodoItemEntity item")
+    Slice<TodoItem> sliceAllItems(Pageable pageable);
+
+    @Query("select new com.lessa.todolist.domain.TodoItem(item.id, item.description, item.status, " +
+            "item.creationDate, item.dueDate, item.doneDate, item.version) from TodoItemEntity item where item.status = :status")
+    Slice<TodoItem> sliceAllItemsByStatus(@Param("status") Status status, Pageable pageable);
+
+    @Query("select new com.lessa.todolist.domain.TodoItem(item.id, item.description, item.status, " +
+            "item.creationDate, item.dueDate, item.doneDate, item.version) from TodoItemEntity item " +
+            "where item.status = :status and item.dueDate > :dueAfter")
+    Slice<TodoItem> sliceAllItemsByStatusAndDueDateAfter(@Param("status") Status status,
+                                                         @Param("dueAfter") LocalDateTime dueAfter, Pageable pageable);
+
+    long countByStatus(Status status);
+
+    long countByStatusAndDueDateAfter(Status status, LocalDateTime dueAfter);
+
+    Window<TodoItemEntity> findBy(ScrollPosition position, Limit limit, Sort sort);
+
+    Window<TodoItemEntity> findByStatus(Status status, ScrollPosition position, Limit limit, Sort sort);
+
+    Window<TodoItemEntity> findByStatusAndDueDateAfter(Status status, LocalDateTime dueAfter, ScrollPosition position,
+                                                       Limit limit, Sort sort);
+
+    /**
+     * Reads the window after a keyset position of the items changed up to the given change sequence, a range of the
+     * change sequence index.
+     */
+    Window<TodoItemEntity> findByChangeSequenceLessThanEqual(long changeSequence, ScrollPosition position, Limit limit,
+                                                             Sort sort);
+
+    @Query("select coalesce(max(item.changeSequence), 0) from TodoItemEntity item")
+    long findMaxChangeSequence();
+
+    Window<TodoItemEntity> findByStatusAndDueDateAfterAndDueDateLessThanEqual(Status status, LocalDateTime from,
+                                                                              LocalDateTime to, ScrollPosition position,
+                                                                              Limit limit, Sort sort);
+
+    /**
+     * Inserts a new item keeping the id it already has, such as one handed out to a client ahead of a deferred write.
+     * {@code save} cannot do that, since the entity id is generated.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = "insert into todo_item (id, description, status, creation_date, due_date, version, " +
+            "change_sequence) values (:#{#item.id}, :#{#item.description}, :#{#item.status.name()}, :#{#item.creationDate}, " +
+            ":#{#item.dueDate}, 0, :#{#item.changeSequence})")
+    int insertWithAssignedId(@Param("item") TodoItemEntity item);
+
+    /**
+     * Moves a not done item that is not due yet to done and returns the updated row, in a single statement.
+     * When an expected version is given, the row must also still have it. Returns empty when no row matches the id
+     * and the guard.
+     */
+    @Query(nativeQuery = true, value = "select * from final table (update todo_item set status = 'DONE', " +
+            "done_date = :currentDateTime, version = version + 1, change_sequence = :changeSequence where id = :id " +
+            "and status = 'NOT_DONE' and due_date > :currentDateTime and version = coalesce(:expectedVersion, version))")
+    Optional<TodoItemEntity> markAsDone(@Param("id") UUID id, @Param("expectedVersion") Long expectedVersion,
+                                        @Param("currentDateTime") LocalDateTime currentDateTime,
+                                        @Param("changeSequence") long changeSequence);
+
+    /**
+     * Moves a done item that is not due yet back to not done and returns the updated row, in a single statement.
+     * When an expected version is given, the row must also still have it. Returns empty when no row matches the id
+     * and the guard.
+     */
+    @Query(nativeQuery = true, value = "select * from final table (update todo_item set status = 'NOT_DONE', " +
+            "done_date = null, version = version + 1, change_sequence = :changeSequence where id = :id " +
+            "and status = 'DONE' and due_date > :currentDateTime and version = coalesce(:expectedVersion, version))")
+    Optional<TodoItemEntity> markAsNotDone(@Param("id") UUID id, @Param("expectedVersion") Long expectedVersion,
+                                           @Param("currentDateTime") LocalDateTime currentDateTime,
+                                           @Param("changeSequence") long changeSequence);
+
+    /**
+     * Bulk variant of {@link #markAsDone(UUID, Long, LocalDateTime, long)} without expected versions, returning only the rows
+     * it updated.
+     */
+    @Query(nativeQuery = true, value = "select * from final table (update todo_item set status = 'DONE', " +
+            "done_date = :currentDateTime, version = version + 1, change_sequence = :changeSequence " +
+            "where id in (:ids) and status = 'NOT_DONE' and due_date > :currentDateTime)")
+    List<TodoItemEntity> markAllAsDone(@Param("ids") Collection<UUID> ids,
+                                       @Param("currentDateTime") LocalDateTime currentDateTime,
+                                       @Param("changeSequence") long changeSequence);
+
+    /**
+     * Bulk variant of {@link #markAsNotDone(UUID, Long, LocalDateTime, long)} without expected versions, returning only the rows
+     * it updated.
+     */
+    @Query(nativeQuery = true, value = "select * from final table (update todo_item set status = 'NOT_DONE', " +
+            "done_date = null, version = version + 1, change_sequence = :changeSequence " +
+            "where id in (:ids) and status = 'DONE' and due_date > :currentDateTime)")
+    List<TodoItemEntity> markAllAsNotDone(@Param("ids") Collection<UUID> ids,
+                                          @Param("currentDateTime") LocalDateTime currentDateTime,
+                                          @Param("changeSequence") long changeSequence);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("select new com.lessa.todolist.domain.TodoItem(item.id, item.description, item.status, " +
+            "item.creationDate, item.dueDate, item.doneDate, item.version) from TodoItemEntity item " +
+            "order by item.creationDate, item.id")
+    Stream<TodoItem> streamAllItems();
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("select new com.lessa.todolist.domain.TodoItem(item.id, item.description, item.status, " +
+            "item.creationDate, item.dueDate, item.doneDate, item.version) from TodoItemEntity item " +
+            "where item.status = :status order by item.creationDate, item.id")
+    Stream<TodoItem> streamAllItemsByStatus(@Param("status") Status status);
+
+    /**
+     * Reads the end of a range of the status and due date index.
+     */
+    @Query("select max(item.dueDate) from TodoItemEntity item where item.status = :status and item.dueDate <= :dueUntil")
+    LocalDateTime findLastDueDate(@Param("status") Status status, @Param("dueUntil") LocalDateTime dueUntil);
+
+    @Query("select item.id from TodoItemEntity item where item.status = 'NOT_DONE' and item.dueDate <= :currentDateTime " +
+            "order by item.dueDate, item.id")
+    List<UUID> findPastDueItemIds(@Param("currentDateTime") LocalDateTime currentDateTime, Limit limit);
+
+    /**
+     * Locks the given items that are still not done and due, so they cannot change before the transaction moves them
+     * to past due.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select item.id from TodoItemEntity item where item.id in :ids and item.status = 'NOT_DONE' " +
+            "and item.dueDate <= :currentDateTime")
+    List<UUID> lockPastDueItemIds(@Param("ids") Collection<UUID> ids, @Param("currentDateTime") LocalDateTime currentDateTime);
+
     @Modifying(clearAutomatically = true)
-    @Query("update TodoItemEntity item set item.status = 'PAST_DUE' where item.status = 'NOT_DONE' and item.dueDate >= :currentDateTime")
-    int updatePastDueItemsStatus(@Param("currentDateTime") LocalDateTime currentDateTime);
+    @Query("update TodoItemEntity item set item.status = 'PAST_DUE', item.version = item.version + 1, " +
+            "item.changeSequence = :changeSequence where item.id in :ids and item.status = 'NOT_DONE' " +
+            "and item.dueDate <= :currentDateTime")
+    int updatePastDueItemsStatus(@Param("ids") Collection<UUID> ids, @Param("currentDateTime") LocalDateTime currentDateTime,
+                                 @Param("changeSequence") long changeSequence);
 
 }
@@ -0,0 +1,76 @@
+package com.lessa.todolist.persistence.repository;
+
+import com.lessa.todolist.domain.Status;
+import com.lessa.todolist.domain.TodoItemFilter;
+import com.lessa.todolist.persistence.entity.TodoItemEntity;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Builds the where clause of a {@link TodoItemFilter}, only with the parts that are set, so every combination reads a
+ * range of the status, due date or done date index.
+ */
+public final class TodoItemSpecifications {
+
+    private static final String STATUS = "status";
+    private static final String DUE_DATE = "dueDate";
+    private static final String DONE_DATE = "doneDate";
+
+    private TodoItemSpecifications() {
+    }
+
+    public static Specification<TodoItemEntity> matching(TodoItemFilter filter) {
+        return Specification.where(hasStatus(filter.getStatuses(), filter.getStatusAsOf()))
+                .and(between(DUE_DATE, filter.getDueFrom(), filter.getDueTo()))
+                .and(between(DONE_DATE, filter.getDoneFrom(), filter.getDoneTo()));
+    }
+
+    /**
+     * Matches the stored statuses, or the ones at {@code asOf} when it is not null: the not done items due by then
+     * count as past due and not as not done.
+     */
+    public static Specification<TodoItemEntity> hasStatus(Collection<Status> statuses, LocalDateTime asOf) {
+        if (statuses.isEmpty()) {
+            return null;
+        }
+        if (asOf == null) {
+            return (root, query, builder) -> root.get(STATUS).in(statuses);
+        }
+        return (root, query, builder) -> builder.or(statuses.stream()
+                .map(status -> hasStatusAsOf(root, builder, status, asOf))
+                .toArray(Predicate[]::new));
+    }
+
+    public static Specification<TodoItemEntity> between(String property, LocalDateTime from, LocalDateTime to) {
+        if (from == null && to == null) {
+            return null;
+        }
+        return (root, query, builder) -> {
+            var predicates = new ArrayList<Predicate>();
+            if (from != null) {
+                predicates.add(builder.greaterThanOrEqualTo(root.get(property), from));
+            }
+            if (to != null) {
+                predicates.add(builder.lessThan(root.get(property), to));
+            }
+            return builder.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    private static Predicate hasStatusAsOf(Root<TodoItemEntity> root, CriteriaBuilder builder, Status status,
+                                           LocalDateTime asOf) {
+        var stored = builder.equal(root.get(STATUS), status);
+        return switch (status) {
+            case NOT_DONE -> builder.and(stored, builder.greaterThan(root.get(DUE_DATE), asOf));
+            case PAST_DUE -> builder.or(stored, builder.and(builder.equal(root.get(STATUS), Status.NOT_DONE),
+                    builder.lessThanOrEqualTo(root.get(DUE_DATE), asOf)));
+            case DONE -> stored;
+        };
+    }
+}
@@ -0,0 +1,64 @@
+package com.lessa.todolist.persistence.store;
+
+import com.lessa.todolist.persistence.repository.TodoItemRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Hands out the increasing values the writes stamp on the rows they change, starting after the highest one stored.
+ * Transactions may commit in another order than they drew their values, so a reader that moved past a value could miss
+ * a row committed later with a lower one. Each value is therefore tracked until its transaction completes, and
+ * {@link #watermark()} only goes up to the values below every transaction still in flight. This holds for the writes of
+ * this process, like the other in-memory state of the service. The off-heap store numbers its own changes, so the
+ * sequence only exists alongside the database store.
+ */
+@Component
+@Profile("!in-memory")
+public class ChangeSequence {
+
+    private final NavigableSet<Long> inFlight = new TreeSet<>();
+    private long last;
+
+    public ChangeSequence(TodoItemRepository repository) {
+        this.last = repository.findMaxChangeSequence();
+    }
+
+    /**
+     * Draws the next value for a write of the surrounding transaction, which holds the watermark back until it commits
+     * or rolls back.
+     */
+    public long next() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("A change sequence can only be drawn in a transaction.");
+        }
+
+        long value;
+        synchronized (this) {
+            value = ++last;
+            inFlight.add(value);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                release(value);
+            }
+        });
+        return value;
+    }
+
+    /**
+     * Returns the highest value up to which every drawn value has been committed or rolled back.
+     */
+    public synchronized long watermark() {
+        return inFlight.isEmpty() ? last : inFlight.first() - 1;
+    }
+
+    private synchronized void release(long value) {
+        inFlight.remove(value);
+    }
+}
@@ -0,0 +1,245 @@
+package com.lessa.todolist.persistence.store;
+
+import com.lessa.todolist.domain.Status;
+import com.lessa.todolist.domain.TodoItem;
+import com.lessa.todolist.domain.TodoItemFilter;
+import com.lessa.todolist.persistence.entity.TodoItemEntity;
+import com.lessa.todolist.persistence.repository.TodoItemRepository;
+import com.lessa.todolist.persistence.repository.TodoItemSpecifications;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+@Component
+@Profile("!in-memory")
+@RequiredArgsConstructor
+public class JpaTodoItemStore implements TodoItemStore {
+
+    private final TodoItemRepository repository;
+    private final ChangeSequence changeSequence;
+
+    @Transactional
+    @Override
+    public TodoItem insert(TodoItem item) {
+        var entity = TodoItemEntity.toEntity(item);
+        entity.setChangeSequence(changeSequence.next());
+        return repository.save(entity).toDomain();
+    }
+
+    /**
+     * Gives every item the same change sequence. Items without an id are saved together, so Hibernate can group their
+     * inserts in JDBC batches, and items that already have one are inserted as they are instead of being merged.
+     */
+    @Transactional
+    @Override
+    public List<TodoItem> insertAll(List<TodoItem> items) {
+        var itemsChangeSequence = changeSequence.next();
+        var newEntities = new ArrayList<TodoItemEntity>();
+        var insertedItems = new ArrayList<TodoItem>(items.size());
+        for (var item : items) {
+            var entity = TodoItemEntity.toEntity(item);
+            entity.setChangeSequence(itemsChangeSequence);
+            if (entity.getId() == null) {
+                newEntities.add(entity);
+                continue;
+            }
+
+            repository.insertWithAssignedId(entity);
+            entity.setVersion(0L);
+            insertedItems.add(entity.toDomain());
+        }
+        repository.saveAll(newEntities).forEach(entity -> insertedItems.add(entity.toDomain()));
+        return insertedItems;
+    }
+
+    /**
+     * Flushes right away, so a stale version fails here and the returned item carries the new version.
+     */
+    @Transactional
+    @Override
+    public TodoItem update(TodoItem item) {
+        var entity = TodoItemEntity.toEntity(item);
+        entity.setChangeSequence(changeSequence.next());
+        return repository.saveAndFlush(entity).toDomain();
+    }
+
+    @Override
+    public Optional<TodoItem> findById(UUID id) {
+        return repository.findById(id).map(TodoItemEntity::toDomain);
+    }
+
+    @Override
+    public List<TodoItem> findAllById(Collection<UUID> ids) {
+        return repository.findAllById(ids).stream().map(TodoItemEntity::toDomain).toList();
+    }
+
+    @Transactional
+    @Override
+    public Optional<TodoItem> markAsDone(UUID id, Long expectedVersion, LocalDateTime currentDateTime) {
+        return repository.markAsDone(id, expectedVersion, currentDateTime, changeSequence.next())
+                .map(TodoItemEntity::toDomain);
+    }
+
+    @Transactional
+    @Override
+    public Optional<TodoItem> markAsNotDone(UUID id, Long expectedVersion, LocalDateTime currentDateTime) {
+        return repository.markAsNotDone(id, expectedVersion, currentDateTime, changeSequence.next())
+                .map(TodoItemEntity::toDomain);
+    }
+
+    @Transactional
+    @Override
+    public List<TodoItem> markAllAsDone(Collection<UUID> ids, LocalDateTime currentDateTime) {
+        return repository.markAllAsDone(ids, currentDateTime, changeSequence.next()).stream()
+                .map(TodoItemEntity::toDomain)
+                .toList();
+    }
+
+    @Transactional
+    @Override
+    public List<TodoItem> markAllAsNotDone(Collection<UUID> ids, LocalDateTime currentDateTime) {
+        return repository.markAllAsNotDone(ids, currentDateTime, changeSequence.next()).stream()
+                .map(TodoItemEntity::toDomain)
+                .toList();
+    }
+
+    @Override
+    public Page<TodoItem> findAllItems(Pageable pageable) {
+        return repository.findAllItems(pageable);
+    }
+
+    @Override
+    public Page<TodoItem> findAllItemsByStatus(Status status, Pageable pageable) {
+        return repository.findAllItemsByStatus(status, pageable);
+    }
+
+    @Override
+    public Page<TodoItem> findAllItemsByStatusDueAfter(Status status, LocalDateTime dueAfter, Pageable pageable) {
+        return repository.findAllItemsByStatusAndDueDateAfter(status, dueAfter, pageable);
+    }
+
+    @Override
+    public Page<TodoItem> findAllItems(TodoItemFilter filter, Pageable pageable) {
+        return repository.findAllItemsMatching(TodoItemSpecifications.matching(filter), pageable);
+    }
+
+    @Override
+    public Slice<TodoItem> sliceAllItems(Pageable pageable) {
+        return repository.sliceAllItems(pageable);
+    }
+
+    @Override
+    public Slice<TodoItem> sliceAllItemsByStatus(Status status, Pageable pageable) {
+        return repository.sliceAllItemsByStatus(status, pageable);
+    }
+
+    @Override
+    public Slice<TodoItem> sliceAllItemsByStatusDueAfter(Status status, LocalDateTime dueAfter, Pageable pageable) {
+        return repository.sliceAllItemsByStatusAndDueDateAfter(status, dueAfter, pageable);
+    }
+
+    @Override
+    public Slice<TodoItem> sliceAllItems(TodoItemFilter filter, Pageable pageable) {
+        return repository.sliceAllItemsMatching(TodoItemSpecifications.matching(filter), pageable);
+    }
+
+    @Override
+    public Window<TodoItem> scrollAll(ScrollPosition position, Limit limit, Sort sort) {
+        return repository.findBy(position, limit, sort).map(TodoItemEntity::toDomain);
+    }
+
+    @Override
+    public Window<TodoItem> scrollAllByStatus(Status status, ScrollPosition position, Limit limit, Sort sort) {
+        return repository.findByStatus(status, position, limit, sort).map(TodoItemEntity::toDomain);
+    }
+
+    @Override
+    public Window<TodoItem> scrollAllByStatusDueAfter(Status status, LocalDateTime dueAfter, ScrollPosition position,
+                                                      Limit limit, Sort sort) {
+        return repository.findByStatusAndDueDateAfter(status, dueAfter, position, limit, sort).map(TodoItemEntity::toDomain);
+    }
+
+    @Override
+    public Window<TodoItem> scrollAllByStatusDueBetween(Status status, LocalDateTime dueAfter, LocalDateTime dueUntil,
+                                                        ScrollPosition position, Limit limit, Sort sort) {
+        return repository.findByStatusAndDueDateAfterAndDueDateLessThanEqual(status, dueAfter, dueUntil, position,
+                limit, sort).map(TodoItemEntity::toDomain);
+    }
+
+    /**
+     * Walks the items with a database cursor in a read-only transaction. They are projected straight into the domain
+     * object, so the persistence context stays empty and the memory used does not grow with the table.
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public void forEachItem(Status status, Consumer<TodoItem> consumer) {
+        try (var items = status == null ? repository.streamAllItems() : repository.streamAllItemsByStatus(status)) {
+            items.forEach(consumer);
+        }
+    }
+
+    /**
+     * Only reads up to the watermark of the change sequence, so no later window can turn up a change committed behind
+     * the position of this one.
+     */
+    @Override
+    public Window<TodoItem> scrollChanges(ScrollPosition position, Limit limit) {
+        return repository.findByChangeSequenceLessThanEqual(changeSequence.watermark(), position, limit, CHANGES_SORT)
+                .map(TodoItemEntity::toDomain);
+    }
+
+    @Override
+    public long count() {
+        return repository.count();
+    }
+
+    @Override
+    public long countByStatus(Status status) {
+        return repository.countByStatus(status);
+    }
+
+    @Override
+    public long countByStatusDueAfter(Status status, LocalDateTime dueAfter) {
+        return repository.countByStatusAndDueDateAfter(status, dueAfter);
+    }
+
+    @Override
+    public LocalDateTime findLastDueDate(Status status, LocalDateTime dueUntil) {
+        return repository.findLastDueDate(status, dueUntil);
+    }
+
+    @Override
+    public List<UUID> findPastDueItemIds(LocalDateTime currentDateTime, Limit limit) {
+        return repository.findPastDueItemIds(currentDateTime, limit);
+    }
+
+    /**
+     * Locks the items still to be moved before updating them, so a concurrent transition either commits first and
+     * keeps its item out, or waits and then fails on the new version.
+     */
+    @Transactional
+    @Override
+    public List<UUID> updatePastDueItemsStatus(Collection<UUID> ids, LocalDateTime currentDateTime) {
+        var pastDueIds = repository.lockPastDueItemIds(ids, currentDateTime);
+        if (!pastDueIds.isEmpty()) {
+            repository.updatePastDueItemsStatus(pastDueIds, currentDateTime, changeSequence.next());
+        }
+        return pastDueIds;
+    }
+}
@@ -0,0 +1,750 @@
+package com.lessa.todolist.persistence.store;
+
+import com.lessa.todolist.domain.Status;
+import com.lessa.todolist.domain.TodoItem;
+import com.lessa.todolist.domain.TodoItemFilter;
+import com.lessa.todolist.persistence.entity.TimeOrderedUuidGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the items in memory, for deployments that need no SQL, with the {@code in-memory} profile. The fixed-width
+ * fields of each item live in a {@value #RECORD_SIZE}-byte record in direct buffers of {@code chunk-records} records
+ * each, outside the Java heap. The rest stays on the heap: the descriptions, interned in a reference counted pool the
+ * records point into so a replaced description is freed, the {@link UuidHashIndex} the ids are found through, and the
+ * three sorted indexes pages and windows are read from, by status, due date and id, by creation date and id and by
+ * change sequence and id, which hold one small key object per item each. Every write takes the next change sequence
+ * under the write lock, so the changes are visible in sequence order. Dates are kept with microsecond precision, like
+ * the database columns. Every operation is atomic under a read-write lock, but none takes part in transactions and the items are
+ * gone when the process stops.
+ */
+@Component
+@Profile("in-memory")
+public class OffHeapTodoItemStore implements TodoItemStore {
+
+    private static final int ID_MOST_SIG_BITS = 0;
+    private static final int ID_LEAST_SIG_BITS = 8;
+    private static final int CREATION_DATE = 16;
+    private static final int DUE_DATE = 24;
+    private static final int DONE_DATE = 32;
+    private static final int VERSION = 40;
+    private static final int DESCRIPTION = 48;
+    private static final int STATUS = 52;
+    private static final int CHANGE_SEQUENCE = 56;
+    private static final int RECORD_SIZE = 64;
+
+    private static final long NULL_DATE = Long.MIN_VALUE;
+    private static final int NULL_DESCRIPTION = -1;
+    private static final long MICROS_PER_SECOND = 1_000_000;
+    private static final Status[] STATUSES = Status.values();
+
+    private static final String ID_PROPERTY = "id";
+    private static final String CREATION_DATE_PROPERTY = "creationDate";
+    private static final String DUE_DATE_PROPERTY = "dueDate";
+    private static final int FOR_EACH_CHUNK_SIZE = 1000;
+
+    private static final Comparator<IndexKey> INDEX_ORDER = Comparator.comparingLong(IndexKey::first)
+            .thenComparingLong(IndexKey::second)
+            .thenComparing(IndexKey::mostSigBits, Long::compareUnsigned)
+            .thenComparing(IndexKey::leastSigBits, Long::compareUnsigned);
+
+    private final int chunkRecords;
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private final UuidHashIndex ids;
+    private final List<String> descriptions = new ArrayList<>();
+    private final Map<String, Integer> descriptionSlots = new HashMap<>();
+    private final Deque<Integer> freeDescriptionSlots = new ArrayDeque<>();
+    private final NavigableSet<IndexKey> byStatusAndDueDate = new TreeSet<>(INDEX_ORDER);
+    private final NavigableSet<IndexKey> byCreationDate = new TreeSet<>(INDEX_ORDER);
+    private final NavigableSet<IndexKey> byChangeSequence = new TreeSet<>(INDEX_ORDER);
+    private final long[] statusCounts = new long[STATUSES.length];
+    private final TimeOrderedUuidGenerator idGenerator = new TimeOrderedUuidGenerator();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int[] descriptionRefCounts = new int[16];
+    private int size;
+    private long lastChangeSequence;
+
+    public OffHeapTodoItemStore(@Value("${store.in-memory.chunk-records:16384}") int chunkRecords,
+                                @Value("${store.in-memory.expected-items:100000}") int expectedItems) {
+        this.chunkRecords = chunkRecords;
+        this.ids = new UuidHashIndex(expectedItems);
+    }
+
+    @Override
+    public TodoItem insert(TodoItem item) {
+        var id = item.getId() != null ? item.getId() : idGenerator.next();
+        return write(() -> {
+            if (!ids.putIfAbsent(id.getMostSignificantBits(), id.getLeastSignificantBits(), size)) {
+                throw new DuplicateKeyException("An item with id " + id + " already exists.");
+            }
+
+            var record = size++;
+            if (record / chunkRecords == chunks.size()) {
+                chunks.add(ByteBuffer.allocateDirect(chunkRecords * RECORD_SIZE));
+            }
+            var buffer = buffer(record);
+            var offset = offset(record);
+            buffer.putLong(offset + ID_MOST_SIG_BITS, id.getMostSignificantBits());
+            buffer.putLong(offset + ID_LEAST_SIG_BITS, id.getLeastSignificantBits());
+            buffer.putLong(offset + VERSION, 0);
+            buffer.putLong(offset + CHANGE_SEQUENCE, ++lastChangeSequence);
+            setFields(record, item);
+            index(record);
+            return read(record);
+        });
+    }
+
+    /**
+     * Checks every assigned id first and then inserts the items one by one under the write lock, so a duplicate id
+     * stores none of them and no reader sees only part of them.
+     */
+    @Override
+    public List<TodoItem> insertAll(List<TodoItem> items) {
+        return write(() -> {
+            var assignedIds = new HashSet<UUID>();
+            for (var item : items) {
+                var id = item.getId();
+                if (id != null && (!assignedIds.add(id) || recordOf(id) != UuidHashIndex.ABSENT)) {
+                    throw new DuplicateKeyException("An item with id " + id + " already exists.");
+                }
+            }
+            return items.stream().map(this::insert).toList();
+        });
+    }
+
+    @Override
+    public TodoItem update(TodoItem item) {
+        return write(() -> {
+            var record = recordOf(item.getId());
+            if (record == UuidHashIndex.ABSENT || item.getVersion() == null || version(record) != item.getVersion()) {
+                throw new ObjectOptimisticLockingFailureException(TodoItem.class, item.getId());
+            }
+
+            unindex(record);
+            var previousDescription = buffer(record).getInt(offset(record) + DESCRIPTION);
+            setFields(record, item);
+            release(previousDescription);
+            recordChange(record, ++lastChangeSequence);
+            index(record);
+            return read(record);
+        });
+    }
+
+    @Override
+    public Optional<TodoItem> findById(UUID id) {
+        return read(() -> {
+            var record = recordOf(id);
+            return record == UuidHashIndex.ABSENT ? Optional.empty() : Optional.of(read(record));
+        });
+    }
+
+    @Override
+    public List<TodoItem> findAllById(Collection<UUID> itemIds) {
+        return read(() -> itemIds.stream()
+                .mapToInt(this::recordOf)
+                .filter(record -> record != UuidHashIndex.ABSENT)
+                .mapToObj(this::read)
+                .toList());
+    }
+
+    @Override
+    public Optional<TodoItem> markAsDone(UUID id, Long expectedVersion, LocalDateTime currentDateTime) {
+        return transition(id, expectedVersion, currentDateTime, Status.NOT_DONE, Status.DONE, currentDateTime);
+    }
+
+    @Override
+    public Optional<TodoItem> markAsNotDone(UUID id, Long expectedVersion, LocalDateTime currentDateTime) {
+        return transition(id, expectedVersion, currentDateTime, Status.DONE, Status.NOT_DONE, null);
+    }
+
+    @Override
+    public List<TodoItem> markAllAsDone(Collection<UUID> itemIds, LocalDateTime currentDateTime) {
+        return write(() -> itemIds.stream()
+                .map(id -> markAsDone(id, null, currentDateTime))
+                .flatMap(Optional::stream)
+                .toList());
+    }
+
+    @Override
+    public List<TodoItem> markAllAsNotDone(Collection<UUID> itemIds, LocalDateTime currentDateTime) {
+        return write(() -> itemIds.stream()
+                .map(id -> markAsNotDone(id, null, currentDateTime))
+                .flatMap(Optional::stream)
+                .toList());
+    }
+
+    @Override
+    public Page<TodoItem> findAllItems(Pageable pageable) {
+        return read(() -> new PageImpl<>(select(null, null, pageable, 0), pageable, size));
+    }
+
+    @Override
+    public Page<TodoItem> findAllItemsByStatus(Status status, Pageable pageable) {
+        return read(() -> new PageImpl<>(select(status, null, pageable, 0), pageable, statusCounts[status.ordinal()]));
+    }
+
+    @Override
+    public Page<TodoItem> findAllItemsByStatusDueAfter(Status status, LocalDateTime dueAfter, Pageable pageable) {
+        return read(() -> new PageImpl<>(select(status, dueAfter, pageable, 0), pageable, countDueAfter(status, dueAfter)));
+    }
+
+    @Override
+    public Page<TodoItem> findAllItems(TodoItemFilter filter, Pageable pageable) {
+        return read(() -> {
+            var matching = filter(filter, pageable.getSort());
+            var offset = pageable.isPaged() ? pageable.getOffset() : 0;
+            var max = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+            return new PageImpl<>(matching.stream().skip(offset).limit(max).toList(), pageable, matching.size());
+        });
+    }
+
+    @Override
+    public Slice<TodoItem> sliceAllItems(Pageable pageable) {
+        return read(() -> toSlice(select(null, null, pageable, 1), pageable));
+    }
+
+    @Override
+    public Slice<TodoItem> sliceAllItemsByStatus(Status status, Pageable pageable) {
+        return read(() -> toSlice(select(status, null, pageable, 1), pageable));
+    }
+
+    @Override
+    public Slice<TodoItem> sliceAllItemsByStatusDueAfter(Status status, LocalDateTime dueAfter, Pageable pageable) {
+        return read(() -> toSlice(select(status, dueAfter, pageable, 1), pageable));
+    }
+
+    @Override
+    public Slice<TodoItem> sliceAllItems(TodoItemFilter filter, Pageable pageable) {
+        return read(() -> {
+            var offset = pageable.isPaged() ? pageable.getOffset() : 0;
+            var max = pageable.isPaged() ? pageable.getPageSize() + 1 : Integer.MAX_VALUE;
+            return toSlice(filter(filter, pageable.getSort()).stream().skip(offset).limit(max).toList(), pageable);
+        });
+    }
+
+    @Override
+    public Window<TodoItem> scrollAll(ScrollPosition position, Limit limit, Sort sort) {
+        return read(() -> scroll(null, null, null, position, limit, sort));
+    }
+
+    @Override
+    public Window<TodoItem> scrollAllByStatus(Status status, ScrollPosition position, Limit limit, Sort sort) {
+        return read(() -> scroll(status, null, null, position, limit, sort));
+    }
+
+    @Override
+    public Window<TodoItem> scrollAllByStatusDueAfter(Status status, LocalDateTime dueAfter, ScrollPosition position,
+                                                      Limit limit, Sort sort) {
+        return read(() -> scroll(status, dueAfter, null, position, limit, sort));
+    }
+
+    @Override
+    public Window<TodoItem> scrollAllByStatusDueBetween(Status status, LocalDateTime dueAfter, LocalDateTime dueUntil,
+                                                        ScrollPosition position, Limit limit, Sort sort) {
+        return read(() -> scroll(status, dueAfter, dueUntil, position, limit, sort));
+    }
+
+    /**
+     * Copies the items in chunks under the read lock and hands each chunk over once the lock is released, so a slow
+     * consumer never holds back the writes. An item written meanwhile is seen in its latest state if its key comes
+     * after the last one handed over.
+     */
+    @Override
+    public void forEachItem(Status status, Consumer<TodoItem> consumer) {
+        IndexKey last = null;
+        while (true) {
+            var after = last;
+            var chunk = read(() -> {
+                var keys = after == null ? byCreationDate : after(byCreationDate, after);
+                return keys.stream()
+                        .filter(key -> status == null || status(key.record()) == status)
+                        .limit(FOR_EACH_CHUNK_SIZE)
+                        .map(key -> Map.entry(key, read(key.record())))
+                        .toList();
+            });
+            if (chunk.isEmpty()) {
+                return;
+            }
+
+            chunk.forEach(entry -> consumer.accept(entry.getValue()));
+            last = chunk.get(chunk.size() - 1).getKey();
+        }
+    }
+
+    @Override
+    public Window<TodoItem> scrollChanges(ScrollPosition position, Limit limit) {
+        if (!(position instanceof KeysetScrollPosition keyset)) {
+            throw new IllegalArgumentException("Unsupported scroll position: " + position);
+        }
+
+        return read(() -> {
+            NavigableSet<IndexKey> keys = byChangeSequence;
+            if (!keyset.isInitial()) {
+                var id = (UUID) keyset.getKeys().get(ID_PROPERTY);
+                keys = after(keys, new IndexKey((Long) keyset.getKeys().get(CHANGE_SEQUENCE_PROPERTY), 0,
+                        id.getMostSignificantBits(), id.getLeastSignificantBits(), UuidHashIndex.ABSENT));
+            }
+
+            var max = limit.isLimited() ? limit.max() : Integer.MAX_VALUE;
+            var content = new ArrayList<TodoItem>();
+            var changeSequences = new ArrayList<Long>();
+            keys.stream().limit(max + 1L).forEach(key -> {
+                content.add(read(key.record()));
+                changeSequences.add(key.first());
+            });
+            var hasNext = content.size() > max;
+            var items = hasNext ? content.subList(0, max) : content;
+            return Window.from(items, index -> {
+                var keysOfItem = new LinkedHashMap<String, Object>();
+                keysOfItem.put(CHANGE_SEQUENCE_PROPERTY, changeSequences.get(index));
+                keysOfItem.put(ID_PROPERTY, items.get(index).getId());
+                return ScrollPosition.forward(keysOfItem);
+            }, hasNext);
+        });
+    }
+
+    @Override
+    public long count() {
+        return read(() -> (long) size);
+    }
+
+    @Override
+    public long countByStatus(Status status) {
+        return read(() -> statusCounts[status.ordinal()]);
+    }
+
+    @Override
+    public long countByStatusDueAfter(Status status, LocalDateTime dueAfter) {
+        return read(() -> countDueAfter(status, dueAfter));
+    }
+
+    @Override
+    public LocalDateTime findLastDueDate(Status status, LocalDateTime dueUntil) {
+        var until = toMicros(dueUntil);
+        return read(() -> {
+            var last = byStatusAndDueDate.floor(new IndexKey(status.ordinal(), until, -1, -1, UuidHashIndex.ABSENT));
+            return last == null || last.first() != status.ordinal() || last.second() == NULL_DATE
+                    ? null
+                    : toDateTime(last.second());
+        });
+    }
+
+    @Override
+    public List<UUID> findPastDueItemIds(LocalDateTime currentDateTime, Limit limit) {
+        var max = limit.isLimited() ? limit.max() : Integer.MAX_VALUE;
+        return read(() -> pastDue(currentDateTime).stream()
+                .limit(max)
+                .map(key -> new UUID(key.mostSigBits(), key.leastSigBits()))
+                .toList());
+    }
+
+    @Override
+    public List<UUID> updatePastDueItemsStatus(Collection<UUID> itemIds, LocalDateTime currentDateTime) {
+        var currentMicros = toMicros(currentDateTime);
+        return write(() -> {
+            var changeSequence = lastChangeSequence + 1;
+            var updated = new ArrayList<UUID>();
+            for (var id : itemIds) {
+                var record = recordOf(id);
+                if (record != UuidHashIndex.ABSENT && status(record) == Status.NOT_DONE && date(record, DUE_DATE) != NULL_DATE &&
+                        date(record, DUE_DATE) <= currentMicros) {
+                    unindex(record);
+                    buffer(record).putInt(offset(record) + STATUS, Status.PAST_DUE.ordinal());
+                    recordChange(record, changeSequence);
+                    index(record);
+                    updated.add(id);
+                }
+            }
+            if (!updated.isEmpty()) {
+                lastChangeSequence = changeSequence;
+            }
+            return updated;
+        });
+    }
+
+    private Optional<TodoItem> transition(UUID id, Long expectedVersion, LocalDateTime currentDateTime, Status from,
+                                          Status to, LocalDateTime doneDate) {
+        var currentMicros = toMicros(currentDateTime);
+        return write(() -> {
+            var record = recordOf(id);
+            if (record == UuidHashIndex.ABSENT || status(record) != from || date(record, DUE_DATE) <= currentMicros ||
+                    expectedVersion != null && version(record) != expectedVersion) {
+                return Optional.empty();
+            }
+
+            unindex(record);
+            var buffer = buffer(record);
+            var offset = offset(record);
+            buffer.putInt(offset + STATUS, to.ordinal());
+            buffer.putLong(offset + DONE_DATE, toMicros(doneDate));
+            recordChange(record, ++lastChangeSequence);
+            index(record);
+            return Optional.of(read(record));
+        });
+    }
+
+    /**
+     * Reads a page, plus {@code extra} items to tell whether more follow. The index order is used when the sort is the
+     * one of the index, and the items are sorted in memory otherwise.
+     */
+    private List<TodoItem> select(Status status, LocalDateTime dueAfter, Pageable pageable, int extra) {
+        var offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        var max = pageable.isPaged() ? pageable.getPageSize() + extra : Integer.MAX_VALUE;
+        var keys = status == null ? byCreationDate : ofStatus(status, dueAfter);
+        var indexDirection = indexDirection(pageable.getSort(), status == null ? CREATION_DATE_PROPERTY : DUE_DATE_PROPERTY);
+
+        Stream<TodoItem> items;
+        if (indexDirection != null) {
+            var ordered = indexDirection.isAscending() ? keys : keys.descendingSet();
+            items = ordered.stream().skip(offset).limit(max).map(key -> read(key.record()));
+        } else {
+            items = keys.stream().map(key -> read(key.record())).sorted(comparator(pageable.getSort())).skip(offset).limit(max);
+        }
+        return items.toList();
+    }
+
+    /**
+     * Reads every item matching a filter, sorted. Only the stored statuses narrow the items down with the index, and
+     * the date ranges are checked on each item.
+     */
+    private List<TodoItem> filter(TodoItemFilter filter, Sort sort) {
+        Stream<IndexKey> keys = filter.getStatuses().isEmpty() || filter.getStatusAsOf() != null
+                ? byCreationDate.stream()
+                : filter.getStatuses().stream().flatMap(status -> ofStatus(status, null).stream());
+        return keys.map(key -> read(key.record()))
+                .filter(filter::matches)
+                .sorted(comparator(sort))
+                .toList();
+    }
+
+    /**
+     * Counts the items of the status that are due after {@code dueAfter} from the count kept per status, minus the
+     * items that are not. Only those are walked. The callers ask for the not done items due after the current date,
+     * and the timers and the sweep move the items due before it to past due, so that range stays small whatever the
+     * number of items.
+     */
+    private long countDueAfter(Status status, LocalDateTime dueAfter) {
+        if (dueAfter == null) {
+            return statusCounts[status.ordinal()];
+        }
+
+        var notDueAfter = byStatusAndDueDate.subSet(
+                new IndexKey(status.ordinal(), Long.MIN_VALUE, 0, 0, UuidHashIndex.ABSENT), true,
+                new IndexKey(status.ordinal(), toMicros(dueAfter), -1, -1, UuidHashIndex.ABSENT), true);
+        return statusCounts[status.ordinal()] - notDueAfter.size();
+    }
+
+    private Slice<TodoItem> toSlice(List<TodoItem> items, Pageable pageable) {
+        var hasNext = pageable.isPaged() && items.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? items.subList(0, pageable.getPageSize()) : items, pageable, hasNext);
+    }
+
+    private Window<TodoItem> scroll(Status status, LocalDateTime dueAfter, LocalDateTime dueUntil, ScrollPosition position,
+                                    Limit limit, Sort sort) {
+        var property = status == null ? CREATION_DATE_PROPERTY : DUE_DATE_PROPERTY;
+        var direction = indexDirection(sort, property);
+        if (direction == null) {
+            throw new IllegalArgumentException("Unsupported sort for scrolling: " + sort);
+        }
+        if (!(position instanceof KeysetScrollPosition keyset)) {
+            throw new IllegalArgumentException("Unsupported scroll position: " + position);
+        }
+
+        var keys = status == null ? byCreationDate : ofStatus(status, dueAfter, dueUntil);
+        var ordered = direction.isAscending() ? keys : keys.descendingSet();
+        if (!keyset.isInitial()) {
+            var date = toMicros((LocalDateTime) keyset.getKeys().get(property));
+            var id = (UUID) keyset.getKeys().get(ID_PROPERTY);
+            var last = status == null
+                    ? new IndexKey(date, 0, id.getMostSignificantBits(), id.getLeastSignificantBits(), UuidHashIndex.ABSENT)
+                    : new IndexKey(status.ordinal(), date, id.getMostSignificantBits(), id.getLeastSignificantBits(), UuidHashIndex.ABSENT);
+            ordered = after(ordered, last);
+        }
+
+        var max = limit.isLimited() ? limit.max() : Integer.MAX_VALUE;
+        var items = ordered.stream().limit(max + 1L).map(key -> read(key.record())).toList();
+        var hasNext = items.size() > max;
+        var content = hasNext ? items.subList(0, max) : items;
+        Function<TodoItem, Object> sortKey = status == null ? TodoItem::getCreationDate : TodoItem::getDueDate;
+        return Window.from(content, index -> {
+            var keysOfItem = new LinkedHashMap<String, Object>();
+            keysOfItem.put(property, sortKey.apply(content.get(index)));
+            keysOfItem.put(ID_PROPERTY, content.get(index).getId());
+            return ScrollPosition.forward(keysOfItem);
+        }, hasNext);
+    }
+
+    /**
+     * Returns the keys after the given one, also when it is out of the range of the keys, such as the last key of a
+     * previous window that has since fallen out of a due date range.
+     */
+    private static NavigableSet<IndexKey> after(NavigableSet<IndexKey> keys, IndexKey last) {
+        var order = keys.comparator();
+        if (keys.isEmpty() || order.compare(last, keys.first()) < 0) {
+            return keys;
+        }
+        if (order.compare(last, keys.last()) >= 0) {
+            return Collections.emptyNavigableSet();
+        }
+        return keys.tailSet(last, false);
+    }
+
+    /**
+     * Returns the direction to read an index in when the sort is unsorted or by its property, optionally followed by
+     * the id in the same direction, and null when the index order does not fit.
+     */
+    private static Sort.Direction indexDirection(Sort sort, String indexProperty) {
+        var orders = sort.toList();
+        if (orders.isEmpty()) {
+            return Sort.Direction.ASC;
+        }
+
+        var first = orders.get(0);
+        var byIndex = first.getProperty().equals(indexProperty) && (orders.size() == 1 || orders.size() == 2 &&
+                orders.get(1).getProperty().equals(ID_PROPERTY) && orders.get(1).getDirection() == first.getDirection());
+        return byIndex ? first.getDirection() : null;
+    }
+
+    private static Comparator<TodoItem> comparator(Sort sort) {
+        Comparator<TodoItem> comparator = (first, second) -> 0;
+        for (var order : sort) {
+            var byProperty = switch (order.getProperty()) {
+                case "description" -> Comparator.comparing(TodoItem::getDescription, Comparator.nullsFirst(Comparator.<String>naturalOrder()));
+                case "status" -> Comparator.comparing(TodoItem::getStatus, Comparator.nullsFirst(Comparator.<Status>naturalOrder()));
+                case "creationDate" -> Comparator.comparing(TodoItem::getCreationDate, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()));
+                case "dueDate" -> Comparator.comparing(TodoItem::getDueDate, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()));
+                case "doneDate" -> Comparator.comparing(TodoItem::getDoneDate, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()));
+                case "version" -> Comparator.comparing(TodoItem::getVersion);
+                case ID_PROPERTY -> Comparator.comparing(TodoItem::getId, OffHeapTodoItemStore::compareIds);
+                default -> throw new IllegalArgumentException("No property '" + order.getProperty() + "' found for type 'TodoItem'");
+            };
+            comparator = comparator.thenComparing(order.isAscending() ? byProperty : byProperty.reversed());
+        }
+        return comparator.thenComparing(TodoItem::getId, OffHeapTodoItemStore::compareIds);
+    }
+
+    /**
+     * Compares ids as unsigned 128-bit numbers, like the database does, rather than with {@link UUID#compareTo}.
+     */
+    private static int compareIds(UUID first, UUID second) {
+        var mostSigBits = Long.compareUnsigned(first.getMostSignificantBits(), second.getMostSignificantBits());
+        return mostSigBits != 0 ? mostSigBits : Long.compareUnsigned(first.getLeastSignificantBits(), second.getLeastSignificantBits());
+    }
+
+    private NavigableSet<IndexKey> ofStatus(Status status, LocalDateTime dueAfter) {
+        return ofStatus(status, dueAfter, null);
+    }
+
+    /**
+     * Returns the index range of the items with the given status, only the ones due after {@code dueAfter} and up to
+     * {@code dueUntil} when they are not null.
+     */
+    private NavigableSet<IndexKey> ofStatus(Status status, LocalDateTime dueAfter, LocalDateTime dueUntil) {
+        var from = dueAfter == null
+                ? new IndexKey(status.ordinal(), Long.MIN_VALUE, 0, 0, UuidHashIndex.ABSENT)
+                : new IndexKey(status.ordinal(), toMicros(dueAfter), -1, -1, UuidHashIndex.ABSENT);
+        var to = new IndexKey(status.ordinal(), dueUntil == null ? Long.MAX_VALUE : toMicros(dueUntil), -1, -1,
+                UuidHashIndex.ABSENT);
+        return byStatusAndDueDate.subSet(from, dueAfter == null, to, true);
+    }
+
+    private NavigableSet<IndexKey> pastDue(LocalDateTime currentDateTime) {
+        var status = Status.NOT_DONE.ordinal();
+        return byStatusAndDueDate.subSet(new IndexKey(status, NULL_DATE + 1, 0, 0, UuidHashIndex.ABSENT), true,
+                new IndexKey(status, toMicros(currentDateTime), -1, -1, UuidHashIndex.ABSENT), true);
+    }
+
+    private void index(int record) {
+        var status = status(record);
+        var mostSigBits = buffer(record).getLong(offset(record) + ID_MOST_SIG_BITS);
+        var leastSigBits = buffer(record).getLong(offset(record) + ID_LEAST_SIG_BITS);
+        byStatusAndDueDate.add(new IndexKey(status.ordinal(), date(record, DUE_DATE), mostSigBits, leastSigBits, record));
+        byCreationDate.add(new IndexKey(date(record, CREATION_DATE), 0, mostSigBits, leastSigBits, record));
+        byChangeSequence.add(new IndexKey(changeSequence(record), 0, mostSigBits, leastSigBits, record));
+        statusCounts[status.ordinal()]++;
+    }
+
+    private void unindex(int record) {
+        var status = status(record);
+        var mostSigBits = buffer(record).getLong(offset(record) + ID_MOST_SIG_BITS);
+        var leastSigBits = buffer(record).getLong(offset(record) + ID_LEAST_SIG_BITS);
+        byStatusAndDueDate.remove(new IndexKey(status.ordinal(), date(record, DUE_DATE), mostSigBits, leastSigBits, record));
+        byCreationDate.remove(new IndexKey(date(record, CREATION_DATE), 0, mostSigBits, leastSigBits, record));
+        byChangeSequence.remove(new IndexKey(changeSequence(record), 0, mostSigBits, leastSigBits, record));
+        statusCounts[status.ordinal()]--;
+    }
+
+    private void setFields(int record, TodoItem item) {
+        var buffer = buffer(record);
+        var offset = offset(record);
+        buffer.putLong(offset + CREATION_DATE, toMicros(item.getCreationDate()));
+        buffer.putLong(offset + DUE_DATE, toMicros(item.getDueDate()));
+        buffer.putLong(offset + DONE_DATE, toMicros(item.getDoneDate()));
+        buffer.putInt(offset + DESCRIPTION, intern(item.getDescription()));
+        buffer.putInt(offset + STATUS, item.getStatus().ordinal());
+    }
+
+    private TodoItem read(int record) {
+        var buffer = buffer(record);
+        var offset = offset(record);
+        var description = buffer.getInt(offset + DESCRIPTION);
+        return new TodoItem(new UUID(buffer.getLong(offset + ID_MOST_SIG_BITS), buffer.getLong(offset + ID_LEAST_SIG_BITS)),
+                description == NULL_DESCRIPTION ? null : descriptions.get(description),
+                status(record),
+                toDateTime(date(record, CREATION_DATE)),
+                toDateTime(date(record, DUE_DATE)),
+                toDateTime(date(record, DONE_DATE)),
+                version(record));
+    }
+
+    private int recordOf(UUID id) {
+        return id == null ? UuidHashIndex.ABSENT : ids.get(id.getMostSignificantBits(), id.getLeastSignificantBits());
+    }
+
+    private Status status(int record) {
+        return STATUSES[buffer(record).getInt(offset(record) + STATUS)];
+    }
+
+    private long date(int record, int field) {
+        return buffer(record).getLong(offset(record) + field);
+    }
+
+    private long version(int record) {
+        return buffer(record).getLong(offset(record) + VERSION);
+    }
+
+    private long changeSequence(int record) {
+        return buffer(record).getLong(offset(record) + CHANGE_SEQUENCE);
+    }
+
+    private void recordChange(int record, long changeSequence) {
+        buffer(record).putLong(offset(record) + VERSION, version(record) + 1);
+        buffer(record).putLong(offset(record) + CHANGE_SEQUENCE, changeSequence);
+    }
+
+    private ByteBuffer buffer(int record) {
+        return chunks.get(record / chunkRecords);
+    }
+
+    private int offset(int record) {
+        return record % chunkRecords * RECORD_SIZE;
+    }
+
+    /**
+     * Returns the slot of the description in the pool, taking a free slot for a new one, and counts one more record
+     * pointing to it.
+     */
+    private int intern(String description) {
+        if (description == null) {
+            return NULL_DESCRIPTION;
+        }
+
+        var slot = descriptionSlots.get(description);
+        if (slot == null) {
+            if (freeDescriptionSlots.isEmpty()) {
+                slot = descriptions.size();
+                descriptions.add(description);
+                if (slot == descriptionRefCounts.length) {
+                    descriptionRefCounts = Arrays.copyOf(descriptionRefCounts, slot * 2);
+                }
+            } else {
+                slot = freeDescriptionSlots.pop();
+                descriptions.set(slot, description);
+            }
+            descriptionSlots.put(description, slot);
+        }
+        descriptionRefCounts[slot]++;
+        return slot;
+    }
+
+    /**
+     * Counts one record less pointing to the description in the slot, and frees the slot when none is left.
+     */
+    private void release(int slot) {
+        if (slot == NULL_DESCRIPTION || --descriptionRefCounts[slot] > 0) {
+            return;
+        }
+
+        descriptionSlots.remove(descriptions.get(slot));
+        descriptions.set(slot, null);
+        freeDescriptionSlots.push(slot);
+    }
+
+    int internedDescriptions() {
+        return read(descriptionSlots::size);
+    }
+
+    private static long toMicros(LocalDateTime dateTime) {
+        return dateTime == null ? NULL_DATE : dateTime.toEpochSecond(ZoneOffset.UTC) * MICROS_PER_SECOND + dateTime.getNano() / 1_000;
+    }
+
+    private static LocalDateTime toDateTime(long micros) {
+        return micros == NULL_DATE ? null : LocalDateTime.ofEpochSecond(Math.floorDiv(micros, MICROS_PER_SECOND),
+                (int) Math.floorMod(micros, MICROS_PER_SECOND) * 1_000, ZoneOffset.UTC);
+    }
+
+    private <T> T read(Supplier<T> operation) {
+        lock.readLock().lock();
+        try {
+            return operation.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private <T> T write(Supplier<T> operation) {
+        lock.writeLock().lock();
+        try {
+            return operation.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Entry of a sorted index: two leading keys, the id as a tie breaker and the record it points to, which is left
+     * out of the order.
+     */
+    private record IndexKey(long first, long second, long mostSigBits, long leastSigBits, int record) {
+    }
+}
@@ -0,0 +1,150 @@
+package com.lessa.todolist.persistence.store;
+
+import com.lessa.todolist.domain.Status;
+import com.lessa.todolist.domain.TodoItem;
+import com.lessa.todolist.domain.TodoItemFilter;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Storage port of the item service. {@link JpaTodoItemStore} keeps the items in the database and is the default;
+ * {@link OffHeapTodoItemStore} keeps them in memory with the {@code in-memory} profile.
+ */
+public interface TodoItemStore {
+
+    String CHANGE_SEQUENCE_PROPERTY = "changeSequence";
+    Sort CHANGES_SORT = Sort.by(CHANGE_SEQUENCE_PROPERTY, "id");
+
+    /**
+     * Stores a new item, with a generated id when it has none, and returns it with its id and first version.
+     */
+    TodoItem insert(TodoItem item);
+
+    /**
+     * Stores new items together, each with a generated id when it has none, and returns them with their ids and first
+     * versions.
+     */
+    List<TodoItem> insertAll(List<TodoItem> items);
+
+    /**
+     * Replaces a stored item if it still has the version of the given one, and returns it with the next version.
+     * Throws an {@link org.springframework.dao.OptimisticLockingFailureException} otherwise.
+     */
+    TodoItem update(TodoItem item);
+
+    Optional<TodoItem> findById(UUID id);
+
+    List<TodoItem> findAllById(Collection<UUID> ids);
+
+    /**
+     * Moves a not done item that is not due yet to done. When an expected version is given, the item must also still
+     * have it. Returns empty when no item matches the id and the guard.
+     */
+    Optional<TodoItem> markAsDone(UUID id, Long expectedVersion, LocalDateTime currentDateTime);
+
+    /**
+     * Moves a done item that is not due yet back to not done. When an expected version is given, the item must also
+     * still have it. Returns empty when no item matches the id and the guard.
+     */
+    Optional<TodoItem> markAsNotDone(UUID id, Long expectedVersion, LocalDateTime currentDateTime);
+
+    /**
+     * Bulk variant of {@link #markAsDone(UUID, Long, LocalDateTime)} without expected versions, returning only the
+     * items it moved.
+     */
+    List<TodoItem> markAllAsDone(Collection<UUID> ids, LocalDateTime currentDateTime);
+
+    /**
+     * Bulk variant of {@link #markAsNotDone(UUID, Long, LocalDateTime)} without expected versions, returning only the
+     * items it moved.
+     */
+    List<TodoItem> markAllAsNotDone(Collection<UUID> ids, LocalDateTime currentDateTime);
+
+    Page<TodoItem> findAllItems(Pageable pageable);
+
+    Page<TodoItem> findAllItemsByStatus(Status status, Pageable pageable);
+
+    /**
+     * Reads a page of the items with the given status that are due after the given date.
+     */
+    Page<TodoItem> findAllItemsByStatusDueAfter(Status status, LocalDateTime dueAfter, Pageable pageable);
+
+    /**
+     * Reads a page of the items matching a filter.
+     */
+    Page<TodoItem> findAllItems(TodoItemFilter filter, Pageable pageable);
+
+    Slice<TodoItem> sliceAllItems(Pageable pageable);
+
+    Slice<TodoItem> sliceAllItemsByStatus(Status status, Pageable pageable);
+
+    Slice<TodoItem> sliceAllItemsByStatusDueAfter(Status status, LocalDateTime dueAfter, Pageable pageable);
+
+    Slice<TodoItem> sliceAllItems(TodoItemFilter filter, Pageable pageable);
+
+    /**
+     * Reads the window after a keyset position, sorted by the creation date and the id.
+     */
+    Window<TodoItem> scrollAll(ScrollPosition position, Limit limit, Sort sort);
+
+    /**
+     * Reads the window after a keyset position among the items with the given status, sorted by the due date and the
+     * id.
+     */
+    Window<TodoItem> scrollAllByStatus(Status status, ScrollPosition position, Limit limit, Sort sort);
+
+    Window<TodoItem> scrollAllByStatusDueAfter(Status status, LocalDateTime dueAfter, ScrollPosition position,
+                                               Limit limit, Sort sort);
+
+    /**
+     * Reads the window after a keyset position among the items with the given status due after {@code dueAfter} and up
+     * to {@code dueUntil}, sorted by the due date and the id.
+     */
+    Window<TodoItem> scrollAllByStatusDueBetween(Status status, LocalDateTime dueAfter, LocalDateTime dueUntil,
+                                                 ScrollPosition position, Limit limit, Sort sort);
+
+    /**
+     * Hands every item, or only the ones with the given status when it is not null, to the consumer in creation date
+     * and id order, without holding them all in memory at once.
+     */
+    void forEachItem(Status status, Consumer<TodoItem> consumer);
+
+    /**
+     * Reads the window after a keyset position of the items changed since, in the order of their last change. Every
+     * write moves the item it changes to the end, and the positions carry the change sequence and the id.
+     */
+    Window<TodoItem> scrollChanges(ScrollPosition position, Limit limit);
+
+    long count();
+
+    long countByStatus(Status status);
+
+    long countByStatusDueAfter(Status status, LocalDateTime dueAfter);
+
+    /**
+     * Returns the latest due date up to {@code dueUntil} among the items with the given status, or null when there is
+     * none.
+     */
+    LocalDateTime findLastDueDate(Status status, LocalDateTime dueUntil);
+
+    List<UUID> findPastDueItemIds(LocalDateTime currentDateTime, Limit limit);
+
+    /**
+     * Moves the given items that are still not done and due at the current date to past due, returning the ids of the
+     * items actually moved.
+     */
+    List<UUID> updatePastDueItemsStatus(Collection<UUID> ids, LocalDateTime currentDateTime);
+
+}
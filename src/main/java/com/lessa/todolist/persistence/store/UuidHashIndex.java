@@ -0,0 +1,86 @@
+package com.lessa.todolist.persistence.store;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash table from a UUID, kept as its two halves in a primitive array, to a record number. Linear
+ * probing over power-of-two tables that grow at half load, so lookups touch one or two adjacent slots and allocate
+ * nothing. Entries are never removed. Not thread safe.
+ */
+final class UuidHashIndex {
+
+    static final int ABSENT = -1;
+
+    private long[] keys;
+    private int[] values;
+    private int shift;
+    private int size;
+
+    UuidHashIndex(int expectedSize) {
+        allocate(Integer.highestOneBit(Math.max(expectedSize, 8) * 2 - 1) * 2);
+    }
+
+    int get(long mostSigBits, long leastSigBits) {
+        var mask = values.length - 1;
+        for (int slot = slot(mostSigBits, leastSigBits); ; slot = (slot + 1) & mask) {
+            var value = values[slot];
+            if (value == ABSENT || keys[2 * slot] == mostSigBits && keys[2 * slot + 1] == leastSigBits) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Maps the id to the record unless it is already mapped, and tells whether it was added.
+     */
+    boolean putIfAbsent(long mostSigBits, long leastSigBits, int value) {
+        if ((size + 1) * 2 > values.length) {
+            grow();
+        }
+
+        var mask = values.length - 1;
+        for (int slot = slot(mostSigBits, leastSigBits); ; slot = (slot + 1) & mask) {
+            if (values[slot] == ABSENT) {
+                keys[2 * slot] = mostSigBits;
+                keys[2 * slot + 1] = leastSigBits;
+                values[slot] = value;
+                size++;
+                return true;
+            }
+            if (keys[2 * slot] == mostSigBits && keys[2 * slot + 1] == leastSigBits) {
+                return false;
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Takes the top bits of a multiplicative hash of both halves, since the leading bits of time-ordered ids barely
+     * change between neighbours.
+     */
+    private int slot(long mostSigBits, long leastSigBits) {
+        return (int) (((mostSigBits ^ leastSigBits) * 0x9E37_79B9_7F4A_7C15L) >>> shift);
+    }
+
+    private void grow() {
+        var oldKeys = keys;
+        var oldValues = values;
+        allocate(oldValues.length * 2);
+        size = 0;
+        for (int slot = 0; slot < oldValues.length; slot++) {
+            if (oldValues[slot] != ABSENT) {
+                putIfAbsent(oldKeys[2 * slot], oldKeys[2 * slot + 1], oldValues[slot]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[2 * capacity];
+        values = new int[capacity];
+        Arrays.fill(values, ABSENT);
+        shift = Long.SIZE - Integer.numberOfTrailingZeros(capacity);
+    }
+}
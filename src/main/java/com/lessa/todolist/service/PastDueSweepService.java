@@ -0,0 +1,13 @@
+package com.lessa.todolist.service;
+
+import com.lessa.todolist.domain.PastDueSweep;
+
+import java.util.Optional;
+
+public interface PastDueSweepService {
+
+    PastDueSweep sweep();
+
+    Optional<PastDueSweep> getLastSweep();
+
+}
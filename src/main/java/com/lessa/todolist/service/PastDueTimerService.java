@@ -0,0 +1,12 @@
+package com.lessa.todolist.service;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface PastDueTimerService {
+
+    void schedule(UUID itemId, LocalDateTime dueDate);
+
+    void cancel(UUID itemId);
+
+}
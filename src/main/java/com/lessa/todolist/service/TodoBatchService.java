@@ -0,0 +1,19 @@
+package com.lessa.todolist.service;
+
+import com.lessa.todolist.domain.BatchAddResult;
+import com.lessa.todolist.domain.BatchTransitionResult;
+import com.lessa.todolist.domain.TodoItem;
+import com.lessa.todolist.service.exception.BadRequestException;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface TodoBatchService {
+
+    BatchAddResult addAll(List<TodoItem> items) throws BadRequestException;
+
+    List<BatchTransitionResult> markAllAsDone(List<UUID> itemIds) throws BadRequestException;
+
+    List<BatchTransitionResult> markAllAsNotDone(List<UUID> itemIds) throws BadRequestException;
+
+}
@@ -0,0 +1,15 @@
+package com.lessa.todolist.service;
+
+public interface TodoChangeCounter {
+
+    /**
+     * Counts a change to the items once the surrounding transaction, if any, commits.
+     */
+    void recordChange();
+
+    /**
+     * Returns a value that identifies the current state of the items and differs after every recorded change.
+     */
+    String getVersion();
+
+}
@@ -0,0 +1,12 @@
+package com.lessa.todolist.service;
+
+import com.lessa.todolist.domain.TodoEvent;
+
+public interface TodoEventPublisher {
+
+    /**
+     * Publishes the event to the subscribers once the surrounding transaction, if any, commits.
+     */
+    void publish(TodoEvent event);
+
+}
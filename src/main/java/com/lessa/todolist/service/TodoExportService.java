@@ -0,0 +1,15 @@
+package com.lessa.todolist.service;
+
+import com.lessa.todolist.domain.Status;
+import com.lessa.todolist.domain.TodoItem;
+
+import java.util.function.Consumer;
+
+public interface TodoExportService {
+
+    /**
+     * Hands every item, or only the ones with the given status when it is not null, to the consumer one at a time.
+     */
+    void exportAll(Status status, Consumer<TodoItem> consumer);
+
+}
@@ -0,0 +1,26 @@
+package com.lessa.todolist.service;
+
+import com.lessa.todolist.domain.IngestStatus;
+import com.lessa.todolist.domain.TodoItem;
+import com.lessa.todolist.service.exception.ConflictException;
+import com.lessa.todolist.service.exception.NotFoundException;
+import com.lessa.todolist.service.exception.TooManyRequestsException;
+
+import java.util.UUID;
+
+public interface TodoIngestService {
+
+    /**
+     * Validates a new item and queues it to be written later, returning it with the id and creation date it will be
+     * stored with. Throws a {@link TooManyRequestsException} when the queue is full.
+     */
+    TodoItem submit(TodoItem item) throws ConflictException, TooManyRequestsException;
+
+    /**
+     * Tells whether a submitted item is still queued, has been written, or could not be written. Failed ids are kept for
+     * {@code ingest.failed.retention}; after that, and for ids that were never submitted, a {@link NotFoundException} is
+     * thrown.
+     */
+    IngestStatus getStatus(UUID itemId) throws NotFoundException;
+
+}
@@ -0,0 +1,23 @@
+package com.lessa.todolist.service;
+
+import com.lessa.todolist.domain.CacheStatistics;
+import com.lessa.todolist.domain.TodoItem;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+public interface TodoItemCache {
+
+    Optional<TodoItem> get(UUID itemId, Function<UUID, Optional<TodoItem>> loader);
+
+    void put(TodoItem item);
+
+    void evict(UUID itemId);
+
+    void evictAll(Collection<UUID> itemIds);
+
+    CacheStatistics getStatistics();
+
+}
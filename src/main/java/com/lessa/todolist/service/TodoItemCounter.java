@@ -0,0 +1,12 @@
+package com.lessa.todolist.service;
+
+import com.lessa.todolist.domain.Status;
+
+public interface TodoItemCounter {
+
+    /**
+     * Returns a recent, possibly stale, number of items with the given status, or of all items when it is null.
+     */
+    long count(Status status);
+
+}
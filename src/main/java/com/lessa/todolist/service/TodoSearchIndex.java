@@ -0,0 +1,35 @@
+package com.lessa.todolist.service;
+
+import com.lessa.todolist.domain.SearchHit;
+import com.lessa.todolist.domain.SearchIndexRebuild;
+import com.lessa.todolist.domain.TodoItem;
+import com.lessa.todolist.service.exception.BadRequestException;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.util.List;
+
+public interface TodoSearchIndex {
+
+    String SCORE_PROPERTY = "score";
+    String ID_PROPERTY = "id";
+    String GENERATION_PROPERTY = "generation";
+
+    /**
+     * Indexes the description of a written item in place of the one indexed before for the same id, once the write
+     * commits.
+     */
+    void index(TodoItem item);
+
+    /**
+     * Returns up to {@code limit} items whose description contains every word of the query, best ranked first. A
+     * keyset position with the {@code score}, the {@code id} and the {@code generation} of a previous hit starts after
+     * that hit, and is rejected with a {@link BadRequestException} once the index has been rebuilt or compacted since.
+     */
+    List<SearchHit> search(String query, ScrollPosition position, int limit) throws BadRequestException;
+
+    /**
+     * Indexes every item of the database again, replacing the current index once done.
+     */
+    SearchIndexRebuild rebuild();
+
+}
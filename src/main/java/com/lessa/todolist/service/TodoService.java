@@ -1,10 +1,19 @@
 package com.lessa.todolist.service;
 
+import com.lessa.todolist.domain.Status;
+import com.lessa.todolist.domain.StatusCounts;
 import com.lessa.todolist.domain.TodoItem;
+import com.lessa.todolist.domain.TodoItemFilter;
+import com.lessa.todolist.service.exception.BadRequestException;
 import com.lessa.todolist.service.exception.ConflictException;
 import com.lessa.todolist.service.exception.NotFoundException;
+import com.lessa.todolist.service.exception.PreconditionFailedException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 import java.util.UUID;
 
@@ -12,16 +21,63 @@ public interface TodoService {
 
     TodoItem add(TodoItem item) throws ConflictException;
 
-    TodoItem updateDescription(UUID itemId, String description) throws NotFoundException, ConflictException;
+    /**
+     * Updates the item description. When an expected version is given and the item has another one, the update is
+     * refused with a {@link PreconditionFailedException}. The same applies to the status updates.
+     */
+    TodoItem updateDescription(UUID itemId, String description, Long expectedVersion)
+            throws NotFoundException, ConflictException, PreconditionFailedException;
 
-    TodoItem markAsDone(UUID itemId) throws NotFoundException, ConflictException;
+    TodoItem markAsDone(UUID itemId, Long expectedVersion)
+            throws NotFoundException, ConflictException, PreconditionFailedException;
 
-    TodoItem markAsNotDone(UUID itemId) throws NotFoundException, ConflictException;
+    TodoItem markAsNotDone(UUID itemId, Long expectedVersion)
+            throws NotFoundException, ConflictException, PreconditionFailedException;
 
     Page<TodoItem> getAll(Pageable pageable);
 
     Page<TodoItem> getNotDone(Pageable pageable);
 
+    Slice<TodoItem> getAllSlice(Pageable pageable);
+
+    Slice<TodoItem> getNotDoneSlice(Pageable pageable);
+
+    /**
+     * Same as {@link #getAll(Pageable)} for the items matching a filter.
+     */
+    Page<TodoItem> getAll(TodoItemFilter filter, Pageable pageable);
+
+    Slice<TodoItem> getAllSlice(TodoItemFilter filter, Pageable pageable);
+
+    long getCachedCount(Status status);
+
+    /**
+     * Returns the number of items per status from counters kept up to date by every transition, without a query.
+     */
+    StatusCounts getStatusCounts();
+
+    /**
+     * Returns a version of the items that changes after every committed write, to validate cached lists cheaply. With
+     * read-time past due evaluation it also changes whenever a not done item becomes past due.
+     */
+    String getChangeVersion();
+
+    Window<TodoItem> scrollAll(ScrollPosition position, int size, Sort sort) throws BadRequestException;
+
+    Window<TodoItem> scrollNotDone(ScrollPosition position, int size, Sort sort) throws BadRequestException;
+
+    /**
+     * Finds the items whose description contains every word of the query, best matches first, in windows that start
+     * after the position of the last item of the previous one.
+     */
+    Window<TodoItem> search(String query, ScrollPosition position, int size) throws BadRequestException;
+
+    /**
+     * Returns the items changed after the position of the last item of the previous window, in the order of their
+     * last change, so a client that keeps the position of the last window only reads what changed since.
+     */
+    Window<TodoItem> getChanges(ScrollPosition position, int size) throws BadRequestException;
+
     TodoItem get(UUID itemId) throws NotFoundException;
 
     void updatePastDueItemsStatus();
@@ -0,0 +1,24 @@
+package com.lessa.todolist.service;
+
+import com.lessa.todolist.domain.Status;
+import com.lessa.todolist.domain.StatusCounts;
+
+public interface TodoStatusCounter {
+
+    /**
+     * Moves the given number of items from one status to another once the surrounding transaction, if any, commits.
+     * A null {@code from} counts new items.
+     */
+    void recordTransition(Status from, Status to, int items);
+
+    /**
+     * Returns the current number of items per stored status without reading the database.
+     */
+    StatusCounts getCounts();
+
+    /**
+     * Counts the items per status in the database and corrects the counters with any difference.
+     */
+    StatusCounts reconcile();
+
+}
@@ -0,0 +1,7 @@
+package com.lessa.todolist.service.exception;
+
+public class BadRequestException extends Exception {
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.lessa.todolist.service.exception;
+
+public class PreconditionFailedException extends Exception {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
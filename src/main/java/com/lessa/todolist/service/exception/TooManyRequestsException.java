@@ -0,0 +1,7 @@
+package com.lessa.todolist.service.exception;
+
+public class TooManyRequestsException extends Exception {
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
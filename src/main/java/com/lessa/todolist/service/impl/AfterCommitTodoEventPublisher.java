@@ -0,0 +1,22 @@
+package com.lessa.todolist.service.impl;
+
+import com.lessa.todolist.domain.TodoEvent;
+import com.lessa.todolist.service.TodoEventPublisher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands the events to the application event listeners on the committing thread, so they must only enqueue them.
+ */
+@Component
+@RequiredArgsConstructor
+public class AfterCommitTodoEventPublisher implements TodoEventPublisher {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Override
+    public void publish(TodoEvent event) {
+        TransactionHooks.afterCommit(() -> applicationEventPublisher.publishEvent(event));
+    }
+}
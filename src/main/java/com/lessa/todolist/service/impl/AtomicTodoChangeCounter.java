@@ -0,0 +1,27 @@
+package com.lessa.todolist.service.impl;
+
+import com.lessa.todolist.service.TodoChangeCounter;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the committed writes to the items table in memory. The version is prefixed with the start time of this
+ * instance, so a version handed out before a restart never matches one handed out after it.
+ */
+@Component
+public class AtomicTodoChangeCounter implements TodoChangeCounter {
+
+    private final String instance = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final AtomicLong changes = new AtomicLong();
+
+    @Override
+    public void recordChange() {
+        TransactionHooks.afterCommit(changes::incrementAndGet);
+    }
+
+    @Override
+    public String getVersion() {
+        return instance + "-" + changes.get();
+    }
+}
@@ -0,0 +1,89 @@
+package com.lessa.todolist.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.lessa.todolist.domain.CacheStatistics;
+import com.lessa.todolist.domain.TodoItem;
+import com.lessa.todolist.service.TodoItemCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Size-bounded cache of single items backed by Caffeine, whose W-TinyLFU eviction keeps the frequently polled items
+ * even under scans. Missing items are cached too, for a shorter time, so repeated lookups of unknown ids do not reach
+ * the database. Items are copied in and out, since the domain object is mutable, and writes are applied after the
+ * surrounding transaction commits.
+ */
+@Component
+public class CaffeineTodoItemCache implements TodoItemCache {
+
+    private final Cache<UUID, Optional<TodoItem>> cache;
+
+    public CaffeineTodoItemCache(@Value("${cache.item.maximum-size:10000}") long maximumSize,
+                                 @Value("${cache.item.expire-after-write:10m}") Duration expireAfterWrite,
+                                 @Value("${cache.item.missing-expire-after-write:5s}") Duration missingExpireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new FoundOrMissingExpiry(expireAfterWrite, missingExpireAfterWrite))
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Optional<TodoItem> get(UUID itemId, Function<UUID, Optional<TodoItem>> loader) {
+        return cache.get(itemId, loader).map(TodoItem::copy);
+    }
+
+    @Override
+    public void put(TodoItem item) {
+        if (item.getId() == null) {
+            return;
+        }
+
+        var copy = item.copy();
+        TransactionHooks.afterCommit(() -> cache.put(copy.getId(), Optional.of(copy)));
+    }
+
+    @Override
+    public void evict(UUID itemId) {
+        TransactionHooks.afterCommit(() -> cache.invalidate(itemId));
+    }
+
+    @Override
+    public void evictAll(Collection<UUID> itemIds) {
+        var ids = List.copyOf(itemIds);
+        TransactionHooks.afterCommit(() -> cache.invalidateAll(ids));
+    }
+
+    @Override
+    public CacheStatistics getStatistics() {
+        var stats = cache.stats();
+        return new CacheStatistics(cache.estimatedSize(), stats.hitCount(), stats.missCount(), stats.evictionCount());
+    }
+
+    private record FoundOrMissingExpiry(Duration found, Duration missing) implements Expiry<UUID, Optional<TodoItem>> {
+
+        @Override
+        public long expireAfterCreate(UUID key, Optional<TodoItem> value, long currentTime) {
+            return (value.isPresent() ? found : missing).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(UUID key, Optional<TodoItem> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(UUID key, Optional<TodoItem> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.lessa.todolist.service.impl;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.lessa.todolist.domain.Status;
+import com.lessa.todolist.persistence.store.TodoItemStore;
+import com.lessa.todolist.service.TimeService;
+import com.lessa.todolist.service.TodoItemCounter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Counts the items at most once per {@code expire-after-write} for each status, so clients that only need an order of
+ * magnitude for the total do not run a count over the table on every page. With read-time past due evaluation, the
+ * not done items are the ones still due when counted.
+ */
+@Component
+public class CaffeineTodoItemCounter implements TodoItemCounter {
+
+    private final LoadingCache<Optional<Status>, Long> counts;
+
+    public CaffeineTodoItemCounter(TodoItemStore store,
+                                   TimeService timeService,
+                                   @Value("${past-due.read-time.enabled:false}") boolean readTimePastDue,
+                                   @Value("${count.cache.expire-after-write:30s}") Duration expireAfterWrite) {
+        this.counts = Caffeine.newBuilder()
+                .expireAfterWrite(expireAfterWrite)
+                .build(status -> status
+                        .map(value -> readTimePastDue && value == Status.NOT_DONE
+                                ? store.countByStatusDueAfter(value, timeService.getLocalDateTime())
+                                : store.countByStatus(value))
+                        .orElseGet(store::count));
+    }
+
+    @Override
+    public long count(Status status) {
+        return counts.get(Optional.ofNullable(status));
+    }
+}
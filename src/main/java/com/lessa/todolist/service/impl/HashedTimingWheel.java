@@ -0,0 +1,104 @@
+package com.lessa.todolist.service.impl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Hashed timing wheel: a ring of buckets where each bucket holds the tasks expiring on the ticks that hash to it,
+ * plus the number of full turns of the ring they still have to wait. Scheduling is O(1) and safe from any thread,
+ * while {@link #advance()} must always be called by the same thread. A task never expires before its deadline and
+ * at most one tick after it.
+ */
+class HashedTimingWheel<T> {
+
+    private final long tickNanos;
+    private final int mask;
+    private final Queue<Timeout<T>>[] buckets;
+    private final Queue<Timeout<T>> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final LongSupplier nanoClock;
+    private final long startNanos;
+    private long currentTick;
+
+    HashedTimingWheel(long tickDuration, TimeUnit unit, int wheelSize) {
+        this(tickDuration, unit, wheelSize, System::nanoTime);
+    }
+
+    @SuppressWarnings("unchecked")
+    HashedTimingWheel(long tickDuration, TimeUnit unit, int wheelSize, LongSupplier nanoClock) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("The tick duration must be greater than zero.");
+        }
+        if (wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("The wheel size must be a power of two.");
+        }
+
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.mask = wheelSize - 1;
+        this.buckets = new Queue[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+        this.nanoClock = nanoClock;
+        this.startNanos = nanoClock.getAsLong();
+    }
+
+    void schedule(T task, long delay, TimeUnit unit) {
+        var deadlineNanos = nanoClock.getAsLong() - startNanos + Math.max(0, unit.toNanos(delay));
+        pendingTimeouts.add(new Timeout<>(task, deadlineNanos));
+    }
+
+    /**
+     * Processes every tick elapsed since the last call and returns the tasks that expired on them.
+     */
+    List<T> advance() {
+        var targetTick = (nanoClock.getAsLong() - startNanos) / tickNanos;
+        var expired = new ArrayList<T>();
+
+        while (currentTick <= targetTick) {
+            transferPendingTimeouts();
+            expireBucket(buckets[(int) (currentTick & mask)], expired);
+            currentTick++;
+        }
+
+        return expired;
+    }
+
+    private void transferPendingTimeouts() {
+        Timeout<T> timeout;
+        while ((timeout = pendingTimeouts.poll()) != null) {
+            var deadlineTick = Math.max((timeout.deadlineNanos + tickNanos - 1) / tickNanos, currentTick);
+            timeout.remainingRounds = (deadlineTick - currentTick) / buckets.length;
+            buckets[(int) (deadlineTick & mask)].add(timeout);
+        }
+    }
+
+    private void expireBucket(Queue<Timeout<T>> bucket, List<T> expired) {
+        var iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            var timeout = iterator.next();
+            if (timeout.remainingRounds <= 0) {
+                iterator.remove();
+                expired.add(timeout.task);
+            } else {
+                timeout.remainingRounds--;
+            }
+        }
+    }
+
+    private static final class Timeout<T> {
+
+        private final T task;
+        private final long deadlineNanos;
+        private long remainingRounds;
+
+        private Timeout(T task, long deadlineNanos) {
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+    }
+}
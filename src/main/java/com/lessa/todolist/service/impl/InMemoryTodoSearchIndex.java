@@ -0,0 +1,147 @@
+package com.lessa.todolist.service.impl;
+
+import com.lessa.todolist.domain.SearchHit;
+import com.lessa.todolist.domain.SearchIndexRebuild;
+import com.lessa.todolist.domain.TodoItem;
+import com.lessa.todolist.service.TodoExportService;
+import com.lessa.todolist.service.TodoSearchIndex;
+import com.lessa.todolist.service.exception.BadRequestException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Keeps an {@link InvertedIndex} of the item descriptions in memory. It is built from the stored items when the
+ * application is ready and kept up to date by the write paths once their transaction commits. A rebuild indexes every
+ * item into a new index while searches keep reading the current one, then applies the writes that happened meanwhile
+ * and swaps the two, which also drops the tombstones left by description updates. Between rebuilds the index is
+ * compacted in place once its tombstones reach {@code compaction.min-tombstones} and {@code compaction.tombstone-ratio}
+ * of its documents. Every write, compaction and rebuild gives the index a new generation, which invalidates the cursors
+ * of earlier searches.
+ */
+@Slf4j
+@Service
+public class InMemoryTodoSearchIndex implements TodoSearchIndex {
+
+    private final TodoExportService exportService;
+    private final boolean rebuildOnStartup;
+    private final double compactionTombstoneRatio;
+    private final int compactionMinTombstones;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object rebuildMonitor = new Object();
+
+    private InvertedIndex index = new InvertedIndex();
+    private Map<UUID, String> writesDuringRebuild;
+
+    public InMemoryTodoSearchIndex(TodoExportService exportService,
+                                   @Value("${search.index.rebuild-on-startup:true}") boolean rebuildOnStartup,
+                                   @Value("${search.index.compaction.tombstone-ratio:0.25}") double compactionTombstoneRatio,
+                                   @Value("${search.index.compaction.min-tombstones:10000}") int compactionMinTombstones) {
+        this.exportService = exportService;
+        this.rebuildOnStartup = rebuildOnStartup;
+        this.compactionTombstoneRatio = compactionTombstoneRatio;
+        this.compactionMinTombstones = compactionMinTombstones;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (rebuildOnStartup) {
+            rebuild();
+        }
+    }
+
+    @Override
+    public void index(TodoItem item) {
+        var id = item.getId();
+        var description = item.getDescription();
+        TransactionHooks.afterCommit(() -> write(() -> {
+            index.put(id, description);
+            if (writesDuringRebuild != null) {
+                writesDuringRebuild.put(id, description);
+            }
+            compactIfNeeded();
+            return null;
+        }));
+    }
+
+    @Override
+    public List<SearchHit> search(String query, ScrollPosition position, int limit) throws BadRequestException {
+        var terms = InvertedIndex.tokenize(query);
+        var keys = position instanceof KeysetScrollPosition keyset ? keyset.getKeys() : Map.<String, Object>of();
+        var afterScore = keys.get(SCORE_PROPERTY) instanceof Double score ? score : 0;
+        var afterId = (UUID) keys.get(ID_PROPERTY);
+
+        lock.readLock().lock();
+        try {
+            if (afterId != null && !(keys.get(GENERATION_PROPERTY) instanceof Long generation
+                    && generation == index.generation())) {
+                throw new BadRequestException("The search index changed since the cursor was issued. Search again without a cursor.");
+            }
+            return index.search(terms, afterScore, afterId, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public SearchIndexRebuild rebuild() {
+        synchronized (rebuildMonitor) {
+            var startNanos = System.nanoTime();
+            write(() -> writesDuringRebuild = new LinkedHashMap<>());
+
+            var rebuilt = new InvertedIndex();
+            try {
+                exportService.exportAll(null, item -> rebuilt.put(item.getId(), item.getDescription()));
+            } catch (RuntimeException exception) {
+                write(() -> writesDuringRebuild = null);
+                throw exception;
+            }
+
+            var result = write(() -> {
+                writesDuringRebuild.forEach(rebuilt::put);
+                writesDuringRebuild = null;
+                index = rebuilt;
+                return new SearchIndexRebuild(rebuilt.size(), rebuilt.terms(),
+                        Duration.ofNanos(System.nanoTime() - startNanos));
+            });
+            log.info("Search index rebuilt with {} items and {} terms in {} ms.", result.getIndexedItems(),
+                    result.getTerms(), result.getDuration().toMillis());
+            return result;
+        }
+    }
+
+    /**
+     * Compacts the index once the tombstones are both many and a large share of its documents. Called under the write
+     * lock.
+     */
+    private void compactIfNeeded() {
+        var tombstones = index.tombstones();
+        if (tombstones >= compactionMinTombstones
+                && tombstones >= compactionTombstoneRatio * (index.size() + tombstones)) {
+            index.compact();
+            log.info("Search index compacted, dropping {} tombstones.", tombstones);
+        }
+    }
+
+    private <T> T write(Supplier<T> operation) {
+        lock.writeLock().lock();
+        try {
+            return operation.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
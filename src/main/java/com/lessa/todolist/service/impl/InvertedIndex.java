@@ -0,0 +1,276 @@
+package com.lessa.todolist.service.impl;
+
+import com.lessa.todolist.domain.SearchHit;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index of the item descriptions. Every indexed description is a document, numbered in the order it was
+ * indexed, and every term points to a posting list of the documents it appears in with its frequency in each. Posting
+ * lists only grow at their end, so they stay sorted by document and are intersected with binary searches from the
+ * rarest term. Indexing a new description of an item adds a document and leaves the previous one as a tombstone that
+ * searches skip and document frequencies leave out, until {@link #compact} renumbers the live documents. Matches are
+ * ranked with BM25. Since every write changes the document counts and lengths the scores come from, each write and
+ * each compaction moves the index to a new generation, drawn from a counter shared by every index and seeded with the
+ * start time. Every hit carries the generation it was scored in, so a cursor taken from an earlier one, whose score may
+ * no longer fall between the same hits, can be told apart. Not thread safe.
+ */
+final class InvertedIndex {
+
+    static final Comparator<SearchHit> RANK_ORDER = Comparator.comparingDouble(SearchHit::getScore).reversed()
+            .thenComparing(SearchHit::getId);
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MAX_TERM_LENGTH = 64;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final AtomicLong GENERATIONS = new AtomicLong(System.currentTimeMillis() * 1000);
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<UUID, Integer> documents = new HashMap<>();
+    private final BitSet tombstones = new BitSet();
+    private UUID[] ids = new UUID[INITIAL_CAPACITY];
+    private int[] lengths = new int[INITIAL_CAPACITY];
+    private Postings[][] documentPostings = new Postings[INITIAL_CAPACITY][];
+    private int documentCount;
+    private int liveDocuments;
+    private long liveLength;
+    private long generation = GENERATIONS.incrementAndGet();
+
+    /**
+     * Splits a text into lower case terms of letters and digits, without accents, so "Café-Review" matches "cafe
+     * review".
+     */
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+
+        var normalized = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFKD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        return SEPARATORS.splitAsStream(normalized)
+                .filter(term -> !term.isEmpty())
+                .map(term -> term.length() > MAX_TERM_LENGTH ? term.substring(0, MAX_TERM_LENGTH) : term)
+                .toList();
+    }
+
+    void put(UUID id, String description) {
+        remove(id);
+        generation = GENERATIONS.incrementAndGet();
+
+        var terms = tokenize(description);
+        var document = documentCount++;
+        if (document == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+            lengths = Arrays.copyOf(lengths, lengths.length * 2);
+            documentPostings = Arrays.copyOf(documentPostings, documentPostings.length * 2);
+        }
+        ids[document] = id;
+        lengths[document] = terms.size();
+        documents.put(id, document);
+        liveDocuments++;
+        liveLength += terms.size();
+
+        var frequencies = new HashMap<String, Integer>();
+        terms.forEach(term -> frequencies.merge(term, 1, Integer::sum));
+        var lists = new Postings[frequencies.size()];
+        var next = 0;
+        for (var entry : frequencies.entrySet()) {
+            var list = postings.computeIfAbsent(entry.getKey(), Postings::new);
+            list.add(document, entry.getValue());
+            lists[next++] = list;
+        }
+        documentPostings[document] = lists;
+    }
+
+    /**
+     * Turns the document of an item into a tombstone and takes it out of the document frequency of its terms, dropping
+     * the terms left without a live document.
+     */
+    void remove(UUID id) {
+        var document = documents.remove(id);
+        if (document != null) {
+            generation = GENERATIONS.incrementAndGet();
+            tombstones.set(document);
+            liveDocuments--;
+            liveLength -= lengths[document];
+            for (var list : documentPostings[document]) {
+                if (--list.liveSize == 0) {
+                    postings.remove(list.term);
+                }
+            }
+            documentPostings[document] = null;
+        }
+    }
+
+    /**
+     * Drops the tombstones: the live documents are numbered again in the same order, so the posting lists stay sorted,
+     * and the arrays are shrunk to fit them.
+     */
+    void compact() {
+        var renumbered = new int[documentCount];
+        var live = 0;
+        for (int document = 0; document < documentCount; document++) {
+            renumbered[document] = tombstones.get(document) ? -1 : live++;
+        }
+
+        var capacity = Math.max(INITIAL_CAPACITY, Integer.highestOneBit(Math.max(1, live)) * 2);
+        var compactedIds = new UUID[capacity];
+        var compactedLengths = new int[capacity];
+        var compactedPostings = new Postings[capacity][];
+        for (int document = 0; document < documentCount; document++) {
+            var target = renumbered[document];
+            if (target >= 0) {
+                compactedIds[target] = ids[document];
+                compactedLengths[target] = lengths[document];
+                compactedPostings[target] = documentPostings[document];
+            }
+        }
+        postings.values().forEach(list -> list.renumber(renumbered));
+        documents.replaceAll((id, document) -> renumbered[document]);
+
+        ids = compactedIds;
+        lengths = compactedLengths;
+        documentPostings = compactedPostings;
+        documentCount = live;
+        tombstones.clear();
+        generation = GENERATIONS.incrementAndGet();
+    }
+
+    int size() {
+        return liveDocuments;
+    }
+
+    int tombstones() {
+        return documentCount - liveDocuments;
+    }
+
+    long generation() {
+        return generation;
+    }
+
+    int terms() {
+        return postings.size();
+    }
+
+    /**
+     * Returns up to {@code limit} documents containing every term, in {@link #RANK_ORDER}, starting after the given
+     * score and id when the id is not null. Every match is scored, and only the best ones are kept in a bounded heap.
+     */
+    List<SearchHit> search(List<String> terms, double afterScore, UUID afterId, int limit) {
+        var lists = new ArrayList<Postings>();
+        for (var term : terms.stream().distinct().toList()) {
+            var list = postings.get(term);
+            if (list == null) {
+                return List.of();
+            }
+            lists.add(list);
+        }
+        if (lists.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lists.sort(Comparator.comparingInt(list -> list.size));
+
+        var averageLength = liveDocuments == 0 ? 1.0 : Math.max(1.0, (double) liveLength / liveDocuments);
+        var idfs = lists.stream().mapToDouble(this::idf).toArray();
+        var positions = new int[lists.size()];
+        var rarest = lists.get(0);
+        var best = new PriorityQueue<>(limit + 1, RANK_ORDER.reversed());
+
+        candidates:
+        for (int index = 0; index < rarest.size; index++) {
+            var document = rarest.documents[index];
+            if (tombstones.get(document)) {
+                continue;
+            }
+
+            var score = idfs[0] * weight(rarest.frequencies[index], lengths[document], averageLength);
+            for (int other = 1; other < lists.size(); other++) {
+                var list = lists.get(other);
+                var position = Arrays.binarySearch(list.documents, positions[other], list.size, document);
+                if (position < 0) {
+                    positions[other] = -position - 1;
+                    continue candidates;
+                }
+                positions[other] = position + 1;
+                score += idfs[other] * weight(list.frequencies[position], lengths[document], averageLength);
+            }
+
+            var hit = new SearchHit(ids[document], score, generation);
+            if (afterId != null && RANK_ORDER.compare(hit, new SearchHit(afterId, afterScore, generation)) <= 0) {
+                continue;
+            }
+            best.add(hit);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+
+        var hits = new ArrayList<>(best);
+        hits.sort(RANK_ORDER);
+        return hits;
+    }
+
+    private double idf(Postings list) {
+        return Math.log(1 + (liveDocuments - list.liveSize + 0.5) / (list.liveSize + 0.5));
+    }
+
+    private static double weight(int frequency, int length, double averageLength) {
+        return frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * length / averageLength));
+    }
+
+    private static final class Postings {
+
+        private final String term;
+        private int[] documents = new int[4];
+        private short[] frequencies = new short[4];
+        private int size;
+        private int liveSize;
+
+        Postings(String term) {
+            this.term = term;
+        }
+
+        void add(int document, int frequency) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            documents[size] = document;
+            frequencies[size] = (short) Math.min(frequency, Short.MAX_VALUE);
+            size++;
+            liveSize++;
+        }
+
+        void renumber(int[] renumbered) {
+            var compactedDocuments = new int[Math.max(4, liveSize)];
+            var compactedFrequencies = new short[compactedDocuments.length];
+            var next = 0;
+            for (int index = 0; index < size; index++) {
+                var document = renumbered[documents[index]];
+                if (document >= 0) {
+                    compactedDocuments[next] = document;
+                    compactedFrequencies[next] = frequencies[index];
+                    next++;
+                }
+            }
+            documents = compactedDocuments;
+            frequencies = compactedFrequencies;
+            size = next;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.lessa.todolist.service.impl;
+
+import com.lessa.todolist.domain.Status;
+import com.lessa.todolist.domain.StatusCounts;
+import com.lessa.todolist.persistence.store.TodoItemStore;
+import com.lessa.todolist.service.TodoStatusCounter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps the number of items per status in striped in-memory counters, moved by every committed transition, so reading
+ * them costs the same whatever the number of items. The counters start from the database when the application is
+ * ready and are reconciled with it every {@code stats.reconcile-interval}, which corrects writes that bypass the
+ * services. The counts are of the stored statuses: with read-time past due evaluation, the items whose due date has
+ * passed count as not done until the timers or the sweep move them.
+ */
+@Slf4j
+@Component
+public class LongAdderTodoStatusCounter implements TodoStatusCounter {
+
+    private static final Status[] STATUSES = Status.values();
+    private static final int RECONCILE_ATTEMPTS = 3;
+
+    private final TodoItemStore store;
+    private final TransactionTemplate transactionTemplate;
+    private final LongAdder[] counts = new LongAdder[STATUSES.length];
+    private final AtomicLong transitions = new AtomicLong();
+
+    public LongAdderTodoStatusCounter(TodoItemStore store, TransactionTemplate transactionTemplate) {
+        this.store = store;
+        this.transactionTemplate = transactionTemplate;
+        for (int index = 0; index < counts.length; index++) {
+            counts[index] = new LongAdder();
+        }
+    }
+
+    @Override
+    public void recordTransition(Status from, Status to, int items) {
+        if (items <= 0 || from == to) {
+            return;
+        }
+
+        TransactionHooks.afterCommit(() -> {
+            if (from != null) {
+                counts[from.ordinal()].add(-items);
+            }
+            counts[to.ordinal()].add(items);
+            transitions.incrementAndGet();
+        });
+    }
+
+    @Override
+    public StatusCounts getCounts() {
+        var byStatus = new EnumMap<Status, Long>(Status.class);
+        var total = 0L;
+        for (var status : STATUSES) {
+            var count = counts[status.ordinal()].sum();
+            byStatus.put(status, count);
+            total += count;
+        }
+        return new StatusCounts(byStatus, total);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        var loaded = reconcile();
+        log.info("Status counters loaded with {} items.", loaded.getTotal());
+    }
+
+    /**
+     * Applies the database counts only when no transition was recorded while they were read, since such a transition
+     * may or may not be in them, and tries again a few times otherwise before applying them anyway. A transition that
+     * commits while the counts are applied can still leave them off by its items until the next reconciliation.
+     */
+    @Scheduled(fixedDelayString = "${stats.reconcile-interval:PT5M}", initialDelayString = "${stats.reconcile-interval:PT5M}")
+    @Override
+    public synchronized StatusCounts reconcile() {
+        long[] stored;
+        var attempt = 0;
+        while (true) {
+            var transitionsBefore = transitions.get();
+            stored = transactionTemplate.execute(status -> countStored());
+            if (transitions.get() == transitionsBefore || ++attempt == RECONCILE_ATTEMPTS) {
+                break;
+            }
+        }
+
+        for (var status : STATUSES) {
+            var drift = stored[status.ordinal()] - counts[status.ordinal()].sum();
+            if (drift != 0) {
+                counts[status.ordinal()].add(drift);
+                log.debug("Status counter {} corrected by {} items.", status, drift);
+            }
+        }
+        return getCounts();
+    }
+
+    private long[] countStored() {
+        var stored = new long[STATUSES.length];
+        for (var status : STATUSES) {
+            stored[status.ordinal()] = store.countByStatus(status);
+        }
+        return stored;
+    }
+}
@@ -0,0 +1,155 @@
+package com.lessa.todolist.service.impl;
+
+import com.lessa.todolist.domain.PastDueSweep;
+import com.lessa.todolist.domain.Status;
+import com.lessa.todolist.domain.TodoEvent;
+import com.lessa.todolist.persistence.store.TodoItemStore;
+import com.lessa.todolist.service.PastDueSweepService;
+import com.lessa.todolist.service.TimeService;
+import com.lessa.todolist.service.TodoChangeCounter;
+import com.lessa.todolist.service.TodoEventPublisher;
+import com.lessa.todolist.service.TodoItemCache;
+import com.lessa.todolist.service.TodoStatusCounter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Moves the not done items whose due date has passed to past due in chunks of bounded size. Each chunk is
+ * committed in its own transaction, so locks and undo data never span the whole sweep.
+ */
+@Slf4j
+@Service
+public class PastDueSweepServiceImpl implements PastDueSweepService {
+
+    private final TodoItemStore store;
+    private final TimeService timeService;
+    private final TransactionTemplate transactionTemplate;
+    private final TodoItemCache itemCache;
+    private final TodoChangeCounter changeCounter;
+    private final TodoStatusCounter statusCounter;
+    private final TodoEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final Duration pause;
+    private final AtomicReference<PastDueSweep> lastSweep = new AtomicReference<>();
+    private final Timer sweepTimer;
+    private final Counter updatedItemsCounter;
+
+    public PastDueSweepServiceImpl(TodoItemStore store,
+                                   TimeService timeService,
+                                   TransactionTemplate transactionTemplate,
+                                   TodoItemCache itemCache,
+                                   TodoChangeCounter changeCounter,
+                                   TodoStatusCounter statusCounter,
+                                   TodoEventPublisher eventPublisher,
+                                   @Value("${sweep.past-due.chunk-size:500}") int chunkSize,
+                                   @Value("${sweep.past-due.pause:50ms}") Duration pause,
+                                   MeterRegistry meterRegistry) {
+        this.store = store;
+        this.timeService = timeService;
+        this.transactionTemplate = transactionTemplate;
+        this.itemCache = itemCache;
+        this.changeCounter = changeCounter;
+        this.statusCounter = statusCounter;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.pause = pause;
+        this.sweepTimer = Timer.builder("todo.past_due.sweep")
+                .description("Duration of the sweeps that move overdue items to past due")
+                .register(meterRegistry);
+        this.updatedItemsCounter = Counter.builder("todo.past_due.sweep.updated.items")
+                .description("Items moved to past due by the sweeps")
+                .register(meterRegistry);
+        Gauge.builder("todo.past_due.sweep.last.start", lastSweep, PastDueSweepServiceImpl::lastSweepEpochSeconds)
+                .description("Start of the last sweep, in seconds since the epoch, to alert on sweep lag")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public PastDueSweep sweep() {
+        log.info("Updating past due item status...");
+        var startNanos = System.nanoTime();
+        var currentDate = timeService.getLocalDateTime();
+        var chunks = 0;
+        var updatedItems = 0;
+
+        while (true) {
+            var chunk = transactionTemplate.execute(status -> updateChunk(currentDate));
+            if (chunk == null || chunk.selectedItems() == 0) {
+                break;
+            }
+
+            chunks++;
+            updatedItems += chunk.updatedItems();
+
+            if (chunk.selectedItems() < chunkSize || !pauseBetweenChunks()) {
+                break;
+            }
+        }
+
+        var sweep = new PastDueSweep(currentDate, chunks, updatedItems, Duration.ofNanos(System.nanoTime() - startNanos));
+        lastSweep.set(sweep);
+        sweepTimer.record(sweep.getDuration());
+        updatedItemsCounter.increment(sweep.getUpdatedItems());
+        log.info("{} items status updated to past due in {} chunks in {} ms.", sweep.getUpdatedItems(), sweep.getChunks(),
+                sweep.getDuration().toMillis());
+        return sweep;
+    }
+
+    @Override
+    public Optional<PastDueSweep> getLastSweep() {
+        return Optional.ofNullable(lastSweep.get());
+    }
+
+    private static double lastSweepEpochSeconds(AtomicReference<PastDueSweep> lastSweep) {
+        var sweep = lastSweep.get();
+        return sweep == null ? Double.NaN : sweep.getStartDate().atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+
+    private Chunk updateChunk(LocalDateTime currentDate) {
+        var itemIds = store.findPastDueItemIds(currentDate, Limit.of(chunkSize));
+        if (itemIds.isEmpty()) {
+            return new Chunk(0, 0);
+        }
+        itemCache.evictAll(itemIds);
+        changeCounter.recordChange();
+        var updatedIds = store.updatePastDueItemsStatus(itemIds, currentDate);
+        statusCounter.recordTransition(Status.NOT_DONE, Status.PAST_DUE, updatedIds.size());
+        if (!updatedIds.isEmpty()) {
+            eventPublisher.publish(TodoEvent.pastDue(updatedIds, currentDate));
+        }
+        return new Chunk(itemIds.size(), updatedIds.size());
+    }
+
+    private boolean pauseBetweenChunks() {
+        if (pause.isZero() || pause.isNegative()) {
+            return true;
+        }
+
+        try {
+            Thread.sleep(pause.toMillis());
+            return true;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            log.warn("Past due sweep interrupted.");
+            return false;
+        }
+    }
+
+    private record Chunk(int selectedItems, int updatedItems) {
+    }
+
+}
@@ -0,0 +1,240 @@
+package com.lessa.todolist.service.impl;
+
+import com.lessa.todolist.domain.Status;
+import com.lessa.todolist.domain.TodoEvent;
+import com.lessa.todolist.domain.TodoItem;
+import com.lessa.todolist.persistence.store.TodoItemStore;
+import com.lessa.todolist.service.PastDueSweepService;
+import com.lessa.todolist.service.PastDueTimerService;
+import com.lessa.todolist.service.TimeService;
+import com.lessa.todolist.service.TodoChangeCounter;
+import com.lessa.todolist.service.TodoEventPublisher;
+import com.lessa.todolist.service.TodoItemCache;
+import com.lessa.todolist.service.TodoStatusCounter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Moves not done items to past due at their due date. The items due within the next {@code horizon} are held in a
+ * {@link HashedTimingWheel}, loaded from the store in due date order and refilled as time goes by, and kept up to
+ * date by the writes of {@link TodoServiceImpl}. The items already overdue when the timer starts are before the first
+ * window, so a sweep moves them before it is loaded. The hourly sweep stays as a safety net for anything missed.
+ */
+@Slf4j
+@Service
+public class PastDueTimerServiceImpl implements PastDueTimerService {
+
+    private static final int LOAD_CHUNK_SIZE = 1000;
+    private static final Sort LOAD_SORT = Sort.by("dueDate", "id");
+
+    private final TodoItemStore store;
+    private final TimeService timeService;
+    private final TransactionTemplate transactionTemplate;
+    private final TodoItemCache itemCache;
+    private final TodoChangeCounter changeCounter;
+    private final TodoStatusCounter statusCounter;
+    private final TodoEventPublisher eventPublisher;
+    private final PastDueSweepService pastDueSweepService;
+    private final boolean enabled;
+    private final Duration tick;
+    private final int wheelSize;
+    private final Duration horizon;
+    private final int batchSize;
+    private final LongSupplier nanoClock;
+    private final Map<UUID, LocalDateTime> scheduledDueDates = new ConcurrentHashMap<>();
+
+    private volatile HashedTimingWheel<ScheduledItem> wheel;
+    private volatile LocalDateTime loadedUntil;
+    private ScheduledExecutorService executor;
+
+    @Autowired
+    public PastDueTimerServiceImpl(TodoItemStore store,
+                                   TimeService timeService,
+                                   TransactionTemplate transactionTemplate,
+                                   TodoItemCache itemCache,
+                                   TodoChangeCounter changeCounter,
+                                   TodoStatusCounter statusCounter,
+                                   TodoEventPublisher eventPublisher,
+                                   PastDueSweepService pastDueSweepService,
+                                   @Value("${past-due.timer.enabled:true}") boolean enabled,
+                                   @Value("${past-due.timer.tick:1s}") Duration tick,
+                                   @Value("${past-due.timer.wheel-size:512}") int wheelSize,
+                                   @Value("${past-due.timer.horizon:1h}") Duration horizon,
+                                   @Value("${past-due.timer.batch-size:100}") int batchSize) {
+        this(store, timeService, transactionTemplate, itemCache, changeCounter, statusCounter, eventPublisher,
+                pastDueSweepService, enabled, tick, wheelSize, horizon, batchSize, System::nanoTime);
+    }
+
+    PastDueTimerServiceImpl(TodoItemStore store, TimeService timeService,
+                            TransactionTemplate transactionTemplate, TodoItemCache itemCache,
+                            TodoChangeCounter changeCounter, TodoStatusCounter statusCounter,
+                            TodoEventPublisher eventPublisher, PastDueSweepService pastDueSweepService,
+                            boolean enabled, Duration tick, int wheelSize, Duration horizon, int batchSize,
+                            LongSupplier nanoClock) {
+        this.store = store;
+        this.timeService = timeService;
+        this.transactionTemplate = transactionTemplate;
+        this.itemCache = itemCache;
+        this.changeCounter = changeCounter;
+        this.statusCounter = statusCounter;
+        this.eventPublisher = eventPublisher;
+        this.pastDueSweepService = pastDueSweepService;
+        this.enabled = enabled;
+        this.tick = tick;
+        this.wheelSize = wheelSize;
+        this.horizon = horizon;
+        this.batchSize = batchSize;
+        this.nanoClock = nanoClock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+
+        initialize();
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "past-due-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(this::tick, 0, tick.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public void schedule(UUID itemId, LocalDateTime dueDate) {
+        if (enabled) {
+            TransactionHooks.afterCommit(() -> scheduleNow(itemId, dueDate));
+        }
+    }
+
+    @Override
+    public void cancel(UUID itemId) {
+        if (enabled) {
+            TransactionHooks.afterCommit(() -> scheduledDueDates.remove(itemId));
+        }
+    }
+
+    void initialize() {
+        wheel = new HashedTimingWheel<>(tick.toNanos(), TimeUnit.NANOSECONDS, wheelSize, nanoClock);
+    }
+
+    void tick() {
+        try {
+            var currentDate = timeService.getLocalDateTime();
+            if (loadedUntil == null || !currentDate.plus(horizon.dividedBy(2)).isBefore(loadedUntil)) {
+                loadUpcomingItems(currentDate);
+            }
+
+            var dueItemIds = new ArrayList<UUID>();
+            for (var item : wheel.advance()) {
+                if (!scheduledDueDates.remove(item.itemId(), item.dueDate())) {
+                    continue;
+                }
+
+                if (item.dueDate().isAfter(currentDate)) {
+                    scheduleNow(item.itemId(), item.dueDate());
+                } else {
+                    dueItemIds.add(item.itemId());
+                }
+            }
+
+            updateToPastDue(dueItemIds, currentDate);
+        } catch (RuntimeException exception) {
+            log.error("Past due timer tick failed.", exception);
+        }
+    }
+
+    int scheduledItems() {
+        return scheduledDueDates.size();
+    }
+
+    private void scheduleNow(UUID itemId, LocalDateTime dueDate) {
+        var currentWheel = wheel;
+        var currentLoadedUntil = loadedUntil;
+        if (currentWheel == null || currentLoadedUntil == null || dueDate.isAfter(currentLoadedUntil)) {
+            return;
+        }
+
+        scheduledDueDates.put(itemId, dueDate);
+        var delay = Duration.between(timeService.getLocalDateTime(), dueDate);
+        currentWheel.schedule(new ScheduledItem(itemId, dueDate), delay.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private void loadUpcomingItems(LocalDateTime currentDate) {
+        if (loadedUntil == null) {
+            pastDueSweepService.sweep();
+        }
+
+        var from = loadedUntil == null ? currentDate : loadedUntil;
+        var until = currentDate.plus(horizon);
+        loadedUntil = until;
+
+        var loadedItems = 0;
+        ScrollPosition position = ScrollPosition.keyset();
+        Window<TodoItem> window;
+        do {
+            window = store.scrollAllByStatusDueBetween(Status.NOT_DONE, from, until, position,
+                    Limit.of(LOAD_CHUNK_SIZE), LOAD_SORT);
+            window.forEach(item -> scheduleNow(item.getId(), item.getDueDate()));
+            loadedItems += window.size();
+
+            if (!window.isEmpty()) {
+                position = window.positionAt(window.size() - 1);
+            }
+        } while (window.hasNext());
+
+        log.info("{} items scheduled to become past due until {}.", loadedItems, until);
+    }
+
+    private void updateToPastDue(List<UUID> itemIds, LocalDateTime currentDate) {
+        for (int start = 0; start < itemIds.size(); start += batchSize) {
+            var batch = itemIds.subList(start, Math.min(start + batchSize, itemIds.size()));
+            var updatedItems = transactionTemplate.execute(status -> {
+                itemCache.evictAll(batch);
+                changeCounter.recordChange();
+                var updatedIds = store.updatePastDueItemsStatus(batch, currentDate);
+                statusCounter.recordTransition(Status.NOT_DONE, Status.PAST_DUE, updatedIds.size());
+                if (!updatedIds.isEmpty()) {
+                    eventPublisher.publish(TodoEvent.pastDue(updatedIds, currentDate));
+                }
+                return updatedIds.size();
+            });
+            log.debug("{} items status updated to past due at their due date.", updatedItems);
+        }
+    }
+
+    private record ScheduledItem(UUID itemId, LocalDateTime dueDate) {
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.lessa.todolist.service.impl;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the annotated write again, in a new transaction, when another write to the same item got in first. The
+ * attempts are few and spaced by a short randomized backoff, so a hot item never keeps a request waiting for long.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Retryable(retryFor = OptimisticLockingFailureException.class,
+        maxAttemptsExpression = "${retry.concurrent-change.max-attempts:3}",
+        backoff = @Backoff(delayExpression = "${retry.concurrent-change.delay:10}",
+                maxDelayExpression = "${retry.concurrent-change.max-delay:100}", multiplier = 2, random = true))
+public @interface RetryOnConcurrentChange {
+}
@@ -0,0 +1,220 @@
+package com.lessa.todolist.service.impl;
+
+import com.lessa.todolist.domain.BatchAddResult;
+import com.lessa.todolist.domain.BatchItemConflict;
+import com.lessa.todolist.domain.BatchTransitionResult;
+import com.lessa.todolist.domain.Status;
+import com.lessa.todolist.domain.TodoEvent;
+import com.lessa.todolist.domain.TodoItem;
+import com.lessa.todolist.domain.TransitionOutcome;
+import com.lessa.todolist.persistence.store.TodoItemStore;
+import com.lessa.todolist.service.PastDueTimerService;
+import com.lessa.todolist.service.TimeService;
+import com.lessa.todolist.service.TodoBatchService;
+import com.lessa.todolist.service.TodoChangeCounter;
+import com.lessa.todolist.service.TodoEventPublisher;
+import com.lessa.todolist.service.TodoItemCache;
+import com.lessa.todolist.service.TodoSearchIndex;
+import com.lessa.todolist.service.TodoStatusCounter;
+import com.lessa.todolist.service.exception.BadRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiFunction;
+
+/**
+ * Applies the single item rules of {@link TodoServiceImpl} to many items. New items keep a null id, so the JPA store
+ * persists them rather than merging them and Hibernate can group their inserts in JDBC batches. Status transitions run as one
+ * guarded update per chunk of ids, each chunk in its own transaction, and only the ids the update did not match are
+ * read back to tell why.
+ */
+@Service
+public class TodoBatchServiceImpl implements TodoBatchService {
+
+    private final TodoItemStore store;
+    private final TimeService timeService;
+    private final PastDueTimerService pastDueTimerService;
+    private final TodoItemCache itemCache;
+    private final TodoChangeCounter changeCounter;
+    private final TodoSearchIndex searchIndex;
+    private final TodoStatusCounter statusCounter;
+    private final TodoEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxBatchSize;
+    private final int chunkSize;
+    private final boolean readTimePastDue;
+
+    public TodoBatchServiceImpl(TodoItemStore store,
+                                TimeService timeService,
+                                PastDueTimerService pastDueTimerService,
+                                TodoItemCache itemCache,
+                                TodoChangeCounter changeCounter,
+                                TodoSearchIndex searchIndex,
+                                TodoStatusCounter statusCounter,
+                                TodoEventPublisher eventPublisher,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${batch.max-size:1000}") int maxBatchSize,
+                                @Value("${batch.chunk-size:500}") int chunkSize,
+                                @Value("${past-due.read-time.enabled:false}") boolean readTimePastDue) {
+        this.store = store;
+        this.timeService = timeService;
+        this.pastDueTimerService = pastDueTimerService;
+        this.itemCache = itemCache;
+        this.changeCounter = changeCounter;
+        this.searchIndex = searchIndex;
+        this.statusCounter = statusCounter;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.maxBatchSize = maxBatchSize;
+        this.chunkSize = chunkSize;
+        this.readTimePastDue = readTimePastDue;
+    }
+
+    @Transactional
+    @Override
+    public BatchAddResult addAll(List<TodoItem> items) throws BadRequestException {
+        checkBatchSize(items.size());
+
+        var currentDate = timeService.getLocalDateTime();
+        var newItems = new ArrayList<TodoItem>(items.size());
+        var conflicts = new ArrayList<BatchItemConflict>();
+
+        for (int index = 0; index < items.size(); index++) {
+            var item = items.get(index);
+            if (!item.getDueDate().isAfter(currentDate)) {
+                conflicts.add(new BatchItemConflict(index,
+                        "Cannot add item. Due date is earlier or equal the current date."));
+                continue;
+            }
+
+            item.setId(null);
+            item.setStatus(Status.NOT_DONE);
+            item.setCreationDate(currentDate);
+            newItems.add(item);
+        }
+
+        var createdItems = store.insertAll(newItems);
+        createdItems.forEach(item -> {
+            pastDueTimerService.schedule(item.getId(), item.getDueDate());
+            searchIndex.index(item);
+            eventPublisher.publish(TodoEvent.created(item));
+        });
+        if (!createdItems.isEmpty()) {
+            changeCounter.recordChange();
+            statusCounter.recordTransition(null, Status.NOT_DONE, createdItems.size());
+        }
+        return new BatchAddResult(createdItems, conflicts);
+    }
+
+    @Override
+    public List<BatchTransitionResult> markAllAsDone(List<UUID> itemIds) throws BadRequestException {
+        return transitionAll(itemIds, Status.DONE,
+                store::markAllAsDone);
+    }
+
+    @Override
+    public List<BatchTransitionResult> markAllAsNotDone(List<UUID> itemIds) throws BadRequestException {
+        return transitionAll(itemIds, Status.NOT_DONE,
+                store::markAllAsNotDone);
+    }
+
+    private List<BatchTransitionResult> transitionAll(
+            List<UUID> itemIds, Status targetStatus,
+            BiFunction<Collection<UUID>, LocalDateTime, List<TodoItem>> transition) throws BadRequestException {
+        var distinctIds = List.copyOf(new LinkedHashSet<>(itemIds));
+        checkBatchSize(distinctIds.size());
+
+        var currentDate = timeService.getLocalDateTime();
+        var outcomes = new HashMap<UUID, TransitionOutcome>();
+
+        for (int start = 0; start < distinctIds.size(); start += chunkSize) {
+            var chunk = distinctIds.subList(start, Math.min(start + chunkSize, distinctIds.size()));
+            transactionTemplate.executeWithoutResult(status ->
+                    outcomes.putAll(transitionChunk(chunk, targetStatus, currentDate, transition)));
+        }
+
+        return distinctIds.stream().map(itemId -> new BatchTransitionResult(itemId, outcomes.get(itemId))).toList();
+    }
+
+    private Map<UUID, TransitionOutcome> transitionChunk(
+            List<UUID> itemIds, Status targetStatus, LocalDateTime currentDate,
+            BiFunction<Collection<UUID>, LocalDateTime, List<TodoItem>> transition) {
+        var outcomes = new HashMap<UUID, TransitionOutcome>();
+
+        for (var item : transition.apply(itemIds, currentDate)) {
+            outcomes.put(item.getId(), TransitionOutcome.UPDATED);
+            if (targetStatus == Status.DONE) {
+                pastDueTimerService.cancel(item.getId());
+            } else {
+                pastDueTimerService.schedule(item.getId(), item.getDueDate());
+            }
+            itemCache.put(item);
+            eventPublisher.publish(TodoEvent.statusChanged(item));
+        }
+        if (!outcomes.isEmpty()) {
+            changeCounter.recordChange();
+            statusCounter.recordTransition(targetStatus == Status.DONE ? Status.NOT_DONE : Status.DONE, targetStatus,
+                    outcomes.size());
+        }
+
+        var notUpdatedIds = itemIds.stream().filter(itemId -> !outcomes.containsKey(itemId)).toList();
+        if (notUpdatedIds.isEmpty()) {
+            return outcomes;
+        }
+
+        var overdueIds = new ArrayList<UUID>();
+        for (var item : store.findAllById(notUpdatedIds)) {
+            outcomes.put(item.getId(), explainNotUpdated(item, targetStatus, currentDate, overdueIds));
+        }
+        notUpdatedIds.forEach(itemId -> outcomes.putIfAbsent(itemId, TransitionOutcome.NOT_FOUND));
+
+        if (!readTimePastDue && !overdueIds.isEmpty()) {
+            itemCache.evictAll(overdueIds);
+            var pastDueIds = store.updatePastDueItemsStatus(overdueIds, currentDate);
+            overdueIds.forEach(pastDueTimerService::cancel);
+            changeCounter.recordChange();
+            statusCounter.recordTransition(Status.NOT_DONE, Status.PAST_DUE, pastDueIds.size());
+            if (!pastDueIds.isEmpty()) {
+                eventPublisher.publish(TodoEvent.pastDue(pastDueIds, currentDate));
+            }
+        }
+
+        return outcomes;
+    }
+
+    /**
+     * Follows the order of the checks of the single item methods, collecting the not done items whose due date has
+     * passed so they are moved to past due as well, unless the past due status is evaluated at read time.
+     */
+    private TransitionOutcome explainNotUpdated(TodoItem item, Status targetStatus, LocalDateTime currentDate,
+                                                List<UUID> overdueIds) {
+        if (item.getStatus() == targetStatus) {
+            return TransitionOutcome.ALREADY_IN_STATUS;
+        }
+
+        if (item.getStatus() == Status.PAST_DUE || !item.getDueDate().isAfter(currentDate)) {
+            if (item.getStatus() == Status.NOT_DONE) {
+                overdueIds.add(item.getId());
+            }
+            return TransitionOutcome.PAST_DUE;
+        }
+
+        return TransitionOutcome.CHANGED_CONCURRENTLY;
+    }
+
+    private void checkBatchSize(int size) throws BadRequestException {
+        if (size > maxBatchSize) {
+            throw new BadRequestException("The batch size must not be greater than " + maxBatchSize + ".");
+        }
+    }
+}
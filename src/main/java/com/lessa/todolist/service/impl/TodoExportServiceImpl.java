@@ -0,0 +1,50 @@
+package com.lessa.todolist.service.impl;
+
+import com.lessa.todolist.domain.Status;
+import com.lessa.todolist.domain.TodoItem;
+import com.lessa.todolist.persistence.store.TodoItemStore;
+import com.lessa.todolist.service.TimeService;
+import com.lessa.todolist.service.TodoExportService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.function.Consumer;
+
+/**
+ * Walks the items of the store as it reads them, so the memory used does not grow with the number of items. With
+ * {@code past-due.read-time.enabled}, the items are exported as they stand at the start of the export, and the status
+ * they are selected by is the one evaluated then: the not done items whose due date has passed are exported as past
+ * due.
+ */
+@Service
+public class TodoExportServiceImpl implements TodoExportService {
+
+    private final TodoItemStore store;
+    private final TimeService timeService;
+    private final boolean readTimePastDue;
+
+    public TodoExportServiceImpl(TodoItemStore store,
+                                 TimeService timeService,
+                                 @Value("${past-due.read-time.enabled:false}") boolean readTimePastDue) {
+        this.store = store;
+        this.timeService = timeService;
+        this.readTimePastDue = readTimePastDue;
+    }
+
+    @Override
+    public void exportAll(Status status, Consumer<TodoItem> consumer) {
+        if (!readTimePastDue) {
+            store.forEachItem(status, consumer);
+            return;
+        }
+
+        var currentDate = timeService.getLocalDateTime();
+        var storedStatus = status == Status.PAST_DUE ? null : status;
+        store.forEachItem(storedStatus, item -> {
+            var itemAsOf = item.asOf(currentDate);
+            if (status == null || itemAsOf.getStatus() == status) {
+                consumer.accept(itemAsOf);
+            }
+        });
+    }
+}
@@ -0,0 +1,283 @@
+package com.lessa.todolist.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lessa.todolist.domain.IngestStatus;
+import com.lessa.todolist.domain.Status;
+import com.lessa.todolist.domain.TodoEvent;
+import com.lessa.todolist.domain.TodoItem;
+import com.lessa.todolist.persistence.entity.TimeOrderedUuidGenerator;
+import com.lessa.todolist.persistence.store.TodoItemStore;
+import com.lessa.todolist.service.PastDueTimerService;
+import com.lessa.todolist.service.TimeService;
+import com.lessa.todolist.service.TodoChangeCounter;
+import com.lessa.todolist.service.TodoEventPublisher;
+import com.lessa.todolist.service.TodoIngestService;
+import com.lessa.todolist.service.TodoItemCache;
+import com.lessa.todolist.service.TodoSearchIndex;
+import com.lessa.todolist.service.TodoStatusCounter;
+import com.lessa.todolist.service.exception.ConflictException;
+import com.lessa.todolist.service.exception.NotFoundException;
+import com.lessa.todolist.service.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Write-behind ingestion of new items. Items are validated with the same rule as {@link TodoServiceImpl#add}, given
+ * their id and creation date right away and put on a bounded queue. A single writer thread drains the queue in group
+ * commits of up to {@code group-size} items, waiting at most {@code max-delay} for a group to fill, so many producers
+ * share one transaction and one commit. Written ids are evicted from the item cache, which may have cached them as
+ * missing when a client looked them up before the write. A group whose commit fails is retried once and then split in
+ * halves down to single items, so only the items that cannot be written are rejected; their ids are remembered for
+ * {@code failed.retention} so clients can learn that their accepted item was not written. On shutdown the queue is
+ * refused new items and drained before the database goes away.
+ */
+@Slf4j
+@Service
+public class TodoIngestServiceImpl implements TodoIngestService {
+
+    private final TodoItemStore store;
+    private final TimeService timeService;
+    private final TransactionTemplate transactionTemplate;
+    private final PastDueTimerService pastDueTimerService;
+    private final TodoItemCache itemCache;
+    private final TodoChangeCounter changeCounter;
+    private final TodoSearchIndex searchIndex;
+    private final TodoStatusCounter statusCounter;
+    private final TodoEventPublisher eventPublisher;
+    private final int groupSize;
+    private final Duration maxDelay;
+    private final Duration shutdownTimeout;
+    private final BlockingQueue<TodoItem> queue;
+    private final TimeOrderedUuidGenerator idGenerator = new TimeOrderedUuidGenerator();
+    private final Counter failedItemsCounter;
+    private final Set<UUID> queuedIds = ConcurrentHashMap.newKeySet();
+    private final Cache<UUID, Boolean> failedIds;
+    private final ReadWriteLock submitLock = new ReentrantReadWriteLock();
+
+    private volatile boolean running = true;
+    private Thread writer;
+
+    public TodoIngestServiceImpl(TodoItemStore store,
+                                 TimeService timeService,
+                                 TransactionTemplate transactionTemplate,
+                                 PastDueTimerService pastDueTimerService,
+                                 TodoItemCache itemCache,
+                                 TodoChangeCounter changeCounter,
+                                 TodoSearchIndex searchIndex,
+                                 TodoStatusCounter statusCounter,
+                                 TodoEventPublisher eventPublisher,
+                                 @Value("${ingest.queue-capacity:10000}") int queueCapacity,
+                                 @Value("${ingest.group-size:500}") int groupSize,
+                                 @Value("${ingest.max-delay:20ms}") Duration maxDelay,
+                                 @Value("${ingest.shutdown-timeout:30s}") Duration shutdownTimeout,
+                                 @Value("${ingest.failed.retention:1h}") Duration failedRetention,
+                                 @Value("${ingest.failed.maximum-size:10000}") long failedMaximumSize,
+                                 MeterRegistry meterRegistry) {
+        this.store = store;
+        this.timeService = timeService;
+        this.transactionTemplate = transactionTemplate;
+        this.pastDueTimerService = pastDueTimerService;
+        this.itemCache = itemCache;
+        this.changeCounter = changeCounter;
+        this.searchIndex = searchIndex;
+        this.statusCounter = statusCounter;
+        this.eventPublisher = eventPublisher;
+        this.groupSize = groupSize;
+        this.maxDelay = maxDelay;
+        this.shutdownTimeout = shutdownTimeout;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.failedIds = Caffeine.newBuilder()
+                .expireAfterWrite(failedRetention)
+                .maximumSize(failedMaximumSize)
+                .build();
+        Gauge.builder("todo.ingest.queue.size", queue, BlockingQueue::size)
+                .description("Items accepted for ingestion and not written yet")
+                .register(meterRegistry);
+        this.failedItemsCounter = Counter.builder("todo.ingest.failed.items")
+                .description("Items accepted for ingestion that could not be written")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        writer = new Thread(this::drain, "todo-ingest-writer");
+        writer.start();
+    }
+
+    /**
+     * Refuses new items under the write side of the lock every submit holds while it queues its item, so each item
+     * accepted before is on the queue by the time the writer sees the service stopping, and is drained.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        submitLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            submitLock.writeLock().unlock();
+        }
+        if (writer != null) {
+            writer.join(shutdownTimeout.toMillis());
+        }
+        if (!queue.isEmpty()) {
+            log.warn("{} ingested items were not written before shutdown.", queue.size());
+        }
+    }
+
+    @Override
+    public TodoItem submit(TodoItem item) throws ConflictException, TooManyRequestsException {
+        var currentDate = timeService.getLocalDateTime();
+        if (!item.getDueDate().isAfter(currentDate)) {
+            throw new ConflictException("Cannot add item. Due date is earlier or equal the current date.");
+        }
+
+        submitLock.readLock().lock();
+        try {
+            if (!running) {
+                throw new TooManyRequestsException("The service is shutting down. Try again later.");
+            }
+
+            item.setId(idGenerator.next());
+            item.setStatus(Status.NOT_DONE);
+            item.setCreationDate(currentDate);
+
+            queuedIds.add(item.getId());
+            if (!queue.offer(item.copy())) {
+                queuedIds.remove(item.getId());
+                throw new TooManyRequestsException("The ingest queue is full. Try again later.");
+            }
+            return item;
+        } finally {
+            submitLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public IngestStatus getStatus(UUID itemId) throws NotFoundException {
+        if (queuedIds.contains(itemId)) {
+            return IngestStatus.QUEUED;
+        }
+        if (failedIds.getIfPresent(itemId) != null) {
+            return IngestStatus.FAILED;
+        }
+        if (store.findById(itemId).isPresent()) {
+            return IngestStatus.WRITTEN;
+        }
+        throw new NotFoundException("Item not found with given id: " + itemId);
+    }
+
+    /**
+     * Waits up to the maximum delay for a first item, then gathers more until the group is full or the delay since the
+     * first item has elapsed, and writes the group. Returns the number of items taken from the queue.
+     */
+    int writeNextGroup() throws InterruptedException {
+        var first = queue.poll(maxDelay.toNanos(), TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return 0;
+        }
+
+        var group = new ArrayList<TodoItem>(groupSize);
+        group.add(first);
+        var deadline = System.nanoTime() + maxDelay.toNanos();
+        while (group.size() < groupSize) {
+            queue.drainTo(group, groupSize - group.size());
+            var remainingNanos = deadline - System.nanoTime();
+            if (group.size() == groupSize || remainingNanos <= 0) {
+                break;
+            }
+
+            var next = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            group.add(next);
+        }
+
+        write(group);
+        return group.size();
+    }
+
+    private void drain() {
+        while (running || !queue.isEmpty()) {
+            try {
+                writeNextGroup();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                log.warn("Ingest writer interrupted with {} items queued.", queue.size());
+                return;
+            }
+        }
+    }
+
+    private void write(List<TodoItem> group) {
+        try {
+            writeGroup(group);
+        } catch (RuntimeException exception) {
+            log.warn("{} ingested items could not be written together, retrying.", group.size(), exception);
+            writeOrSplit(group);
+        } finally {
+            group.forEach(item -> queuedIds.remove(item.getId()));
+        }
+    }
+
+    /**
+     * Writes a group whose commit failed once more, and when it fails again writes each half separately, down to single
+     * items, which are rejected when they still cannot be written.
+     */
+    private void writeOrSplit(List<TodoItem> group) {
+        try {
+            writeGroup(group);
+            return;
+        } catch (RuntimeException exception) {
+            if (group.size() == 1) {
+                reject(group.get(0), exception);
+                return;
+            }
+        }
+
+        var half = group.size() / 2;
+        writeOrSplit(group.subList(0, half));
+        writeOrSplit(group.subList(half, group.size()));
+    }
+
+    private void writeGroup(List<TodoItem> group) {
+        transactionTemplate.executeWithoutResult(status -> {
+            store.insertAll(group).forEach(item -> {
+                pastDueTimerService.schedule(item.getId(), item.getDueDate());
+                searchIndex.index(item);
+                eventPublisher.publish(TodoEvent.created(item));
+            });
+            itemCache.evictAll(group.stream().map(TodoItem::getId).toList());
+            changeCounter.recordChange();
+            statusCounter.recordTransition(null, Status.NOT_DONE, group.size());
+        });
+        log.debug("{} ingested items written.", group.size());
+    }
+
+    private void reject(TodoItem item, RuntimeException exception) {
+        failedIds.put(item.getId(), Boolean.TRUE);
+        failedItemsCounter.increment();
+        log.error("Ingested item {} could not be written.", item.getId(), exception);
+    }
+}
@@ -1,30 +1,94 @@
 package com.lessa.todolist.service.impl;
 
 import com.lessa.todolist.domain.Status;
+import com.lessa.todolist.domain.StatusCounts;
+import com.lessa.todolist.domain.TodoEvent;
 import com.lessa.todolist.domain.TodoItem;
-import com.lessa.todolist.persistence.entity.TodoItemEntity;
-import com.lessa.todolist.persistence.repository.TodoItemRepository;
+import com.lessa.todolist.domain.TodoItemFilter;
+import com.lessa.todolist.persistence.store.TodoItemStore;
+import com.lessa.todolist.service.PastDueSweepService;
+import com.lessa.todolist.service.PastDueTimerService;
 import com.lessa.todolist.service.TimeService;
+import com.lessa.todolist.service.TodoChangeCounter;
+import com.lessa.todolist.service.TodoEventPublisher;
+import com.lessa.todolist.service.TodoItemCache;
+import com.lessa.todolist.service.TodoItemCounter;
+import com.lessa.todolist.service.TodoSearchIndex;
 import com.lessa.todolist.service.TodoService;
+import com.lessa.todolist.service.TodoStatusCounter;
+import com.lessa.todolist.service.exception.BadRequestException;
 import com.lessa.todolist.service.exception.ConflictException;
 import com.lessa.todolist.service.exception.NotFoundException;
-import lombok.RequiredArgsConstructor;
+import com.lessa.todolist.service.exception.PreconditionFailedException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.UUID;
+import java.util.function.Function;
 
+/**
+ * With {@code past-due.read-time.enabled}, the past due status is evaluated when the items are read, from their due
+ * date and the current date, instead of relying on it being written. The not done lists then only read the items
+ * still due, and the stored status is left for the past due timers and the sweep to reconcile in the background.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class TodoServiceImpl implements TodoService {
 
-    private final TodoItemRepository repository;
+    private static final String SCROLL_ALL_SORT_PROPERTY = "creationDate";
+    private static final String SCROLL_NOT_DONE_SORT_PROPERTY = "dueDate";
+    private static final String ID_PROPERTY = "id";
+    private static final int MAX_SCROLL_SIZE = 2000;
+
+    private final TodoItemStore store;
     private final TimeService timeService;
+    private final PastDueSweepService pastDueSweepService;
+    private final PastDueTimerService pastDueTimerService;
+    private final TodoItemCache itemCache;
+    private final TodoItemCounter itemCounter;
+    private final TodoChangeCounter changeCounter;
+    private final TodoSearchIndex searchIndex;
+    private final TodoStatusCounter statusCounter;
+    private final TodoEventPublisher eventPublisher;
+    private final boolean readTimePastDue;
+
+    public TodoServiceImpl(TodoItemStore store,
+                           TimeService timeService,
+                           PastDueSweepService pastDueSweepService,
+                           PastDueTimerService pastDueTimerService,
+                           TodoItemCache itemCache,
+                           TodoItemCounter itemCounter,
+                           TodoChangeCounter changeCounter,
+                           TodoSearchIndex searchIndex,
+                           TodoStatusCounter statusCounter,
+                           TodoEventPublisher eventPublisher,
+                           @Value("${past-due.read-time.enabled:false}") boolean readTimePastDue) {
+        this.store = store;
+        this.timeService = timeService;
+        this.pastDueSweepService = pastDueSweepService;
+        this.pastDueTimerService = pastDueTimerService;
+        this.itemCache = itemCache;
+        this.itemCounter = itemCounter;
+        this.changeCounter = changeCounter;
+        this.searchIndex = searchIndex;
+        this.statusCounter = statusCounter;
+        this.eventPublisher = eventPublisher;
+        this.readTimePastDue = readTimePastDue;
+    }
 
     @Override
     public TodoItem add(TodoItem item) throws ConflictException {
@@ -36,27 +100,49 @@ public class TodoServiceImpl implements TodoService {
         item.setStatus(Status.NOT_DONE);
         item.setCreationDate(currentDate);
 
-        var entity = repository.save(TodoItemEntity.toEntity(item));
-        return entity.toDomain();
+        var stored = store.insert(item);
+        pastDueTimerService.schedule(stored.getId(), stored.getDueDate());
+        searchIndex.index(stored);
+        statusCounter.recordTransition(null, Status.NOT_DONE, 1);
+        eventPublisher.publish(TodoEvent.created(stored));
+        return cached(stored);
     }
 
+    @RetryOnConcurrentChange
     @Transactional
     @Override
-    public TodoItem updateDescription(UUID itemId, String description) throws NotFoundException, ConflictException {
-        var item = findItemById(itemId);
+    public TodoItem updateDescription(UUID itemId, String description, Long expectedVersion)
+            throws NotFoundException, ConflictException, PreconditionFailedException {
+        var item = loadItemById(itemId);
+
+        throwPreconditionFailedExceptionWhenVersionDiffers(item, expectedVersion);
 
         throwConflictExceptionWhenPastDueItem(item,
                 "Cannot update the description. The item status is past due.");
 
         item.setDescription(description);
-        var entity = repository.save(TodoItemEntity.toEntity(item));
-        return entity.toDomain();
+        var updated = store.update(item);
+        searchIndex.index(updated);
+        eventPublisher.publish(TodoEvent.updated(updated));
+        return cached(updated);
     }
 
+    @RetryOnConcurrentChange
     @Transactional
     @Override
-    public TodoItem markAsDone(UUID itemId) throws NotFoundException, ConflictException {
-        var item = findItemById(itemId);
+    public TodoItem markAsDone(UUID itemId, Long expectedVersion)
+            throws NotFoundException, ConflictException, PreconditionFailedException {
+        var updatedItem = store.markAsDone(itemId, expectedVersion, timeService.getLocalDateTime());
+        if (updatedItem.isPresent()) {
+            pastDueTimerService.cancel(itemId);
+            statusCounter.recordTransition(Status.NOT_DONE, Status.DONE, 1);
+            eventPublisher.publish(TodoEvent.statusChanged(updatedItem.get()));
+            return cached(updatedItem.get());
+        }
+
+        var item = loadItemById(itemId);
+
+        throwPreconditionFailedExceptionWhenVersionDiffers(item, expectedVersion);
 
         if (item.getStatus() == Status.DONE) {
             throw new ConflictException("The item status is already done.");
@@ -65,16 +151,25 @@ public class TodoServiceImpl implements TodoService {
         throwConflictExceptionWhenPastDueItem(item,
                 "Cannot mark the item as done. The item due date has passed.");
 
-        item.setStatus(Status.DONE);
-        item.setDoneDate(timeService.getLocalDateTime());
-        var entity = repository.save(TodoItemEntity.toEntity(item));
-        return entity.toDomain();
+        throw new ObjectOptimisticLockingFailureException(TodoItem.class, itemId);
     }
 
+    @RetryOnConcurrentChange
     @Transactional
     @Override
-    public TodoItem markAsNotDone(UUID itemId) throws NotFoundException, ConflictException {
-        var item = findItemById(itemId);
+    public TodoItem markAsNotDone(UUID itemId, Long expectedVersion)
+            throws NotFoundException, ConflictException, PreconditionFailedException {
+        var updatedItem = store.markAsNotDone(itemId, expectedVersion, timeService.getLocalDateTime());
+        if (updatedItem.isPresent()) {
+            pastDueTimerService.schedule(itemId, updatedItem.get().getDueDate());
+            statusCounter.recordTransition(Status.DONE, Status.NOT_DONE, 1);
+            eventPublisher.publish(TodoEvent.statusChanged(updatedItem.get()));
+            return cached(updatedItem.get());
+        }
+
+        var item = loadItemById(itemId);
+
+        throwPreconditionFailedExceptionWhenVersionDiffers(item, expectedVersion);
 
         if (item.getStatus() == Status.NOT_DONE) {
             throw new ConflictException("The item status is already not done.");
@@ -83,40 +178,203 @@ public class TodoServiceImpl implements TodoService {
         throwConflictExceptionWhenPastDueItem(item,
                 "Cannot mark the item as not done. The item due date has passed.");
 
-        item.setStatus(Status.NOT_DONE);
-        item.setDoneDate(null);
-        var entity = repository.save(TodoItemEntity.toEntity(item));
-        return entity.toDomain();
+        throw new ObjectOptimisticLockingFailureException(TodoItem.class, itemId);
     }
 
+    @Transactional(readOnly = true)
     @Override
     public Page<TodoItem> getAll(Pageable pageable) {
-        return repository.findAll(pageable).map(TodoItemEntity::toDomain);
+        var page = store.findAllItems(pageable);
+        return readTimePastDue ? page.map(asOf(timeService.getLocalDateTime())) : page;
     }
 
+    @Transactional(readOnly = true)
     @Override
     public Page<TodoItem> getNotDone(Pageable pageable) {
-        return repository.findAllByStatus(Status.NOT_DONE, pageable).map(TodoItemEntity::toDomain);
+        if (readTimePastDue) {
+            return store.findAllItemsByStatusDueAfter(Status.NOT_DONE, timeService.getLocalDateTime(), pageable);
+        }
+        return store.findAllItemsByStatus(Status.NOT_DONE, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Slice<TodoItem> getAllSlice(Pageable pageable) {
+        var slice = store.sliceAllItems(pageable);
+        return readTimePastDue ? slice.map(asOf(timeService.getLocalDateTime())) : slice;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Slice<TodoItem> getNotDoneSlice(Pageable pageable) {
+        if (readTimePastDue) {
+            return store.sliceAllItemsByStatusDueAfter(Status.NOT_DONE, timeService.getLocalDateTime(), pageable);
+        }
+        return store.sliceAllItemsByStatus(Status.NOT_DONE, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Page<TodoItem> getAll(TodoItemFilter filter, Pageable pageable) {
+        if (filter.isEmpty()) {
+            return getAll(pageable);
+        }
+        if (readTimePastDue) {
+            var currentDate = timeService.getLocalDateTime();
+            return store.findAllItems(filter.withStatusAsOf(currentDate), pageable).map(asOf(currentDate));
+        }
+        return store.findAllItems(filter, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Slice<TodoItem> getAllSlice(TodoItemFilter filter, Pageable pageable) {
+        if (filter.isEmpty()) {
+            return getAllSlice(pageable);
+        }
+        if (readTimePastDue) {
+            var currentDate = timeService.getLocalDateTime();
+            return store.sliceAllItems(filter.withStatusAsOf(currentDate), pageable).map(asOf(currentDate));
+        }
+        return store.sliceAllItems(filter, pageable);
+    }
+
+    @Override
+    public StatusCounts getStatusCounts() {
+        return statusCounter.getCounts();
+    }
+
+    @Override
+    public long getCachedCount(Status status) {
+        return itemCounter.count(status);
+    }
+
+    @Override
+    public String getChangeVersion() {
+        if (!readTimePastDue) {
+            return changeCounter.getVersion();
+        }
+
+        var lastDueDate = store.findLastDueDate(Status.NOT_DONE, timeService.getLocalDateTime());
+        return lastDueDate == null ? changeCounter.getVersion() : changeCounter.getVersion() + "-" + lastDueDate;
+    }
+
+    @Override
+    public Window<TodoItem> scrollAll(ScrollPosition position, int size, Sort sort) throws BadRequestException {
+        var keysetSort = toKeysetSort(sort, SCROLL_ALL_SORT_PROPERTY);
+        var window = store.scrollAll(position, toLimit(size), keysetSort);
+        return readTimePastDue ? window.map(asOf(timeService.getLocalDateTime())) : window;
+    }
+
+    @Override
+    public Window<TodoItem> scrollNotDone(ScrollPosition position, int size, Sort sort) throws BadRequestException {
+        var keysetSort = toKeysetSort(sort, SCROLL_NOT_DONE_SORT_PROPERTY);
+        if (readTimePastDue) {
+            return store.scrollAllByStatusDueAfter(Status.NOT_DONE, timeService.getLocalDateTime(), position,
+                    toLimit(size), keysetSort);
+        }
+        return store.scrollAllByStatus(Status.NOT_DONE, position, toLimit(size), keysetSort);
+    }
+
+    @Override
+    public Window<TodoItem> search(String query, ScrollPosition position, int size) throws BadRequestException {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("The query must not be empty.");
+        }
+
+        var limit = toLimit(size);
+        var hits = searchIndex.search(query, position, limit.max() + 1);
+        var hasNext = hits.size() > limit.max();
+        var currentDate = readTimePastDue ? timeService.getLocalDateTime() : null;
+
+        var items = new ArrayList<TodoItem>();
+        var positions = new ArrayList<ScrollPosition>();
+        for (var hit : hasNext ? hits.subList(0, limit.max()) : hits) {
+            itemCache.get(hit.getId(), store::findById).ifPresent(item -> {
+                items.add(currentDate != null ? item.asOf(currentDate) : item);
+
+                var keys = new LinkedHashMap<String, Object>();
+                keys.put(TodoSearchIndex.SCORE_PROPERTY, hit.getScore());
+                keys.put(TodoSearchIndex.ID_PROPERTY, hit.getId());
+                keys.put(TodoSearchIndex.GENERATION_PROPERTY, hit.getGeneration());
+                positions.add(ScrollPosition.forward(keys));
+            });
+        }
+        return Window.from(items, positions::get, hasNext);
+    }
+
+    @Override
+    public Window<TodoItem> getChanges(ScrollPosition position, int size) throws BadRequestException {
+        var window = store.scrollChanges(position, toLimit(size));
+        return readTimePastDue ? window.map(asOf(timeService.getLocalDateTime())) : window;
     }
 
     @Override
     public TodoItem get(UUID itemId) throws NotFoundException {
-        return findItemById(itemId);
+        var item = findItemById(itemId);
+        return readTimePastDue ? item.asOf(timeService.getLocalDateTime()) : item;
     }
 
     @Scheduled(cron = "${cron.expression.update.status}")
-    @Transactional
     @Override
     public void updatePastDueItemsStatus() {
-        log.info("Updating past due item status...");
-        var updatedItems = repository.updatePastDueItemsStatus(timeService.getLocalDateTime());
-        log.info("{} items status updated to past due.", updatedItems);
+        pastDueSweepService.sweep();
+    }
+
+    /**
+     * Only the sort keys backed by a composite index with the id are accepted, so every window is an index seek.
+     */
+    private Sort toKeysetSort(Sort sort, String indexedProperty) throws BadRequestException {
+        var orders = sort.toList();
+        if (orders.size() != 1 || !orders.get(0).getProperty().equals(indexedProperty)) {
+            throw new BadRequestException("Unsupported sort: " + sort + ". The only supported sort property is " +
+                    indexedProperty + ".");
+        }
+
+        var direction = orders.get(0).getDirection();
+        return Sort.by(direction, indexedProperty, ID_PROPERTY);
+    }
+
+    private Limit toLimit(int size) throws BadRequestException {
+        if (size < 1) {
+            throw new BadRequestException("The size must be greater than zero.");
+        }
+        return Limit.of(Math.min(size, MAX_SCROLL_SIZE));
+    }
+
+    private static Function<TodoItem, TodoItem> asOf(LocalDateTime currentDate) {
+        return item -> item.asOf(currentDate);
     }
 
     private TodoItem findItemById(UUID itemId) throws NotFoundException {
-        return repository.findById(itemId)
-                .orElseThrow(() -> new NotFoundException("Item not found with given id: " + itemId))
-                .toDomain();
+        return itemCache.get(itemId, store::findById)
+                .orElseThrow(() -> new NotFoundException("Item not found with given id: " + itemId));
+    }
+
+    /**
+     * Reads the item straight from the database, to explain why a guarded update did not match the row or to update
+     * it with the version it has in the database.
+     */
+    private TodoItem loadItemById(UUID itemId) throws NotFoundException {
+        return store.findById(itemId)
+                .orElseThrow(() -> new NotFoundException("Item not found with given id: " + itemId));
+    }
+
+    /**
+     * Caches a written item and records the change, so list versions move on once the write commits.
+     */
+    private TodoItem cached(TodoItem item) {
+        itemCache.put(item);
+        changeCounter.recordChange();
+        return item;
+    }
+
+    private void throwPreconditionFailedExceptionWhenVersionDiffers(TodoItem item, Long expectedVersion)
+            throws PreconditionFailedException {
+        if (expectedVersion != null && !expectedVersion.equals(item.getVersion())) {
+            throw new PreconditionFailedException("The item version is " + item.getVersion() + ", not " +
+                    expectedVersion + ".");
+        }
     }
 
     private void throwConflictExceptionWhenPastDueItem(TodoItem item, String conflictMessage) throws ConflictException {
@@ -124,7 +382,9 @@ public class TodoServiceImpl implements TodoService {
 
         if (item.getStatus().equals(Status.PAST_DUE) || item.getDueDate().isBefore(currentDate) ||
                 item.getDueDate().isEqual(currentDate)) {
-            updateNotDoneToPastDue(item);
+            if (!readTimePastDue) {
+                updateNotDoneToPastDue(item);
+            }
             throw new ConflictException(conflictMessage);
         }
     }
@@ -132,7 +392,11 @@ public class TodoServiceImpl implements TodoService {
     private void updateNotDoneToPastDue(TodoItem item) {
         if (item.getStatus() == Status.NOT_DONE) {
             item.setStatus(Status.PAST_DUE);
-            repository.save(TodoItemEntity.toEntity(item));
+            var updatedItem = store.update(item);
+            pastDueTimerService.cancel(item.getId());
+            statusCounter.recordTransition(Status.NOT_DONE, Status.PAST_DUE, 1);
+            eventPublisher.publish(TodoEvent.statusChanged(updatedItem));
+            cached(updatedItem);
         }
     }
 
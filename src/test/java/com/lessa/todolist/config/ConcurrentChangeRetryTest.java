@@ -0,0 +1,80 @@
+package com.lessa.todolist.config;
+
+import com.lessa.todolist.domain.Status;
+import com.lessa.todolist.persistence.entity.TodoItemEntity;
+import com.lessa.todolist.persistence.repository.TodoItemRepository;
+import com.lessa.todolist.service.TimeService;
+import com.lessa.todolist.service.TodoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(properties = {"retry.concurrent-change.delay=1", "retry.concurrent-change.max-delay=2"})
+class ConcurrentChangeRetryTest {
+
+    private final static LocalDateTime CURRENT_DATE = LocalDateTime.of(2024, 3, 17, 0, 0);
+    private final static LocalDateTime AFTER_DATE = LocalDateTime.of(2024, 3, 18, 0, 0);
+
+    @MockBean
+    private TimeService timeService;
+
+    @SpyBean
+    private TodoItemRepository repository;
+
+    @Autowired
+    private TodoService service;
+
+    private UUID itemId;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        itemId = repository.save(new TodoItemEntity(null, "description", Status.NOT_DONE, CURRENT_DATE, AFTER_DATE,
+                null, null)).getId();
+        clearInvocations(repository);
+        when(timeService.getLocalDateTime()).thenReturn(CURRENT_DATE);
+    }
+
+    @Test
+    void shouldRetryInANewTransactionWhenTheItemChangedConcurrently() throws Exception {
+        //given
+        var repositoryMethod = mockingDetails(repository).getMockCreationSettings().getDefaultAnswer();
+        doThrow(new ObjectOptimisticLockingFailureException(TodoItemEntity.class, itemId))
+                .doAnswer(repositoryMethod)
+                .when(repository).saveAndFlush(any());
+
+        //when
+        var result = service.updateDescription(itemId, "new description", null);
+
+        //then
+        verify(repository, times(2)).saveAndFlush(any());
+        assertEquals("new description", result.getDescription());
+        assertEquals(1, result.getVersion());
+    }
+
+    @Test
+    void shouldGiveUpAfterTheMaximumAttempts() {
+        //given
+        doThrow(new ObjectOptimisticLockingFailureException(TodoItemEntity.class, itemId))
+                .when(repository).saveAndFlush(any());
+
+        //when
+        assertThrows(ObjectOptimisticLockingFailureException.class, () ->
+                service.updateDescription(itemId, "new description", null));
+
+        //then
+        verify(repository, times(3)).saveAndFlush(any());
+        assertEquals("description", repository.findById(itemId).orElseThrow().getDescription());
+    }
+}
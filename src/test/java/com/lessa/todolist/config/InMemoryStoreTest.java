@@ -0,0 +1,80 @@
+package com.lessa.todolist.config;
+
+import com.lessa.todolist.domain.Status;
+import com.lessa.todolist.domain.TodoItem;
+import com.lessa.todolist.domain.TransitionOutcome;
+import com.lessa.todolist.persistence.repository.TodoItemRepository;
+import com.lessa.todolist.persistence.store.ChangeSequence;
+import com.lessa.todolist.persistence.store.OffHeapTodoItemStore;
+import com.lessa.todolist.persistence.store.TodoItemStore;
+import com.lessa.todolist.service.TodoBatchService;
+import com.lessa.todolist.service.TodoExportService;
+import com.lessa.todolist.service.TodoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("in-memory")
+class InMemoryStoreTest {
+
+    @Autowired
+    private TodoService service;
+
+    @Autowired
+    private TodoItemStore store;
+
+    @Autowired
+    private TodoBatchService batchService;
+
+    @Autowired
+    private TodoExportService exportService;
+
+    @Autowired
+    private TodoItemRepository repository;
+
+    @Autowired
+    private ObjectProvider<ChangeSequence> changeSequence;
+
+    @Test
+    void shouldKeepTheItemsOutOfTheDatabase() throws Exception {
+        //when
+        var added = service.add(TodoItem.createNew("description", LocalDateTime.now().plusDays(1)));
+        var done = service.markAsDone(added.getId(), added.getVersion());
+
+        //then
+        assertInstanceOf(OffHeapTodoItemStore.class, store);
+        assertNull(changeSequence.getIfAvailable());
+        assertEquals(Status.DONE, service.get(added.getId()).getStatus());
+        assertEquals(1L, done.getVersion());
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    void shouldServeTheItemsWrittenInBatchesAndExportThem() throws Exception {
+        //given
+        var dueDate = LocalDateTime.now().plusDays(1);
+
+        //when
+        var added = batchService.addAll(List.of(TodoItem.createNew("first", dueDate), TodoItem.createNew("second", dueDate)));
+        var results = batchService.markAllAsDone(List.of(added.getCreatedItems().get(0).getId()));
+        var exportedItemIds = new ArrayList<UUID>();
+        exportService.exportAll(Status.DONE, item -> exportedItemIds.add(item.getId()));
+
+        //then
+        assertEquals(TransitionOutcome.UPDATED, results.get(0).getOutcome());
+        assertEquals(Status.DONE, service.get(added.getCreatedItems().get(0).getId()).getStatus());
+        assertEquals(Status.NOT_DONE, service.get(added.getCreatedItems().get(1).getId()).getStatus());
+        assertEquals(List.of(added.getCreatedItems().get(0).getId()), exportedItemIds);
+        assertEquals(0, repository.count());
+    }
+}
@@ -0,0 +1,69 @@
+package com.lessa.todolist.config;
+
+import com.lessa.todolist.service.TimeService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "management.endpoints.web.exposure.include=prometheus",
+        "management.metrics.distribution.percentiles-histogram.http.server.requests=true"
+})
+@AutoConfigureObservability
+class MetricsTest {
+
+    @LocalServerPort
+    private int port;
+
+    @MockBean
+    private TimeService timeService;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void shouldExposeServiceAndHttpMetricsInPrometheusFormat() {
+        //given
+        Mockito.when(timeService.getLocalDateTime()).thenReturn(LocalDateTime.of(2024, 3, 17, 0, 0));
+        restTemplate.getForEntity(createUrlWithPort("/todos/" + UUID.randomUUID()), String.class);
+        restTemplate.getForEntity(createUrlWithPort("/todos"), String.class);
+
+        //when
+        var responseEntity = restTemplate.getForEntity(createUrlWithPort("/actuator/prometheus"), String.class);
+
+        //then
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+
+        var responseBody = responseEntity.getBody();
+
+        assertNotNull(responseBody);
+        assertEquals("1.0", sampleValue(responseBody, "todo_service_seconds_count{method=\"get\",outcome=\"NotFoundException\""));
+        assertEquals("1.0", sampleValue(responseBody, "todo_service_seconds_count{method=\"getAll\",outcome=\"ok\""));
+        assertNotNull(sampleValue(responseBody, "todo_items{status=\"NOT_DONE\""));
+        assertNotNull(sampleValue(responseBody, "todo_past_due_sweep_seconds_count"));
+        assertNotNull(sampleValue(responseBody, "http_server_requests_seconds_bucket{"));
+    }
+
+    private String sampleValue(String scrape, String samplePrefix) {
+        return scrape.lines()
+                .filter(line -> line.startsWith(samplePrefix))
+                .map(line -> line.substring(line.lastIndexOf(' ') + 1))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private String createUrlWithPort(String uri) {
+        return "http://localhost:" + port + uri;
+    }
+}
@@ -0,0 +1,83 @@
+package com.lessa.todolist.config;
+
+import com.lessa.todolist.domain.Status;
+import com.lessa.todolist.domain.TodoItem;
+import com.lessa.todolist.dto.EntityTag;
+import com.lessa.todolist.persistence.repository.TodoItemRepository;
+import com.lessa.todolist.service.TimeService;
+import com.lessa.todolist.service.TodoService;
+import com.lessa.todolist.service.exception.ConflictException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = {"past-due.read-time.enabled=true", "past-due.timer.enabled=false"})
+class ReadTimePastDueTest {
+
+    private final static LocalDateTime CURRENT_DATE = LocalDateTime.of(2024, 3, 17, 0, 0);
+    private final static LocalDateTime AFTER_DATE = LocalDateTime.of(2024, 3, 18, 0, 0);
+
+    @MockBean
+    private TimeService timeService;
+
+    @Autowired
+    private TodoService service;
+
+    @Autowired
+    private TodoItemRepository repository;
+
+    @BeforeEach
+    void cleanUp() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void shouldReadTheItemAsPastDueOnceItsDueDateHasPassedWithoutWritingIt() throws Exception {
+        //given
+        when(timeService.getLocalDateTime()).thenReturn(CURRENT_DATE);
+        var added = service.add(TodoItem.createNew("description", AFTER_DATE));
+        var notDoneBeforeDueDate = service.getNotDone(PageRequest.of(0, 10));
+
+        //when
+        when(timeService.getLocalDateTime()).thenReturn(AFTER_DATE);
+        var item = service.get(added.getId());
+        var notDoneAfterDueDate = service.getNotDone(PageRequest.of(0, 10));
+
+        //then
+        assertEquals(1, notDoneBeforeDueDate.getTotalElements());
+        assertEquals(Status.PAST_DUE, item.getStatus());
+        assertEquals(0, notDoneAfterDueDate.getTotalElements());
+        assertThrows(ConflictException.class, () -> service.markAsDone(added.getId(), null));
+        assertEquals(Status.NOT_DONE, repository.findById(added.getId()).orElseThrow().getStatus());
+        assertEquals(0L, repository.findById(added.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void shouldChangeTheETagsOnceAnItemBecomesPastDue() throws Exception {
+        //given
+        when(timeService.getLocalDateTime()).thenReturn(CURRENT_DATE);
+        var added = service.add(TodoItem.createNew("description", AFTER_DATE));
+        var itemETagBeforeDueDate = EntityTag.ofItem(service.get(added.getId()));
+        var changeVersionBeforeDueDate = service.getChangeVersion();
+
+        //when
+        when(timeService.getLocalDateTime()).thenReturn(AFTER_DATE);
+        var itemETagAfterDueDate = EntityTag.ofItem(service.get(added.getId()));
+        var changeVersionAfterDueDate = service.getChangeVersion();
+
+        //then
+        assertEquals("W/\"0\"", itemETagBeforeDueDate);
+        assertEquals("W/\"0-past-due\"", itemETagAfterDueDate);
+        assertEquals(0L, EntityTag.parseIfMatch(itemETagAfterDueDate));
+        assertNotEquals(changeVersionBeforeDueDate, changeVersionAfterDueDate);
+        assertEquals(changeVersionAfterDueDate, service.getChangeVersion());
+    }
+}
@@ -0,0 +1,47 @@
+package com.lessa.todolist.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = { "scheduler.enabled=true" })
+@ActiveProfiles("virtual-threads")
+class VirtualThreadsTest {
+
+    @Autowired
+    private AsyncTaskExecutor applicationTaskExecutor;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    @Test
+    void shouldRunAsyncTasksOnVirtualThreads() throws Exception {
+        //when
+        var isVirtual = applicationTaskExecutor.submitCompletable(() -> Thread.currentThread().isVirtual());
+
+        //then
+        assertTrue(isVirtual.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldRunScheduledTasksOnVirtualThreads() throws Exception {
+        //given
+        var isVirtual = new CompletableFuture<Boolean>();
+
+        //when
+        taskScheduler.schedule(() -> isVirtual.complete(Thread.currentThread().isVirtual()), Instant.now());
+
+        //then
+        assertTrue(isVirtual.get(1, TimeUnit.SECONDS));
+    }
+
+}
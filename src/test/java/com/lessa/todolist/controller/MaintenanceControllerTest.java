@@ -0,0 +1,124 @@
+package com.lessa.todolist.controller;
+
+import com.lessa.todolist.domain.CacheStatistics;
+import com.lessa.todolist.domain.PastDueSweep;
+import com.lessa.todolist.domain.SearchIndexRebuild;
+import com.lessa.todolist.dto.CacheStatisticsDto;
+import com.lessa.todolist.dto.PastDueSweepDto;
+import com.lessa.todolist.dto.SearchIndexRebuildDto;
+import com.lessa.todolist.service.PastDueSweepService;
+import com.lessa.todolist.service.TodoItemCache;
+import com.lessa.todolist.service.TodoSearchIndex;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class MaintenanceControllerTest {
+
+    private final static LocalDateTime CURRENT_DATE = LocalDateTime.of(2024, 3, 17, 0, 0);
+
+    @LocalServerPort
+    private int port;
+
+    @MockBean
+    private PastDueSweepService pastDueSweepService;
+
+    @MockBean
+    private TodoItemCache itemCache;
+
+    @MockBean
+    private TodoSearchIndex searchIndex;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void shouldGetLastPastDueSweep() {
+        //given
+        var sweep = new PastDueSweep(CURRENT_DATE, 3, 1200, Duration.ofMillis(250));
+        Mockito.when(pastDueSweepService.getLastSweep()).thenReturn(Optional.of(sweep));
+
+        //when
+        var responseEntity = restTemplate.getForEntity(createUrlWithPort("/maintenance/past-due-sweep"), PastDueSweepDto.class);
+
+        //then
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+
+        var responseBody = responseEntity.getBody();
+
+        assertNotNull(responseBody);
+        assertEquals(CURRENT_DATE, responseBody.getStartDate());
+        assertEquals(3, responseBody.getChunks());
+        assertEquals(1200, responseBody.getUpdatedItems());
+        assertEquals(250, responseBody.getDurationMillis());
+    }
+
+    @Test
+    void shouldFailGetLastPastDueSweepWhenNoSweepHasRun() {
+        //given
+        Mockito.when(pastDueSweepService.getLastSweep()).thenReturn(Optional.empty());
+
+        //when
+        var responseEntity = restTemplate.getForEntity(createUrlWithPort("/maintenance/past-due-sweep"), String.class);
+
+        //then
+        assertEquals(HttpStatus.NOT_FOUND, responseEntity.getStatusCode());
+        assertEquals("No past due sweep has run yet.", responseEntity.getBody());
+    }
+
+    @Test
+    void shouldGetItemCacheStatistics() {
+        //given
+        Mockito.when(itemCache.getStatistics()).thenReturn(new CacheStatistics(10, 90, 12, 2));
+
+        //when
+        var responseEntity = restTemplate.getForEntity(createUrlWithPort("/maintenance/item-cache"), CacheStatisticsDto.class);
+
+        //then
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+
+        var responseBody = responseEntity.getBody();
+
+        assertNotNull(responseBody);
+        assertEquals(10, responseBody.getSize());
+        assertEquals(90, responseBody.getHits());
+        assertEquals(12, responseBody.getMisses());
+        assertEquals(2, responseBody.getEvictions());
+    }
+
+    @Test
+    void shouldRebuildSearchIndex() {
+        //given
+        Mockito.when(searchIndex.rebuild()).thenReturn(new SearchIndexRebuild(5, 12, Duration.ofMillis(40)));
+
+        //when
+        var responseEntity = restTemplate.postForEntity(createUrlWithPort("/maintenance/search-index"), null,
+                SearchIndexRebuildDto.class);
+
+        //then
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+
+        var responseBody = responseEntity.getBody();
+
+        assertNotNull(responseBody);
+        assertEquals(5, responseBody.getIndexedItems());
+        assertEquals(12, responseBody.getTerms());
+        assertEquals(40, responseBody.getDurationMillis());
+    }
+
+    private String createUrlWithPort(String uri) {
+        return "http://localhost:" + port + uri;
+    }
+}
@@ -1,12 +1,24 @@
 package com.lessa.todolist.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lessa.todolist.domain.IngestStatus;
 import com.lessa.todolist.domain.Status;
+import com.lessa.todolist.domain.TransitionOutcome;
+import com.lessa.todolist.dto.BatchAddResultDto;
+import com.lessa.todolist.dto.BatchTransitionResultDto;
 import com.lessa.todolist.dto.ChangeDescriptionDto;
 import com.lessa.todolist.dto.CreateItemDto;
+import com.lessa.todolist.dto.CursorPageDto;
+import com.lessa.todolist.dto.IngestStatusDto;
+import com.lessa.todolist.dto.ItemChangesDto;
+import com.lessa.todolist.dto.SliceDto;
+import com.lessa.todolist.dto.StatusCountsDto;
 import com.lessa.todolist.dto.TodoItemDto;
 import com.lessa.todolist.persistence.entity.TodoItemEntity;
 import com.lessa.todolist.persistence.repository.TodoItemRepository;
 import com.lessa.todolist.service.TimeService;
+import com.lessa.todolist.service.TodoStatusCounter;
 import com.lessa.todolist.util.RestResponsePage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,14 +30,29 @@ import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -45,6 +72,13 @@ class TodoControllerTest {
 
     @Autowired
     private TodoItemRepository repository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TodoStatusCounter statusCounter;
+
     @BeforeEach
     void cleanUp() {
         repository.deleteAll();
@@ -78,6 +112,40 @@ class TodoControllerTest {
         assertTrue(repository.findById(responseBody.getId()).isPresent());
     }
 
+    @Test
+    void shouldAcceptNewItemAndWriteItInTheBackground() {
+        //given
+        var dto = new CreateItemDto();
+        dto.setDescription("description");
+        dto.setDueDate(AFTER_DATE);
+
+        Mockito.when(timeService.getLocalDateTime()).thenReturn(CURRENT_DATE);
+
+        //when
+        var responseEntity = restTemplate.postForEntity(createUrlWithPort("/todos?async=true"), dto, TodoItemDto.class);
+
+        //then
+        assertEquals(HttpStatus.ACCEPTED, responseEntity.getStatusCode());
+
+        var responseBody = responseEntity.getBody();
+
+        assertNotNull(responseBody);
+        assertNotNull(responseBody.getId());
+        assertEquals(Status.NOT_DONE, responseBody.getStatus());
+        assertEquals(CURRENT_DATE, responseBody.getCreationDate());
+        assertEquals("/todos/" + responseBody.getId(), Objects.requireNonNull(responseEntity.getHeaders().getLocation()).toString());
+
+        var statusUrl = createUrlWithPort("/todos/ingest/" + responseBody.getId());
+        await().atMost(5, TimeUnit.SECONDS)
+                .until(() -> restTemplate.getForObject(statusUrl, IngestStatusDto.class).getStatus(),
+                        status -> status != IngestStatus.QUEUED);
+        assertEquals(IngestStatus.WRITTEN, restTemplate.getForObject(statusUrl, IngestStatusDto.class).getStatus());
+
+        var entity = repository.findById(responseBody.getId()).orElseThrow();
+        assertEquals("description", entity.getDescription());
+        assertEquals(CURRENT_DATE, entity.getCreationDate());
+    }
+
     @Test
     void shouldAddNewItemFailWhenCreationItemDtoDoNotHaveDueDateAndDescription() {
         //given
@@ -111,6 +179,50 @@ class TodoControllerTest {
         assertEquals(expectedResponseBody, responseEntity.getBody());
     }
 
+    @Test
+    void shouldAddNewItemsInBatchAndReportConflicts() {
+        //given
+        var dtos = List.of(createItemDto("first", AFTER_DATE), createItemDto("past due", CURRENT_DATE),
+                createItemDto("second", AFTER_DATE.plusDays(1)));
+
+        Mockito.when(timeService.getLocalDateTime()).thenReturn(CURRENT_DATE);
+
+        //when
+        var responseEntity = restTemplate.postForEntity(createUrlWithPort("/todos/batch"), dtos, BatchAddResultDto.class);
+
+        //then
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+
+        var responseBody = responseEntity.getBody();
+
+        assertNotNull(responseBody);
+        assertEquals(2, responseBody.getCreatedItems().size());
+        assertEquals("first", responseBody.getCreatedItems().get(0).getDescription());
+        assertEquals("second", responseBody.getCreatedItems().get(1).getDescription());
+        assertEquals(Status.NOT_DONE, responseBody.getCreatedItems().get(0).getStatus());
+        assertEquals(CURRENT_DATE, responseBody.getCreatedItems().get(0).getCreationDate());
+        assertEquals(1, responseBody.getConflicts().size());
+        assertEquals(1, responseBody.getConflicts().get(0).getIndex());
+        assertEquals("Cannot add item. Due date is earlier or equal the current date.",
+                responseBody.getConflicts().get(0).getMessage());
+        assertEquals(2, repository.count());
+    }
+
+    @Test
+    void shouldFailAddNewItemsInBatchWhenAnItemIsInvalid() {
+        //given
+        var dtos = List.of(createItemDto("first", AFTER_DATE), createItemDto(" ", AFTER_DATE));
+        var expectedResponseBody = Map.of("[1].description", "the description must not be empty");
+
+        //when
+        var responseEntity = restTemplate.postForEntity(createUrlWithPort("/todos/batch"), dtos, Map.class);
+
+        //then
+        assertEquals(HttpStatus.BAD_REQUEST, responseEntity.getStatusCode());
+        assertEquals(expectedResponseBody, responseEntity.getBody());
+        assertTrue(repository.findAll().isEmpty());
+    }
+
     @Test
     void shouldChangeDescription() {
         //given
@@ -242,6 +354,41 @@ class TodoControllerTest {
         assertEquals(CURRENT_DATE, itemInDatabase.get().getDoneDate());
     }
 
+    @Test
+    void shouldMarkItemAsDoneWhenIfMatchHasTheItemETag() {
+        //given
+        Mockito.when(timeService.getLocalDateTime()).thenReturn(CURRENT_DATE);
+        var itemId = saveItem("description", Status.NOT_DONE, CURRENT_DATE, AFTER_DATE, null);
+
+        //when
+        var responseEntity = restTemplate.exchange(createUrlWithPort("/todos/" + itemId + "/done"), HttpMethod.PUT,
+                new HttpEntity<>(ifMatch("W/\"0\"")), TodoItemDto.class);
+
+        //then
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals("W/\"1\"", responseEntity.getHeaders().getETag());
+        assertEquals(Status.DONE, Objects.requireNonNull(responseEntity.getBody()).getStatus());
+    }
+
+    @Test
+    void shouldFailMarkItemAsDoneWhenIfMatchHasAnOlderETag() {
+        //given
+        Mockito.when(timeService.getLocalDateTime()).thenReturn(CURRENT_DATE);
+        var itemId = saveItem("description", Status.NOT_DONE, CURRENT_DATE, AFTER_DATE, null);
+        var dto = new ChangeDescriptionDto();
+        dto.setDescription("new description");
+        restTemplate.put(createUrlWithPort("/todos/" + itemId), dto);
+
+        //when
+        var responseEntity = restTemplate.exchange(createUrlWithPort("/todos/" + itemId + "/done"), HttpMethod.PUT,
+                new HttpEntity<>(ifMatch("W/\"0\"")), String.class);
+
+        //then
+        assertEquals(HttpStatus.PRECONDITION_FAILED, responseEntity.getStatusCode());
+        assertEquals("The item version is 1, not 0.", responseEntity.getBody());
+        assertEquals(Status.NOT_DONE, repository.findById(itemId).orElseThrow().getStatus());
+    }
+
     @Test
     void shouldFailWhenMarkItemAsDoneAndItemNotFoundWithId() {
         //given
@@ -431,6 +578,61 @@ class TodoControllerTest {
         assertEquals(CURRENT_DATE, itemInDatabase.get().getDoneDate());
     }
 
+    @Test
+    void shouldMarkItemsAsDoneInBatch() {
+        //given
+        var itemIdNotDone = saveItem("not done", Status.NOT_DONE, CURRENT_DATE, AFTER_DATE, null);
+        var itemIdDone = saveItem("done", Status.DONE, CURRENT_DATE, AFTER_DATE, CURRENT_DATE);
+        var itemIdOverdue = saveItem("overdue", Status.NOT_DONE, CURRENT_DATE, CURRENT_DATE, null);
+        var missingItemId = UUID.randomUUID();
+
+        Mockito.when(timeService.getLocalDateTime()).thenReturn(CURRENT_DATE);
+
+        //when
+        var responseEntity = restTemplate.exchange(createUrlWithPort("/todos/done"), HttpMethod.PUT,
+                new HttpEntity<>(List.of(itemIdNotDone, itemIdDone, itemIdOverdue, missingItemId)),
+                new ParameterizedTypeReference<List<BatchTransitionResultDto>>() {});
+
+        //then
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+
+        var responseBody = responseEntity.getBody();
+
+        assertNotNull(responseBody);
+        assertEquals(TransitionOutcome.UPDATED, responseBody.get(0).getOutcome());
+        assertEquals(TransitionOutcome.ALREADY_IN_STATUS, responseBody.get(1).getOutcome());
+        assertEquals(TransitionOutcome.PAST_DUE, responseBody.get(2).getOutcome());
+        assertEquals(TransitionOutcome.NOT_FOUND, responseBody.get(3).getOutcome());
+        assertEquals(missingItemId, responseBody.get(3).getItemId());
+
+        assertEquals(Status.DONE, repository.findById(itemIdNotDone).orElseThrow().getStatus());
+        assertEquals(CURRENT_DATE, repository.findById(itemIdNotDone).orElseThrow().getDoneDate());
+        assertEquals(Status.PAST_DUE, repository.findById(itemIdOverdue).orElseThrow().getStatus());
+    }
+
+    @Test
+    void shouldMarkItemsAsNotDoneInBatch() {
+        //given
+        var itemIdDone = saveItem("done", Status.DONE, CURRENT_DATE, AFTER_DATE, CURRENT_DATE);
+        var itemIdNotDone = saveItem("not done", Status.NOT_DONE, CURRENT_DATE, AFTER_DATE, null);
+
+        Mockito.when(timeService.getLocalDateTime()).thenReturn(CURRENT_DATE);
+
+        //when
+        var responseEntity = restTemplate.exchange(createUrlWithPort("/todos/not-done"), HttpMethod.PUT,
+                new HttpEntity<>(List.of(itemIdDone, itemIdNotDone)),
+                new ParameterizedTypeReference<List<BatchTransitionResultDto>>() {});
+
+        //then
+        var responseBody = responseEntity.getBody();
+
+        assertNotNull(responseBody);
+        assertEquals(TransitionOutcome.UPDATED, responseBody.get(0).getOutcome());
+        assertEquals(TransitionOutcome.ALREADY_IN_STATUS, responseBody.get(1).getOutcome());
+        assertEquals(Status.NOT_DONE, repository.findById(itemIdDone).orElseThrow().getStatus());
+        assertNull(repository.findById(itemIdDone).orElseThrow().getDoneDate());
+    }
+
     @Test
     void shouldGetAllItems() {
         //given
@@ -451,6 +653,26 @@ class TodoControllerTest {
         assertEquals("a", responseBody.getContent().get(1).getDescription());
     }
 
+    @Test
+    void shouldGetAllItemsFilteredByStatusesAndDueDateRange() {
+        //given
+        saveItem("a", Status.DONE, CURRENT_DATE, AFTER_DATE, CURRENT_DATE);
+        saveItem("b", Status.PAST_DUE, CURRENT_DATE, AFTER_DATE.plusDays(1), null);
+        saveItem("c", Status.NOT_DONE, CURRENT_DATE, AFTER_DATE.plusDays(2), null);
+        saveItem("d", Status.DONE, CURRENT_DATE, AFTER_DATE.plusDays(3), CURRENT_DATE);
+
+        //when
+        var responseEntity = restTemplate.exchange(createUrlWithPort("/todos?status=DONE,PAST_DUE&dueFrom=" + AFTER_DATE +
+                        "&dueTo=" + AFTER_DATE.plusDays(3) + "&sort=dueDate"),
+                HttpMethod.GET, HttpEntity.EMPTY, new ParameterizedTypeReference<RestResponsePage<TodoItemDto>>() {});
+
+        //then
+        var responseBody = responseEntity.getBody();
+        assertNotNull(responseBody);
+        assertEquals(2, responseBody.getTotalElements());
+        assertEquals(List.of("a", "b"), responseBody.getContent().stream().map(TodoItemDto::getDescription).toList());
+    }
+
     @Test
     void shouldGetAllNotDoneItems() {
         //given
@@ -472,6 +694,289 @@ class TodoControllerTest {
         assertEquals("b", responseBody.getContent().get(1).getDescription());
     }
 
+    @Test
+    void shouldGetAllItemsSliceWithoutTotal() {
+        //given
+        saveItem("a", Status.DONE, CURRENT_DATE, AFTER_DATE, CURRENT_DATE);
+        saveItem("b", Status.NOT_DONE, CURRENT_DATE.plusHours(1), AFTER_DATE, null);
+        saveItem("c", Status.NOT_DONE, CURRENT_DATE.plusHours(2), AFTER_DATE, null);
+
+        //when
+        var responseEntity = restTemplate.exchange(createUrlWithPort("/todos?page=0&size=2&sort=creationDate&count=NONE"),
+                HttpMethod.GET, HttpEntity.EMPTY, new ParameterizedTypeReference<SliceDto<TodoItemDto>>() {});
+
+        //then
+        var responseBody = responseEntity.getBody();
+        assertNotNull(responseBody);
+        assertTrue(responseBody.isHasNext());
+        assertNull(responseBody.getTotalElements());
+        assertEquals(0, responseBody.getNumber());
+        assertEquals(2, responseBody.getSize());
+        assertEquals("a", responseBody.getContent().get(0).getDescription());
+        assertEquals("b", responseBody.getContent().get(1).getDescription());
+    }
+
+    @Test
+    void shouldGetAllNotDoneItemsSliceWithCachedTotal() {
+        //given
+        saveItem("a", Status.DONE, CURRENT_DATE, AFTER_DATE, CURRENT_DATE);
+        saveItem("b", Status.NOT_DONE, CURRENT_DATE.plusHours(1), AFTER_DATE, null);
+
+        //when
+        var responseEntity = restTemplate.exchange(createUrlWithPort("/todos/not-done?page=0&size=2&count=CACHED"),
+                HttpMethod.GET, HttpEntity.EMPTY, new ParameterizedTypeReference<SliceDto<TodoItemDto>>() {});
+
+        //then
+        var responseBody = responseEntity.getBody();
+        assertNotNull(responseBody);
+        assertFalse(responseBody.isHasNext());
+        assertNotNull(responseBody.getTotalElements());
+        assertEquals(1, responseBody.getContent().size());
+        assertEquals("b", responseBody.getContent().get(0).getDescription());
+    }
+
+    @Test
+    void shouldGetTheNumberOfItemsPerStatusMovedByEveryTransition() {
+        //given
+        saveItem("a", Status.PAST_DUE, CURRENT_DATE, CURRENT_DATE, null);
+        statusCounter.reconcile();
+
+        Mockito.when(timeService.getLocalDateTime()).thenReturn(CURRENT_DATE);
+        var created = restTemplate.postForEntity(createUrlWithPort("/todos"), createItemDto("b", AFTER_DATE), TodoItemDto.class);
+        restTemplate.postForEntity(createUrlWithPort("/todos"), createItemDto("c", AFTER_DATE), TodoItemDto.class);
+        restTemplate.exchange(createUrlWithPort("/todos/" + Objects.requireNonNull(created.getBody()).getId() + "/done"),
+                HttpMethod.PUT, HttpEntity.EMPTY, TodoItemDto.class);
+
+        //when
+        var responseEntity = restTemplate.getForEntity(createUrlWithPort("/todos/stats"), StatusCountsDto.class);
+
+        //then
+        var responseBody = responseEntity.getBody();
+        assertNotNull(responseBody);
+        assertEquals(Map.of(Status.NOT_DONE, 1L, Status.DONE, 1L, Status.PAST_DUE, 1L), responseBody.getCounts());
+        assertEquals(3, responseBody.getTotal());
+    }
+
+    @Test
+    void shouldScrollAllItemsWithCursor() {
+        //given
+        saveItem("a", Status.DONE, CURRENT_DATE, AFTER_DATE, CURRENT_DATE);
+        saveItem("b", Status.NOT_DONE, CURRENT_DATE.plusHours(1), AFTER_DATE, null);
+        saveItem("c", Status.NOT_DONE, CURRENT_DATE.plusHours(2), AFTER_DATE, null);
+
+        //when
+        var firstResponse = restTemplate.exchange(createUrlWithPort("/todos/scroll?size=2"),
+                HttpMethod.GET, HttpEntity.EMPTY, new ParameterizedTypeReference<CursorPageDto<TodoItemDto>>() {});
+        var firstWindow = firstResponse.getBody();
+        assertNotNull(firstWindow);
+        var secondResponse = restTemplate.exchange(createUrlWithPort("/todos/scroll?size=2&cursor=" + firstWindow.getNextCursor()),
+                HttpMethod.GET, HttpEntity.EMPTY, new ParameterizedTypeReference<CursorPageDto<TodoItemDto>>() {});
+
+        //then
+        assertEquals(HttpStatus.OK, firstResponse.getStatusCode());
+        assertTrue(firstWindow.isHasNext());
+        assertEquals("a", firstWindow.getContent().get(0).getDescription());
+        assertEquals("b", firstWindow.getContent().get(1).getDescription());
+
+        var secondWindow = secondResponse.getBody();
+        assertNotNull(secondWindow);
+        assertFalse(secondWindow.isHasNext());
+        assertNull(secondWindow.getNextCursor());
+        assertEquals(1, secondWindow.getContent().size());
+        assertEquals("c", secondWindow.getContent().get(0).getDescription());
+    }
+
+    @Test
+    void shouldScrollNotDoneItemsWithCursor() {
+        //given
+        saveItem("a", Status.DONE, CURRENT_DATE, AFTER_DATE, CURRENT_DATE);
+        saveItem("b", Status.NOT_DONE, CURRENT_DATE, AFTER_DATE.plusHours(1), null);
+        saveItem("c", Status.NOT_DONE, CURRENT_DATE, AFTER_DATE, null);
+
+        //when
+        var responseEntity = restTemplate.exchange(createUrlWithPort("/todos/not-done/scroll?size=2&sort=dueDate,DESC"),
+                HttpMethod.GET, HttpEntity.EMPTY, new ParameterizedTypeReference<CursorPageDto<TodoItemDto>>() {});
+
+        //then
+        var responseBody = responseEntity.getBody();
+        assertNotNull(responseBody);
+        assertFalse(responseBody.isHasNext());
+        assertEquals("b", responseBody.getContent().get(0).getDescription());
+        assertEquals("c", responseBody.getContent().get(1).getDescription());
+    }
+
+    @Test
+    void shouldSearchItemsByTheWordsOfTheirDescriptionWithCursor() {
+        //given
+        Mockito.when(timeService.getLocalDateTime()).thenReturn(CURRENT_DATE);
+        for (var description : List.of("Renew the Zanzibar visa", "Zanzibar trip: renew passport and visa",
+                "Book the Zanzibar flights")) {
+            restTemplate.postForEntity(createUrlWithPort("/todos"), createItemDto(description, AFTER_DATE), TodoItemDto.class);
+        }
+
+        //when
+        var firstResponse = restTemplate.exchange(createUrlWithPort("/todos/search?q=zanzibar renew&size=1"),
+                HttpMethod.GET, HttpEntity.EMPTY, new ParameterizedTypeReference<CursorPageDto<TodoItemDto>>() {});
+        var firstWindow = firstResponse.getBody();
+        assertNotNull(firstWindow);
+        var secondResponse = restTemplate.exchange(createUrlWithPort("/todos/search?q=zanzibar renew&size=1&cursor=" +
+                        firstWindow.getNextCursor()),
+                HttpMethod.GET, HttpEntity.EMPTY, new ParameterizedTypeReference<CursorPageDto<TodoItemDto>>() {});
+        var emptyQueryResponse = restTemplate.getForEntity(createUrlWithPort("/todos/search?q= "), String.class);
+        restTemplate.postForEntity(createUrlWithPort("/maintenance/search-index"), null, String.class);
+        var staleCursorResponse = restTemplate.getForEntity(createUrlWithPort("/todos/search?q=zanzibar renew&size=1&cursor=" +
+                firstWindow.getNextCursor()), String.class);
+
+        //then
+        assertEquals(HttpStatus.OK, firstResponse.getStatusCode());
+        assertTrue(firstWindow.isHasNext());
+        assertEquals("Renew the Zanzibar visa", firstWindow.getContent().get(0).getDescription());
+
+        var secondWindow = secondResponse.getBody();
+        assertNotNull(secondWindow);
+        assertFalse(secondWindow.isHasNext());
+        assertEquals("Zanzibar trip: renew passport and visa", secondWindow.getContent().get(0).getDescription());
+        assertEquals(HttpStatus.BAD_REQUEST, emptyQueryResponse.getStatusCode());
+        assertEquals("The query must not be empty.", emptyQueryResponse.getBody());
+        assertEquals(HttpStatus.BAD_REQUEST, staleCursorResponse.getStatusCode());
+        assertEquals("The search index changed since the cursor was issued. Search again without a cursor.",
+                staleCursorResponse.getBody());
+    }
+
+    @Test
+    void shouldRejectTheSearchCursorAfterAWriteAndPageAgainWithoutGapsOrDuplicates() {
+        //given
+        Mockito.when(timeService.getLocalDateTime()).thenReturn(CURRENT_DATE);
+        for (var description : List.of("Kilimanjaro summit", "Kilimanjaro summit gear check",
+                "Kilimanjaro summit permit and guide booking")) {
+            restTemplate.postForEntity(createUrlWithPort("/todos"), createItemDto(description, AFTER_DATE), TodoItemDto.class);
+        }
+        var firstWindow = restTemplate.exchange(createUrlWithPort("/todos/search?q=kilimanjaro summit&size=1"),
+                HttpMethod.GET, HttpEntity.EMPTY, new ParameterizedTypeReference<CursorPageDto<TodoItemDto>>() {}).getBody();
+        assertNotNull(firstWindow);
+
+        //when
+        restTemplate.postForEntity(createUrlWithPort("/todos"), createItemDto("Kilimanjaro summit photos", AFTER_DATE),
+                TodoItemDto.class);
+        var staleCursorResponse = restTemplate.getForEntity(createUrlWithPort("/todos/search?q=kilimanjaro summit&size=1&cursor=" +
+                firstWindow.getNextCursor()), String.class);
+
+        var pagedIds = new ArrayList<UUID>();
+        String cursor = null;
+        do {
+            var window = restTemplate.exchange(createUrlWithPort("/todos/search?q=kilimanjaro summit&size=1" +
+                            (cursor == null ? "" : "&cursor=" + cursor)),
+                    HttpMethod.GET, HttpEntity.EMPTY, new ParameterizedTypeReference<CursorPageDto<TodoItemDto>>() {}).getBody();
+            assertNotNull(window);
+            window.getContent().forEach(item -> pagedIds.add(item.getId()));
+            cursor = window.isHasNext() ? window.getNextCursor() : null;
+        } while (cursor != null);
+
+        //then
+        assertEquals(HttpStatus.BAD_REQUEST, staleCursorResponse.getStatusCode());
+        assertEquals(4, pagedIds.size());
+        assertEquals(4, new HashSet<>(pagedIds).size());
+        assertEquals(new HashSet<>(pagedIds), repository.findAll().stream().map(TodoItemEntity::getId).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void shouldGetOnlyTheItemsChangedSinceTheCursor() {
+        //given
+        var changedItemId = saveItem("a", Status.NOT_DONE, CURRENT_DATE, AFTER_DATE, null);
+        saveItem("b", Status.NOT_DONE, CURRENT_DATE, AFTER_DATE, null);
+        Mockito.when(timeService.getLocalDateTime()).thenReturn(CURRENT_DATE);
+
+        var initialResponse = restTemplate.getForEntity(createUrlWithPort("/todos/changes"), ItemChangesDto.class);
+        var initialChanges = initialResponse.getBody();
+        assertNotNull(initialChanges);
+
+        //when
+        restTemplate.exchange(createUrlWithPort("/todos/" + changedItemId + "/done"), HttpMethod.PUT, HttpEntity.EMPTY,
+                TodoItemDto.class);
+        var changes = restTemplate.getForObject(createUrlWithPort("/todos/changes?since=" + initialChanges.getCursor()),
+                ItemChangesDto.class);
+        var noChanges = restTemplate.getForObject(createUrlWithPort("/todos/changes?since=" + changes.getCursor()),
+                ItemChangesDto.class);
+
+        //then
+        assertEquals(HttpStatus.OK, initialResponse.getStatusCode());
+        assertEquals(2, initialChanges.getItems().size());
+        assertFalse(initialChanges.isHasMore());
+
+        assertEquals(1, changes.getItems().size());
+        assertEquals(changedItemId, changes.getItems().get(0).getId());
+        assertEquals(Status.DONE, changes.getItems().get(0).getStatus());
+
+        assertTrue(noChanges.getItems().isEmpty());
+        assertEquals(changes.getCursor(), noChanges.getCursor());
+    }
+
+    @Test
+    void shouldFailGetChangesWhenCursorIsInvalid() {
+        //when
+        var responseEntity = restTemplate.getForEntity(createUrlWithPort("/todos/changes?since=invalid"), String.class);
+
+        //then
+        assertEquals(HttpStatus.BAD_REQUEST, responseEntity.getStatusCode());
+    }
+
+    @Test
+    void shouldFailScrollItemsWhenSortPropertyIsNotIndexed() {
+        //given
+        var expectedResponseBody = "Unsupported sort: description: DESC. The only supported sort property is creationDate.";
+
+        //when
+        var responseEntity = restTemplate.getForEntity(createUrlWithPort("/todos/scroll?sort=description,DESC"), String.class);
+
+        //then
+        assertEquals(HttpStatus.BAD_REQUEST, responseEntity.getStatusCode());
+        assertEquals(expectedResponseBody, responseEntity.getBody());
+    }
+
+    @Test
+    void shouldFailScrollItemsWhenCursorIsInvalid() {
+        //when
+        var responseEntity = restTemplate.getForEntity(createUrlWithPort("/todos/scroll?cursor=invalid"), String.class);
+
+        //then
+        assertEquals(HttpStatus.BAD_REQUEST, responseEntity.getStatusCode());
+    }
+
+    @Test
+    void shouldExportAllItemsAsNewlineDelimitedJson() throws JsonProcessingException {
+        //given
+        saveItem("a", Status.DONE, CURRENT_DATE, AFTER_DATE, CURRENT_DATE);
+        saveItem("b", Status.NOT_DONE, CURRENT_DATE.plusHours(1), AFTER_DATE, null);
+        saveItem("c", Status.PAST_DUE, CURRENT_DATE.plusHours(2), CURRENT_DATE, null);
+
+        //when
+        var responseEntity = restTemplate.getForEntity(createUrlWithPort("/todos/export"), String.class);
+
+        //then
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(MediaType.APPLICATION_NDJSON, responseEntity.getHeaders().getContentType());
+
+        var lines = Objects.requireNonNull(responseEntity.getBody()).split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("a", objectMapper.readValue(lines[0], TodoItemDto.class).getDescription());
+        assertEquals("c", objectMapper.readValue(lines[2], TodoItemDto.class).getDescription());
+    }
+
+    @Test
+    void shouldExportItemsWithTheGivenStatus() throws JsonProcessingException {
+        //given
+        saveItem("a", Status.DONE, CURRENT_DATE, AFTER_DATE, CURRENT_DATE);
+        saveItem("b", Status.NOT_DONE, CURRENT_DATE.plusHours(1), AFTER_DATE, null);
+
+        //when
+        var responseEntity = restTemplate.getForEntity(createUrlWithPort("/todos/export?status=NOT_DONE"), String.class);
+
+        //then
+        var lines = Objects.requireNonNull(responseEntity.getBody()).split("\n");
+        assertEquals(1, lines.length);
+        assertEquals("b", objectMapper.readValue(lines[0], TodoItemDto.class).getDescription());
+    }
+
     @Test
     void shouldGetItem() {
         //given
@@ -485,6 +990,51 @@ class TodoControllerTest {
         assertThat(responseBody).hasNoNullFieldsOrProperties();
     }
 
+    @Test
+    void shouldGetItemNotModifiedUntilItChanges() {
+        //given
+        Mockito.when(timeService.getLocalDateTime()).thenReturn(CURRENT_DATE);
+        var itemId = saveItem("description", Status.NOT_DONE, CURRENT_DATE, AFTER_DATE, null);
+        var eTag = restTemplate.getForEntity(createUrlWithPort("/todos/" + itemId), TodoItemDto.class).getHeaders().getETag();
+
+        //when
+        var notModifiedResponse = restTemplate.exchange(createUrlWithPort("/todos/" + itemId), HttpMethod.GET,
+                new HttpEntity<>(ifNoneMatch(eTag)), String.class);
+        restTemplate.put(createUrlWithPort("/todos/" + itemId + "/done"), null);
+        var modifiedResponse = restTemplate.exchange(createUrlWithPort("/todos/" + itemId), HttpMethod.GET,
+                new HttpEntity<>(ifNoneMatch(eTag)), TodoItemDto.class);
+
+        //then
+        assertEquals("W/\"0\"", eTag);
+        assertEquals(HttpStatus.NOT_MODIFIED, notModifiedResponse.getStatusCode());
+        assertNull(notModifiedResponse.getBody());
+        assertEquals(HttpStatus.OK, modifiedResponse.getStatusCode());
+        assertEquals("W/\"1\"", modifiedResponse.getHeaders().getETag());
+        assertEquals(Status.DONE, Objects.requireNonNull(modifiedResponse.getBody()).getStatus());
+    }
+
+    @Test
+    void shouldGetNotDoneItemsNotModifiedUntilAnItemChanges() {
+        //given
+        Mockito.when(timeService.getLocalDateTime()).thenReturn(CURRENT_DATE);
+        var itemId = saveItem("description", Status.NOT_DONE, CURRENT_DATE, AFTER_DATE, null);
+        var eTag = restTemplate.getForEntity(createUrlWithPort("/todos/not-done"), String.class).getHeaders().getETag();
+
+        //when
+        var notModifiedResponse = restTemplate.exchange(createUrlWithPort("/todos/not-done"), HttpMethod.GET,
+                new HttpEntity<>(ifNoneMatch(eTag)), String.class);
+        restTemplate.put(createUrlWithPort("/todos/" + itemId + "/done"), null);
+        var modifiedResponse = restTemplate.exchange(createUrlWithPort("/todos/not-done"), HttpMethod.GET,
+                new HttpEntity<>(ifNoneMatch(eTag)), String.class);
+
+        //then
+        assertNotNull(eTag);
+        assertEquals(HttpStatus.NOT_MODIFIED, notModifiedResponse.getStatusCode());
+        assertNull(notModifiedResponse.getBody());
+        assertEquals(HttpStatus.OK, modifiedResponse.getStatusCode());
+        assertNotEquals(eTag, modifiedResponse.getHeaders().getETag());
+    }
+
     @Test
     void shouldFailGetItemWhenItemNotFoundWithId() {
         //given
@@ -499,13 +1049,82 @@ class TodoControllerTest {
         assertEquals(expectedResponseBody, responseEntity.getBody());
     }
 
+    @Test
+    void shouldStreamCreatedAndStatusChangedEvents() throws Exception {
+        //given
+        Mockito.when(timeService.getLocalDateTime()).thenReturn(CURRENT_DATE);
+
+        var client = HttpClient.newHttpClient();
+        var request = HttpRequest.newBuilder(URI.create(createUrlWithPort("/todos/stream")))
+                .header(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE)
+                .build();
+        var stream = client.sendAsync(request, HttpResponse.BodyHandlers.ofLines()).get(10, TimeUnit.SECONDS);
+
+        //when
+        var created = restTemplate.postForEntity(createUrlWithPort("/todos"),
+                createItemDto("description", AFTER_DATE), TodoItemDto.class).getBody();
+        assertNotNull(created);
+        restTemplate.exchange(createUrlWithPort("/todos/" + created.getId() + "/done"), HttpMethod.PUT,
+                HttpEntity.EMPTY, TodoItemDto.class);
+
+        var lines = stream.body().iterator();
+        var events = CompletableFuture.supplyAsync(() -> List.of(readEvent(lines), readEvent(lines)))
+                .get(10, TimeUnit.SECONDS);
+        stream.body().close();
+
+        //then
+        assertEquals(HttpStatus.OK.value(), stream.statusCode());
+        assertEquals("created", events.get(0).getKey());
+        assertEquals(created.getId(), events.get(0).getValue().getId());
+        assertEquals(Status.NOT_DONE, events.get(0).getValue().getStatus());
+        assertEquals("status-changed", events.get(1).getKey());
+        assertEquals(created.getId(), events.get(1).getValue().getId());
+        assertEquals(Status.DONE, events.get(1).getValue().getStatus());
+    }
+
     private UUID saveItem(String description, Status status, LocalDateTime creationDate, LocalDateTime dueDate,
                           LocalDateTime doneDate) {
-        var entity = new TodoItemEntity(null, description, status, creationDate, dueDate, doneDate);
+        var entity = new TodoItemEntity(null, description, status, creationDate, dueDate, doneDate, null);
 
         return repository.save(entity).getId();
     }
 
+    private Map.Entry<String, TodoItemDto> readEvent(Iterator<String> lines) {
+        String name = null;
+        while (lines.hasNext()) {
+            var line = lines.next();
+            if (line.startsWith("event:")) {
+                name = line.substring("event:".length());
+            } else if (line.startsWith("data:")) {
+                try {
+                    return Map.entry(name, objectMapper.readValue(line.substring("data:".length()), TodoItemDto.class));
+                } catch (JsonProcessingException exception) {
+                    throw new IllegalStateException(exception);
+                }
+            }
+        }
+        throw new IllegalStateException("The stream ended before the event.");
+    }
+
+    private HttpHeaders ifMatch(String eTag) {
+        var headers = new HttpHeaders();
+        headers.setIfMatch(eTag);
+        return headers;
+    }
+
+    private HttpHeaders ifNoneMatch(String eTag) {
+        var headers = new HttpHeaders();
+        headers.setIfNoneMatch(eTag);
+        return headers;
+    }
+
+    private CreateItemDto createItemDto(String description, LocalDateTime dueDate) {
+        var dto = new CreateItemDto();
+        dto.setDescription(description);
+        dto.setDueDate(dueDate);
+        return dto;
+    }
+
     private String createUrlWithPort(String uri) {
         return "http://localhost:" + port + uri;
     }
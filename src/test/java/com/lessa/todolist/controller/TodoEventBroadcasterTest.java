@@ -0,0 +1,173 @@
+package com.lessa.todolist.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.lessa.todolist.domain.Status;
+import com.lessa.todolist.domain.TodoEvent;
+import com.lessa.todolist.domain.TodoItem;
+import com.lessa.todolist.service.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.awaitility.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoEventBroadcasterTest {
+
+    private final static LocalDateTime CURRENT_DATE = LocalDateTime.of(2024, 3, 17, 0, 0);
+    private final static LocalDateTime AFTER_DATE = LocalDateTime.of(2024, 3, 18, 0, 0);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldShareOneFrameBetweenSubscribersAndDisconnectTheSlowOne() throws TooManyRequestsException {
+        //given
+        var fastEmitter = new RecordingEmitter();
+        var otherFastEmitter = new RecordingEmitter();
+        var slowEmitter = new BlockedEmitter();
+        var emitters = new ArrayDeque<SseEmitter>(List.of(fastEmitter, otherFastEmitter, slowEmitter));
+        var broadcaster = new TodoEventBroadcaster(objectMapper, emitters::poll, 2, 10, meterRegistry);
+        broadcaster.subscribe();
+        broadcaster.subscribe();
+        broadcaster.subscribe();
+
+        //when
+        for (int events = 1; events <= 5; events++) {
+            broadcaster.onEvent(TodoEvent.pastDue(List.of(UUID.randomUUID()), CURRENT_DATE));
+            var sentEvents = events;
+            await().atMost(Duration.FIVE_SECONDS).until(() -> fastEmitter.frames.size() == sentEvents + 1 &&
+                    otherFastEmitter.frames.size() == sentEvents + 1);
+        }
+
+        //then
+        assertEquals(2, broadcaster.getSubscriberCount());
+        assertEquals(1, meterRegistry.get("todo.stream.slow.disconnects").counter().count());
+        assertSame(fastEmitter.frames.get(1), otherFastEmitter.frames.get(1));
+        slowEmitter.release.countDown();
+    }
+
+    @Test
+    void shouldRenderItemEventsAsServerSentEvents() throws TooManyRequestsException {
+        //given
+        var emitter = new RecordingEmitter();
+        var broadcaster = new TodoEventBroadcaster(objectMapper, () -> emitter, 2, 10, meterRegistry);
+        broadcaster.subscribe();
+        var item = new TodoItem(UUID.randomUUID(), "description", Status.DONE, CURRENT_DATE, AFTER_DATE, CURRENT_DATE,
+                1L);
+
+        //when
+        broadcaster.onEvent(TodoEvent.statusChanged(item));
+        await().atMost(Duration.FIVE_SECONDS).until(() -> emitter.frames.size() == 2);
+
+        //then
+        var frame = new String((byte[]) emitter.frames.get(1).iterator().next().getData(), StandardCharsets.UTF_8);
+        assertTrue(frame.startsWith("id:1\nevent:status-changed\ndata:{\"id\":\"" + item.getId() + "\""));
+        assertTrue(frame.endsWith("}\n\n"));
+    }
+
+    @Test
+    void shouldRejectSubscribersOverTheLimit() throws TooManyRequestsException {
+        //given
+        var broadcaster = new TodoEventBroadcaster(objectMapper, RecordingEmitter::new, 2, 1, meterRegistry);
+        broadcaster.subscribe();
+
+        //when
+        var exception = assertThrows(TooManyRequestsException.class, broadcaster::subscribe);
+
+        //then
+        assertEquals("The event stream has too many subscribers. Try again later.", exception.getMessage());
+    }
+
+    @Test
+    void shouldKeepConcurrentSubscribersWithinTheLimit() throws Exception {
+        //given
+        var broadcaster = new TodoEventBroadcaster(objectMapper, RecordingEmitter::new, 2, 5, meterRegistry);
+        var start = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(20);
+        var subscriptions = new ArrayList<Future<Boolean>>();
+        for (int i = 0; i < 20; i++) {
+            subscriptions.add(executor.submit(() -> {
+                start.await();
+                try {
+                    broadcaster.subscribe();
+                    return true;
+                } catch (TooManyRequestsException exception) {
+                    return false;
+                }
+            }));
+        }
+
+        //when
+        start.countDown();
+        var accepted = 0;
+        for (var subscription : subscriptions) {
+            accepted += subscription.get() ? 1 : 0;
+        }
+        executor.shutdown();
+
+        //then
+        assertEquals(5, accepted);
+        assertEquals(5, broadcaster.getSubscriberCount());
+    }
+
+    @Test
+    void shouldFreeTheSlotOfADisconnectedSubscriber() throws TooManyRequestsException {
+        //given
+        var slowEmitter = new BlockedEmitter();
+        var emitters = new ArrayDeque<SseEmitter>(List.of(slowEmitter, new RecordingEmitter()));
+        var broadcaster = new TodoEventBroadcaster(objectMapper, emitters::poll, 1, 1, meterRegistry);
+        broadcaster.subscribe();
+
+        //when
+        for (int events = 0; events < 3; events++) {
+            broadcaster.onEvent(TodoEvent.pastDue(List.of(UUID.randomUUID()), CURRENT_DATE));
+        }
+        broadcaster.subscribe();
+
+        //then
+        assertEquals(1, broadcaster.getSubscriberCount());
+        assertEquals(1, meterRegistry.get("todo.stream.slow.disconnects").counter().count());
+        slowEmitter.release.countDown();
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<Set<DataWithMediaType>> frames = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(Set<DataWithMediaType> items) {
+            frames.add(items);
+        }
+    }
+
+    private static class BlockedEmitter extends SseEmitter {
+
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void send(Set<DataWithMediaType> items) throws IOException {
+            try {
+                release.await();
+            } catch (InterruptedException exception) {
+                throw new IOException(exception);
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.lessa.todolist.persistence.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedUuidGeneratorTest {
+
+    private final static long CURRENT_MILLIS = 1_710_633_600_000L;
+
+    @Test
+    void shouldGenerateVersion7UuidWithTheCurrentTimestamp() {
+        //given
+        var generator = new TimeOrderedUuidGenerator(() -> CURRENT_MILLIS);
+
+        //when
+        var uuid = generator.next();
+
+        //then
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertEquals(CURRENT_MILLIS, uuid.getMostSignificantBits() >>> 16);
+    }
+
+    @Test
+    void shouldGenerateIncreasingUuidsWithinTheSameMillisecond() {
+        //given
+        var generator = new TimeOrderedUuidGenerator(() -> CURRENT_MILLIS);
+
+        //when
+        var first = generator.next();
+        var second = generator.next();
+
+        //then
+        assertTrue(Long.compareUnsigned(first.getMostSignificantBits(), second.getMostSignificantBits()) < 0);
+        assertEquals(CURRENT_MILLIS, second.getMostSignificantBits() >>> 16);
+    }
+
+    @Test
+    void shouldKeepIncreasingWhenTheClockGoesBack() {
+        //given
+        var clock = new AtomicLong(CURRENT_MILLIS);
+        var generator = new TimeOrderedUuidGenerator(clock::get);
+
+        //when
+        var first = generator.next();
+        clock.set(CURRENT_MILLIS - 1000);
+        var second = generator.next();
+
+        //then
+        assertTrue(Long.compareUnsigned(first.getMostSignificantBits(), second.getMostSignificantBits()) < 0);
+    }
+
+    @Test
+    void shouldBorrowTheNextMillisecondWhenTheCounterRunsOut() {
+        //given
+        var generator = new TimeOrderedUuidGenerator(() -> CURRENT_MILLIS);
+
+        //when
+        for (int i = 0; i < 4096; i++) {
+            generator.next();
+        }
+        var uuid = generator.next();
+
+        //then
+        assertEquals(CURRENT_MILLIS + 1, uuid.getMostSignificantBits() >>> 16);
+        assertEquals(7, uuid.version());
+    }
+}
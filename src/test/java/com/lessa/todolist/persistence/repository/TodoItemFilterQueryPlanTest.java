@@ -0,0 +1,141 @@
+package com.lessa.todolist.persistence.repository;
+
+import com.lessa.todolist.domain.Status;
+import com.lessa.todolist.domain.TodoItemFilter;
+import com.lessa.todolist.persistence.entity.TodoItemEntity;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Explains the statements of every supported filter combination, with the filter values inlined by Hibernate, and
+ * checks that H2 reads them from an index rather than scanning the table.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline")
+class TodoItemFilterQueryPlanTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2024, 3, 17, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2024, 3, 24, 0, 0);
+
+    @Autowired
+    private TodoItemRepository repository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private RecordingStatementInspector statements;
+
+    @BeforeEach
+    void setUp() {
+        var statuses = Status.values();
+        for (int i = 0; i < 300; i++) {
+            var status = statuses[i % statuses.length];
+            var dueDate = FROM.minusDays(30).plusHours(i * 5L);
+            entityManager.persist(new TodoItemEntity(null, "description " + i, status, FROM.minusDays(60), dueDate,
+                    status == Status.DONE ? dueDate.minusDays(1) : null, null));
+        }
+        entityManager.flush();
+        entityManager.getEntityManager().createNativeQuery("analyze").executeUpdate();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("filterProvider")
+    void shouldReadEveryFilterCombinationFromAnIndex(String combination, TodoItemFilter filter) {
+        //given
+        statements.clear();
+
+        //when
+        repository.findAllItemsMatching(TodoItemSpecifications.matching(filter), PageRequest.of(0, 2, Sort.by("dueDate")));
+        var explained = statements.recorded();
+
+        //then
+        assertEquals(2, explained.size(), "a select and a count statement");
+        for (var sql : explained) {
+            var plan = explain(sql);
+            assertFalse(plan.contains("tableScan"), plan);
+            assertTrue(plan.contains("IDX_TODO_ITEM_"), plan);
+        }
+    }
+
+    private String explain(String sql) {
+        return (String) entityManager.getEntityManager()
+                .createNativeQuery("explain " + sql.replace("?", "5"))
+                .getSingleResult();
+    }
+
+    private static Stream<Arguments> filterProvider() {
+        var notDone = EnumSet.of(Status.NOT_DONE);
+        var doneAndPastDue = EnumSet.of(Status.DONE, Status.PAST_DUE);
+        return Stream.of(
+                Arguments.of("status", filter(notDone, null, null, null, null)),
+                Arguments.of("statuses", filter(doneAndPastDue, null, null, null, null)),
+                Arguments.of("due range", filter(Set.of(), FROM, TO, null, null)),
+                Arguments.of("due from", filter(Set.of(), FROM, null, null, null)),
+                Arguments.of("due to", filter(Set.of(), null, TO, null, null)),
+                Arguments.of("done range", filter(Set.of(), null, null, FROM, TO)),
+                Arguments.of("status and due range", filter(notDone, FROM, TO, null, null)),
+                Arguments.of("statuses and due range", filter(doneAndPastDue, FROM, TO, null, null)),
+                Arguments.of("status and done range", filter(EnumSet.of(Status.DONE), null, null, FROM, TO)),
+                Arguments.of("due and done ranges", filter(Set.of(), FROM, TO, FROM, TO)),
+                Arguments.of("statuses, due and done ranges", filter(doneAndPastDue, FROM, TO, FROM, TO)));
+    }
+
+    private static TodoItemFilter filter(Set<Status> statuses, LocalDateTime dueFrom, LocalDateTime dueTo,
+                                         LocalDateTime doneFrom, LocalDateTime doneTo) {
+        return new TodoItemFilter(statuses, dueFrom, dueTo, doneFrom, doneTo, null);
+    }
+
+    @TestConfiguration
+    static class StatementRecordingConfig {
+
+        @Bean
+        RecordingStatementInspector recordingStatementInspector() {
+            return new RecordingStatementInspector();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementInspectorCustomizer(RecordingStatementInspector inspector) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+
+    static class RecordingStatementInspector implements StatementInspector {
+
+        private final List<String> statements = new ArrayList<>();
+
+        @Override
+        public synchronized String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+
+        synchronized List<String> recorded() {
+            return List.copyOf(statements);
+        }
+
+        synchronized void clear() {
+            statements.clear();
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.lessa.todolist.persistence.repository;
 
 import com.lessa.todolist.domain.Status;
+import com.lessa.todolist.domain.TodoItem;
+import com.lessa.todolist.domain.TodoItemFilter;
 import com.lessa.todolist.persistence.entity.TodoItemEntity;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,10 +13,17 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.UUID;
 import java.util.stream.Stream;
 
@@ -26,6 +36,9 @@ class TodoItemRepositoryTest {
     @Autowired
     private TodoItemRepository repository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     @BeforeEach
     void cleanUp() {
         repository.deleteAll();
@@ -47,6 +60,146 @@ class TodoItemRepositoryTest {
         assertEquals(statusFilter, pageResult.getContent().get(0).getStatus());
     }
 
+    @Test
+    void saveGeneratesTimeOrderedIds() {
+        //given
+        var firstItemId = createTodoItemEntity(Status.NOT_DONE, null);
+        var secondItemId = createTodoItemEntity(Status.NOT_DONE, null);
+        var thirdItemId = createTodoItemEntity(Status.NOT_DONE, null);
+        entityManager.flush();
+        entityManager.clear();
+
+        //when
+        var entities = repository.findAll(Sort.by("id"));
+
+        //then
+        assertEquals(List.of(firstItemId, secondItemId, thirdItemId), entities.stream().map(TodoItemEntity::getId).toList());
+        assertTrue(entities.stream().allMatch(entity -> entity.getId().version() == 7));
+    }
+
+    @Test
+    void insertWithAssignedIdKeepsTheId() {
+        //given
+        var itemId = UUID.randomUUID();
+        var currentDate = LocalDateTime.of(2024, 3, 18, 0, 0);
+        var itemEntity = new TodoItemEntity(itemId, "description", Status.NOT_DONE, currentDate, currentDate.plusDays(1),
+                null, null);
+
+        //when
+        var inserted = repository.insertWithAssignedId(itemEntity);
+        entityManager.clear();
+
+        //then
+        assertEquals(1, inserted);
+        var entity = repository.findById(itemId).orElseThrow();
+        assertEquals("description", entity.getDescription());
+        assertEquals(Status.NOT_DONE, entity.getStatus());
+        assertEquals(currentDate.plusDays(1), entity.getDueDate());
+        assertEquals(0, entity.getVersion());
+    }
+
+    @Test
+    void findAllItemsByStatus() {
+        //given
+        var currentDate = LocalDateTime.of(2024, 3, 18, 0, 0);
+
+        var secondItemId = createTodoItemEntity(Status.NOT_DONE, currentDate.plusHours(1), currentDate.plusDays(1));
+        var firstItemId = createTodoItemEntity(Status.NOT_DONE, currentDate, currentDate.plusDays(2));
+        createTodoItemEntity(Status.DONE, currentDate, currentDate.plusDays(1));
+        entityManager.flush();
+        entityManager.clear();
+
+        //when
+        var allItems = repository.findAllItems(PageRequest.of(0, 2, Sort.by("creationDate")));
+        var notDoneItems = repository.findAllItemsByStatus(Status.NOT_DONE, PageRequest.of(0, 1, Sort.by("creationDate")));
+
+        //then
+        assertEquals(3, allItems.getTotalElements());
+        assertEquals(2, allItems.getContent().size());
+        assertEquals(2, notDoneItems.getTotalElements());
+        assertEquals(firstItemId, notDoneItems.getContent().get(0).getId());
+        assertEquals(currentDate.plusDays(2), notDoneItems.getContent().get(0).getDueDate());
+        assertEquals(Status.NOT_DONE, notDoneItems.getContent().get(0).getStatus());
+        assertNotEquals(secondItemId, notDoneItems.getContent().get(0).getId());
+        assertEquals(0, entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    void findAllItemsByStatusAndDueDateAfter() {
+        //given
+        var currentDate = LocalDateTime.of(2024, 3, 18, 0, 0);
+
+        createTodoItemEntity(Status.NOT_DONE, currentDate);
+        var notDueItemId = createTodoItemEntity(Status.NOT_DONE, currentDate.plusDays(1));
+        createTodoItemEntity(Status.DONE, currentDate.plusDays(1));
+
+        //when
+        var notDueItems = repository.findAllItemsByStatusAndDueDateAfter(Status.NOT_DONE, currentDate,
+                PageRequest.of(0, 10, Sort.by("dueDate")));
+        var notDueSlice = repository.sliceAllItemsByStatusAndDueDateAfter(Status.NOT_DONE, currentDate,
+                PageRequest.of(0, 10, Sort.by("dueDate")));
+
+        //then
+        assertEquals(1, notDueItems.getTotalElements());
+        assertEquals(notDueItemId, notDueItems.getContent().get(0).getId());
+        assertEquals(List.of(notDueItemId), notDueSlice.map(TodoItem::getId).getContent());
+        assertEquals(1, repository.countByStatusAndDueDateAfter(Status.NOT_DONE, currentDate));
+    }
+
+    @Test
+    void sliceAllItemsByStatus() {
+        //given
+        var currentDate = LocalDateTime.of(2024, 3, 18, 0, 0);
+
+        createTodoItemEntity(Status.NOT_DONE, currentDate, currentDate.plusDays(1));
+        var secondItemId = createTodoItemEntity(Status.NOT_DONE, currentDate.plusHours(1), currentDate.plusDays(1));
+        createTodoItemEntity(Status.DONE, currentDate, currentDate.plusDays(1));
+
+        //when
+        var firstSlice = repository.sliceAllItemsByStatus(Status.NOT_DONE, PageRequest.of(0, 1, Sort.by("creationDate")));
+        var lastSlice = repository.sliceAllItemsByStatus(Status.NOT_DONE, PageRequest.of(1, 1, Sort.by("creationDate")));
+        var allItemsSlice = repository.sliceAllItems(PageRequest.of(0, 3, Sort.by("creationDate")));
+
+        //then
+        assertTrue(firstSlice.hasNext());
+        assertEquals(1, firstSlice.getContent().size());
+        assertFalse(lastSlice.hasNext());
+        assertEquals(secondItemId, lastSlice.getContent().get(0).getId());
+        assertFalse(allItemsSlice.hasNext());
+        assertEquals(3, allItemsSlice.getContent().size());
+        assertEquals(2, repository.countByStatus(Status.NOT_DONE));
+    }
+
+    @Test
+    void findAllItemsMatchingAFilter() {
+        //given
+        var currentDate = LocalDateTime.of(2024, 3, 18, 0, 0);
+
+        var dueItemId = createTodoItemEntity(Status.NOT_DONE, currentDate);
+        var notDueItemId = createTodoItemEntity(Status.NOT_DONE, currentDate.plusDays(1));
+        var pastDueItemId = createTodoItemEntity(Status.PAST_DUE, currentDate.plusDays(2));
+        createTodoItemEntity(Status.PAST_DUE, currentDate.plusDays(3));
+        createTodoItemEntity(Status.DONE, currentDate.plusDays(1));
+        var filter = new TodoItemFilter(EnumSet.of(Status.NOT_DONE, Status.PAST_DUE), currentDate, currentDate.plusDays(3),
+                null, null, null);
+
+        //when
+        var page = repository.findAllItemsMatching(TodoItemSpecifications.matching(filter),
+                PageRequest.of(0, 2, Sort.by("dueDate")));
+        var slice = repository.sliceAllItemsMatching(TodoItemSpecifications.matching(filter),
+                PageRequest.of(1, 2, Sort.by("dueDate")));
+        var pastDueAsOfNow = repository.findAllItemsMatching(TodoItemSpecifications.matching(new TodoItemFilter(
+                EnumSet.of(Status.PAST_DUE), null, currentDate.plusDays(3), null, null, currentDate)), Pageable.unpaged());
+
+        //then
+        assertEquals(3, page.getTotalElements());
+        assertEquals(List.of(dueItemId, notDueItemId), page.map(TodoItem::getId).getContent());
+        assertFalse(slice.hasNext());
+        assertEquals(List.of(pastDueItemId), slice.map(TodoItem::getId).getContent());
+        assertEquals(2, pastDueAsOfNow.getTotalElements());
+        assertTrue(pastDueAsOfNow.map(TodoItem::getId).getContent().containsAll(List.of(dueItemId, pastDueItemId)));
+    }
+
     public static Stream<Arguments> findAllByStatusProvider() {
         return Stream.of(
                 Arguments.of(Status.NOT_DONE),
@@ -55,19 +208,131 @@ class TodoItemRepositoryTest {
         );
     }
 
+    @Test
+    void findByScrollsThroughAllItemsWithKeyset() {
+        //given
+        var creationDate = LocalDateTime.of(2024, 3, 18, 0, 0);
+        var first = createTodoItemEntity(Status.DONE, creationDate, creationDate);
+        var second = createTodoItemEntity(Status.NOT_DONE, creationDate.plusHours(1), creationDate);
+        var third = createTodoItemEntity(Status.PAST_DUE, creationDate.plusHours(2), creationDate);
+        var sort = Sort.by("creationDate", "id");
+
+        //when
+        var firstWindow = repository.findBy(ScrollPosition.keyset(), Limit.of(2), sort);
+        var secondWindow = repository.findBy(firstWindow.positionAt(firstWindow.size() - 1), Limit.of(2), sort);
+
+        //then
+        assertTrue(firstWindow.hasNext());
+        assertEquals(List.of(first, second), firstWindow.map(TodoItemEntity::getId).getContent());
+        assertFalse(secondWindow.hasNext());
+        assertEquals(List.of(third), secondWindow.map(TodoItemEntity::getId).getContent());
+    }
+
+    @Test
+    void findByChangeSequenceScrollsThroughTheChangesUpToTheGivenSequence() {
+        //given
+        var currentDate = LocalDateTime.of(2024, 3, 18, 0, 0);
+        var changedFirst = createTodoItemEntity(Status.NOT_DONE, currentDate.plusDays(1));
+        var changedSecond = createTodoItemEntity(Status.NOT_DONE, currentDate.plusDays(1));
+        var changedLater = createTodoItemEntity(Status.NOT_DONE, currentDate.plusDays(1));
+        entityManager.flush();
+        entityManager.clear();
+        repository.markAsDone(changedSecond, null, currentDate, 2L);
+        repository.markAsDone(changedFirst, null, currentDate, 1L);
+        repository.markAsDone(changedLater, null, currentDate, 3L);
+        var sort = Sort.by("changeSequence", "id");
+
+        //when
+        var firstWindow = repository.findByChangeSequenceLessThanEqual(2, ScrollPosition.keyset(), Limit.of(1), sort);
+        var secondWindow = repository.findByChangeSequenceLessThanEqual(2, firstWindow.positionAt(0), Limit.of(10),
+                sort);
+
+        //then
+        assertTrue(firstWindow.hasNext());
+        assertEquals(List.of(changedFirst), firstWindow.map(TodoItemEntity::getId).getContent());
+        assertFalse(secondWindow.hasNext());
+        assertEquals(List.of(changedSecond), secondWindow.map(TodoItemEntity::getId).getContent());
+        assertEquals(3, repository.findMaxChangeSequence());
+    }
+
+    @Test
+    void findByStatusScrollsThroughItemsWithKeyset() {
+        //given
+        var dueDate = LocalDateTime.of(2024, 3, 18, 0, 0);
+        var first = createTodoItemEntity(Status.NOT_DONE, dueDate, dueDate);
+        createTodoItemEntity(Status.DONE, dueDate, dueDate.plusHours(1));
+        var second = createTodoItemEntity(Status.NOT_DONE, dueDate, dueDate.plusHours(2));
+        var sort = Sort.by(Sort.Direction.DESC, "dueDate", "id");
+
+        //when
+        var firstWindow = repository.findByStatus(Status.NOT_DONE, ScrollPosition.keyset(), Limit.of(1), sort);
+        var secondWindow = repository.findByStatus(Status.NOT_DONE, firstWindow.positionAt(0), Limit.of(1), sort);
+
+        //then
+        assertTrue(firstWindow.hasNext());
+        assertEquals(List.of(second), firstWindow.map(TodoItemEntity::getId).getContent());
+        assertFalse(secondWindow.hasNext());
+        assertEquals(List.of(first), secondWindow.map(TodoItemEntity::getId).getContent());
+    }
+
+    @Test
+    void findPastDueItemIds() {
+        //given
+        var currentDate = LocalDateTime.of(2024, 3, 18, 0, 0);
+        var dateToBeNotDue = LocalDateTime.of(2024, 3, 18, 0, 1);
+
+        var firstPastDueItemId = createTodoItemEntity(Status.NOT_DONE, currentDate.minusDays(2));
+        var secondPastDueItemId = createTodoItemEntity(Status.NOT_DONE, currentDate);
+        createTodoItemEntity(Status.NOT_DONE, currentDate.minusDays(1));
+        createTodoItemEntity(Status.NOT_DONE, dateToBeNotDue);
+        createTodoItemEntity(Status.DONE, currentDate.minusDays(3));
+
+        //when
+        var allPastDueItemIds = repository.findPastDueItemIds(currentDate, Limit.of(10));
+        var firstPastDueItemIds = repository.findPastDueItemIds(currentDate, Limit.of(1));
+
+        //then
+        assertEquals(3, allPastDueItemIds.size());
+        assertEquals(firstPastDueItemId, allPastDueItemIds.get(0));
+        assertEquals(secondPastDueItemId, allPastDueItemIds.get(2));
+        assertEquals(List.of(firstPastDueItemId), firstPastDueItemIds);
+    }
+
+    @Test
+    void lockPastDueItemIds() {
+        //given
+        var currentDate = LocalDateTime.of(2024, 3, 18, 0, 0);
+        var dateToBeDue = LocalDateTime.of(2024, 3, 17, 12, 0);
+        var dateToBeNotDue = LocalDateTime.of(2024, 3, 18, 0, 1);
+
+        var itemIdNotDoneDue = createTodoItemEntity(Status.NOT_DONE, dateToBeDue);
+        var itemIdNotDoneNotDue = createTodoItemEntity(Status.NOT_DONE, dateToBeNotDue);
+        var itemIdDoneDue = createTodoItemEntity(Status.DONE, dateToBeDue);
+        createTodoItemEntity(Status.NOT_DONE, dateToBeDue);
+
+        //when
+        var lockedItemIds = repository.lockPastDueItemIds(List.of(itemIdNotDoneDue, itemIdNotDoneNotDue, itemIdDoneDue),
+                currentDate);
+
+        //then
+        assertEquals(List.of(itemIdNotDoneDue), lockedItemIds);
+    }
+
     @Test
     void updatePastDueItemsStatus() {
         //given
         var currentDate = LocalDateTime.of(2024, 3, 18, 0, 0);
-        var dateToBeNotDue = LocalDateTime.of(2024, 3, 17, 12, 0);
-        var dateToBeDue = LocalDateTime.of(2024, 3, 18, 0, 1);
+        var dateToBeDue = LocalDateTime.of(2024, 3, 17, 12, 0);
+        var dateToBeNotDue = LocalDateTime.of(2024, 3, 18, 0, 1);
 
         var itemIdNotDoneStatusUpdated = createTodoItemEntity(Status.NOT_DONE, dateToBeDue);
         var itemIdNotDoneStatusNotUpdated = createTodoItemEntity(Status.NOT_DONE, dateToBeNotDue);
         var itemIdDoneStatusNotUpdated = createTodoItemEntity(Status.DONE, dateToBeDue);
+        var itemIdNotDoneOutOfChunk = createTodoItemEntity(Status.NOT_DONE, dateToBeDue);
 
         //when
-        var numberOfItemsUpdated = repository.updatePastDueItemsStatus(currentDate);
+        var numberOfItemsUpdated = repository.updatePastDueItemsStatus(
+                List.of(itemIdNotDoneStatusUpdated, itemIdNotDoneStatusNotUpdated, itemIdDoneStatusNotUpdated), currentDate, 7L);
 
         //then
         assertEquals(1, numberOfItemsUpdated);
@@ -75,10 +340,139 @@ class TodoItemRepositoryTest {
         var resultItemWithNotDoneStatusUpdated = repository.getReferenceById(itemIdNotDoneStatusUpdated);
         var resultItemWithNotDoneStatusNotUpdated = repository.getReferenceById(itemIdNotDoneStatusNotUpdated);
         var resultItemWithDoneStatusNotUpdated = repository.getReferenceById(itemIdDoneStatusNotUpdated);
+        var resultItemOutOfChunk = repository.getReferenceById(itemIdNotDoneOutOfChunk);
 
         assertEquals(Status.PAST_DUE, resultItemWithNotDoneStatusUpdated.getStatus());
+        assertEquals(7, resultItemWithNotDoneStatusUpdated.getChangeSequence());
+        assertEquals(0, resultItemWithNotDoneStatusNotUpdated.getChangeSequence());
         assertEquals(Status.NOT_DONE, resultItemWithNotDoneStatusNotUpdated.getStatus());
         assertEquals(Status.DONE, resultItemWithDoneStatusNotUpdated.getStatus());
+        assertEquals(Status.NOT_DONE, resultItemOutOfChunk.getStatus());
+    }
+
+    @Test
+    void markAsDone() {
+        //given
+        var currentDate = LocalDateTime.of(2024, 3, 18, 0, 0);
+        var dateToBeNotDue = LocalDateTime.of(2024, 3, 18, 0, 1);
+
+        var itemIdNotDone = createTodoItemEntity(Status.NOT_DONE, dateToBeNotDue);
+        var itemIdNotDoneAndDue = createTodoItemEntity(Status.NOT_DONE, currentDate);
+        var itemIdDone = createTodoItemEntity(Status.DONE, dateToBeNotDue);
+        entityManager.flush();
+        entityManager.clear();
+
+        //when
+        var updatedItem = repository.markAsDone(itemIdNotDone, null, currentDate, 7L);
+        var itemNotDoneAndDue = repository.markAsDone(itemIdNotDoneAndDue, null, currentDate, 7L);
+        var itemDone = repository.markAsDone(itemIdDone, null, currentDate, 7L);
+        var missingItem = repository.markAsDone(UUID.randomUUID(), null, currentDate, 7L);
+
+        //then
+        assertTrue(updatedItem.isPresent());
+        assertEquals(Status.DONE, updatedItem.get().getStatus());
+        assertEquals(currentDate, updatedItem.get().getDoneDate());
+        assertEquals(dateToBeNotDue, updatedItem.get().getDueDate());
+        assertEquals(1, updatedItem.get().getVersion());
+        assertTrue(itemNotDoneAndDue.isEmpty());
+        assertTrue(itemDone.isEmpty());
+        assertTrue(missingItem.isEmpty());
+        assertEquals(Status.NOT_DONE, repository.findById(itemIdNotDoneAndDue).orElseThrow().getStatus());
+    }
+
+    @Test
+    void markAsDoneOnlyAtTheExpectedVersion() {
+        //given
+        var currentDate = LocalDateTime.of(2024, 3, 18, 0, 0);
+        var itemId = createTodoItemEntity(Status.NOT_DONE, currentDate.plusDays(1));
+        entityManager.flush();
+        entityManager.clear();
+
+        //when
+        var itemAtOtherVersion = repository.markAsDone(itemId, 1L, currentDate, 7L);
+        var itemAtExpectedVersion = repository.markAsDone(itemId, 0L, currentDate, 7L);
+
+        //then
+        assertTrue(itemAtOtherVersion.isEmpty());
+        assertTrue(itemAtExpectedVersion.isPresent());
+        assertEquals(1, itemAtExpectedVersion.get().getVersion());
+    }
+
+    @Test
+    void markAsNotDone() {
+        //given
+        var currentDate = LocalDateTime.of(2024, 3, 18, 0, 0);
+        var dateToBeNotDue = LocalDateTime.of(2024, 3, 18, 0, 1);
+
+        var itemIdDone = createTodoItemEntity(Status.DONE, dateToBeNotDue);
+        var itemIdDoneAndDue = createTodoItemEntity(Status.DONE, currentDate);
+        var itemIdPastDue = createTodoItemEntity(Status.PAST_DUE, dateToBeNotDue);
+        entityManager.flush();
+        entityManager.clear();
+
+        //when
+        var updatedItem = repository.markAsNotDone(itemIdDone, null, currentDate, 7L);
+        var itemDoneAndDue = repository.markAsNotDone(itemIdDoneAndDue, null, currentDate, 7L);
+        var itemPastDue = repository.markAsNotDone(itemIdPastDue, null, currentDate, 7L);
+
+        //then
+        assertTrue(updatedItem.isPresent());
+        assertEquals(Status.NOT_DONE, updatedItem.get().getStatus());
+        assertNull(updatedItem.get().getDoneDate());
+        assertTrue(itemDoneAndDue.isEmpty());
+        assertTrue(itemPastDue.isEmpty());
+    }
+
+    @Test
+    void markAllAsDone() {
+        //given
+        var currentDate = LocalDateTime.of(2024, 3, 18, 0, 0);
+        var dateToBeNotDue = LocalDateTime.of(2024, 3, 18, 0, 1);
+
+        var firstItemIdNotDone = createTodoItemEntity(Status.NOT_DONE, dateToBeNotDue);
+        var secondItemIdNotDone = createTodoItemEntity(Status.NOT_DONE, dateToBeNotDue);
+        var itemIdNotDoneAndDue = createTodoItemEntity(Status.NOT_DONE, currentDate);
+        var itemIdDone = createTodoItemEntity(Status.DONE, dateToBeNotDue);
+        var itemIdNotDoneOutOfList = createTodoItemEntity(Status.NOT_DONE, dateToBeNotDue);
+        entityManager.flush();
+        entityManager.clear();
+
+        //when
+        var updatedItems = repository.markAllAsDone(
+                List.of(firstItemIdNotDone, secondItemIdNotDone, itemIdNotDoneAndDue, itemIdDone), currentDate, 7L);
+
+        //then
+        var updatedItemIds = updatedItems.stream().map(TodoItemEntity::getId).toList();
+        assertEquals(2, updatedItems.size());
+        assertTrue(updatedItemIds.containsAll(List.of(firstItemIdNotDone, secondItemIdNotDone)));
+        assertTrue(updatedItems.stream().allMatch(item -> item.getStatus() == Status.DONE));
+        assertTrue(updatedItems.stream().allMatch(item -> item.getChangeSequence() == 7));
+        assertEquals(Status.NOT_DONE, repository.findById(itemIdNotDoneOutOfList).orElseThrow().getStatus());
+    }
+
+    @Test
+    void streamAllItemsByStatus() {
+        //given
+        var currentDate = LocalDateTime.of(2024, 3, 18, 0, 0);
+
+        var secondItemId = createTodoItemEntity(Status.NOT_DONE, currentDate.plusHours(1), currentDate.plusDays(1));
+        var firstItemId = createTodoItemEntity(Status.NOT_DONE, currentDate, currentDate.plusDays(1));
+        createTodoItemEntity(Status.DONE, currentDate, currentDate.plusDays(1));
+
+        //when
+        List<UUID> allItemIds;
+        List<UUID> notDoneItemIds;
+        entityManager.flush();
+        entityManager.clear();
+        try (var allItems = repository.streamAllItems(); var notDoneItems = repository.streamAllItemsByStatus(Status.NOT_DONE)) {
+            allItemIds = allItems.map(TodoItem::getId).toList();
+            notDoneItemIds = notDoneItems.map(TodoItem::getId).toList();
+        }
+
+        //then
+        assertEquals(0, entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount());
+        assertEquals(3, allItemIds.size());
+        assertEquals(List.of(firstItemId, secondItemId), notDoneItemIds);
     }
 
     private void createTodoItemEntity(Status status) {
@@ -87,6 +481,14 @@ class TodoItemRepositoryTest {
         repository.save(itemEntity);
     }
 
+    private UUID createTodoItemEntity(Status status, LocalDateTime creationDate, LocalDateTime dueDate) {
+        var itemEntity = new TodoItemEntity();
+        itemEntity.setStatus(status);
+        itemEntity.setCreationDate(creationDate);
+        itemEntity.setDueDate(dueDate);
+        return repository.save(itemEntity).getId();
+    }
+
     private UUID createTodoItemEntity(Status status, LocalDateTime dueDate) {
         var itemEntity = new TodoItemEntity();
         itemEntity.setStatus(status);
@@ -0,0 +1,69 @@
+package com.lessa.todolist.persistence.store;
+
+import com.lessa.todolist.persistence.repository.TodoItemRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ChangeSequenceTest {
+
+    @Mock
+    TodoItemRepository repository;
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldHoldTheWatermarkBelowTheValuesOfTheTransactionsInFlight() {
+        //given
+        when(repository.findMaxChangeSequence()).thenReturn(5L);
+        var changeSequence = new ChangeSequence(repository);
+
+        //when
+        TransactionSynchronizationManager.initSynchronization();
+        var first = changeSequence.next();
+        var firstTransaction = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        TransactionSynchronizationManager.initSynchronization();
+        var second = changeSequence.next();
+        var secondTransaction = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        var watermarkInFlight = changeSequence.watermark();
+        secondTransaction.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        var watermarkBehindFirst = changeSequence.watermark();
+        firstTransaction.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        //then
+        assertEquals(6, first);
+        assertEquals(7, second);
+        assertEquals(5, watermarkInFlight);
+        assertEquals(5, watermarkBehindFirst);
+        assertEquals(7, changeSequence.watermark());
+    }
+
+    @Test
+    void shouldRefuseToDrawOutsideATransaction() {
+        //given
+        var changeSequence = new ChangeSequence(repository);
+
+        //when
+        var exception = assertThrows(IllegalStateException.class, changeSequence::next);
+
+        //then
+        assertEquals("A change sequence can only be drawn in a transaction.", exception.getMessage());
+    }
+}
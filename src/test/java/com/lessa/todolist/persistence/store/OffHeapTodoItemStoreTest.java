@@ -0,0 +1,398 @@
+package com.lessa.todolist.persistence.store;
+
+import com.lessa.todolist.domain.Status;
+import com.lessa.todolist.domain.TodoItem;
+import com.lessa.todolist.domain.TodoItemFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapTodoItemStoreTest {
+
+    private final static LocalDateTime CURRENT_DATE = LocalDateTime.of(2024, 3, 18, 0, 0);
+
+    private final OffHeapTodoItemStore store = new OffHeapTodoItemStore(4, 4);
+
+    @Test
+    void insertAssignsTimeOrderedIdsAndKeepsEveryField() {
+        //given
+        var item = new TodoItem(null, "description", Status.DONE, CURRENT_DATE, CURRENT_DATE.plusDays(1),
+                CURRENT_DATE.plusNanos(123_456_000), null);
+
+        //when
+        var inserted = store.insert(item);
+
+        //then
+        assertEquals(7, inserted.getId().version());
+        assertEquals(0L, inserted.getVersion());
+
+        var found = store.findById(inserted.getId()).orElseThrow();
+        assertEquals("description", found.getDescription());
+        assertEquals(Status.DONE, found.getStatus());
+        assertEquals(CURRENT_DATE, found.getCreationDate());
+        assertEquals(CURRENT_DATE.plusDays(1), found.getDueDate());
+        assertEquals(CURRENT_DATE.plusNanos(123_456_000), found.getDoneDate());
+        assertTrue(store.findById(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    void insertKeepsAnAssignedIdAndRejectsItTwice() {
+        //given
+        var itemId = UUID.randomUUID();
+
+        //when
+        store.insert(createItem(itemId, Status.NOT_DONE, CURRENT_DATE));
+
+        //then
+        assertTrue(store.findById(itemId).isPresent());
+        assertThrows(DuplicateKeyException.class, () -> store.insert(createItem(itemId, Status.NOT_DONE, CURRENT_DATE)));
+        assertEquals(1, store.count());
+    }
+
+    @Test
+    void insertAllStoresNoneOfTheItemsWhenAnIdIsDuplicated() {
+        //given
+        var storedId = UUID.randomUUID();
+        store.insert(createItem(storedId, Status.NOT_DONE, CURRENT_DATE));
+        var newId = UUID.randomUUID();
+
+        //when
+        assertThrows(DuplicateKeyException.class, () -> store.insertAll(List.of(
+                createItem(newId, Status.NOT_DONE, CURRENT_DATE),
+                createItem(storedId, Status.NOT_DONE, CURRENT_DATE))));
+        assertThrows(DuplicateKeyException.class, () -> store.insertAll(List.of(
+                createItem(newId, Status.NOT_DONE, CURRENT_DATE),
+                createItem(newId, Status.NOT_DONE, CURRENT_DATE))));
+
+        //then
+        assertTrue(store.findById(newId).isEmpty());
+        assertEquals(1, store.count());
+    }
+
+    @Test
+    void findsEveryItemAfterTheRecordsAndTheHashTableGrow() {
+        //when
+        var itemIds = IntStream.range(0, 1000)
+                .mapToObj(index -> store.insert(createItem(null, Status.NOT_DONE, CURRENT_DATE.plusMinutes(index))).getId())
+                .toList();
+
+        //then
+        assertTrue(itemIds.stream().allMatch(itemId -> store.findById(itemId).orElseThrow().getId().equals(itemId)));
+        assertEquals(1000, store.count());
+        assertEquals(1000, store.countByStatus(Status.NOT_DONE));
+    }
+
+    @Test
+    void updateOnlyAppliesAtTheStoredVersion() {
+        //given
+        var item = store.insert(createItem(null, Status.NOT_DONE, CURRENT_DATE));
+        item.setDescription("new description");
+
+        //when
+        var updated = store.update(item);
+
+        //then
+        assertEquals(1L, updated.getVersion());
+        assertEquals("new description", store.findById(item.getId()).orElseThrow().getDescription());
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> store.update(item));
+    }
+
+    @Test
+    void markAsDoneOnlyUpdatesNotDoneItemsThatAreNotDueYetAtTheExpectedVersion() {
+        //given
+        var item = store.insert(createItem(null, Status.NOT_DONE, CURRENT_DATE.plusDays(1)));
+        var dueItem = store.insert(createItem(null, Status.NOT_DONE, CURRENT_DATE));
+
+        //when
+        var staleVersion = store.markAsDone(item.getId(), 5L, CURRENT_DATE);
+        var done = store.markAsDone(item.getId(), 0L, CURRENT_DATE);
+        var alreadyDone = store.markAsDone(item.getId(), null, CURRENT_DATE);
+        var due = store.markAsDone(dueItem.getId(), null, CURRENT_DATE);
+
+        //then
+        assertTrue(staleVersion.isEmpty());
+        assertEquals(Status.DONE, done.orElseThrow().getStatus());
+        assertEquals(CURRENT_DATE, done.orElseThrow().getDoneDate());
+        assertEquals(1L, done.orElseThrow().getVersion());
+        assertTrue(alreadyDone.isEmpty());
+        assertTrue(due.isEmpty());
+        assertEquals(1, store.countByStatus(Status.DONE));
+        assertEquals(1, store.countByStatus(Status.NOT_DONE));
+    }
+
+    @Test
+    void findAllItemsByStatusPagesInTheRequestedOrder() {
+        //given
+        var laterItemId = store.insert(createItem(null, Status.NOT_DONE, CURRENT_DATE.plusDays(2))).getId();
+        var earlierItemId = store.insert(createItem(null, Status.NOT_DONE, CURRENT_DATE.plusDays(1))).getId();
+        store.insert(createItem(null, Status.DONE, CURRENT_DATE.plusDays(1)));
+
+        //when
+        var byDueDate = store.findAllItemsByStatus(Status.NOT_DONE, PageRequest.of(0, 1, Sort.by("dueDate")));
+        var byCreationDateDescending = store.findAllItemsByStatus(Status.NOT_DONE,
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "creationDate")));
+
+        //then
+        assertEquals(List.of(earlierItemId), byDueDate.map(TodoItem::getId).getContent());
+        assertEquals(2, byDueDate.getTotalElements());
+        assertEquals(List.of(laterItemId, earlierItemId), byCreationDateDescending.map(TodoItem::getId).getContent());
+    }
+
+    @Test
+    void sliceAllItemsTellsWhetherMoreItemsFollow() {
+        //given
+        IntStream.range(0, 3).forEach(index -> store.insert(createItem(null, Status.NOT_DONE, CURRENT_DATE.plusMinutes(index))));
+
+        //when
+        var first = store.sliceAllItems(PageRequest.of(0, 2));
+        var last = store.sliceAllItems(PageRequest.of(1, 2));
+
+        //then
+        assertEquals(2, first.getNumberOfElements());
+        assertTrue(first.hasNext());
+        assertEquals(1, last.getNumberOfElements());
+        assertFalse(last.hasNext());
+    }
+
+    @Test
+    void findAllItemsMatchingAFilterPagesThroughTheItemsInRangeWithTheStatuses() {
+        //given
+        var doneItemId = store.insert(createItem(null, Status.DONE, CURRENT_DATE.plusDays(2))).getId();
+        var pastDueItemId = store.insert(createItem(null, Status.PAST_DUE, CURRENT_DATE.plusDays(1))).getId();
+        store.insert(createItem(null, Status.NOT_DONE, CURRENT_DATE.plusDays(1)));
+        store.insert(createItem(null, Status.DONE, CURRENT_DATE.plusDays(3)));
+        var filter = new TodoItemFilter(EnumSet.of(Status.DONE, Status.PAST_DUE), CURRENT_DATE, CURRENT_DATE.plusDays(3),
+                null, null, null);
+
+        //when
+        var page = store.findAllItems(filter, PageRequest.of(0, 1, Sort.by("dueDate")));
+        var slice = store.sliceAllItems(filter, PageRequest.of(1, 1, Sort.by("dueDate")));
+
+        //then
+        assertEquals(2, page.getTotalElements());
+        assertEquals(List.of(pastDueItemId), page.map(TodoItem::getId).getContent());
+        assertEquals(List.of(doneItemId), slice.map(TodoItem::getId).getContent());
+        assertFalse(slice.hasNext());
+    }
+
+    @Test
+    void scrollAllByStatusReadsTheWindowAfterTheGivenPosition() {
+        //given
+        var itemIds = IntStream.range(0, 5)
+                .mapToObj(index -> store.insert(createItem(null, Status.NOT_DONE, CURRENT_DATE.plusDays(5 - index))).getId())
+                .toList();
+        var sort = Sort.by("dueDate", "id");
+
+        //when
+        var scrolled = new ArrayList<UUID>();
+        ScrollPosition position = ScrollPosition.keyset();
+        var windows = 0;
+        do {
+            var window = store.scrollAllByStatus(Status.NOT_DONE, position, Limit.of(2), sort);
+            window.forEach(item -> scrolled.add(item.getId()));
+            windows++;
+            position = window.hasNext() ? window.positionAt(window.size() - 1) : null;
+        } while (position != null);
+
+        //then
+        assertEquals(3, windows);
+        assertEquals(itemIds.reversed(), scrolled);
+        assertInstanceOf(KeysetScrollPosition.class,
+                store.scrollAll(ScrollPosition.keyset(), Limit.of(1), Sort.by("creationDate")).positionAt(0));
+    }
+
+    @Test
+    void dueAfterReadsOnlyTheItemsStillDueAndScrollsPastAPositionThatFellOutOfTheRange() {
+        //given
+        var dueItemId = store.insert(createItem(null, Status.NOT_DONE, CURRENT_DATE)).getId();
+        var firstNotDueItemId = store.insert(createItem(null, Status.NOT_DONE, CURRENT_DATE.plusDays(1))).getId();
+        var secondNotDueItemId = store.insert(createItem(null, Status.NOT_DONE, CURRENT_DATE.plusDays(2))).getId();
+        var sort = Sort.by("dueDate", "id");
+        var firstWindow = store.scrollAllByStatusDueAfter(Status.NOT_DONE, CURRENT_DATE.minusDays(1),
+                ScrollPosition.keyset(), Limit.of(1), sort);
+
+        //when
+        var page = store.findAllItemsByStatusDueAfter(Status.NOT_DONE, CURRENT_DATE, PageRequest.of(0, 10, sort));
+        var nextWindow = store.scrollAllByStatusDueAfter(Status.NOT_DONE, CURRENT_DATE, firstWindow.positionAt(0),
+                Limit.of(10), sort);
+
+        //then
+        assertEquals(dueItemId, firstWindow.getContent().get(0).getId());
+        assertEquals(List.of(firstNotDueItemId, secondNotDueItemId), page.map(TodoItem::getId).getContent());
+        assertEquals(2, page.getTotalElements());
+        assertEquals(List.of(firstNotDueItemId, secondNotDueItemId), nextWindow.map(TodoItem::getId).getContent());
+        assertEquals(2, store.countByStatusDueAfter(Status.NOT_DONE, CURRENT_DATE));
+    }
+
+    @Test
+    void dueAfterCountsLeaveOutTheItemsDueUpToTheDateWithoutADueDateOrWithAnotherStatus() {
+        //given
+        store.insert(new TodoItem(null, "description", Status.NOT_DONE, CURRENT_DATE, null, null, null));
+        store.insert(createItem(null, Status.NOT_DONE, CURRENT_DATE.minusDays(1)));
+        store.insert(createItem(null, Status.NOT_DONE, CURRENT_DATE));
+        var notDueItemId = store.insert(createItem(null, Status.NOT_DONE, CURRENT_DATE.plusNanos(1_000))).getId();
+        store.insert(createItem(null, Status.DONE, CURRENT_DATE.plusDays(1)));
+
+        //when
+        var count = store.countByStatusDueAfter(Status.NOT_DONE, CURRENT_DATE);
+        var page = store.findAllItemsByStatusDueAfter(Status.NOT_DONE, CURRENT_DATE, PageRequest.of(0, 10));
+
+        //then
+        assertEquals(1, count);
+        assertEquals(1, page.getTotalElements());
+        assertEquals(List.of(notDueItemId), page.map(TodoItem::getId).getContent());
+        assertEquals(0, store.countByStatusDueAfter(Status.NOT_DONE, CURRENT_DATE.plusDays(1)));
+        assertEquals(3, store.countByStatusDueAfter(Status.NOT_DONE, CURRENT_DATE.minusYears(1)));
+    }
+
+    @Test
+    void updatePastDueItemsStatusMovesTheDueNotDoneItems() {
+        //given
+        var dueItemId = store.insert(createItem(null, Status.NOT_DONE, CURRENT_DATE.minusDays(1))).getId();
+        var notDueItemId = store.insert(createItem(null, Status.NOT_DONE, CURRENT_DATE.plusDays(1))).getId();
+        store.insert(createItem(null, Status.DONE, CURRENT_DATE.minusDays(1)));
+
+        //when
+        var pastDueItemIds = store.findPastDueItemIds(CURRENT_DATE, Limit.of(10));
+        var updatedIds = store.updatePastDueItemsStatus(List.of(dueItemId, notDueItemId), CURRENT_DATE);
+
+        //then
+        assertEquals(List.of(dueItemId), pastDueItemIds);
+        assertEquals(List.of(dueItemId), updatedIds);
+        assertEquals(Status.PAST_DUE, store.findById(dueItemId).orElseThrow().getStatus());
+        assertEquals(Status.NOT_DONE, store.findById(notDueItemId).orElseThrow().getStatus());
+        assertTrue(store.findPastDueItemIds(CURRENT_DATE, Limit.of(10)).isEmpty());
+    }
+
+    @Test
+    void findLastDueDateReadsTheLatestDueDateUpToTheGivenOneAmongTheStatus() {
+        //given
+        store.insert(createItem(null, Status.NOT_DONE, CURRENT_DATE.minusDays(2)));
+        store.insert(createItem(null, Status.NOT_DONE, CURRENT_DATE.minusDays(1)));
+        store.insert(createItem(null, Status.NOT_DONE, CURRENT_DATE.plusDays(1)));
+        store.insert(createItem(null, Status.DONE, CURRENT_DATE));
+
+        //when
+        var lastDueDate = store.findLastDueDate(Status.NOT_DONE, CURRENT_DATE);
+
+        //then
+        assertEquals(CURRENT_DATE.minusDays(1), lastDueDate);
+        assertNull(store.findLastDueDate(Status.PAST_DUE, CURRENT_DATE));
+    }
+
+    @Test
+    void updateFreesTheDescriptionNoOtherItemPointsTo() {
+        //given
+        var shared = store.insert(new TodoItem(null, "shared", Status.NOT_DONE, CURRENT_DATE, CURRENT_DATE.plusDays(1), null, null));
+        var other = store.insert(new TodoItem(null, "shared", Status.NOT_DONE, CURRENT_DATE, CURRENT_DATE.plusDays(1), null, null));
+        var single = store.insert(new TodoItem(null, "single", Status.NOT_DONE, CURRENT_DATE, CURRENT_DATE.plusDays(1), null, null));
+
+        //when
+        for (int edit = 0; edit < 100; edit++) {
+            single.setDescription("single " + edit);
+            single = store.update(single);
+        }
+        shared.setDescription("edited");
+        store.update(shared);
+
+        //then
+        assertEquals(3, store.internedDescriptions());
+        assertEquals("shared", store.findById(other.getId()).orElseThrow().getDescription());
+        assertEquals("edited", store.findById(shared.getId()).orElseThrow().getDescription());
+        assertEquals("single 99", store.findById(single.getId()).orElseThrow().getDescription());
+    }
+
+    @Test
+    void markAllAsDoneOnlyMovesTheNotDoneItemsThatAreNotDue() {
+        //given
+        var notDueItemId = store.insert(createItem(null, Status.NOT_DONE, CURRENT_DATE.plusDays(1))).getId();
+        var dueItemId = store.insert(createItem(null, Status.NOT_DONE, CURRENT_DATE)).getId();
+        var doneItemId = store.insert(createItem(null, Status.DONE, CURRENT_DATE.plusDays(1))).getId();
+
+        //when
+        var updatedItems = store.markAllAsDone(List.of(notDueItemId, dueItemId, doneItemId, UUID.randomUUID()), CURRENT_DATE);
+
+        //then
+        assertEquals(List.of(notDueItemId), updatedItems.stream().map(TodoItem::getId).toList());
+        assertEquals(Status.DONE, updatedItems.get(0).getStatus());
+        assertEquals(3, store.findAllById(List.of(notDueItemId, dueItemId, doneItemId, UUID.randomUUID())).size());
+        assertEquals(2, store.countByStatus(Status.DONE));
+    }
+
+    @Test
+    void forEachItemHandsOverEveryItemInCreationOrderAcrossChunks() {
+        //given
+        var itemIds = IntStream.range(0, 2500)
+                .mapToObj(index -> store.insert(new TodoItem(null, "description", index % 2 == 0 ? Status.NOT_DONE : Status.DONE,
+                        CURRENT_DATE.plusMinutes(index), CURRENT_DATE.plusDays(1), null, null)).getId())
+                .toList();
+        var allItemIds = new ArrayList<UUID>();
+        var doneItemIds = new ArrayList<UUID>();
+
+        //when
+        store.forEachItem(null, item -> allItemIds.add(item.getId()));
+        store.forEachItem(Status.DONE, item -> doneItemIds.add(item.getId()));
+
+        //then
+        assertEquals(itemIds, allItemIds);
+        assertEquals(IntStream.range(0, 2500).filter(index -> index % 2 == 1).mapToObj(itemIds::get).toList(), doneItemIds);
+    }
+
+    @Test
+    void scrollAllByStatusDueBetweenOnlyReadsTheItemsDueInTheRange() {
+        //given
+        store.insert(createItem(null, Status.NOT_DONE, CURRENT_DATE));
+        var firstItemId = store.insert(createItem(null, Status.NOT_DONE, CURRENT_DATE.plusHours(1))).getId();
+        var secondItemId = store.insert(createItem(null, Status.NOT_DONE, CURRENT_DATE.plusHours(2))).getId();
+        store.insert(createItem(null, Status.NOT_DONE, CURRENT_DATE.plusHours(3)));
+        store.insert(createItem(null, Status.DONE, CURRENT_DATE.plusHours(2)));
+        var sort = Sort.by("dueDate", "id");
+
+        //when
+        var window = store.scrollAllByStatusDueBetween(Status.NOT_DONE, CURRENT_DATE, CURRENT_DATE.plusHours(2),
+                ScrollPosition.keyset(), Limit.of(10), sort);
+
+        //then
+        assertEquals(List.of(firstItemId, secondItemId), window.map(TodoItem::getId).getContent());
+        assertFalse(window.hasNext());
+    }
+
+    @Test
+    void scrollChangesReadsTheItemsInTheOrderOfTheirLastChange() {
+        //given
+        var firstItemId = store.insert(createItem(null, Status.NOT_DONE, CURRENT_DATE.plusDays(1))).getId();
+        var secondItemId = store.insert(createItem(null, Status.NOT_DONE, CURRENT_DATE.plusDays(1))).getId();
+        var thirdItemId = store.insert(createItem(null, Status.NOT_DONE, CURRENT_DATE.minusDays(1))).getId();
+        var firstWindow = store.scrollChanges(ScrollPosition.keyset(), Limit.of(2));
+
+        //when
+        store.markAsDone(firstItemId, null, CURRENT_DATE);
+        store.updatePastDueItemsStatus(List.of(thirdItemId), CURRENT_DATE);
+        var nextWindow = store.scrollChanges(firstWindow.positionAt(1), Limit.of(10));
+
+        //then
+        assertEquals(List.of(firstItemId, secondItemId), firstWindow.map(TodoItem::getId).getContent());
+        assertTrue(firstWindow.hasNext());
+        assertEquals(List.of(firstItemId, thirdItemId), nextWindow.map(TodoItem::getId).getContent());
+        assertFalse(nextWindow.hasNext());
+        assertEquals(Status.PAST_DUE, nextWindow.getContent().get(1).getStatus());
+    }
+
+    private TodoItem createItem(UUID id, Status status, LocalDateTime dueDate) {
+        return new TodoItem(id, "description", status, dueDate.minusDays(10), dueDate, null, null);
+    }
+}
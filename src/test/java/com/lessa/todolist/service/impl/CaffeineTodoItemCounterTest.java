@@ -0,0 +1,80 @@
+package com.lessa.todolist.service.impl;
+
+import com.lessa.todolist.domain.Status;
+import com.lessa.todolist.persistence.store.TodoItemStore;
+import com.lessa.todolist.service.TimeService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CaffeineTodoItemCounterTest {
+
+    @Mock
+    TodoItemStore store;
+
+    @Mock
+    TimeService timeService;
+
+    @Test
+    void shouldCountOncePerStatusUntilTheCountExpires() {
+        //given
+        var counter = new CaffeineTodoItemCounter(store, timeService, false, Duration.ofMinutes(1));
+        when(store.count()).thenReturn(10L);
+        when(store.countByStatus(Status.NOT_DONE)).thenReturn(4L);
+
+        //when
+        var allItems = counter.count(null);
+        var notDoneItems = counter.count(Status.NOT_DONE);
+        counter.count(null);
+        counter.count(Status.NOT_DONE);
+
+        //then
+        verify(store, times(1)).count();
+        verify(store, times(1)).countByStatus(Status.NOT_DONE);
+        assertEquals(10L, allItems);
+        assertEquals(4L, notDoneItems);
+    }
+
+    @Test
+    void shouldCountAgainAfterTheCountExpires() {
+        //given
+        var counter = new CaffeineTodoItemCounter(store, timeService, false, Duration.ZERO);
+        when(store.count()).thenReturn(10L, 11L);
+
+        //when
+        counter.count(null);
+        var result = counter.count(null);
+
+        //then
+        verify(store, times(2)).count();
+        assertEquals(11L, result);
+    }
+
+    @Test
+    void shouldCountOnlyTheItemsStillDueWithReadTimePastDue() {
+        //given
+        var currentDate = LocalDateTime.of(2024, 3, 17, 0, 0);
+        var counter = new CaffeineTodoItemCounter(store, timeService, true, Duration.ofMinutes(1));
+        when(timeService.getLocalDateTime()).thenReturn(currentDate);
+        when(store.countByStatusDueAfter(Status.NOT_DONE, currentDate)).thenReturn(3L);
+        when(store.countByStatus(Status.DONE)).thenReturn(2L);
+
+        //when
+        var notDoneItems = counter.count(Status.NOT_DONE);
+        var doneItems = counter.count(Status.DONE);
+
+        //then
+        verify(store, never()).countByStatus(Status.NOT_DONE);
+        assertEquals(3L, notDoneItems);
+        assertEquals(2L, doneItems);
+    }
+
+}
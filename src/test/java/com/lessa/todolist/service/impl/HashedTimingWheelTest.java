@@ -0,0 +1,80 @@
+package com.lessa.todolist.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashedTimingWheelTest {
+
+    private final AtomicLong nanoClock = new AtomicLong();
+    private final HashedTimingWheel<String> wheel = new HashedTimingWheel<>(1, TimeUnit.SECONDS, 4, nanoClock::get);
+
+    @Test
+    void shouldExpireTaskOnTheTickOfItsDeadline() {
+        //given
+        wheel.schedule("task", 1500, TimeUnit.MILLISECONDS);
+
+        //when
+        var expiredBeforeDeadline = advanceTo(1);
+        var expiredAfterDeadline = advanceTo(2);
+
+        //then
+        assertTrue(expiredBeforeDeadline.isEmpty());
+        assertEquals(List.of("task"), expiredAfterDeadline);
+    }
+
+    @Test
+    void shouldExpireTaskAfterMoreThanOneTurnOfTheWheel() {
+        //given
+        wheel.schedule("task", 9, TimeUnit.SECONDS);
+
+        //when
+        var expiredBeforeDeadline = advanceTo(8);
+        var expiredOnDeadline = advanceTo(9);
+
+        //then
+        assertTrue(expiredBeforeDeadline.isEmpty());
+        assertEquals(List.of("task"), expiredOnDeadline);
+    }
+
+    @Test
+    void shouldExpireOverdueTaskOnTheNextAdvance() {
+        //given
+        wheel.schedule("task", -5, TimeUnit.SECONDS);
+
+        //when
+        var expired = wheel.advance();
+
+        //then
+        assertEquals(List.of("task"), expired);
+    }
+
+    @Test
+    void shouldExpireEveryTaskOfTheTicksMissedSinceTheLastAdvance() {
+        //given
+        wheel.schedule("first", 1, TimeUnit.SECONDS);
+        wheel.schedule("second", 3, TimeUnit.SECONDS);
+        wheel.schedule("third", 6, TimeUnit.SECONDS);
+
+        //when
+        var expired = advanceTo(5);
+
+        //then
+        assertEquals(List.of("first", "second"), expired);
+    }
+
+    @Test
+    void shouldRejectWheelSizeThatIsNotAPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new HashedTimingWheel<>(1, TimeUnit.SECONDS, 3));
+    }
+
+    private List<String> advanceTo(long seconds) {
+        nanoClock.set(TimeUnit.SECONDS.toNanos(seconds));
+        return wheel.advance();
+    }
+
+}
@@ -0,0 +1,144 @@
+package com.lessa.todolist.service.impl;
+
+import com.lessa.todolist.domain.SearchHit;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvertedIndexTest {
+
+    private final InvertedIndex index = new InvertedIndex();
+
+    @Test
+    void shouldTokenizeIntoLowerCaseWordsWithoutAccents() {
+        assertEquals(List.of("cafe", "review", "2024", "q1"), InvertedIndex.tokenize("Café-Review: 2024/Q1!"));
+        assertTrue(InvertedIndex.tokenize(" - ").isEmpty());
+    }
+
+    @Test
+    void shouldFindOnlyTheItemsWithEveryTermAndRankTheShorterMatchFirst() {
+        //given
+        var shortMatchId = UUID.randomUUID();
+        var longMatchId = UUID.randomUUID();
+        index.put(longMatchId, "write the weekly report for the whole team before friday");
+        index.put(shortMatchId, "weekly report");
+        index.put(UUID.randomUUID(), "weekly groceries");
+        index.put(UUID.randomUUID(), "yearly report");
+
+        //when
+        var hits = index.search(List.of("weekly", "report"), 0, null, 10);
+
+        //then
+        assertEquals(List.of(shortMatchId, longMatchId), hits.stream().map(SearchHit::getId).toList());
+        assertTrue(hits.get(0).getScore() > hits.get(1).getScore());
+        assertTrue(index.search(List.of("weekly", "missing"), 0, null, 10).isEmpty());
+    }
+
+    @Test
+    void shouldOnlyMatchTheLatestDescriptionOfAnItem() {
+        //given
+        var itemId = UUID.randomUUID();
+        index.put(itemId, "old description");
+
+        //when
+        index.put(itemId, "new description");
+
+        //then
+        assertTrue(index.search(List.of("old"), 0, null, 10).isEmpty());
+        assertEquals(List.of(itemId), index.search(List.of("new"), 0, null, 10).stream().map(SearchHit::getId).toList());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void shouldPageThroughTheHitsAfterTheLastOneReturned() {
+        //given
+        IntStream.range(0, 7).forEach(i -> index.put(UUID.randomUUID(), "task " + "word ".repeat(i)));
+        var expected = index.search(List.of("task"), 0, null, 10);
+
+        //when
+        var paged = new ArrayList<SearchHit>();
+        var window = index.search(List.of("task"), 0, null, 3);
+        while (!window.isEmpty()) {
+            paged.addAll(window);
+            var last = window.get(window.size() - 1);
+            window = index.search(List.of("task"), last.getScore(), last.getId(), 3);
+        }
+
+        //then
+        assertEquals(7, expected.size());
+        assertEquals(expected.stream().map(SearchHit::getId).toList(), paged.stream().map(SearchHit::getId).toList());
+    }
+
+    @Test
+    void shouldScoreAsIfTheReplacedDescriptionsWereNeverIndexed() {
+        //given
+        var itemId = UUID.randomUUID();
+        var otherId = UUID.randomUUID();
+        index.put(itemId, "weekly report");
+        index.put(otherId, "weekly groceries");
+        index.put(otherId, "monthly groceries");
+
+        var fresh = new InvertedIndex();
+        fresh.put(itemId, "weekly report");
+        fresh.put(otherId, "monthly groceries");
+
+        //when
+        var hits = index.search(List.of("weekly"), 0, null, 10);
+
+        //then
+        assertEquals(1, index.tombstones());
+        assertEquals(fresh.search(List.of("weekly"), 0, null, 10).get(0).getScore(), hits.get(0).getScore());
+        assertTrue(index.search(List.of("groceries"), 0, null, 10).stream().map(SearchHit::getId).toList()
+                .contains(otherId));
+    }
+
+    @Test
+    void shouldKeepTheHitsAndTakeTheNewGenerationWhenCompacted() {
+        //given
+        var itemIds = IntStream.range(0, 2000).mapToObj(i -> UUID.randomUUID()).toList();
+        itemIds.forEach(itemId -> index.put(itemId, "old task"));
+        IntStream.range(0, itemIds.size()).forEach(i -> index.put(itemIds.get(i), "new task " + "word ".repeat(i % 4)));
+        var expected = index.search(List.of("task"), 0, null, 50);
+
+        //when
+        index.compact();
+
+        //then
+        var hits = index.search(List.of("task"), 0, null, 50);
+        assertEquals(0, index.tombstones());
+        assertEquals(2000, index.size());
+        assertEquals(3, index.terms());
+        assertEquals(expected.stream().map(SearchHit::getId).toList(), hits.stream().map(SearchHit::getId).toList());
+        assertEquals(expected.stream().map(SearchHit::getScore).toList(), hits.stream().map(SearchHit::getScore).toList());
+        assertNotEquals(expected.get(0).getGeneration(), hits.get(0).getGeneration());
+        assertTrue(hits.stream().allMatch(hit -> hit.getGeneration() == index.generation()));
+        assertTrue(index.search(List.of("old"), 0, null, 10).isEmpty());
+
+        var added = UUID.randomUUID();
+        index.put(added, "added task");
+        assertEquals(List.of(added), index.search(List.of("added"), 0, null, 10).stream().map(SearchHit::getId).toList());
+    }
+
+    @Test
+    void shouldMoveToANewGenerationOnEveryWrite() {
+        //given
+        var itemId = UUID.randomUUID();
+        index.put(itemId, "weekly report");
+        var afterFirstPut = index.generation();
+
+        //when
+        index.put(UUID.randomUUID(), "weekly groceries");
+        var afterSecondPut = index.generation();
+        index.remove(itemId);
+
+        //then
+        assertNotEquals(afterFirstPut, afterSecondPut);
+        assertNotEquals(afterSecondPut, index.generation());
+        assertEquals(index.generation(), index.search(List.of("weekly"), 0, null, 10).get(0).getGeneration());
+    }
+}
@@ -0,0 +1,69 @@
+package com.lessa.todolist.service.impl;
+
+import com.lessa.todolist.domain.Status;
+import com.lessa.todolist.persistence.store.TodoItemStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LongAdderTodoStatusCounterTest {
+
+    @Mock
+    TodoItemStore store;
+
+    @Mock
+    TransactionTemplate transactionTemplate;
+
+    LongAdderTodoStatusCounter statusCounter;
+
+    @BeforeEach
+    void setUp() {
+        statusCounter = new LongAdderTodoStatusCounter(store, transactionTemplate);
+        lenient().when(transactionTemplate.execute(any()))
+                .then(invocation -> invocation.getArgument(0, TransactionCallback.class).doInTransaction(null));
+    }
+
+    @Test
+    void shouldMoveTheCountsWithEveryTransitionWithoutReadingTheStore() {
+        //when
+        statusCounter.recordTransition(null, Status.NOT_DONE, 3);
+        statusCounter.recordTransition(Status.NOT_DONE, Status.DONE, 1);
+        statusCounter.recordTransition(Status.NOT_DONE, Status.PAST_DUE, 1);
+        statusCounter.recordTransition(Status.NOT_DONE, Status.PAST_DUE, 0);
+        var counts = statusCounter.getCounts();
+
+        //then
+        verifyNoInteractions(store);
+        assertEquals(Map.of(Status.NOT_DONE, 1L, Status.DONE, 1L, Status.PAST_DUE, 1L), counts.getCounts());
+        assertEquals(3, counts.getTotal());
+    }
+
+    @Test
+    void shouldCorrectTheCountsWithTheStoredOnesWhenReconciled() {
+        //given
+        statusCounter.recordTransition(null, Status.NOT_DONE, 2);
+
+        when(store.countByStatus(Status.NOT_DONE)).thenReturn(5L);
+        when(store.countByStatus(Status.DONE)).thenReturn(1L);
+        when(store.countByStatus(Status.PAST_DUE)).thenReturn(0L);
+
+        //when
+        var reconciled = statusCounter.reconcile();
+        statusCounter.recordTransition(Status.NOT_DONE, Status.DONE, 1);
+
+        //then
+        assertEquals(6, reconciled.getTotal());
+        assertEquals(Map.of(Status.NOT_DONE, 4L, Status.DONE, 2L, Status.PAST_DUE, 0L), statusCounter.getCounts().getCounts());
+    }
+}
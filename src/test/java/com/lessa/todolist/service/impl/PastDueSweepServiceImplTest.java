@@ -0,0 +1,147 @@
+package com.lessa.todolist.service.impl;
+
+import com.lessa.todolist.domain.Status;
+import com.lessa.todolist.domain.TodoEvent;
+import com.lessa.todolist.persistence.store.TodoItemStore;
+import com.lessa.todolist.service.TimeService;
+import com.lessa.todolist.service.TodoChangeCounter;
+import com.lessa.todolist.service.TodoEventPublisher;
+import com.lessa.todolist.service.TodoItemCache;
+import com.lessa.todolist.service.TodoStatusCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PastDueSweepServiceImplTest {
+
+    private final static LocalDateTime CURRENT_DATE = LocalDateTime.of(2024, 3, 17, 0, 0);
+
+    @Mock
+    TodoItemStore store;
+
+    @Mock
+    TimeService timeService;
+
+    @Mock
+    TransactionTemplate transactionTemplate;
+
+    @Mock
+    TodoItemCache itemCache;
+
+    @Mock
+    TodoChangeCounter changeCounter;
+
+    @Mock
+    TodoStatusCounter statusCounter;
+
+    @Mock
+    TodoEventPublisher eventPublisher;
+
+    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    PastDueSweepServiceImpl sweepService;
+
+    @BeforeEach
+    void setUp() {
+        sweepService = new PastDueSweepServiceImpl(store, timeService, transactionTemplate, itemCache, changeCounter,
+                statusCounter, eventPublisher, 2, Duration.ZERO, meterRegistry);
+        lenient().when(transactionTemplate.execute(any()))
+                .then(invocation -> invocation.getArgument(0, TransactionCallback.class).doInTransaction(null));
+    }
+
+    @Test
+    void shouldUpdatePastDueItemsInChunksUntilNoneIsLeft() {
+        //given
+        var firstChunk = List.of(UUID.randomUUID(), UUID.randomUUID());
+        var secondChunk = List.of(UUID.randomUUID());
+
+        when(timeService.getLocalDateTime()).thenReturn(CURRENT_DATE);
+        when(store.findPastDueItemIds(CURRENT_DATE, Limit.of(2))).thenReturn(firstChunk, secondChunk);
+        when(store.updatePastDueItemsStatus(firstChunk, CURRENT_DATE)).thenReturn(firstChunk);
+        when(store.updatePastDueItemsStatus(secondChunk, CURRENT_DATE)).thenReturn(secondChunk);
+
+        //when
+        var result = sweepService.sweep();
+
+        //then
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(store, times(2)).findPastDueItemIds(CURRENT_DATE, Limit.of(2));
+        verify(itemCache, times(1)).evictAll(firstChunk);
+        verify(itemCache, times(1)).evictAll(secondChunk);
+        verify(statusCounter, times(1)).recordTransition(Status.NOT_DONE, Status.PAST_DUE, 2);
+        verify(statusCounter, times(1)).recordTransition(Status.NOT_DONE, Status.PAST_DUE, 1);
+        var events = ArgumentCaptor.forClass(TodoEvent.class);
+        verify(eventPublisher, times(2)).publish(events.capture());
+        assertEquals(List.of(firstChunk, secondChunk), events.getAllValues().stream().map(TodoEvent::getItemIds).toList());
+        assertEquals(TodoEvent.Type.PAST_DUE, events.getValue().getType());
+        assertEquals(CURRENT_DATE, events.getValue().getPastDueDate());
+        assertEquals(CURRENT_DATE, result.getStartDate());
+        assertEquals(2, result.getChunks());
+        assertEquals(3, result.getUpdatedItems());
+        assertSame(result, sweepService.getLastSweep().orElseThrow());
+        assertEquals(1, meterRegistry.get("todo.past_due.sweep").timer().count());
+        assertEquals(3, meterRegistry.get("todo.past_due.sweep.updated.items").counter().count());
+    }
+
+    @Test
+    void shouldKeepSweepingWhenAChunkIsFullEvenIfSomeItemsWereNotUpdated() {
+        //given
+        var updatedItemId = UUID.randomUUID();
+        var firstChunk = List.of(updatedItemId, UUID.randomUUID());
+
+        when(timeService.getLocalDateTime()).thenReturn(CURRENT_DATE);
+        when(store.findPastDueItemIds(CURRENT_DATE, Limit.of(2))).thenReturn(firstChunk, List.of());
+        when(store.updatePastDueItemsStatus(firstChunk, CURRENT_DATE)).thenReturn(List.of(updatedItemId));
+
+        //when
+        var result = sweepService.sweep();
+
+        //then
+        verify(store, times(2)).findPastDueItemIds(CURRENT_DATE, Limit.of(2));
+        verify(statusCounter, times(1)).recordTransition(Status.NOT_DONE, Status.PAST_DUE, 1);
+        var event = ArgumentCaptor.forClass(TodoEvent.class);
+        verify(eventPublisher, times(1)).publish(event.capture());
+        assertEquals(List.of(updatedItemId), event.getValue().getItemIds());
+        assertEquals(1, result.getChunks());
+        assertEquals(1, result.getUpdatedItems());
+    }
+
+    @Test
+    void shouldNotUpdateWhenThereAreNoPastDueItems() {
+        //given
+        when(timeService.getLocalDateTime()).thenReturn(CURRENT_DATE);
+        when(store.findPastDueItemIds(CURRENT_DATE, Limit.of(2))).thenReturn(List.of());
+
+        //when
+        var result = sweepService.sweep();
+
+        //then
+        verify(store, never()).updatePastDueItemsStatus(any(), any());
+        assertEquals(0, result.getChunks());
+        assertEquals(0, result.getUpdatedItems());
+    }
+
+    @Test
+    void shouldNotHaveLastSweepBeforeTheFirstRun() {
+        assertTrue(sweepService.getLastSweep().isEmpty());
+    }
+
+}
@@ -0,0 +1,215 @@
+package com.lessa.todolist.service.impl;
+
+import com.lessa.todolist.domain.Status;
+import com.lessa.todolist.domain.TodoEvent;
+import com.lessa.todolist.persistence.entity.TodoItemEntity;
+import com.lessa.todolist.persistence.repository.TodoItemRepository;
+import com.lessa.todolist.persistence.store.ChangeSequence;
+import com.lessa.todolist.persistence.store.JpaTodoItemStore;
+import com.lessa.todolist.service.TimeService;
+import com.lessa.todolist.service.TodoChangeCounter;
+import com.lessa.todolist.service.TodoEventPublisher;
+import com.lessa.todolist.service.TodoItemCache;
+import com.lessa.todolist.service.TodoStatusCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PastDueTimerServiceImplTest {
+
+    private final static LocalDateTime CURRENT_DATE = LocalDateTime.of(2024, 3, 17, 0, 0);
+
+    @Mock
+    TodoItemRepository repository;
+
+    @Mock
+    TimeService timeService;
+
+    @Mock
+    TransactionTemplate transactionTemplate;
+
+    @Mock
+    TodoItemCache itemCache;
+
+    @Mock
+    TodoChangeCounter changeCounter;
+
+    @Mock
+    TodoStatusCounter statusCounter;
+
+    @Mock
+    TodoEventPublisher eventPublisher;
+
+    @Mock
+    ChangeSequence changeSequence;
+
+    private final AtomicLong nanoClock = new AtomicLong();
+    private LocalDateTime currentDate = CURRENT_DATE;
+    private PastDueTimerServiceImpl timerService;
+
+    @BeforeEach
+    void setUp() {
+        var store = new JpaTodoItemStore(repository, changeSequence);
+        var sweepService = new PastDueSweepServiceImpl(store, timeService, transactionTemplate, itemCache, changeCounter,
+                statusCounter, eventPublisher, 500, Duration.ZERO, new SimpleMeterRegistry());
+        timerService = new PastDueTimerServiceImpl(store, timeService, transactionTemplate, itemCache, changeCounter,
+                statusCounter, eventPublisher, sweepService, true, Duration.ofSeconds(1), 8, Duration.ofHours(1), 100,
+                nanoClock::get);
+        timerService.initialize();
+
+        lenient().when(timeService.getLocalDateTime()).then(invocation -> currentDate);
+        lenient().when(transactionTemplate.execute(any()))
+                .then(invocation -> invocation.getArgument(0, TransactionCallback.class).doInTransaction(null));
+    }
+
+    @Test
+    void shouldLoadUpcomingItemsAndUpdateThemToPastDueAtTheirDueDate() {
+        //given
+        var itemId = UUID.randomUUID();
+        var dueDate = CURRENT_DATE.plusSeconds(30);
+        var upcomingItem = new TodoItemEntity(itemId, "description", Status.NOT_DONE, CURRENT_DATE, dueDate, null, 0L);
+
+        when(repository.findByStatusAndDueDateAfterAndDueDateLessThanEqual(eq(Status.NOT_DONE), eq(CURRENT_DATE),
+                eq(CURRENT_DATE.plusHours(1)), any(), any(), any()))
+                .thenReturn(Window.from(List.of(upcomingItem), ScrollPosition::offset));
+        when(repository.lockPastDueItemIds(List.of(itemId), dueDate)).thenReturn(List.of(itemId));
+
+        //when
+        timerService.tick();
+        advanceSeconds(29);
+        timerService.tick();
+        advanceSeconds(1);
+        timerService.tick();
+
+        //then
+        verify(itemCache, times(1)).evictAll(List.of(itemId));
+        verify(repository, times(1)).updatePastDueItemsStatus(List.of(itemId), dueDate, 0L);
+        assertEquals(0, timerService.scheduledItems());
+    }
+
+    @Test
+    void shouldUpdateItemsAlreadyOverdueAtStartupToPastDueOnTheFirstTick() {
+        //given
+        var overdueItemId = UUID.randomUUID();
+        mockNoUpcomingItems();
+        when(repository.findPastDueItemIds(CURRENT_DATE, Limit.of(500)))
+                .thenReturn(List.of(overdueItemId));
+        when(repository.lockPastDueItemIds(List.of(overdueItemId), CURRENT_DATE)).thenReturn(List.of(overdueItemId));
+
+        //when
+        timerService.tick();
+        advanceSeconds(1);
+        timerService.tick();
+
+        //then
+        verify(repository, times(1)).findPastDueItemIds(any(), any());
+        verify(repository, times(1)).updatePastDueItemsStatus(List.of(overdueItemId), CURRENT_DATE, 0L);
+        var event = ArgumentCaptor.forClass(TodoEvent.class);
+        verify(eventPublisher, times(1)).publish(event.capture());
+        assertEquals(List.of(overdueItemId), event.getValue().getItemIds());
+    }
+
+    @Test
+    void shouldUpdateScheduledItemToPastDueAtItsDueDate() {
+        //given
+        var itemId = UUID.randomUUID();
+        var dueDate = CURRENT_DATE.plusSeconds(5);
+        mockNoUpcomingItems();
+        when(repository.lockPastDueItemIds(List.of(itemId), dueDate)).thenReturn(List.of(itemId));
+        timerService.tick();
+
+        //when
+        timerService.schedule(itemId, dueDate);
+        advanceSeconds(5);
+        timerService.tick();
+
+        //then
+        verify(repository, times(1)).updatePastDueItemsStatus(List.of(itemId), dueDate, 0L);
+    }
+
+    @Test
+    void shouldPublishOnlyTheItemsThatWereStillNotDone() {
+        //given
+        var itemId = UUID.randomUUID();
+        var doneItemId = UUID.randomUUID();
+        var dueDate = CURRENT_DATE.plusSeconds(5);
+        mockNoUpcomingItems();
+        when(repository.lockPastDueItemIds(List.of(itemId, doneItemId), dueDate)).thenReturn(List.of(itemId));
+        timerService.tick();
+
+        //when
+        timerService.schedule(itemId, dueDate);
+        timerService.schedule(doneItemId, dueDate);
+        advanceSeconds(5);
+        timerService.tick();
+
+        //then
+        verify(statusCounter, times(1)).recordTransition(Status.NOT_DONE, Status.PAST_DUE, 1);
+        var event = ArgumentCaptor.forClass(TodoEvent.class);
+        verify(eventPublisher, times(1)).publish(event.capture());
+        assertEquals(List.of(itemId), event.getValue().getItemIds());
+    }
+
+    @Test
+    void shouldNotUpdateCancelledItem() {
+        //given
+        var itemId = UUID.randomUUID();
+        mockNoUpcomingItems();
+        timerService.tick();
+        timerService.schedule(itemId, CURRENT_DATE.plusSeconds(5));
+
+        //when
+        timerService.cancel(itemId);
+        advanceSeconds(5);
+        timerService.tick();
+
+        //then
+        verify(repository, never()).updatePastDueItemsStatus(any(), any(), anyLong());
+    }
+
+    @Test
+    void shouldNotScheduleItemsDueAfterTheLoadedHorizon() {
+        //given
+        mockNoUpcomingItems();
+        timerService.tick();
+
+        //when
+        timerService.schedule(UUID.randomUUID(), CURRENT_DATE.plusHours(2));
+
+        //then
+        assertEquals(0, timerService.scheduledItems());
+    }
+
+    private void mockNoUpcomingItems() {
+        when(repository.findByStatusAndDueDateAfterAndDueDateLessThanEqual(any(), any(), any(), any(), any(), any()))
+                .thenReturn(Window.from(List.of(), ScrollPosition::offset));
+    }
+
+    private void advanceSeconds(long seconds) {
+        currentDate = currentDate.plusSeconds(seconds);
+        nanoClock.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+
+}
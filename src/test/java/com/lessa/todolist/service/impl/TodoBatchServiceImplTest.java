@@ -0,0 +1,240 @@
+package com.lessa.todolist.service.impl;
+
+import com.lessa.todolist.domain.Status;
+import com.lessa.todolist.domain.TodoEvent;
+import com.lessa.todolist.domain.TransitionOutcome;
+import com.lessa.todolist.domain.TodoItem;
+import com.lessa.todolist.persistence.entity.TodoItemEntity;
+import com.lessa.todolist.persistence.repository.TodoItemRepository;
+import com.lessa.todolist.persistence.store.ChangeSequence;
+import com.lessa.todolist.persistence.store.JpaTodoItemStore;
+import com.lessa.todolist.service.PastDueTimerService;
+import com.lessa.todolist.service.TimeService;
+import com.lessa.todolist.service.TodoChangeCounter;
+import com.lessa.todolist.service.TodoEventPublisher;
+import com.lessa.todolist.service.TodoItemCache;
+import com.lessa.todolist.service.TodoSearchIndex;
+import com.lessa.todolist.service.TodoStatusCounter;
+import com.lessa.todolist.service.exception.BadRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TodoBatchServiceImplTest {
+
+    private final static LocalDateTime CURRENT_DATE = LocalDateTime.of(2024, 3, 17, 0, 0);
+    private final static LocalDateTime AFTER_DATE = LocalDateTime.of(2024, 3, 18, 0, 0);
+
+    @Mock
+    TodoItemRepository repository;
+
+    @Mock
+    TimeService timeService;
+
+    @Mock
+    PastDueTimerService pastDueTimerService;
+
+    @Mock
+    TodoItemCache itemCache;
+
+    @Mock
+    TodoChangeCounter changeCounter;
+
+    @Mock
+    TodoStatusCounter statusCounter;
+
+    @Mock
+    TodoEventPublisher eventPublisher;
+
+    @Mock
+    ChangeSequence changeSequence;
+
+    @Mock
+    TodoSearchIndex searchIndex;
+
+    @Mock
+    TransactionTemplate transactionTemplate;
+
+    TodoBatchServiceImpl batchService;
+
+    @BeforeEach
+    void setUp() {
+        batchService = new TodoBatchServiceImpl(new JpaTodoItemStore(repository, changeSequence), timeService, pastDueTimerService,
+                itemCache, changeCounter, searchIndex, statusCounter, eventPublisher, transactionTemplate, 4, 2, false);
+        lenient().doAnswer(invocation -> {
+            invocation.getArgument(0, Consumer.class).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldAddNewItemsWithASingleTimeReadingAndReportConflicts() throws BadRequestException {
+        //given
+        var items = List.of(TodoItem.createNew("first", AFTER_DATE), TodoItem.createNew("past due", CURRENT_DATE),
+                TodoItem.createNew("second", AFTER_DATE));
+
+        when(timeService.getLocalDateTime()).thenReturn(CURRENT_DATE);
+        when(repository.saveAll(any())).then(invocation -> {
+            List<TodoItemEntity> entities = invocation.getArgument(0);
+            entities.forEach(entity -> entity.setId(UUID.randomUUID()));
+            return entities;
+        });
+
+        var savedEntities = ArgumentCaptor.forClass(List.class);
+
+        //when
+        var result = batchService.addAll(items);
+
+        //then
+        verify(timeService, times(1)).getLocalDateTime();
+        verify(repository, times(1)).saveAll(savedEntities.capture());
+        verify(pastDueTimerService, times(2)).schedule(any(), eq(AFTER_DATE));
+
+        assertEquals(2, savedEntities.getValue().size());
+        assertEquals(2, result.getCreatedItems().size());
+        assertEquals("first", result.getCreatedItems().get(0).getDescription());
+        assertEquals(Status.NOT_DONE, result.getCreatedItems().get(0).getStatus());
+        assertEquals(CURRENT_DATE, result.getCreatedItems().get(0).getCreationDate());
+        assertEquals("second", result.getCreatedItems().get(1).getDescription());
+        assertEquals(1, result.getConflicts().size());
+        assertEquals(1, result.getConflicts().get(0).getIndex());
+        assertEquals("Cannot add item. Due date is earlier or equal the current date.",
+                result.getConflicts().get(0).getMessage());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenBatchIsLargerThanTheMaximumSize() {
+        //given
+        var items = List.of(TodoItem.createNew("a", AFTER_DATE), TodoItem.createNew("b", AFTER_DATE),
+                TodoItem.createNew("c", AFTER_DATE), TodoItem.createNew("d", AFTER_DATE), TodoItem.createNew("e", AFTER_DATE));
+
+        //when
+        var exception = assertThrows(BadRequestException.class, () -> batchService.addAll(items));
+
+        //then
+        verifyNoInteractions(repository);
+        assertEquals("The batch size must not be greater than 4.", exception.getMessage());
+    }
+
+    @Test
+    void shouldMarkItemsAsDoneInChunksAndExplainTheItemsNotUpdated() throws BadRequestException {
+        //given
+        var updatedId = UUID.randomUUID();
+        var doneId = UUID.randomUUID();
+        var overdueId = UUID.randomUUID();
+        var missingId = UUID.randomUUID();
+        var updatedItem = new TodoItemEntity(updatedId, "updated", Status.DONE, CURRENT_DATE, AFTER_DATE, CURRENT_DATE, 0L);
+        var doneItem = new TodoItemEntity(doneId, "done", Status.DONE, CURRENT_DATE, AFTER_DATE, CURRENT_DATE, 0L);
+        var overdueItem = new TodoItemEntity(overdueId, "overdue", Status.NOT_DONE, CURRENT_DATE, CURRENT_DATE, null, 0L);
+
+        when(timeService.getLocalDateTime()).thenReturn(CURRENT_DATE);
+        when(repository.markAllAsDone(List.of(updatedId, doneId), CURRENT_DATE, 0L)).thenReturn(List.of(updatedItem));
+        when(repository.markAllAsDone(List.of(overdueId, missingId), CURRENT_DATE, 0L)).thenReturn(List.of());
+        when(repository.findAllById(List.of(doneId))).thenReturn(List.of(doneItem));
+        when(repository.findAllById(List.of(overdueId, missingId))).thenReturn(List.of(overdueItem));
+        when(repository.lockPastDueItemIds(List.of(overdueId), CURRENT_DATE)).thenReturn(List.of(overdueId));
+
+        //when
+        var results = batchService.markAllAsDone(List.of(updatedId, doneId, updatedId, overdueId, missingId));
+
+        //then
+        verify(transactionTemplate, times(2)).executeWithoutResult(any());
+        verify(repository, times(1)).updatePastDueItemsStatus(List.of(overdueId), CURRENT_DATE, 0L);
+        verify(pastDueTimerService, times(1)).cancel(updatedId);
+        verify(pastDueTimerService, times(1)).cancel(overdueId);
+        verify(statusCounter, times(1)).recordTransition(Status.NOT_DONE, Status.DONE, 1);
+
+        assertEquals(4, results.size());
+        assertEquals(updatedId, results.get(0).getItemId());
+        assertEquals(TransitionOutcome.UPDATED, results.get(0).getOutcome());
+        assertEquals(TransitionOutcome.ALREADY_IN_STATUS, results.get(1).getOutcome());
+        assertEquals(TransitionOutcome.PAST_DUE, results.get(2).getOutcome());
+        assertEquals(TransitionOutcome.NOT_FOUND, results.get(3).getOutcome());
+    }
+
+    @Test
+    void shouldPublishOnlyTheOverdueItemsStillMovedToPastDue() throws BadRequestException {
+        //given
+        var overdueId = UUID.randomUUID();
+        var concurrentlyDoneId = UUID.randomUUID();
+        var overdueItem = new TodoItemEntity(overdueId, "overdue", Status.NOT_DONE, CURRENT_DATE, CURRENT_DATE, null, 0L);
+        var concurrentlyDoneItem = new TodoItemEntity(concurrentlyDoneId, "done meanwhile", Status.NOT_DONE, CURRENT_DATE,
+                CURRENT_DATE, null, 0L);
+
+        when(timeService.getLocalDateTime()).thenReturn(CURRENT_DATE);
+        when(repository.markAllAsDone(List.of(overdueId, concurrentlyDoneId), CURRENT_DATE, 0L)).thenReturn(List.of());
+        when(repository.findAllById(List.of(overdueId, concurrentlyDoneId))).thenReturn(List.of(overdueItem, concurrentlyDoneItem));
+        when(repository.lockPastDueItemIds(List.of(overdueId, concurrentlyDoneId), CURRENT_DATE)).thenReturn(List.of(overdueId));
+
+        //when
+        batchService.markAllAsDone(List.of(overdueId, concurrentlyDoneId));
+
+        //then
+        verify(repository, times(1)).updatePastDueItemsStatus(List.of(overdueId), CURRENT_DATE, 0L);
+        verify(statusCounter, times(1)).recordTransition(Status.NOT_DONE, Status.PAST_DUE, 1);
+        var event = ArgumentCaptor.forClass(TodoEvent.class);
+        verify(eventPublisher, times(1)).publish(event.capture());
+        assertEquals(List.of(overdueId), event.getValue().getItemIds());
+    }
+
+    @Test
+    void shouldNotWriteThePastDueStatusWhenItIsEvaluatedAtReadTime() throws BadRequestException {
+        //given
+        var readTimeBatchService = new TodoBatchServiceImpl(new JpaTodoItemStore(repository, changeSequence), timeService,
+                pastDueTimerService, itemCache, changeCounter, searchIndex, statusCounter, eventPublisher,
+                transactionTemplate, 4, 2, true);
+        var overdueId = UUID.randomUUID();
+        var overdueItem = new TodoItemEntity(overdueId, "overdue", Status.NOT_DONE, CURRENT_DATE, CURRENT_DATE, null, 0L);
+
+        when(timeService.getLocalDateTime()).thenReturn(CURRENT_DATE);
+        when(repository.markAllAsDone(List.of(overdueId), CURRENT_DATE, 0L)).thenReturn(List.of());
+        when(repository.findAllById(List.of(overdueId))).thenReturn(List.of(overdueItem));
+
+        //when
+        var results = readTimeBatchService.markAllAsDone(List.of(overdueId));
+
+        //then
+        verify(repository, never()).updatePastDueItemsStatus(any(), any(), anyLong());
+        verifyNoInteractions(eventPublisher, statusCounter);
+        assertEquals(TransitionOutcome.PAST_DUE, results.get(0).getOutcome());
+    }
+
+    @Test
+    void shouldMarkItemsAsNotDoneAndScheduleThemToBecomePastDue() throws BadRequestException {
+        //given
+        var updatedId = UUID.randomUUID();
+        var pastDueId = UUID.randomUUID();
+        var updatedItem = new TodoItemEntity(updatedId, "updated", Status.NOT_DONE, CURRENT_DATE, AFTER_DATE, null, 0L);
+        var pastDueItem = new TodoItemEntity(pastDueId, "past due", Status.PAST_DUE, CURRENT_DATE, CURRENT_DATE, null, 0L);
+
+        when(timeService.getLocalDateTime()).thenReturn(CURRENT_DATE);
+        when(repository.markAllAsNotDone(List.of(updatedId, pastDueId), CURRENT_DATE, 0L)).thenReturn(List.of(updatedItem));
+        when(repository.findAllById(List.of(pastDueId))).thenReturn(List.of(pastDueItem));
+
+        //when
+        var results = batchService.markAllAsNotDone(List.of(updatedId, pastDueId));
+
+        //then
+        verify(pastDueTimerService, times(1)).schedule(updatedId, AFTER_DATE);
+        verify(repository, never()).updatePastDueItemsStatus(any(), any(), anyLong());
+
+        assertEquals(TransitionOutcome.UPDATED, results.get(0).getOutcome());
+        assertEquals(TransitionOutcome.PAST_DUE, results.get(1).getOutcome());
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.lessa.todolist.service.impl;
+
+import com.lessa.todolist.domain.Status;
+import com.lessa.todolist.domain.TodoItem;
+import com.lessa.todolist.persistence.store.TodoItemStore;
+import com.lessa.todolist.service.TimeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TodoExportServiceImplTest {
+
+    private final static LocalDateTime CURRENT_DATE = LocalDateTime.of(2024, 3, 17, 0, 0);
+    private final static LocalDateTime AFTER_DATE = LocalDateTime.of(2024, 3, 18, 0, 0);
+
+    @Mock
+    TodoItemStore store;
+
+    @Mock
+    TimeService timeService;
+
+    TodoExportServiceImpl exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new TodoExportServiceImpl(store, timeService, false);
+    }
+
+    @Test
+    void shouldExportAllItemsOfTheStore() {
+        //given
+        var first = new TodoItem(UUID.randomUUID(), "first", Status.NOT_DONE, CURRENT_DATE, AFTER_DATE, null, 0L);
+        var second = new TodoItem(UUID.randomUUID(), "second", Status.DONE, CURRENT_DATE, AFTER_DATE, CURRENT_DATE, 0L);
+        doAnswer(invocation -> {
+            Consumer<TodoItem> consumer = invocation.getArgument(1);
+            consumer.accept(first);
+            consumer.accept(second);
+            return null;
+        }).when(store).forEachItem(eq(null), any());
+
+        var exportedItems = new ArrayList<TodoItem>();
+
+        //when
+        exportService.exportAll(null, exportedItems::add);
+
+        //then
+        assertEquals(2, exportedItems.size());
+        assertEquals("first", exportedItems.get(0).getDescription());
+        assertEquals("second", exportedItems.get(1).getDescription());
+    }
+
+    @Test
+    void shouldExportOnlyItemsWithTheGivenStatus() {
+        //given
+        var item = new TodoItem(UUID.randomUUID(), "done", Status.DONE, CURRENT_DATE, AFTER_DATE, CURRENT_DATE, 0L);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TodoItem>>getArgument(1).accept(item);
+            return null;
+        }).when(store).forEachItem(eq(Status.DONE), any());
+
+        var exportedItems = new ArrayList<TodoItem>();
+
+        //when
+        exportService.exportAll(Status.DONE, exportedItems::add);
+
+        //then
+        assertEquals(1, exportedItems.size());
+        assertEquals(Status.DONE, exportedItems.get(0).getStatus());
+    }
+
+    @Test
+    void shouldExportTheStatusAtTheStartOfTheExportWhenItIsEvaluatedAtReadTime() {
+        //given
+        var readTimeExportService = new TodoExportServiceImpl(store, timeService, true);
+        var due = new TodoItem(UUID.randomUUID(), "due", Status.NOT_DONE, CURRENT_DATE, CURRENT_DATE, null, 0L);
+        var notDue = new TodoItem(UUID.randomUUID(), "not due", Status.NOT_DONE, CURRENT_DATE, AFTER_DATE, null, 0L);
+        var pastDue = new TodoItem(UUID.randomUUID(), "past due", Status.PAST_DUE, CURRENT_DATE, CURRENT_DATE, null, 1L);
+        when(timeService.getLocalDateTime()).thenReturn(CURRENT_DATE);
+        doAnswer(invocation -> {
+            Consumer<TodoItem> consumer = invocation.getArgument(1);
+            consumer.accept(due);
+            consumer.accept(notDue);
+            consumer.accept(pastDue);
+            return null;
+        }).when(store).forEachItem(eq(null), any());
+
+        var pastDueItems = new ArrayList<TodoItem>();
+
+        //when
+        readTimeExportService.exportAll(Status.PAST_DUE, pastDueItems::add);
+
+        //then
+        assertEquals(List.of("due", "past due"), pastDueItems.stream().map(TodoItem::getDescription).toList());
+        assertEquals(Status.PAST_DUE, pastDueItems.get(0).getStatus());
+    }
+}
@@ -0,0 +1,279 @@
+package com.lessa.todolist.service.impl;
+
+import com.lessa.todolist.domain.IngestStatus;
+import com.lessa.todolist.domain.Status;
+import com.lessa.todolist.domain.TodoItem;
+import com.lessa.todolist.persistence.entity.TodoItemEntity;
+import com.lessa.todolist.persistence.repository.TodoItemRepository;
+import com.lessa.todolist.persistence.store.ChangeSequence;
+import com.lessa.todolist.persistence.store.JpaTodoItemStore;
+import com.lessa.todolist.service.PastDueTimerService;
+import com.lessa.todolist.service.TimeService;
+import com.lessa.todolist.service.TodoChangeCounter;
+import com.lessa.todolist.service.TodoEventPublisher;
+import com.lessa.todolist.service.TodoItemCache;
+import com.lessa.todolist.service.TodoSearchIndex;
+import com.lessa.todolist.service.TodoStatusCounter;
+import com.lessa.todolist.service.exception.ConflictException;
+import com.lessa.todolist.service.exception.NotFoundException;
+import com.lessa.todolist.service.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TodoIngestServiceImplTest {
+
+    private final static LocalDateTime CURRENT_DATE = LocalDateTime.of(2024, 3, 17, 0, 0);
+    private final static LocalDateTime AFTER_DATE = LocalDateTime.of(2024, 3, 18, 0, 0);
+
+    @Mock
+    TodoItemRepository repository;
+
+    @Mock
+    TimeService timeService;
+
+    @Mock
+    TransactionTemplate transactionTemplate;
+
+    @Mock
+    PastDueTimerService pastDueTimerService;
+
+    @Mock
+    TodoItemCache itemCache;
+
+    @Mock
+    TodoChangeCounter changeCounter;
+
+    @Mock
+    TodoStatusCounter statusCounter;
+
+    @Mock
+    TodoEventPublisher eventPublisher;
+
+    @Mock
+    ChangeSequence changeSequence;
+
+    @Mock
+    TodoSearchIndex searchIndex;
+
+    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    TodoIngestServiceImpl ingestService;
+
+    @BeforeEach
+    void setUp() {
+        ingestService = new TodoIngestServiceImpl(new JpaTodoItemStore(repository, changeSequence), timeService, transactionTemplate,
+                pastDueTimerService, itemCache, changeCounter, searchIndex, statusCounter, eventPublisher, 3, 2, Duration.ofMillis(10), Duration.ofSeconds(1),
+                Duration.ofHours(1), 100, meterRegistry);
+        lenient().doAnswer(invocation -> {
+            invocation.getArgument(0, Consumer.class).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        lenient().when(timeService.getLocalDateTime()).thenReturn(CURRENT_DATE);
+    }
+
+    @Test
+    void shouldSubmitItemWithIdAndCreationDate() throws ConflictException, TooManyRequestsException {
+        //when
+        var item = ingestService.submit(TodoItem.createNew("description", AFTER_DATE));
+
+        //then
+        assertNotNull(item.getId());
+        assertEquals(Status.NOT_DONE, item.getStatus());
+        assertEquals(CURRENT_DATE, item.getCreationDate());
+        assertEquals(1, meterRegistry.get("todo.ingest.queue.size").gauge().value());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void shouldSubmitItemFailWhenDueDateIsNotAfterTheCurrentDate() {
+        //when
+        var exception = assertThrows(ConflictException.class,
+                () -> ingestService.submit(TodoItem.createNew("description", CURRENT_DATE)));
+
+        //then
+        assertEquals("Cannot add item. Due date is earlier or equal the current date.", exception.getMessage());
+        assertEquals(0, meterRegistry.get("todo.ingest.queue.size").gauge().value());
+    }
+
+    @Test
+    void shouldSubmitItemFailWhenTheQueueIsFull() throws ConflictException, TooManyRequestsException {
+        //given
+        for (int i = 0; i < 3; i++) {
+            ingestService.submit(TodoItem.createNew("description " + i, AFTER_DATE));
+        }
+
+        //when
+        var exception = assertThrows(TooManyRequestsException.class,
+                () -> ingestService.submit(TodoItem.createNew("description", AFTER_DATE)));
+
+        //then
+        assertEquals("The ingest queue is full. Try again later.", exception.getMessage());
+    }
+
+    @Test
+    void shouldWriteQueuedItemsInGroups() throws Exception {
+        //given
+        var first = ingestService.submit(TodoItem.createNew("first", AFTER_DATE));
+        var second = ingestService.submit(TodoItem.createNew("second", AFTER_DATE));
+        var third = ingestService.submit(TodoItem.createNew("third", AFTER_DATE));
+
+        var insertedEntities = ArgumentCaptor.forClass(TodoItemEntity.class);
+
+        //when
+        var firstGroup = ingestService.writeNextGroup();
+        var secondGroup = ingestService.writeNextGroup();
+        var emptyGroup = ingestService.writeNextGroup();
+
+        //then
+        assertEquals(2, firstGroup);
+        assertEquals(1, secondGroup);
+        assertEquals(0, emptyGroup);
+        verify(transactionTemplate, times(2)).executeWithoutResult(any());
+        verify(repository, times(3)).insertWithAssignedId(insertedEntities.capture());
+        assertEquals(List.of(first.getId(), second.getId(), third.getId()),
+                insertedEntities.getAllValues().stream().map(TodoItemEntity::getId).toList());
+        verify(pastDueTimerService).schedule(first.getId(), AFTER_DATE);
+        verify(itemCache).evictAll(List.of(first.getId(), second.getId()));
+        verify(itemCache).evictAll(List.of(third.getId()));
+        verify(changeCounter, times(2)).recordChange();
+    }
+
+    @Test
+    void shouldCountItemsOfAFailedGroup() throws Exception {
+        //given
+        ingestService.submit(TodoItem.createNew("first", AFTER_DATE));
+        ingestService.submit(TodoItem.createNew("second", AFTER_DATE));
+
+        when(repository.insertWithAssignedId(any())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        //when
+        var written = ingestService.writeNextGroup();
+
+        //then
+        assertEquals(2, written);
+        assertEquals(2, meterRegistry.get("todo.ingest.failed.items").counter().count());
+        verifyNoInteractions(changeCounter);
+    }
+
+    @Test
+    void shouldRetryAFailedGroupAndRejectOnlyTheFailingItems() throws Exception {
+        //given
+        var first = ingestService.submit(TodoItem.createNew("first", AFTER_DATE));
+        var second = ingestService.submit(TodoItem.createNew("second", AFTER_DATE));
+
+        when(repository.insertWithAssignedId(any())).thenAnswer(invocation -> {
+            if (invocation.getArgument(0, TodoItemEntity.class).getId().equals(second.getId())) {
+                throw new DataIntegrityViolationException("duplicate key");
+            }
+            return 1;
+        });
+        when(repository.findById(first.getId())).thenReturn(Optional.of(TodoItemEntity.toEntity(first)));
+
+        //when
+        var written = ingestService.writeNextGroup();
+
+        //then
+        assertEquals(2, written);
+        verify(transactionTemplate, times(4)).executeWithoutResult(any());
+        verify(itemCache).evictAll(List.of(first.getId()));
+        verify(changeCounter).recordChange();
+        verify(statusCounter).recordTransition(null, Status.NOT_DONE, 1);
+        assertEquals(1, meterRegistry.get("todo.ingest.failed.items").counter().count());
+        assertEquals(IngestStatus.WRITTEN, ingestService.getStatus(first.getId()));
+        assertEquals(IngestStatus.FAILED, ingestService.getStatus(second.getId()));
+    }
+
+    @Test
+    void shouldWriteEveryItemAcceptedWhileStopping() throws Exception {
+        //given
+        var service = new TodoIngestServiceImpl(new JpaTodoItemStore(repository, changeSequence), timeService,
+                transactionTemplate, pastDueTimerService, itemCache, changeCounter, searchIndex, statusCounter,
+                eventPublisher, 10000, 50, Duration.ofMillis(1), Duration.ofSeconds(10), Duration.ofHours(1), 100,
+                new SimpleMeterRegistry());
+        var insertedIds = ConcurrentHashMap.<UUID>newKeySet();
+        when(repository.insertWithAssignedId(any())).thenAnswer(invocation -> {
+            insertedIds.add(invocation.getArgument(0, TodoItemEntity.class).getId());
+            return 1;
+        });
+        Set<UUID> acceptedIds = ConcurrentHashMap.newKeySet();
+        var submitters = 4;
+        var executor = Executors.newFixedThreadPool(submitters);
+        service.start();
+
+        //when
+        for (int i = 0; i < submitters; i++) {
+            executor.execute(() -> {
+                while (true) {
+                    try {
+                        acceptedIds.add(service.submit(TodoItem.createNew("description", AFTER_DATE)).getId());
+                    } catch (TooManyRequestsException exception) {
+                        if (exception.getMessage().startsWith("The service is shutting down")) {
+                            return;
+                        }
+                    } catch (ConflictException exception) {
+                        throw new IllegalStateException(exception);
+                    }
+                }
+            });
+        }
+        await().atMost(5, TimeUnit.SECONDS).until(() -> acceptedIds.size() >= 100);
+        service.stop();
+        executor.shutdown();
+
+        //then
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertFalse(acceptedIds.isEmpty());
+        assertEquals(acceptedIds, insertedIds);
+    }
+
+    @Test
+    void shouldGetStatusOfAQueuedItem() throws Exception {
+        //given
+        var item = ingestService.submit(TodoItem.createNew("description", AFTER_DATE));
+
+        //when
+        var status = ingestService.getStatus(item.getId());
+
+        //then
+        assertEquals(IngestStatus.QUEUED, status);
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void shouldGetStatusFailWhenTheItemIsUnknown() {
+        //given
+        var itemId = UUID.randomUUID();
+
+        //when
+        var exception = assertThrows(NotFoundException.class, () -> ingestService.getStatus(itemId));
+
+        //then
+        assertEquals("Item not found with given id: " + itemId, exception.getMessage());
+    }
+
+}
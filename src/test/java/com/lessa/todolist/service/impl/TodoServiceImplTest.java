@@ -1,24 +1,49 @@
 package com.lessa.todolist.service.impl;
 
+import com.lessa.todolist.domain.SearchHit;
 import com.lessa.todolist.domain.Status;
+import com.lessa.todolist.domain.TodoEvent;
 import com.lessa.todolist.domain.TodoItem;
+import com.lessa.todolist.domain.TodoItemFilter;
 import com.lessa.todolist.persistence.entity.TodoItemEntity;
 import com.lessa.todolist.persistence.repository.TodoItemRepository;
+import com.lessa.todolist.persistence.store.ChangeSequence;
+import com.lessa.todolist.persistence.store.JpaTodoItemStore;
+import com.lessa.todolist.service.PastDueSweepService;
+import com.lessa.todolist.service.PastDueTimerService;
 import com.lessa.todolist.service.TimeService;
+import com.lessa.todolist.service.TodoChangeCounter;
+import com.lessa.todolist.service.TodoEventPublisher;
+import com.lessa.todolist.service.TodoItemCache;
+import com.lessa.todolist.service.TodoItemCounter;
+import com.lessa.todolist.service.TodoSearchIndex;
+import com.lessa.todolist.service.TodoStatusCounter;
+import com.lessa.todolist.service.exception.BadRequestException;
 import com.lessa.todolist.service.exception.ConflictException;
 import com.lessa.todolist.service.exception.NotFoundException;
+import com.lessa.todolist.service.exception.PreconditionFailedException;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -38,9 +63,40 @@ class TodoServiceImplTest {
     @Mock
     TimeService timeService;
 
-    @InjectMocks
+    @Mock
+    PastDueSweepService pastDueSweepService;
+
+    @Mock
+    PastDueTimerService pastDueTimerService;
+
+    @Mock
+    TodoItemCounter itemCounter;
+
+    @Mock
+    TodoChangeCounter changeCounter;
+
+    @Mock
+    TodoStatusCounter statusCounter;
+
+    @Mock
+    TodoEventPublisher eventPublisher;
+
+    @Mock
+    ChangeSequence changeSequence;
+
+    @Mock
+    TodoSearchIndex searchIndex;
+
+    @Spy
+    TodoItemCache itemCache = new CaffeineTodoItemCache(100, Duration.ofMinutes(10), Duration.ofSeconds(5));
+
     TodoServiceImpl todoService;
 
+    @BeforeEach
+    void setUp() {
+        todoService = createService(false);
+    }
+
     @Test
     void shouldAddNewItem() throws ConflictException {
         //given
@@ -54,6 +110,10 @@ class TodoServiceImplTest {
         //then
         verify(timeService, times(1)).getLocalDateTime();
         verify(repository, times(1)).save(any());
+        verify(pastDueTimerService, times(1)).schedule(result.getId(), AFTER_DATE);
+        verify(searchIndex, times(1)).index(result);
+        verify(eventPublisher, times(1)).publish(argThat(event ->
+                event.getType() == TodoEvent.Type.CREATED && event.getItem() == result));
 
         assertEquals("description", result.getDescription());
         assertEquals(Status.NOT_DONE, result.getStatus());
@@ -79,21 +139,22 @@ class TodoServiceImplTest {
     }
 
     @Test
-    void shouldChangeDescription() throws NotFoundException, ConflictException{
+    void shouldChangeDescription() throws NotFoundException, ConflictException, PreconditionFailedException {
         //given
         var itemId = UUID.randomUUID();
-        var itemToBeUpdated = new TodoItemEntity(itemId, "description", Status.NOT_DONE, CURRENT_DATE, AFTER_DATE, null);
+        var itemToBeUpdated = new TodoItemEntity(itemId, "description", Status.NOT_DONE, CURRENT_DATE, AFTER_DATE, null, 0L);
 
         when(timeService.getLocalDateTime()).thenReturn(CURRENT_DATE);
         when(repository.findById(itemId)).thenReturn(Optional.of(itemToBeUpdated));
-        when(repository.save(any())).then(returnsFirstArg());
+        when(repository.saveAndFlush(any())).then(returnsFirstArg());
 
         //when
-        var result = todoService.updateDescription(itemId,"new description");
+        var result = todoService.updateDescription(itemId, "new description", null);
 
         //then
         verify(repository, times(1)).findById(itemId);
-        verify(repository, times(1)).save(any());
+        verify(repository, times(1)).saveAndFlush(any());
+        verify(searchIndex, times(1)).index(result);
 
         assertEquals("new description", result.getDescription());
         assertEquals(Status.NOT_DONE, result.getStatus());
@@ -110,11 +171,11 @@ class TodoServiceImplTest {
 
         //when
         var exception = assertThrows(NotFoundException.class, () ->
-                todoService.updateDescription(itemId,"new description"));
+                todoService.updateDescription(itemId, "new description", null));
 
         //then
         verify(repository, times(1)).findById(itemId);
-        verify(repository, times(0)).save(any());
+        verify(repository, times(0)).saveAndFlush(any());
         assertEquals("Item not found with given id: " + itemId, exception.getMessage());
     }
 
@@ -122,16 +183,16 @@ class TodoServiceImplTest {
     void shouldThrowExceptionWhenChangeDescriptionOfPastDueItems() {
         //given
         var itemId = UUID.randomUUID();
-        var itemToBeUpdated = new TodoItemEntity(itemId, "description", Status.PAST_DUE, AFTER_DATE, CURRENT_DATE, null);
+        var itemToBeUpdated = new TodoItemEntity(itemId, "description", Status.PAST_DUE, AFTER_DATE, CURRENT_DATE, null, 0L);
         when(repository.findById(itemId)).thenReturn(Optional.of(itemToBeUpdated));
 
         //when
         var exception = assertThrows(ConflictException.class, () ->
-                todoService.updateDescription(itemId,"new description"));
+                todoService.updateDescription(itemId, "new description", null));
 
         //then
         verify(repository, times(1)).findById(itemId);
-        verify(repository, times(0)).save(any());
+        verify(repository, times(0)).saveAndFlush(any());
         assertEquals("Cannot update the description. The item status is past due.", exception.getMessage());
     }
 
@@ -139,40 +200,44 @@ class TodoServiceImplTest {
     void shouldChangeItemStatusToPastDueAndThrowExceptionWhenChangeDescriptionOfPastDueItems() {
         //given
         var itemId = UUID.randomUUID();
-        var itemToBeUpdated = new TodoItemEntity(itemId, "description", Status.NOT_DONE, CURRENT_DATE, CURRENT_DATE, null);
+        var itemToBeUpdated = new TodoItemEntity(itemId, "description", Status.NOT_DONE, CURRENT_DATE, CURRENT_DATE, null, 0L);
         when(timeService.getLocalDateTime()).thenReturn(CURRENT_DATE);
         when(repository.findById(itemId)).thenReturn(Optional.of(itemToBeUpdated));
+        when(repository.saveAndFlush(any())).then(returnsFirstArg());
 
         var todoItemEntityWithStatusUpdated = ArgumentCaptor.forClass(TodoItemEntity.class);
 
         //when
         var exception = assertThrows(ConflictException.class, () ->
-                todoService.updateDescription(itemId,"new description"));
+                todoService.updateDescription(itemId, "new description", null));
 
         //then
         verify(repository, times(1)).findById(itemId);
-        verify(repository, times(1)).save(todoItemEntityWithStatusUpdated.capture());
+        verify(repository, times(1)).saveAndFlush(todoItemEntityWithStatusUpdated.capture());
 
         assertEquals(Status.PAST_DUE, todoItemEntityWithStatusUpdated.getValue().getStatus());
         assertEquals("Cannot update the description. The item status is past due.", exception.getMessage());
     }
 
     @Test
-    void shouldMarkItemAsDone() throws NotFoundException, ConflictException {
+    void shouldMarkItemAsDone() throws NotFoundException, ConflictException, PreconditionFailedException {
         //given
         var itemId = UUID.randomUUID();
-        var itemToBeUpdated = new TodoItemEntity(itemId, "description", Status.NOT_DONE, CURRENT_DATE, AFTER_DATE, null);
+        var updatedItem = new TodoItemEntity(itemId, "description", Status.DONE, CURRENT_DATE, AFTER_DATE, CURRENT_DATE, 0L);
 
         when(timeService.getLocalDateTime()).thenReturn(CURRENT_DATE);
-        when(repository.findById(itemId)).thenReturn(Optional.of(itemToBeUpdated));
-        when(repository.save(any())).then(returnsFirstArg());
+        when(repository.markAsDone(itemId, null, CURRENT_DATE, 0L)).thenReturn(Optional.of(updatedItem));
 
         //when
-        var result = todoService.markAsDone(itemId);
+        var result = todoService.markAsDone(itemId, null);
 
         //then
-        verify(repository, times(1)).findById(itemId);
-        verify(repository, times(1)).save(any());
+        verify(repository, times(1)).markAsDone(itemId, null, CURRENT_DATE, 0L);
+        verify(repository, times(0)).findById(itemId);
+        verify(repository, times(0)).saveAndFlush(any());
+        verify(pastDueTimerService, times(1)).cancel(itemId);
+        verify(eventPublisher, times(1)).publish(argThat(event ->
+                event.getType() == TodoEvent.Type.STATUS_CHANGED && event.getItem() == result));
 
         assertEquals("description", result.getDescription());
         assertEquals(Status.DONE, result.getStatus());
@@ -189,11 +254,11 @@ class TodoServiceImplTest {
 
         //when
         var exception = assertThrows(NotFoundException.class, () ->
-                todoService.markAsDone(itemId));
+                todoService.markAsDone(itemId, null));
 
         //then
         verify(repository, times(1)).findById(itemId);
-        verify(repository, times(0)).save(any());
+        verify(repository, times(0)).saveAndFlush(any());
         assertEquals("Item not found with given id: " + itemId, exception.getMessage());
     }
 
@@ -201,17 +266,17 @@ class TodoServiceImplTest {
     void shouldThrowExceptionWhenMarkItemWithDoneStatusAsDone() {
         //given
         var itemId = UUID.randomUUID();
-        var itemToBeUpdated = new TodoItemEntity(itemId, "description", Status.DONE, CURRENT_DATE, AFTER_DATE, CURRENT_DATE);
+        var itemToBeUpdated = new TodoItemEntity(itemId, "description", Status.DONE, CURRENT_DATE, AFTER_DATE, CURRENT_DATE, 0L);
 
         when(repository.findById(itemId)).thenReturn(Optional.of(itemToBeUpdated));
 
         //when
         var exception = assertThrows(ConflictException.class, () ->
-                todoService.markAsDone(itemId));
+                todoService.markAsDone(itemId, null));
 
         //then
         verify(repository, times(1)).findById(itemId);
-        verify(repository, times(0)).save(any());
+        verify(repository, times(0)).saveAndFlush(any());
         assertEquals("The item status is already done.", exception.getMessage());
     }
 
@@ -219,18 +284,18 @@ class TodoServiceImplTest {
     void shouldThrowExceptionWhenMarkItemWithPastDueStatusAsDone() {
         //given
         var itemId = UUID.randomUUID();
-        var itemToBeUpdated = new TodoItemEntity(itemId, "description", Status.PAST_DUE, AFTER_DATE, CURRENT_DATE, null);
+        var itemToBeUpdated = new TodoItemEntity(itemId, "description", Status.PAST_DUE, AFTER_DATE, CURRENT_DATE, null, 0L);
 
         when(timeService.getLocalDateTime()).thenReturn(CURRENT_DATE);
         when(repository.findById(itemId)).thenReturn(Optional.of(itemToBeUpdated));
 
         //when
         var exception = assertThrows(ConflictException.class, () ->
-                todoService.markAsDone(itemId));
+                todoService.markAsDone(itemId, null));
 
         //then
         verify(repository, times(1)).findById(itemId);
-        verify(repository, times(0)).save(any());
+        verify(repository, times(0)).saveAndFlush(any());
         assertEquals("Cannot mark the item as done. The item due date has passed.", exception.getMessage());
     }
 
@@ -238,41 +303,116 @@ class TodoServiceImplTest {
     void shouldThrowExceptionWhenNotDoneItemDueDateHasPassedAndMarkItemAsDone() {
         //given
         var itemId = UUID.randomUUID();
-        var itemToBeUpdated = new TodoItemEntity(itemId, "description", Status.NOT_DONE, AFTER_DATE, CURRENT_DATE, null);
+        var itemToBeUpdated = new TodoItemEntity(itemId, "description", Status.NOT_DONE, AFTER_DATE, CURRENT_DATE, null, 0L);
 
         when(timeService.getLocalDateTime()).thenReturn(CURRENT_DATE);
         when(repository.findById(itemId)).thenReturn(Optional.of(itemToBeUpdated));
+        when(repository.saveAndFlush(any())).then(returnsFirstArg());
 
         var todoItemEntityWithStatusUpdated = ArgumentCaptor.forClass(TodoItemEntity.class);
 
         //when
         var exception = assertThrows(ConflictException.class, () ->
-                todoService.markAsDone(itemId));
+                todoService.markAsDone(itemId, null));
 
         //then
         verify(repository, times(1)).findById(itemId);
-        verify(repository, times(1)).save(todoItemEntityWithStatusUpdated.capture());
+        verify(repository, times(1)).saveAndFlush(todoItemEntityWithStatusUpdated.capture());
 
         assertEquals(Status.PAST_DUE, todoItemEntityWithStatusUpdated.getValue().getStatus());
         assertEquals("Cannot mark the item as done. The item due date has passed.", exception.getMessage());
     }
 
     @Test
-    void shouldMarkItemAsNotDone() throws NotFoundException, ConflictException {
+    void shouldThrowExceptionWithoutWritingThePastDueStatusWithReadTimePastDue() {
         //given
         var itemId = UUID.randomUUID();
-        var itemToBeUpdated = new TodoItemEntity(itemId, "description", Status.DONE, CURRENT_DATE, AFTER_DATE, CURRENT_DATE);
+        var itemToBeUpdated = new TodoItemEntity(itemId, "description", Status.NOT_DONE, AFTER_DATE, CURRENT_DATE, null, 0L);
+        var readTimeService = createService(true);
 
         when(timeService.getLocalDateTime()).thenReturn(CURRENT_DATE);
         when(repository.findById(itemId)).thenReturn(Optional.of(itemToBeUpdated));
-        when(repository.save(any())).then(returnsFirstArg());
 
         //when
-        var result = todoService.markAsNotDone(itemId);
+        var exception = assertThrows(ConflictException.class, () ->
+                readTimeService.markAsDone(itemId, null));
 
         //then
-        verify(repository, times(1)).findById(itemId);
-        verify(repository, times(1)).save(any());
+        verify(repository, never()).saveAndFlush(any());
+        verify(pastDueTimerService, never()).cancel(any());
+        assertEquals("Cannot mark the item as done. The item due date has passed.", exception.getMessage());
+    }
+
+    @Test
+    void shouldThrowRetryableExceptionWhenItemStatusChangesBetweenTheUpdateAndTheRead() {
+        //given
+        var itemId = UUID.randomUUID();
+        var itemToBeUpdated = new TodoItemEntity(itemId, "description", Status.NOT_DONE, CURRENT_DATE, AFTER_DATE, null, 0L);
+
+        when(timeService.getLocalDateTime()).thenReturn(CURRENT_DATE);
+        when(repository.markAsDone(itemId, null, CURRENT_DATE, 0L)).thenReturn(Optional.empty());
+        when(repository.findById(itemId)).thenReturn(Optional.of(itemToBeUpdated));
+
+        //when
+        assertThrows(ObjectOptimisticLockingFailureException.class, () ->
+                todoService.markAsDone(itemId, null));
+
+        //then
+        verify(repository, times(0)).saveAndFlush(any());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenMarkItemAsDoneWithAnotherExpectedVersion() {
+        //given
+        var itemId = UUID.randomUUID();
+        var itemToBeUpdated = new TodoItemEntity(itemId, "description", Status.NOT_DONE, CURRENT_DATE, AFTER_DATE, null, 2L);
+
+        when(timeService.getLocalDateTime()).thenReturn(CURRENT_DATE);
+        when(repository.markAsDone(itemId, 1L, CURRENT_DATE, 0L)).thenReturn(Optional.empty());
+        when(repository.findById(itemId)).thenReturn(Optional.of(itemToBeUpdated));
+
+        //when
+        var exception = assertThrows(PreconditionFailedException.class, () ->
+                todoService.markAsDone(itemId, 1L));
+
+        //then
+        assertEquals("The item version is 2, not 1.", exception.getMessage());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenChangeDescriptionWithAnotherExpectedVersion() {
+        //given
+        var itemId = UUID.randomUUID();
+        var itemToBeUpdated = new TodoItemEntity(itemId, "description", Status.NOT_DONE, CURRENT_DATE, AFTER_DATE, null, 2L);
+
+        when(repository.findById(itemId)).thenReturn(Optional.of(itemToBeUpdated));
+
+        //when
+        var exception = assertThrows(PreconditionFailedException.class, () ->
+                todoService.updateDescription(itemId, "new description", 1L));
+
+        //then
+        verify(repository, times(0)).saveAndFlush(any());
+        assertEquals("The item version is 2, not 1.", exception.getMessage());
+    }
+
+    @Test
+    void shouldMarkItemAsNotDone() throws NotFoundException, ConflictException, PreconditionFailedException {
+        //given
+        var itemId = UUID.randomUUID();
+        var updatedItem = new TodoItemEntity(itemId, "description", Status.NOT_DONE, CURRENT_DATE, AFTER_DATE, null, 0L);
+
+        when(timeService.getLocalDateTime()).thenReturn(CURRENT_DATE);
+        when(repository.markAsNotDone(itemId, null, CURRENT_DATE, 0L)).thenReturn(Optional.of(updatedItem));
+
+        //when
+        var result = todoService.markAsNotDone(itemId, null);
+
+        //then
+        verify(repository, times(1)).markAsNotDone(itemId, null, CURRENT_DATE, 0L);
+        verify(repository, times(0)).findById(itemId);
+        verify(repository, times(0)).saveAndFlush(any());
+        verify(pastDueTimerService, times(1)).schedule(itemId, AFTER_DATE);
 
         assertEquals("description", result.getDescription());
         assertEquals(Status.NOT_DONE, result.getStatus());
@@ -289,11 +429,11 @@ class TodoServiceImplTest {
 
         //when
         var exception = assertThrows(NotFoundException.class, () ->
-                todoService.markAsNotDone(itemId));
+                todoService.markAsNotDone(itemId, null));
 
         //then
         verify(repository, times(1)).findById(itemId);
-        verify(repository, times(0)).save(any());
+        verify(repository, times(0)).saveAndFlush(any());
         assertEquals("Item not found with given id: " + itemId, exception.getMessage());
     }
 
@@ -301,17 +441,17 @@ class TodoServiceImplTest {
     void shouldThrowExceptionWhenMarkItemWithNotDoneStatusAsNotDone() {
         //given
         var itemId = UUID.randomUUID();
-        var itemToBeUpdated = new TodoItemEntity(itemId, "description", Status.NOT_DONE, CURRENT_DATE, AFTER_DATE, CURRENT_DATE);
+        var itemToBeUpdated = new TodoItemEntity(itemId, "description", Status.NOT_DONE, CURRENT_DATE, AFTER_DATE, CURRENT_DATE, 0L);
 
         when(repository.findById(itemId)).thenReturn(Optional.of(itemToBeUpdated));
 
         //when
         var exception = assertThrows(ConflictException.class, () ->
-                todoService.markAsNotDone(itemId));
+                todoService.markAsNotDone(itemId, null));
 
         //then
         verify(repository, times(1)).findById(itemId);
-        verify(repository, times(0)).save(any());
+        verify(repository, times(0)).saveAndFlush(any());
         assertEquals("The item status is already not done.", exception.getMessage());
     }
 
@@ -319,18 +459,18 @@ class TodoServiceImplTest {
     void shouldThrowExceptionWhenMarkItemWithPastDueStatusAsNotDone() {
         //given
         var itemId = UUID.randomUUID();
-        var itemToBeUpdated = new TodoItemEntity(itemId, "description", Status.PAST_DUE, AFTER_DATE, CURRENT_DATE, null);
+        var itemToBeUpdated = new TodoItemEntity(itemId, "description", Status.PAST_DUE, AFTER_DATE, CURRENT_DATE, null, 0L);
 
         when(timeService.getLocalDateTime()).thenReturn(CURRENT_DATE);
         when(repository.findById(itemId)).thenReturn(Optional.of(itemToBeUpdated));
 
         //when
         var exception = assertThrows(ConflictException.class, () ->
-                todoService.markAsNotDone(itemId));
+                todoService.markAsNotDone(itemId, null));
 
         //then
         verify(repository, times(1)).findById(itemId);
-        verify(repository, times(0)).save(any());
+        verify(repository, times(0)).saveAndFlush(any());
         assertEquals("Cannot mark the item as not done. The item due date has passed.", exception.getMessage());
     }
 
@@ -338,14 +478,14 @@ class TodoServiceImplTest {
     void shouldChangeItemStatusToPastDueAndThrowExceptionWhenMarkItemAsNotDone() {
         //given
         var itemId = UUID.randomUUID();
-        var itemToBeUpdated = new TodoItemEntity(itemId, "description", Status.DONE, AFTER_DATE, CURRENT_DATE, null);
+        var itemToBeUpdated = new TodoItemEntity(itemId, "description", Status.DONE, AFTER_DATE, CURRENT_DATE, null, 0L);
 
         when(timeService.getLocalDateTime()).thenReturn(CURRENT_DATE);
         when(repository.findById(itemId)).thenReturn(Optional.of(itemToBeUpdated));
 
         //when
         var exception = assertThrows(ConflictException.class, () ->
-                todoService.markAsNotDone(itemId));
+                todoService.markAsNotDone(itemId, null));
 
         //then
         verify(repository, times(1)).findById(itemId);
@@ -356,37 +496,189 @@ class TodoServiceImplTest {
     void shouldGetAllItems() {
         //given
         var pageRequest = PageRequest.of(0, 1, Sort.by("creationDate").ascending());
-        var retrievedPage = new PageImpl<>(List.of(new TodoItemEntity()));
+        var retrievedPage = new PageImpl<>(List.of(new TodoItem()));
+
+        when(repository.findAllItems(pageRequest)).thenReturn(retrievedPage);
+
+        //when
+        var result = todoService.getAll(pageRequest);
+
+        //then
+        verify(repository, times(1)).findAllItems(pageRequest);
+        assertSame(retrievedPage, result);
+    }
 
-        when(repository.findAll(pageRequest)).thenReturn(retrievedPage);
+    @Test
+    void shouldGetFilteredItemsWithTheStatusAtTheCurrentDateWithReadTimePastDue() {
+        //given
+        var pageRequest = PageRequest.of(0, 1, Sort.by("dueDate").ascending());
+        var dueItem = new TodoItem(UUID.randomUUID(), "description", Status.NOT_DONE, CURRENT_DATE.minusDays(1),
+                CURRENT_DATE, null, 0L);
+        var filter = new TodoItemFilter(EnumSet.of(Status.PAST_DUE), null, AFTER_DATE, null, null, null);
+        var readTimeService = createService(true);
+
+        when(timeService.getLocalDateTime()).thenReturn(CURRENT_DATE);
+        when(repository.findAllItemsMatching(any(), eq(pageRequest))).thenReturn(new PageImpl<>(List.of(dueItem)));
+        when(repository.findAllItems(pageRequest)).thenReturn(new PageImpl<>(List.of()));
 
         //when
-        todoService.getAll(pageRequest);
+        var result = readTimeService.getAll(filter, pageRequest);
+        readTimeService.getAll(TodoItemFilter.NONE, pageRequest);
 
         //then
-        verify(repository, times(1)).findAll(pageRequest);
+        assertEquals(Status.PAST_DUE, result.getContent().get(0).getStatus());
+        verify(repository, times(1)).findAllItemsMatching(any(), eq(pageRequest));
+        verify(repository, times(1)).findAllItems(pageRequest);
     }
 
     @Test
     void shouldGetAllNotDoneItems() {
         //given
         var pageRequest = PageRequest.of(0, 1, Sort.by("creationDate").ascending());
-        var retrievedPage = new PageImpl<>(List.of(new TodoItemEntity()));
+        var retrievedPage = new PageImpl<>(List.of(new TodoItem()));
 
-        when(repository.findAllByStatus(Status.NOT_DONE, pageRequest)).thenReturn(retrievedPage);
+        when(repository.findAllItemsByStatus(Status.NOT_DONE, pageRequest)).thenReturn(retrievedPage);
 
         //when
-        todoService.getNotDone(pageRequest);
+        var result = todoService.getNotDone(pageRequest);
 
         //then
-        verify(repository, times(1)).findAllByStatus(Status.NOT_DONE, pageRequest);
+        verify(repository, times(1)).findAllItemsByStatus(Status.NOT_DONE, pageRequest);
+        assertSame(retrievedPage, result);
+    }
+
+    @Test
+    void shouldGetOnlyNotDoneItemsStillDueWithReadTimePastDue() {
+        //given
+        var pageRequest = PageRequest.of(0, 1, Sort.by("dueDate").ascending());
+        var retrievedPage = new PageImpl<>(List.of(new TodoItem()));
+        var readTimeService = createService(true);
+
+        when(timeService.getLocalDateTime()).thenReturn(CURRENT_DATE);
+        when(repository.findAllItemsByStatusAndDueDateAfter(Status.NOT_DONE, CURRENT_DATE, pageRequest)).thenReturn(retrievedPage);
+
+        //when
+        var result = readTimeService.getNotDone(pageRequest);
+
+        //then
+        verify(repository, never()).findAllItemsByStatus(any(), any());
+        assertSame(retrievedPage, result);
+    }
+
+    @Test
+    void shouldGetNotDoneItemsSliceWithoutCounting() {
+        //given
+        var pageRequest = PageRequest.of(0, 1, Sort.by("creationDate").ascending());
+        var retrievedSlice = new SliceImpl<>(List.of(new TodoItem()), pageRequest, true);
+
+        when(repository.sliceAllItemsByStatus(Status.NOT_DONE, pageRequest)).thenReturn(retrievedSlice);
+
+        //when
+        var result = todoService.getNotDoneSlice(pageRequest);
+
+        //then
+        verify(repository, never()).findAllItemsByStatus(any(), any());
+        verify(repository, never()).countByStatus(any());
+        assertSame(retrievedSlice, result);
+    }
+
+    @Test
+    void shouldGetCachedCount() {
+        //given
+        when(itemCounter.count(Status.NOT_DONE)).thenReturn(42L);
+
+        //when
+        var result = todoService.getCachedCount(Status.NOT_DONE);
+
+        //then
+        verifyNoInteractions(repository);
+        assertEquals(42L, result);
+    }
+
+    @Test
+    void shouldScrollAllItemsSortedByIndexedKeyAndId() throws BadRequestException {
+        //given
+        var position = ScrollPosition.keyset();
+        var keysetSort = Sort.by(Sort.Direction.DESC, "creationDate", "id");
+
+        when(repository.findBy(position, Limit.of(12), keysetSort))
+                .thenReturn(Window.from(List.of(new TodoItemEntity()), ScrollPosition::offset));
+
+        //when
+        var result = todoService.scrollAll(position, 12, Sort.by(Sort.Direction.DESC, "creationDate"));
+
+        //then
+        verify(repository, times(1)).findBy(position, Limit.of(12), keysetSort);
+        assertEquals(1, result.size());
+    }
+
+    @Test
+    void shouldScrollNotDoneItemsSortedByIndexedKeyAndId() throws BadRequestException {
+        //given
+        var position = ScrollPosition.keyset();
+        var keysetSort = Sort.by(Sort.Direction.ASC, "dueDate", "id");
+
+        when(repository.findByStatus(Status.NOT_DONE, position, Limit.of(12), keysetSort))
+                .thenReturn(Window.from(List.of(new TodoItemEntity()), ScrollPosition::offset));
+
+        //when
+        todoService.scrollNotDone(position, 12, Sort.by("dueDate"));
+
+        //then
+        verify(repository, times(1)).findByStatus(Status.NOT_DONE, position, Limit.of(12), keysetSort);
+    }
+
+    @Test
+    void shouldThrowExceptionWhenScrollItemsWithNotIndexedSort() {
+        //when
+        var exception = assertThrows(BadRequestException.class, () ->
+                todoService.scrollNotDone(ScrollPosition.keyset(), 12, Sort.by("description")));
+
+        //then
+        verifyNoInteractions(repository);
+        assertEquals("Unsupported sort: description: ASC. The only supported sort property is dueDate.", exception.getMessage());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenScrollItemsWithSizeLowerThanOne() {
+        //when
+        var exception = assertThrows(BadRequestException.class, () ->
+                todoService.scrollAll(ScrollPosition.keyset(), 0, Sort.by("creationDate")));
+
+        //then
+        verifyNoInteractions(repository);
+        assertEquals("The size must be greater than zero.", exception.getMessage());
+    }
+
+    @Test
+    void shouldSearchItemsAndSkipTheHitsNoLongerStored() throws BadRequestException {
+        //given
+        var firstItemId = UUID.randomUUID();
+        var secondItemId = UUID.randomUUID();
+        var hits = List.of(new SearchHit(firstItemId, 2.5, 3L), new SearchHit(UUID.randomUUID(), 2.0, 3L),
+                new SearchHit(secondItemId, 1.5, 3L));
+
+        when(searchIndex.search("weekly report", ScrollPosition.keyset(), 3)).thenReturn(hits);
+        when(repository.findById(any())).thenReturn(Optional.empty());
+        when(repository.findById(firstItemId)).thenReturn(Optional.of(
+                new TodoItemEntity(firstItemId, "weekly report", Status.NOT_DONE, CURRENT_DATE, AFTER_DATE, null, 0L)));
+
+        //when
+        var result = todoService.search("weekly report", ScrollPosition.keyset(), 2);
+
+        //then
+        assertEquals(List.of(firstItemId), result.map(TodoItem::getId).getContent());
+        assertTrue(result.hasNext());
+        assertEquals(Map.of("score", 2.5, "id", firstItemId, "generation", 3L),
+                ((KeysetScrollPosition) result.positionAt(0)).getKeys());
+        assertThrows(BadRequestException.class, () -> todoService.search(" ", ScrollPosition.keyset(), 2));
     }
 
     @Test
     void shouldGetItem() throws NotFoundException {
         //given
         var itemId = UUID.randomUUID();
-        var item = new TodoItemEntity(itemId, "description", Status.DONE, CURRENT_DATE, AFTER_DATE, CURRENT_DATE);
+        var item = new TodoItemEntity(itemId, "description", Status.DONE, CURRENT_DATE, AFTER_DATE, CURRENT_DATE, 0L);
 
         when(repository.findById(itemId)).thenReturn(Optional.of(item));
 
@@ -402,6 +694,78 @@ class TodoServiceImplTest {
         assertEquals(CURRENT_DATE, result.getDoneDate());
     }
 
+    @Test
+    void shouldGetNotDoneItemPastItsDueDateAsPastDueWithReadTimePastDue() throws NotFoundException {
+        //given
+        var itemId = UUID.randomUUID();
+        var item = new TodoItemEntity(itemId, "description", Status.NOT_DONE, CURRENT_DATE.minusDays(1), CURRENT_DATE, null, 0L);
+        var readTimeService = createService(true);
+
+        when(timeService.getLocalDateTime()).thenReturn(CURRENT_DATE);
+        when(repository.findById(itemId)).thenReturn(Optional.of(item));
+
+        //when
+        var result = readTimeService.get(itemId);
+        var cachedItem = itemCache.get(itemId, id -> Optional.empty()).orElseThrow();
+
+        //then
+        verify(repository, never()).saveAndFlush(any());
+        assertEquals(Status.PAST_DUE, result.getStatus());
+        assertEquals(0L, result.getVersion());
+        assertEquals(Status.NOT_DONE, cachedItem.getStatus());
+    }
+
+    @Test
+    void shouldGetItemFromCacheAfterTheFirstLookup() throws NotFoundException {
+        //given
+        var itemId = UUID.randomUUID();
+        var item = new TodoItemEntity(itemId, "description", Status.DONE, CURRENT_DATE, AFTER_DATE, CURRENT_DATE, 0L);
+
+        when(repository.findById(itemId)).thenReturn(Optional.of(item));
+
+        //when
+        var firstResult = todoService.get(itemId);
+        firstResult.setDescription("changed by the caller");
+        var secondResult = todoService.get(itemId);
+
+        //then
+        verify(repository, times(1)).findById(itemId);
+        assertEquals("description", secondResult.getDescription());
+    }
+
+    @Test
+    void shouldCacheMissingItemAfterTheFirstLookup() {
+        //given
+        var itemId = UUID.randomUUID();
+        when(repository.findById(itemId)).thenReturn(Optional.empty());
+
+        //when
+        assertThrows(NotFoundException.class, () -> todoService.get(itemId));
+        assertThrows(NotFoundException.class, () -> todoService.get(itemId));
+
+        //then
+        verify(repository, times(1)).findById(itemId);
+    }
+
+    @Test
+    void shouldUpdateCachedItemWhenItemIsMarkedAsDone() throws NotFoundException, ConflictException, PreconditionFailedException {
+        //given
+        var itemId = UUID.randomUUID();
+        var updatedItem = new TodoItemEntity(itemId, "description", Status.DONE, CURRENT_DATE, AFTER_DATE, CURRENT_DATE, 0L);
+
+        when(timeService.getLocalDateTime()).thenReturn(CURRENT_DATE);
+        when(repository.markAsDone(itemId, null, CURRENT_DATE, 0L)).thenReturn(Optional.of(updatedItem));
+
+        //when
+        todoService.markAsDone(itemId, null);
+        var result = todoService.get(itemId);
+
+        //then
+        verify(repository, times(0)).findById(itemId);
+        assertEquals(Status.DONE, result.getStatus());
+        assertEquals(CURRENT_DATE, result.getDoneDate());
+    }
+
     @Test
     void shouldThrowExceptionWhenGetItemAndItemIdNotFound() {
         //given
@@ -419,13 +783,16 @@ class TodoServiceImplTest {
 
     @Test
     void shouldUpdatePastDueItemsStatus() {
-        //given
-        when(timeService.getLocalDateTime()).thenReturn(CURRENT_DATE);
-
         //when
         todoService.updatePastDueItemsStatus();
 
         //then
-        verify(repository, times(1)).updatePastDueItemsStatus(CURRENT_DATE);
+        verify(pastDueSweepService, times(1)).sweep();
     }
-}
\ No newline at end of file
+
+    private TodoServiceImpl createService(boolean readTimePastDue) {
+        return new TodoServiceImpl(new JpaTodoItemStore(repository, changeSequence), timeService, pastDueSweepService,
+                pastDueTimerService, itemCache, itemCounter, changeCounter, searchIndex, statusCounter, eventPublisher, readTimePastDue);
+    }
+
+}